@@ -0,0 +1,86 @@
+package com.fullcycle.subscription.application;
+
+import com.fullcycle.subscription.domain.exceptions.OptimisticLockException;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Each attempt reloads the aggregate and re-applies its commands, so only wrap use cases that are safe to run twice
+public class OptimisticLockRetry {
+
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Listener listener;
+
+    public OptimisticLockRetry(final int maxAttempts, final Duration initialBackoff, final Duration maxBackoff, final Listener listener) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("'maxAttempts' should be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Objects.requireNonNull(initialBackoff);
+        this.maxBackoff = Objects.requireNonNull(maxBackoff);
+        this.listener = Objects.requireNonNull(listener);
+    }
+
+    public static OptimisticLockRetry none() {
+        return new OptimisticLockRetry(1, Duration.ZERO, Duration.ZERO, Listener.NOOP);
+    }
+
+    public OptimisticLockRetry withMaxAttempts(final int maxAttempts) {
+        return new OptimisticLockRetry(maxAttempts, this.initialBackoff, this.maxBackoff, this.listener);
+    }
+
+    public <IN, OUT> OUT execute(final UseCase<IN, OUT> useCase, final IN in) {
+        return execute(() -> useCase.execute(in));
+    }
+
+    public <T> T execute(final Supplier<T> action) {
+        for (var attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockException ex) {
+                this.listener.onConflict(ex.aggregateType());
+                if (attempt >= this.maxAttempts) {
+                    this.listener.onExhausted(ex.aggregateType());
+                    throw ex;
+                }
+
+                backoff(attempt, ex);
+                this.listener.onRetry(ex.aggregateType());
+            }
+        }
+    }
+
+    // full jitter: spreads the competing writers instead of having them collide again in lockstep
+    private void backoff(final int attempt, final OptimisticLockException conflict) {
+        final var ceiling = Math.min(this.maxBackoff.toMillis(), this.initialBackoff.toMillis() << Math.min(attempt - 1, 20));
+        if (ceiling <= 0) {
+            return;
+        }
+
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+
+    public interface Listener {
+
+        Listener NOOP = new Listener() {
+        };
+
+        default void onConflict(String aggregateType) {
+        }
+
+        default void onRetry(String aggregateType) {
+        }
+
+        default void onExhausted(String aggregateType) {
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.fullcycle.subscription.application.account;
+
+import com.fullcycle.subscription.application.UseCase;
+import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.pagination.Pagination;
+
+public abstract class SearchAccounts extends UseCase<SearchAccounts.Input, Pagination<SearchAccounts.Output>> {
+
+    public interface Input {
+        int perPage();
+
+        String cursor();
+    }
+
+    public interface Output {
+        AccountId accountId();
+
+        String userId();
+
+        String email();
+
+        String firstname();
+
+        String lastname();
+    }
+}
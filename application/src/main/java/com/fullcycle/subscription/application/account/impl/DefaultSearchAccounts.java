@@ -0,0 +1,48 @@
+package com.fullcycle.subscription.application.account.impl;
+
+import com.fullcycle.subscription.application.account.SearchAccounts;
+import com.fullcycle.subscription.domain.account.Account;
+import com.fullcycle.subscription.domain.account.AccountGateway;
+import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.account.AccountSearchQuery;
+import com.fullcycle.subscription.domain.exceptions.DomainException;
+import com.fullcycle.subscription.domain.pagination.Pagination;
+
+import java.util.Objects;
+
+public class DefaultSearchAccounts extends SearchAccounts {
+
+    private static final int MAX_PER_PAGE = 100;
+
+    private final AccountGateway accountGateway;
+
+    public DefaultSearchAccounts(final AccountGateway accountGateway) {
+        this.accountGateway = Objects.requireNonNull(accountGateway);
+    }
+
+    @Override
+    public Pagination<Output> execute(final Input in) {
+        if (in == null) {
+            throw new IllegalArgumentException("Input to DefaultSearchAccounts cannot be null");
+        }
+
+        if (in.perPage() < 1 || in.perPage() > MAX_PER_PAGE) {
+            throw DomainException.with("'perPage' must be between 1 and %s".formatted(MAX_PER_PAGE));
+        }
+
+        return this.accountGateway.allAccounts(new AccountSearchQuery(in.perPage(), in.cursor())).map(StdOutput::new);
+    }
+
+    record StdOutput(AccountId accountId, String userId, String email, String firstname, String lastname) implements SearchAccounts.Output {
+
+        StdOutput(final Account anAccount) {
+            this(
+                    anAccount.id(),
+                    anAccount.userId().value(),
+                    anAccount.email().value(),
+                    anAccount.name().firstname(),
+                    anAccount.name().lastname()
+            );
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.fullcycle.subscription.application.subscription;
+
+import com.fullcycle.subscription.application.UseCase;
+import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.pagination.Pagination;
+import com.fullcycle.subscription.domain.plan.PlanId;
+import com.fullcycle.subscription.domain.subscription.SubscriptionId;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+public abstract class SearchSubscriptions extends UseCase<SearchSubscriptions.Input, Pagination<SearchSubscriptions.Output>> {
+
+    public interface Input {
+        int perPage();
+
+        String cursor();
+
+        String status();
+
+        Long planId();
+    }
+
+    public interface Output {
+        SubscriptionId subscriptionId();
+
+        AccountId accountId();
+
+        PlanId planId();
+
+        String status();
+
+        LocalDate dueDate();
+
+        Instant lastRenewDate();
+
+        Instant createdAt();
+
+        Instant updatedAt();
+    }
+}
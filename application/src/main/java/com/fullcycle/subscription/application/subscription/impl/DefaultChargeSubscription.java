@@ -11,6 +11,7 @@ import com.fullcycle.subscription.domain.payment.PaymentGateway;
 import com.fullcycle.subscription.domain.payment.Transaction;
 import com.fullcycle.subscription.domain.plan.Plan;
 import com.fullcycle.subscription.domain.plan.PlanGateway;
+import com.fullcycle.subscription.domain.subscription.Subscription;
 import com.fullcycle.subscription.domain.subscription.SubscriptionCommand;
 import com.fullcycle.subscription.domain.subscription.SubscriptionGateway;
 import com.fullcycle.subscription.domain.subscription.SubscriptionId;
@@ -68,7 +69,7 @@ public class DefaultChargeSubscription extends ChargeSubscription {
         final var anUserAccount = this.accountGateway.accountOfId(accountId)
                 .orElseThrow(() -> DomainException.notFound(Account.class, accountId));
 
-        final var aPayment = this.newPaymentWith(in, aPlan, anUserAccount);
+        final var aPayment = this.newPaymentWith(in, aSubscription, aPlan, anUserAccount);
 
         final var actualTransaction = this.paymentGateway.processPayment(aPayment);
 
@@ -89,10 +90,10 @@ public class DefaultChargeSubscription extends ChargeSubscription {
         return ChronoUnit.DAYS.between(dueDate, LocalDate.ofInstant(now, ZoneOffset.UTC)) <= MAX_INCOMPLETE_DAYS;
     }
 
-    private Payment newPaymentWith(final Input in, final Plan aPlan, final Account anUserAccount) {
+    private Payment newPaymentWith(final Input in, final Subscription aSubscription, final Plan aPlan, final Account anUserAccount) {
         return Payment.create(
                 in.paymentType(),
-                IdUtils.uniqueId(),
+                orderIdOf(aSubscription, in.paymentType()),
                 aPlan.price().amount(),
                 new BillingAddress(
                         anUserAccount.billingAddress().zipcode(),
@@ -104,6 +105,17 @@ public class DefaultChargeSubscription extends ChargeSubscription {
         );
     }
 
+    // a retry of the same attempt, e.g. after a timeout, carries the same order id so the provider doesn't charge twice;
+    // a recorded decline changes the last transaction and a renewal moves the due date, both starting a new order
+    private static String orderIdOf(final Subscription aSubscription, final String paymentType) {
+        return IdUtils.stableId(
+                aSubscription.id().value(),
+                aSubscription.dueDate().toString(),
+                String.valueOf(aSubscription.lastTransactionId()),
+                paymentType
+        );
+    }
+
     record StdOutput(SubscriptionId subscriptionId, String subscriptionStatus, LocalDate subscriptionDueDate,
                      Transaction paymentTransaction) implements ChargeSubscription.Output {
     }
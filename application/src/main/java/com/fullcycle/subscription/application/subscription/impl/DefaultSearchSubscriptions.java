@@ -0,0 +1,71 @@
+package com.fullcycle.subscription.application.subscription.impl;
+
+import com.fullcycle.subscription.application.subscription.SearchSubscriptions;
+import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.exceptions.DomainException;
+import com.fullcycle.subscription.domain.pagination.Pagination;
+import com.fullcycle.subscription.domain.plan.PlanId;
+import com.fullcycle.subscription.domain.subscription.Subscription;
+import com.fullcycle.subscription.domain.subscription.SubscriptionGateway;
+import com.fullcycle.subscription.domain.subscription.SubscriptionId;
+import com.fullcycle.subscription.domain.subscription.SubscriptionSearchQuery;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Objects;
+
+public class DefaultSearchSubscriptions extends SearchSubscriptions {
+
+    private static final int MAX_PER_PAGE = 100;
+
+    private final SubscriptionGateway subscriptionGateway;
+
+    public DefaultSearchSubscriptions(final SubscriptionGateway subscriptionGateway) {
+        this.subscriptionGateway = Objects.requireNonNull(subscriptionGateway);
+    }
+
+    @Override
+    public Pagination<Output> execute(final Input in) {
+        if (in == null) {
+            throw new IllegalArgumentException("Input of DefaultSearchSubscriptions cannot be null");
+        }
+
+        if (in.perPage() < 1 || in.perPage() > MAX_PER_PAGE) {
+            throw DomainException.with("'perPage' must be between 1 and %s".formatted(MAX_PER_PAGE));
+        }
+
+        final var aQuery = new SubscriptionSearchQuery(
+                in.perPage(),
+                in.cursor(),
+                in.status(),
+                in.planId() != null ? new PlanId(in.planId()) : null
+        );
+
+        return this.subscriptionGateway.allSubscriptions(aQuery).map(StdOutput::new);
+    }
+
+    record StdOutput(
+            SubscriptionId subscriptionId,
+            AccountId accountId,
+            PlanId planId,
+            String status,
+            LocalDate dueDate,
+            Instant lastRenewDate,
+            Instant createdAt,
+            Instant updatedAt
+    ) implements SearchSubscriptions.Output {
+
+        StdOutput(final Subscription aSubscription) {
+            this(
+                    aSubscription.id(),
+                    aSubscription.accountId(),
+                    aSubscription.planId(),
+                    aSubscription.status().value(),
+                    aSubscription.dueDate(),
+                    aSubscription.lastRenewDate(),
+                    aSubscription.createdAt(),
+                    aSubscription.updatedAt()
+            );
+        }
+    }
+}
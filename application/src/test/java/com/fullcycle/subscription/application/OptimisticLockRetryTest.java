@@ -0,0 +1,93 @@
+package com.fullcycle.subscription.application;
+
+import com.fullcycle.subscription.domain.exceptions.OptimisticLockException;
+import com.fullcycle.subscription.domain.subscription.Subscription;
+import com.fullcycle.subscription.domain.subscription.SubscriptionId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class OptimisticLockRetryTest extends UseCaseTest {
+
+    private final List<String> notifications = new ArrayList<>();
+
+    private final OptimisticLockRetry target = new OptimisticLockRetry(3, Duration.ZERO, Duration.ZERO, new OptimisticLockRetry.Listener() {
+        @Override
+        public void onConflict(final String aggregateType) {
+            notifications.add("conflict:" + aggregateType);
+        }
+
+        @Override
+        public void onRetry(final String aggregateType) {
+            notifications.add("retry:" + aggregateType);
+        }
+
+        @Override
+        public void onExhausted(final String aggregateType) {
+            notifications.add("exhausted:" + aggregateType);
+        }
+    });
+
+    @Test
+    public void givenAConflictThenSuccess_whenCallsExecute_shouldRetryAndReturnResult() {
+        // given
+        final var attempts = new AtomicInteger();
+
+        // when
+        final var actualResult = target.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw conflict();
+            }
+            return "saved";
+        });
+
+        // then
+        Assertions.assertEquals("saved", actualResult);
+        Assertions.assertEquals(2, attempts.get());
+        Assertions.assertEquals(List.of("conflict:Subscription", "retry:Subscription"), notifications);
+    }
+
+    @Test
+    public void givenPersistentConflicts_whenCallsExecute_shouldGiveUpAfterMaxAttempts() {
+        // given
+        final var attempts = new AtomicInteger();
+
+        // when
+        Assertions.assertThrows(OptimisticLockException.class, () -> target.execute(() -> {
+            attempts.incrementAndGet();
+            throw conflict();
+        }));
+
+        // then
+        Assertions.assertEquals(3, attempts.get());
+        Assertions.assertEquals(List.of(
+                "conflict:Subscription", "retry:Subscription",
+                "conflict:Subscription", "retry:Subscription",
+                "conflict:Subscription", "exhausted:Subscription"
+        ), notifications);
+    }
+
+    @Test
+    public void givenAnotherFailure_whenCallsExecute_shouldNotRetry() {
+        // given
+        final var attempts = new AtomicInteger();
+
+        // when
+        Assertions.assertThrows(IllegalStateException.class, () -> target.execute(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("boom");
+        }));
+
+        // then
+        Assertions.assertEquals(1, attempts.get());
+        Assertions.assertTrue(notifications.isEmpty());
+    }
+
+    private static OptimisticLockException conflict() {
+        return OptimisticLockException.with(Subscription.class, new SubscriptionId("SUB"), 1);
+    }
+}
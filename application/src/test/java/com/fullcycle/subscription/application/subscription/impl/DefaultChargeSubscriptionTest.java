@@ -5,6 +5,7 @@ import com.fullcycle.subscription.domain.Fixture;
 import com.fullcycle.subscription.domain.UnitTest;
 import com.fullcycle.subscription.domain.account.AccountGateway;
 import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.exceptions.InternalErrorException;
 import com.fullcycle.subscription.domain.payment.Payment;
 import com.fullcycle.subscription.domain.payment.PaymentGateway;
 import com.fullcycle.subscription.domain.payment.PixPayment;
@@ -246,6 +247,38 @@ class DefaultChargeSubscriptionTest extends UnitTest {
         Assertions.assertEquals(expectedPlan.price().amount(), actualPayment.amount());
     }
 
+    @Test
+    public void givenAChargeThatTimedOut_whenRetried_shouldSendTheSameOrderId() {
+        // given
+        var referenceDate = LocalDateTime.now().minusDays(1);
+        var expectedPlan = Fixture.Plans.plus();
+        var expectedAccount = Fixture.Accounts.john();
+        var expectedSubscription = newSubscriptionWith(expectedAccount.id(), expectedPlan, SubscriptionStatus.ACTIVE, referenceDate);
+        var expectedTransaction = Transaction.success("TRS-123");
+
+        when(clock.instant()).thenReturn(InstantUtils.now());
+        when(subscriptionGateway.latestSubscriptionOfAccount(eq(expectedAccount.id()))).thenReturn(Optional.of(expectedSubscription));
+        when(planGateway.planOfId(any())).thenReturn(Optional.of(expectedPlan));
+        when(accountGateway.accountOfId(any())).thenReturn(Optional.of(expectedAccount));
+        when(paymentGateway.processPayment(any()))
+                .thenThrow(InternalErrorException.with("Payment provider timed out"))
+                .thenReturn(expectedTransaction);
+
+        var anInput = new ChargeSubscriptionTestInput(expectedAccount.id().value(), expectedSubscription.id().value(), Payment.PIX, null);
+
+        // when
+        Assertions.assertThrows(InternalErrorException.class, () -> this.target.execute(anInput));
+        var actualOutput = this.target.execute(anInput);
+
+        // then
+        Assertions.assertEquals(expectedTransaction, actualOutput.paymentTransaction());
+
+        verify(paymentGateway, times(2)).processPayment(paymentCaptor.capture());
+
+        var actualPayments = paymentCaptor.getAllValues();
+        Assertions.assertEquals(actualPayments.get(0).orderId(), actualPayments.get(1).orderId());
+    }
+
     record ChargeSubscriptionTestInput(String accountId, String subscriptionId, String paymentType,
                                        String creditCardToken) implements ChargeSubscription.Input {
     }
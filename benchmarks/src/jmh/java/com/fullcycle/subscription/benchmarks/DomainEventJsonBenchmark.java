@@ -0,0 +1,123 @@
+package com.fullcycle.subscription.benchmarks;
+
+import com.fullcycle.subscription.domain.DomainEvent;
+import com.fullcycle.subscription.domain.account.Account;
+import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.account.idp.UserId;
+import com.fullcycle.subscription.domain.money.Money;
+import com.fullcycle.subscription.domain.person.Document;
+import com.fullcycle.subscription.domain.person.Email;
+import com.fullcycle.subscription.domain.person.Name;
+import com.fullcycle.subscription.domain.plan.Plan;
+import com.fullcycle.subscription.domain.plan.PlanId;
+import com.fullcycle.subscription.domain.subscription.Subscription;
+import com.fullcycle.subscription.domain.subscription.SubscriptionCommand;
+import com.fullcycle.subscription.domain.subscription.SubscriptionId;
+import com.fullcycle.subscription.domain.subscription.status.SubscriptionStatus;
+import com.fullcycle.subscription.infrastructure.json.EventCodec;
+import com.fullcycle.subscription.infrastructure.json.EventFormat;
+import com.fullcycle.subscription.infrastructure.json.Json;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DomainEventJsonBenchmark {
+
+    @Param({"SubscriptionCreated", "SubscriptionRenewed", "SubscriptionIncomplete", "SubscriptionCanceled", "AccountCreated"})
+    public String eventType;
+
+    private DomainEvent event;
+    private Class<? extends DomainEvent> eventClass;
+    private String eventTypeName;
+    private String json;
+    private String doubleEncodedJson;
+    private EventCodec.EncodedEvent smile;
+
+    @Setup
+    public void setUp() {
+        this.event = newEvent(eventType);
+        this.eventClass = event.getClass();
+        this.eventTypeName = EventCodec.eventType(event);
+        this.json = Json.writeValueAsString(event);
+        this.doubleEncodedJson = Json.writeValueAsString(json);
+        this.smile = EventCodec.encode(event, EventFormat.SMILE);
+    }
+
+    @Benchmark
+    public String write() {
+        return Json.writeValueAsString(event);
+    }
+
+    @Benchmark
+    public DomainEvent readTree() {
+        return Json.readTree(json, eventClass);
+    }
+
+    @Benchmark
+    public DomainEvent readTreeDoubleEncoded() {
+        return Json.readTree(doubleEncodedJson, eventClass);
+    }
+
+    @Benchmark
+    public String codecEncode() {
+        return EventCodec.encode(event);
+    }
+
+    @Benchmark
+    public DomainEvent codecDecode() {
+        return EventCodec.decode(eventTypeName, json);
+    }
+
+    @Benchmark
+    public DomainEvent codecDecodeDoubleEncoded() {
+        return EventCodec.decode(eventTypeName, doubleEncodedJson);
+    }
+
+    @Benchmark
+    public EventCodec.EncodedEvent smileEncode() {
+        return EventCodec.encode(event, EventFormat.SMILE);
+    }
+
+    @Benchmark
+    public DomainEvent smileDecode() {
+        return EventCodec.decode(smile.eventType(), smile.format(), smile.data(), smile.payload());
+    }
+
+    private static DomainEvent newEvent(final String type) {
+        final var aPlan = Plan.newPlan(new PlanId(1L), "Plus", "Plus plan", true, new Money("BRL", 20.0));
+        final var now = Instant.now();
+        final var anActiveSubscription = Subscription.with(
+                new SubscriptionId("SUB-1"), 1, new AccountId("ACC-1"), aPlan.id(), LocalDate.now(), SubscriptionStatus.ACTIVE, now, "TX-0", now, now
+        );
+
+        final var anEvent = switch (type) {
+            case "SubscriptionCreated" -> Subscription.newSubscription(new SubscriptionId("SUB-1"), new AccountId("ACC-1"), aPlan).domainEvents().getFirst();
+            case "SubscriptionRenewed" -> lastEventAfter(anActiveSubscription, new SubscriptionCommand.RenewSubscription(aPlan, "TX-1"));
+            case "SubscriptionIncomplete" -> lastEventAfter(anActiveSubscription, new SubscriptionCommand.IncompleteSubscription("declined", "TX-1"));
+            case "SubscriptionCanceled" -> lastEventAfter(anActiveSubscription, new SubscriptionCommand.CancelSubscription());
+            case "AccountCreated" -> Account.newAccount(
+                    new AccountId("ACC-1"),
+                    new UserId("USER-1"),
+                    new Email("john@doe.com"),
+                    new Name("John", "Doe"),
+                    Document.create("12345678900", Document.Cpf.TYPE)
+            ).domainEvents().getFirst();
+            default -> throw new IllegalArgumentException("Unknown event type: " + type);
+        };
+
+        if (!anEvent.getClass().getSimpleName().equals(type)) {
+            throw new IllegalStateException("Expected %s but got %s".formatted(type, anEvent.getClass().getSimpleName()));
+        }
+        return anEvent;
+    }
+
+    private static DomainEvent lastEventAfter(final Subscription aSubscription, final SubscriptionCommand cmd) {
+        aSubscription.execute(cmd);
+        return aSubscription.domainEvents().getLast();
+    }
+}
@@ -0,0 +1,114 @@
+package com.fullcycle.subscription.benchmarks;
+
+import com.fullcycle.subscription.domain.account.Account;
+import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.account.idp.UserId;
+import com.fullcycle.subscription.domain.money.Money;
+import com.fullcycle.subscription.domain.person.Address;
+import com.fullcycle.subscription.domain.person.Document;
+import com.fullcycle.subscription.domain.person.Email;
+import com.fullcycle.subscription.domain.person.Name;
+import com.fullcycle.subscription.domain.plan.Plan;
+import com.fullcycle.subscription.domain.plan.PlanId;
+import com.fullcycle.subscription.domain.subscription.Subscription;
+import com.fullcycle.subscription.domain.subscription.SubscriptionId;
+import com.fullcycle.subscription.domain.subscription.status.SubscriptionStatus;
+import com.fullcycle.subscription.infrastructure.gateway.repository.AccountJdbcRepository;
+import com.fullcycle.subscription.infrastructure.gateway.repository.EventJdbcRepository;
+import com.fullcycle.subscription.infrastructure.gateway.repository.PlanJdbcRepository;
+import com.fullcycle.subscription.infrastructure.gateway.repository.SubscriptionJdbcRepository;
+import com.fullcycle.subscription.infrastructure.jdbc.JdbcClientAdapter;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JdbcRepositoryBenchmark {
+
+    private static final int PLANS = 20;
+
+    private PlanJdbcRepository planRepository;
+    private AccountJdbcRepository accountRepository;
+    private SubscriptionJdbcRepository subscriptionRepository;
+
+    private PlanId planId;
+    private AccountId accountId;
+    private SubscriptionId subscriptionId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final var dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:benchmarks;MODE=MYSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("root");
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        final var databaseClient = new JdbcClientAdapter(JdbcClient.create(dataSource), new NamedParameterJdbcTemplate(dataSource));
+        final var eventRepository = new EventJdbcRepository(databaseClient);
+        this.planRepository = new PlanJdbcRepository(databaseClient);
+        this.accountRepository = new AccountJdbcRepository(databaseClient, eventRepository);
+        this.subscriptionRepository = new SubscriptionJdbcRepository(databaseClient, eventRepository);
+
+        Plan aPlan = null;
+        for (int i = 0; i < PLANS; i++) {
+            aPlan = this.planRepository.save(Plan.newPlan(PlanId.empty(), "Plan " + i, "Benchmark plan " + i, true, new Money("BRL", 10.0 + i)));
+        }
+        this.planId = aPlan.id();
+
+        this.accountId = new AccountId("0123456789abcdef0123456789abcdef");
+        this.accountRepository.save(Account.with(
+                accountId,
+                0,
+                new UserId("benchmark-user"),
+                new Email("john@doe.com"),
+                new Name("John", "Doe"),
+                Document.create("12345678900", Document.Cpf.TYPE),
+                new Address("12312123", "123", "", "Brasil")
+        ));
+
+        final var now = Instant.now();
+        this.subscriptionId = new SubscriptionId("fedcba9876543210fedcba9876543210");
+        this.subscriptionRepository.save(Subscription.with(
+                subscriptionId, 0, accountId, planId, LocalDate.now(), SubscriptionStatus.ACTIVE, now, "TX-0", now, now
+        ));
+    }
+
+    @Benchmark
+    public Optional<Plan> planOfId() {
+        return this.planRepository.planOfId(planId);
+    }
+
+    @Benchmark
+    public List<Plan> allPlans() {
+        return this.planRepository.allPlans();
+    }
+
+    @Benchmark
+    public Optional<Account> accountOfId() {
+        return this.accountRepository.accountOfId(accountId);
+    }
+
+    @Benchmark
+    public Optional<Subscription> subscriptionOfId() {
+        return this.subscriptionRepository.subscriptionOfId(subscriptionId);
+    }
+
+    @Benchmark
+    public Optional<Subscription> latestSubscriptionOfAccount() {
+        return this.subscriptionRepository.latestSubscriptionOfAccount(accountId);
+    }
+}
@@ -0,0 +1,89 @@
+package com.fullcycle.subscription.benchmarks;
+
+import com.fullcycle.subscription.infrastructure.configuration.properties.HttpTransportProperties;
+import com.fullcycle.subscription.infrastructure.configuration.properties.RestClientProperties;
+import com.fullcycle.subscription.infrastructure.http.HostMetricsInterceptor;
+import com.fullcycle.subscription.infrastructure.http.HttpTransport;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.noContent;
+import static com.github.tomakehurst.wiremock.client.WireMock.put;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+// Simulates the admin calls made by KeyCloakIdentityProviderClient against a local WireMock, comparing the
+// previous per-client HTTP/1.1 setup ("legacy") with the configurable transport on each protocol version.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(16)
+public class KeycloakTransportBenchmark {
+
+    @Param({"legacy", "HTTP_1_1", "HTTP_2"})
+    public String transport;
+
+    private WireMockServer server;
+    private HttpTransport httpTransport;
+    private RestClient restClient;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.server = new WireMockServer(options()
+                .dynamicPort()
+                .http2PlainDisabled(false)
+                .containerThreads(64)
+                .disableRequestJournal());
+        this.server.start();
+        this.server.stubFor(put(urlPathMatching("/admin/users/.*/groups/.*")).willReturn(noContent()));
+
+        final var properties = new RestClientProperties();
+        properties.setBaseUrl(this.server.baseUrl());
+        properties.setReadTimeout(1_000);
+        properties.setConnectTimeout(500);
+
+        final ClientHttpRequestFactory requestFactory;
+        if ("legacy".equals(this.transport)) {
+            final var factory = new JdkClientHttpRequestFactory(HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build());
+            factory.setReadTimeout(properties.readTimeout());
+            requestFactory = factory;
+        } else {
+            properties.setVersion(this.transport);
+            HttpTransport.configurePool(new HttpTransportProperties());
+            this.httpTransport = HttpTransport.create("benchmark", properties);
+            requestFactory = this.httpTransport.requestFactory();
+        }
+
+        this.restClient = RestClient.builder()
+                .baseUrl(properties.baseUrl())
+                .requestFactory(requestFactory)
+                .requestInterceptor(new HostMetricsInterceptor("benchmark", new SimpleMeterRegistry()))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (this.httpTransport != null) {
+            this.httpTransport.close();
+        }
+        this.server.stop();
+    }
+
+    @Benchmark
+    public ResponseEntity<Void> addUserToGroup() {
+        return this.restClient.put()
+                .uri("/admin/users/{id}/groups/{groupId}", "c1b2e1f4-user", "premium")
+                .header(HttpHeaders.AUTHORIZATION, "bearer benchmark-token")
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
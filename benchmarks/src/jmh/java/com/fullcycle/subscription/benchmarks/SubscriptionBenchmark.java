@@ -0,0 +1,71 @@
+package com.fullcycle.subscription.benchmarks;
+
+import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.money.Money;
+import com.fullcycle.subscription.domain.plan.Plan;
+import com.fullcycle.subscription.domain.plan.PlanId;
+import com.fullcycle.subscription.domain.subscription.Subscription;
+import com.fullcycle.subscription.domain.subscription.SubscriptionCommand;
+import com.fullcycle.subscription.domain.subscription.SubscriptionId;
+import com.fullcycle.subscription.domain.subscription.status.SubscriptionStatus;
+import com.fullcycle.subscription.domain.utils.IdUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SubscriptionBenchmark {
+
+    private Plan plan;
+
+    @Setup
+    public void setUp() {
+        this.plan = Plan.newPlan(new PlanId(1L), "Plus", "Plus plan", true, new Money("BRL", 20.0));
+    }
+
+    @Benchmark
+    public Subscription renew() {
+        final var aSubscription = newSubscription(SubscriptionStatus.ACTIVE);
+        aSubscription.execute(new SubscriptionCommand.RenewSubscription(plan, "TX-1"));
+        return aSubscription;
+    }
+
+    @Benchmark
+    public Subscription incomplete() {
+        final var aSubscription = newSubscription(SubscriptionStatus.ACTIVE);
+        aSubscription.execute(new SubscriptionCommand.IncompleteSubscription("declined", "TX-1"));
+        return aSubscription;
+    }
+
+    @Benchmark
+    public Subscription cancel() {
+        final var aSubscription = newSubscription(SubscriptionStatus.ACTIVE);
+        aSubscription.execute(new SubscriptionCommand.CancelSubscription());
+        return aSubscription;
+    }
+
+    @Benchmark
+    public String uniqueId() {
+        return IdUtils.uniqueId();
+    }
+
+    static Subscription newSubscription(final String status) {
+        final var now = Instant.now();
+        return Subscription.with(
+                new SubscriptionId("SUB-1"),
+                1,
+                new AccountId("ACC-1"),
+                new PlanId(1L),
+                LocalDate.now(),
+                status,
+                now,
+                "TX-0",
+                now,
+                now
+        );
+    }
+}
@@ -0,0 +1,29 @@
+package com.fullcycle.subscription.benchmarks;
+
+import com.fullcycle.subscription.domain.subscription.Subscription;
+import com.fullcycle.subscription.domain.subscription.status.SubscriptionStatus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SubscriptionStatusBenchmark {
+
+    @Param({"trialing", "incomplete", "active", "canceled"})
+    public String status;
+
+    private Subscription template;
+
+    @Setup
+    public void setUp() {
+        this.template = SubscriptionBenchmark.newSubscription(SubscriptionStatus.ACTIVE);
+    }
+
+    @Benchmark
+    public void createStatus(final Blackhole bh) {
+        bh.consume(SubscriptionStatus.create(status, template));
+    }
+}
@@ -1,6 +1,8 @@
 package com.fullcycle.subscription.domain.account;
 
 import com.fullcycle.subscription.domain.account.idp.UserId;
+import com.fullcycle.subscription.domain.pagination.Pagination;
+import com.fullcycle.subscription.domain.person.Email;
 
 import java.util.Optional;
 
@@ -12,5 +14,9 @@ public interface AccountGateway {
 
     Optional<Account> accountOfUserId(final UserId userId);
 
+    boolean existsAccountOfEmail(final Email email);
+
+    Pagination<Account> allAccounts(final AccountSearchQuery query);
+
     Account save(Account anAccount);
 }
@@ -0,0 +1,7 @@
+package com.fullcycle.subscription.domain.account;
+
+public record AccountSearchQuery(
+        int perPage,
+        String cursor
+) {
+}
@@ -1,8 +1,16 @@
 package com.fullcycle.subscription.domain.account.idp;
 
+import com.fullcycle.subscription.domain.account.AccountId;
+
+import java.util.Optional;
+
 public interface IdentityProviderGateway {
     UserId create(User anUser);
 
+    Optional<UserId> userIdOfAccount(AccountId anAccountId);
+
+    void delete(UserId anId);
+
     void addUserToGroup(UserId anId, GroupId groupId);
 
     void removeUserFromGroup(UserId anId, GroupId groupId);
@@ -0,0 +1,40 @@
+package com.fullcycle.subscription.domain.exceptions;
+
+import com.fullcycle.subscription.domain.AggregateRoot;
+import com.fullcycle.subscription.domain.Identifier;
+
+public class OptimisticLockException extends NoStacktraceException {
+
+    private final String aggregateType;
+    private final Object aggregateId;
+    private final int version;
+
+    protected OptimisticLockException(final String aMessage, final String aggregateType, final Object aggregateId, final int version) {
+        super(aMessage);
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.version = version;
+    }
+
+    public static OptimisticLockException with(final Class<? extends AggregateRoot<?>> aggClass, final Identifier<?> id, final int version) {
+        final var aggregateType = aggClass.getSimpleName();
+        return new OptimisticLockException(
+                "%s with id %s and version %s was modified concurrently".formatted(aggregateType, id.value(), version),
+                aggregateType,
+                id.value(),
+                version
+        );
+    }
+
+    public String aggregateType() {
+        return aggregateType;
+    }
+
+    public Object aggregateId() {
+        return aggregateId;
+    }
+
+    public int version() {
+        return version;
+    }
+}
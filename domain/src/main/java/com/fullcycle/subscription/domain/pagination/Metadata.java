@@ -3,6 +3,15 @@ package com.fullcycle.subscription.domain.pagination;
 public record Metadata(
         int currentPage,
         int perPage,
-        long total
+        long total,
+        String nextCursor
 ) {
-}
\ No newline at end of file
+
+    public Metadata(
+            int currentPage,
+            int perPage,
+            long total
+    ) {
+        this(currentPage, perPage, total, null);
+    }
+}
@@ -1,6 +1,7 @@
 package com.fullcycle.subscription.domain.subscription;
 
 import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.pagination.Pagination;
 
 import java.util.Optional;
 
@@ -10,6 +11,8 @@ public interface SubscriptionGateway {
 
     Optional<Subscription> subscriptionOfId(SubscriptionId subscriptionId);
 
+    Pagination<Subscription> allSubscriptions(SubscriptionSearchQuery query);
+
     Subscription save(Subscription subscription);
 
     SubscriptionId nextId();
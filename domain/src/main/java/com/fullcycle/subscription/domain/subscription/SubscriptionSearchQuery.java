@@ -0,0 +1,11 @@
+package com.fullcycle.subscription.domain.subscription;
+
+import com.fullcycle.subscription.domain.plan.PlanId;
+
+public record SubscriptionSearchQuery(
+        int perPage,
+        String cursor,
+        String status,
+        PlanId planId
+) {
+}
@@ -1,5 +1,6 @@
 package com.fullcycle.subscription.domain.utils;
 
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
 public final class IdUtils {
@@ -10,4 +11,10 @@ public final class IdUtils {
     public static String uniqueId() {
         return UUID.randomUUID().toString().replace("-", "").toLowerCase();
     }
+
+    // same format as uniqueId, but always the same for the same parts
+    public static String stableId(final String... parts) {
+        final var key = String.join(":", parts).getBytes(StandardCharsets.UTF_8);
+        return UUID.nameUUIDFromBytes(key).toString().replace("-", "").toLowerCase();
+    }
 }
\ No newline at end of file
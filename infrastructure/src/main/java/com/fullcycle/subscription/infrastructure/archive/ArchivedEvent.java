@@ -0,0 +1,31 @@
+package com.fullcycle.subscription.infrastructure.archive;
+
+import com.fullcycle.subscription.domain.DomainEvent;
+import com.fullcycle.subscription.infrastructure.json.EventCodec;
+import com.fullcycle.subscription.infrastructure.json.EventFormat;
+
+import java.time.Instant;
+
+public record ArchivedEvent(
+        long eventId,
+        String aggregateId,
+        String aggregateType,
+        String eventType,
+        Instant eventDate,
+        String eventFormat,
+        String eventData,
+        byte[] eventPayload
+) {
+
+    public String aggregateKey() {
+        return aggregateKey(aggregateType, aggregateId);
+    }
+
+    public DomainEvent toDomainEvent() {
+        return EventCodec.decode(eventType, EventFormat.of(eventFormat), eventData, eventPayload);
+    }
+
+    public static String aggregateKey(final String aggregateType, final String aggregateId) {
+        return aggregateType + ":" + aggregateId;
+    }
+}
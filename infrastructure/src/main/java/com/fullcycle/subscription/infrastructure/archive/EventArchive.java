@@ -0,0 +1,10 @@
+package com.fullcycle.subscription.infrastructure.archive;
+
+import java.util.List;
+
+public interface EventArchive {
+
+    EventArchive NONE = (aggregateId, aggregateType, afterEventId) -> List.of();
+
+    List<ArchivedEvent> eventsOfAggregateAfter(String aggregateId, String aggregateType, long afterEventId);
+}
@@ -0,0 +1,262 @@
+package com.fullcycle.subscription.infrastructure.archive;
+
+import com.fullcycle.subscription.infrastructure.configuration.properties.EventStoreProperties;
+import com.fullcycle.subscription.infrastructure.json.Json;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+@ConditionalOnProperty(prefix = "events.archive", name = "enabled", havingValue = "true")
+public class SegmentEventArchive implements EventArchive {
+
+    private static final String SEGMENT_SUFFIX = ".ndjson.gz";
+    private static final String INDEX_SUFFIX = ".idx.json";
+
+    private final Path directory;
+    private final Duration refreshInterval;
+    private final Clock clock;
+
+    // the event id range of every known segment stays in memory; the aggregate sets are the heavy part, so only the most
+    // recently used ones are kept and the others are read back from their index file
+    private final Map<Path, SegmentRange> segments = new ConcurrentHashMap<>();
+    private final Map<Path, Set<String>> aggregates;
+    private volatile Instant lastScan;
+
+    @Autowired
+    public SegmentEventArchive(final EventStoreProperties properties, final Clock clock) {
+        this(
+                Path.of(properties.archive().directory()),
+                properties.archive().indexRefreshInterval(),
+                properties.archive().maxCachedIndexes(),
+                clock
+        );
+    }
+
+    public SegmentEventArchive(final Path directory) {
+        this(directory, Duration.ofMinutes(1), 1000, Clock.systemUTC());
+    }
+
+    public SegmentEventArchive(final Path directory, final Duration refreshInterval, final int maxCachedIndexes, final Clock clock) {
+        this.directory = Objects.requireNonNull(directory);
+        this.refreshInterval = Objects.requireNonNull(refreshInterval);
+        this.clock = Objects.requireNonNull(clock);
+        this.aggregates = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Path, Set<String>> eldest) {
+                return size() > maxCachedIndexes;
+            }
+        });
+    }
+
+    public List<SegmentIndex> write(final List<ArchivedEvent> events) {
+        if (events == null || events.isEmpty()) {
+            return List.of();
+        }
+
+        final var partitions = events.stream()
+                .sorted(Comparator.comparingLong(ArchivedEvent::eventId))
+                .collect(Collectors.groupingBy(ev -> LocalDate.ofInstant(ev.eventDate(), ZoneOffset.UTC), TreeMap::new, Collectors.toList()));
+
+        final var written = new ArrayList<SegmentIndex>(partitions.size());
+        partitions.forEach((partition, partitionEvents) -> written.add(writeSegment(partition, partitionEvents)));
+        return written;
+    }
+
+    @Override
+    public List<ArchivedEvent> eventsOfAggregateAfter(final String aggregateId, final String aggregateType, final long afterEventId) {
+        final var aggregateKey = ArchivedEvent.aggregateKey(aggregateType, aggregateId);
+        final var found = new TreeMap<Long, ArchivedEvent>();
+
+        refreshSegments();
+
+        for (var entry : this.segments.entrySet()) {
+            final var range = entry.getValue();
+            if (range.lastEventId() <= afterEventId || !aggregatesOf(entry.getKey()).contains(aggregateKey)) {
+                continue;
+            }
+
+            for (var ev : readSegment(range.segment())) {
+                if (ev.eventId() > afterEventId && aggregateKey.equals(ev.aggregateKey())) {
+                    // a batch archived twice after a crash lands in two segments; the event id is the identity
+                    found.putIfAbsent(ev.eventId(), ev);
+                }
+            }
+        }
+        return List.copyOf(found.values());
+    }
+
+    private SegmentIndex writeSegment(final LocalDate partition, final List<ArchivedEvent> events) {
+        final var name = "events-%d-%d".formatted(events.getFirst().eventId(), events.getLast().eventId());
+        final var partitionDir = this.directory.resolve(partition.toString());
+
+        final var index = new SegmentIndex(
+                name + SEGMENT_SUFFIX,
+                partition,
+                events.getFirst().eventId(),
+                events.getLast().eventId(),
+                events.size(),
+                events.stream().map(ArchivedEvent::aggregateKey).collect(Collectors.toCollection(TreeSet::new))
+        );
+
+        try {
+            Files.createDirectories(partitionDir);
+
+            final var segmentPath = partitionDir.resolve(index.segment());
+            atomicWrite(segmentPath, out -> {
+                try (var writer = new OutputStreamWriter(new GZIPOutputStream(out), StandardCharsets.UTF_8)) {
+                    for (var ev : events) {
+                        writer.write(Json.writeValueAsString(ev));
+                        writer.write('\n');
+                    }
+                }
+            });
+
+            // the index is written last: a segment without an index is ignored by readers and rewritten by the next run
+            final var indexPath = partitionDir.resolve(name + INDEX_SUFFIX);
+            atomicWrite(indexPath, out -> {
+                try (Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+                    writer.write(Json.writeValueAsString(index));
+                }
+            });
+
+            track(indexPath, index);
+            return index;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // segments written here are tracked as they are written; the directory is only walked on the first lookup and then
+    // at most once per refresh interval, to pick up the segments written by the other instances sharing it
+    private void refreshSegments() {
+        final var now = this.clock.instant();
+        final var last = this.lastScan;
+        if (last != null && now.isBefore(last.plus(this.refreshInterval))) {
+            return;
+        }
+
+        synchronized (this) {
+            if (this.lastScan != last) {
+                return;
+            }
+
+            if (Files.isDirectory(this.directory)) {
+                try (var paths = Files.walk(this.directory, 2)) {
+                    paths.filter(it -> it.getFileName().toString().endsWith(INDEX_SUFFIX))
+                            .filter(it -> !this.segments.containsKey(it))
+                            .forEach(it -> track(it, readIndex(it)));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            this.lastScan = now;
+        }
+    }
+
+    private void track(final Path indexPath, final SegmentIndex index) {
+        this.segments.put(indexPath, new SegmentRange(indexPath.resolveSibling(index.segment()), index.firstEventId(), index.lastEventId()));
+        this.aggregates.put(indexPath, index.aggregates());
+    }
+
+    private Set<String> aggregatesOf(final Path indexPath) {
+        final var cached = this.aggregates.get(indexPath);
+        if (cached != null) {
+            return cached;
+        }
+
+        final var loaded = readIndex(indexPath).aggregates();
+        this.aggregates.put(indexPath, loaded);
+        return loaded;
+    }
+
+    private static SegmentIndex readIndex(final Path path) {
+        try {
+            return Json.readValue(Files.readString(path), SegmentIndex.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<ArchivedEvent> readSegment(final Path path) {
+        final var events = new ArrayList<ArchivedEvent>();
+        try (var reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(Files.newInputStream(path)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    events.add(Json.readValue(line, ArchivedEvent.class));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return events;
+    }
+
+    private static void atomicWrite(final Path target, final SegmentWriter writer) throws IOException {
+        final var tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (var out = new FileOutputStream(tmp.toFile())) {
+            writer.write(new NonClosingOutputStream(out));
+            out.getFD().sync();
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private record SegmentRange(Path segment, long firstEventId, long lastEventId) {
+    }
+
+    @FunctionalInterface
+    private interface SegmentWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private static class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
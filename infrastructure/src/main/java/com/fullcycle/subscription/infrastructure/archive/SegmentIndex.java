@@ -0,0 +1,14 @@
+package com.fullcycle.subscription.infrastructure.archive;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+public record SegmentIndex(
+        String segment,
+        LocalDate partition,
+        long firstEventId,
+        long lastEventId,
+        int events,
+        Set<String> aggregates
+) {
+}
@@ -6,7 +6,7 @@ public interface AuthenticationGateway {
 
     AuthenticationResult refresh(RefreshTokenInput input);
 
-    record AuthenticationResult(String accessToken, String refreshToken) {
+    record AuthenticationResult(String accessToken, String refreshToken, long expiresIn) {
     }
 
     record ClientCredentialsInput(String clientId, String clientSecret) {
@@ -1,53 +1,177 @@
 package com.fullcycle.subscription.infrastructure.authentication.clientcredentials;
 
+import com.fullcycle.subscription.domain.exceptions.InternalErrorException;
 import com.fullcycle.subscription.infrastructure.authentication.clientcredentials.AuthenticationGateway.ClientCredentialsInput;
 import com.fullcycle.subscription.infrastructure.authentication.clientcredentials.AuthenticationGateway.RefreshTokenInput;
+import com.fullcycle.subscription.infrastructure.configuration.properties.ClientCredentialsProperties;
 import com.fullcycle.subscription.infrastructure.configuration.properties.KeycloakProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
 
 @Component
 public class ClientCredentialsManager implements GetClientCredentials, RefreshClientCredentials {
 
-    private static final AtomicReferenceFieldUpdater<ClientCredentialsManager, ClientCredentials> UPDATER
-            = AtomicReferenceFieldUpdater.newUpdater(ClientCredentialsManager.class, ClientCredentials.class, "credentials");
+    private static final Logger log = LoggerFactory.getLogger(ClientCredentialsManager.class);
+
     private final AuthenticationGateway authenticationGateway;
     private final KeycloakProperties keycloakProperties;
+    private final ClientCredentialsProperties properties;
+    private final Clock clock;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final Timer refreshSuccess;
+    private final Timer refreshFailure;
+    private final Counter renewals;
     private volatile ClientCredentials credentials;
 
     public ClientCredentialsManager(
             final AuthenticationGateway authenticationGateway,
-            final KeycloakProperties keycloakProperties
+            final KeycloakProperties keycloakProperties,
+            final ClientCredentialsProperties properties,
+            final Clock clock,
+            final MeterRegistry meterRegistry
     ) {
         this.authenticationGateway = Objects.requireNonNull(authenticationGateway);
         this.keycloakProperties = Objects.requireNonNull(keycloakProperties);
+        this.properties = Objects.requireNonNull(properties);
+        this.clock = Objects.requireNonNull(clock);
+
+        this.refreshSuccess = meterRegistry.timer("client-credentials.refresh", "outcome", "success");
+        this.refreshFailure = meterRegistry.timer("client-credentials.refresh", "outcome", "failure");
+        this.renewals = meterRegistry.counter("client-credentials.renewals");
+        Gauge.builder("client-credentials.token.age", this, it -> it.tokenAge().toMillis())
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("client-credentials.token.remaining", this, it -> it.tokenRemaining().toMillis())
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
     }
 
     @Override
     public String retrieve() {
-        return this.credentials.accessToken;
+        final var current = this.credentials;
+        if (current != null && current.isValidAt(this.clock.instant())) {
+            return current.accessToken();
+        }
+
+        // no token yet or it already expired: every caller waits on the same refresh instead of each calling Keycloak
+        return refreshWhile(it -> it == null || !it.isValidAt(this.clock.instant())).accessToken();
+    }
+
+    @Override
+    public String renew(final String rejectedToken) {
+        this.renewals.increment();
+        // only the first caller holding the rejected token refreshes; the others pick up the token it obtained
+        return refreshWhile(it -> it == null || it.accessToken().equals(rejectedToken)).accessToken();
     }
 
     @Override
     public void refresh() {
-        final var result = this.credentials == null ? login() : refreshToken();
-        UPDATER.set(this, new ClientCredentials(clientId(), result.accessToken(), result.refreshToken()));
+        refreshWhile(it -> true);
+    }
+
+    @Override
+    public boolean refreshIfDue() {
+        final var current = this.credentials;
+        if (current != null && this.clock.instant().isBefore(current.refreshAt())) {
+            return false;
+        }
+
+        refreshWhile(it -> it == null || !this.clock.instant().isBefore(it.refreshAt()));
+        return true;
+    }
+
+    private ClientCredentials refreshWhile(final Predicate<ClientCredentials> stale) {
+        try {
+            if (!this.refreshLock.tryLock(this.properties.waitTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                throw InternalErrorException.with("Timed out waiting for client credentials refresh [clientId:%s]".formatted(clientId()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw InternalErrorException.with("Interrupted waiting for client credentials refresh [clientId:%s]".formatted(clientId()), e);
+        }
+
+        try {
+            final var current = this.credentials;
+            if (!stale.test(current)) {
+                return current;
+            }
+
+            final var refreshed = doRefresh(current);
+            this.credentials = refreshed;
+            return refreshed;
+        } finally {
+            this.refreshLock.unlock();
+        }
+    }
+
+    private ClientCredentials doRefresh(final ClientCredentials current) {
+        final var sample = Timer.start();
+        try {
+            final var result = current == null || current.refreshToken() == null ? login() : refreshToken(current);
+            final var refreshed = newCredentials(result);
+            sample.stop(this.refreshSuccess);
+            return refreshed;
+        } catch (RuntimeException ex) {
+            sample.stop(this.refreshFailure);
+            log.warn("Failed to refresh client credentials [clientId:{}]", clientId(), ex);
+            throw ex;
+        }
     }
 
     private AuthenticationGateway.AuthenticationResult login() {
         return this.authenticationGateway.login(new ClientCredentialsInput(clientId(), clientSecret()));
     }
 
-    private AuthenticationGateway.AuthenticationResult refreshToken() {
+    private AuthenticationGateway.AuthenticationResult refreshToken(final ClientCredentials current) {
         try {
-            return this.authenticationGateway.refresh(new RefreshTokenInput(clientId(), clientSecret(), this.credentials.refreshToken()));
+            return this.authenticationGateway.refresh(new RefreshTokenInput(clientId(), clientSecret(), current.refreshToken()));
         } catch (RuntimeException ex) {
             return this.login();
         }
     }
 
+    private ClientCredentials newCredentials(final AuthenticationGateway.AuthenticationResult result) {
+        final var issuedAt = this.clock.instant();
+        final var ttl = result.expiresIn() > 0 ? Duration.ofSeconds(result.expiresIn()) : this.properties.defaultTtl();
+
+        // refresh ahead of expiry with jitter so replicas don't hit Keycloak together, but never later than half the lifetime
+        final var jitter = this.properties.refreshJitter().isZero()
+                ? Duration.ZERO
+                : Duration.ofMillis(ThreadLocalRandom.current().nextLong(this.properties.refreshJitter().toMillis() + 1));
+        final var lead = min(this.properties.refreshAhead().plus(jitter), ttl.dividedBy(2));
+
+        final var expiresAt = issuedAt.plus(ttl);
+        return new ClientCredentials(clientId(), result.accessToken(), result.refreshToken(), issuedAt, expiresAt.minus(lead), expiresAt);
+    }
+
+    private Duration tokenAge() {
+        final var current = this.credentials;
+        return current == null ? Duration.ZERO : Duration.between(current.issuedAt(), this.clock.instant());
+    }
+
+    private Duration tokenRemaining() {
+        final var current = this.credentials;
+        return current == null ? Duration.ZERO : Duration.between(this.clock.instant(), current.expiresAt());
+    }
+
+    private static Duration min(final Duration a, final Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
     private String clientId() {
         return this.keycloakProperties.clientId();
     }
@@ -56,6 +180,17 @@ public class ClientCredentialsManager implements GetClientCredentials, RefreshCl
         return this.keycloakProperties.clientSecret();
     }
 
-    record ClientCredentials(String clientId, String accessToken, String refreshToken) {
+    record ClientCredentials(
+            String clientId,
+            String accessToken,
+            String refreshToken,
+            Instant issuedAt,
+            Instant refreshAt,
+            Instant expiresAt
+    ) {
+
+        boolean isValidAt(final Instant now) {
+            return now.isBefore(this.expiresAt);
+        }
     }
-}
\ No newline at end of file
+}
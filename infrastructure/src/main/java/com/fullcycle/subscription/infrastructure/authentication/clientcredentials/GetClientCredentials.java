@@ -2,4 +2,6 @@ package com.fullcycle.subscription.infrastructure.authentication.clientcredentia
 
 public interface GetClientCredentials {
     String retrieve();
-}
\ No newline at end of file
+
+    String renew(String rejectedToken);
+}
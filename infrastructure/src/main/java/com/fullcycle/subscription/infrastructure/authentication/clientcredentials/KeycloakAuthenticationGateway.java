@@ -3,6 +3,7 @@ package com.fullcycle.subscription.infrastructure.authentication.clientcredentia
 import com.fullcycle.subscription.domain.exceptions.InternalErrorException;
 import com.fullcycle.subscription.infrastructure.configuration.annotations.Keycloak;
 import com.fullcycle.subscription.infrastructure.configuration.properties.KeycloakProperties;
+import com.fullcycle.subscription.infrastructure.resilience.Resilience;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.util.LinkedMultiValueMap;
@@ -15,13 +16,16 @@ public class KeycloakAuthenticationGateway implements AuthenticationGateway {
 
     private final RestClient restClient;
     private final String tokenUri;
+    private final Resilience resilience;
 
     public KeycloakAuthenticationGateway(
             @Keycloak final RestClient restClient,
-            final KeycloakProperties keycloakProperties
+            final KeycloakProperties keycloakProperties,
+            @Keycloak final Resilience resilience
     ) {
         this.restClient = Objects.requireNonNull(restClient);
         this.tokenUri = keycloakProperties.tokenUri();
+        this.resilience = Objects.requireNonNull(resilience);
     }
 
     @Override
@@ -31,19 +35,13 @@ public class KeycloakAuthenticationGateway implements AuthenticationGateway {
         map.set("client_id", input.clientId());
         map.set("client_secret", input.clientSecret());
 
-        final var output = this.restClient.post()
-                .uri(tokenUri)
-                .accept(MediaType.APPLICATION_JSON)
-                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-                .body(map)
-                .retrieve()
-                .body(KeycloakAuthenticationResult.class);
+        final var output = this.resilience.execute("login", () -> requestToken(map));
 
         if (output == null) {
             throw InternalErrorException.with("Failed to create client credentials [clientId:%s]".formatted(input.clientId()));
         }
 
-        return new AuthenticationResult(output.accessToken, output.refreshToken);
+        return new AuthenticationResult(output.accessToken, output.refreshToken, output.expiresIn == null ? 0L : output.expiresIn);
     }
 
     @Override
@@ -54,24 +52,29 @@ public class KeycloakAuthenticationGateway implements AuthenticationGateway {
         map.set("client_secret", input.clientSecret());
         map.set("refresh_token", input.refreshToken());
 
-        final var output = this.restClient.post()
-                .uri(tokenUri)
-                .accept(MediaType.APPLICATION_JSON)
-                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-                .body(map)
-                .retrieve()
-                .body(KeycloakAuthenticationResult.class);
+        final var output = this.resilience.execute("refresh", () -> requestToken(map));
 
         if (output == null) {
             throw InternalErrorException.with("Failed to refresh client credentials [clientId:%s]".formatted(input.clientId()));
         }
 
-        return new AuthenticationResult(output.accessToken, output.refreshToken);
+        return new AuthenticationResult(output.accessToken, output.refreshToken, output.expiresIn == null ? 0L : output.expiresIn);
+    }
+
+    private KeycloakAuthenticationResult requestToken(final LinkedMultiValueMap<Object, Object> form) {
+        return this.restClient.post()
+                .uri(tokenUri)
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(form)
+                .retrieve()
+                .body(KeycloakAuthenticationResult.class);
     }
 
     public record KeycloakAuthenticationResult(
             String accessToken,
-            String refreshToken
+            String refreshToken,
+            Long expiresIn
     ) {
     }
 }
\ No newline at end of file
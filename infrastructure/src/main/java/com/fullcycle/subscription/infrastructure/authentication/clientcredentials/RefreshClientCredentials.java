@@ -2,4 +2,6 @@ package com.fullcycle.subscription.infrastructure.authentication.clientcredentia
 
 public interface RefreshClientCredentials {
     void refresh();
-}
\ No newline at end of file
+
+    boolean refreshIfDue();
+}
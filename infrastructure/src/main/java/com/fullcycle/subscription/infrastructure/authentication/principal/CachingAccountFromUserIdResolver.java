@@ -0,0 +1,152 @@
+package com.fullcycle.subscription.infrastructure.authentication.principal;
+
+import com.fullcycle.subscription.domain.account.Account;
+import com.fullcycle.subscription.domain.account.AccountEvent;
+import com.fullcycle.subscription.domain.account.AccountGateway;
+import com.fullcycle.subscription.domain.account.idp.UserId;
+import com.fullcycle.subscription.infrastructure.configuration.properties.AccountCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class CachingAccountFromUserIdResolver implements AccountFromUserIdResolver {
+
+    private final AccountGateway accountGateway;
+    private final AccountCacheProperties properties;
+    private final Clock clock;
+    private final ConcurrentHashMap<UserId, Entry> entries = new ConcurrentHashMap<>();
+
+    // lets an account event drop its entries without scanning the whole cache
+    private final ConcurrentHashMap<String, UserId> userIdsByAccount = new ConcurrentHashMap<>();
+    private final Set<UserId> negatives = ConcurrentHashMap.newKeySet();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public CachingAccountFromUserIdResolver(
+            final AccountGateway accountGateway,
+            final AccountCacheProperties properties,
+            final Clock clock,
+            final MeterRegistry meterRegistry
+    ) {
+        this.accountGateway = Objects.requireNonNull(accountGateway);
+        this.properties = Objects.requireNonNull(properties);
+        this.clock = Objects.requireNonNull(clock);
+
+        this.hits = meterRegistry.counter("auth.account.cache", "result", "hit");
+        this.misses = meterRegistry.counter("auth.account.cache", "result", "miss");
+        meterRegistry.gaugeMapSize("auth.account.cache.size", Tags.empty(), this.entries);
+    }
+
+    @Override
+    public Optional<Account> apply(final UserId userId) {
+        final var now = this.clock.instant();
+
+        final var cached = this.entries.get(userId);
+        if (cached != null && !cached.isExpired(now)) {
+            this.hits.increment();
+            return cached.await();
+        }
+
+        final var candidate = new Entry();
+        final var winner = this.entries.compute(userId, (key, current) -> current == null || current.isExpired(now) ? candidate : current);
+        if (winner != candidate) {
+            this.hits.increment();
+            return winner.await();
+        }
+
+        this.misses.increment();
+        evictIfFull(now);
+
+        try {
+            final var anAccount = this.accountGateway.accountOfUserId(userId);
+            anAccount.ifPresentOrElse(it -> this.userIdsByAccount.put(it.id().value(), userId), () -> this.negatives.add(userId));
+            candidate.expiresAt = now.plus(anAccount.isPresent() ? this.properties.ttl() : this.properties.negativeTtl());
+            candidate.value.complete(anAccount);
+            return anAccount;
+        } catch (RuntimeException ex) {
+            this.entries.remove(userId, candidate);
+            candidate.value.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    public void invalidate(final UserId userId) {
+        this.entries.remove(userId);
+    }
+
+    // the outbox relay claims each event with SKIP LOCKED, so only the instance that relays it gets here; the other
+    // instances keep serving their entry until it expires, which is why account-cache.ttl bounds how stale a change can be
+    // seen across the cluster and negative-ttl bounds how long a new account can go unresolved elsewhere
+    @EventListener
+    public void onAccountEvent(final AccountEvent event) {
+        final var userId = this.userIdsByAccount.remove(event.accountId());
+        if (userId != null) {
+            this.entries.remove(userId);
+        }
+
+        // a new account may be hiding behind a negative entry whose user we can't tell from the event
+        final var iterator = this.negatives.iterator();
+        while (iterator.hasNext()) {
+            final var negative = iterator.next();
+            iterator.remove();
+            this.entries.remove(negative);
+        }
+    }
+
+    private void evictIfFull(final Instant now) {
+        if (this.entries.size() <= this.properties.maxSize()) {
+            return;
+        }
+
+        this.entries.values().removeIf(it -> it.isExpired(now));
+
+        final var target = this.properties.maxSize() * 9 / 10;
+        final var iterator = this.entries.values().iterator();
+        while (this.entries.size() > target && iterator.hasNext()) {
+            if (iterator.next().isLoaded()) {
+                iterator.remove();
+            }
+        }
+
+        this.userIdsByAccount.values().removeIf(it -> !this.entries.containsKey(it));
+        this.negatives.removeIf(it -> !this.entries.containsKey(it));
+    }
+
+    private static final class Entry {
+
+        private final CompletableFuture<Optional<Account>> value = new CompletableFuture<>();
+        private volatile Instant expiresAt;
+
+        boolean isLoaded() {
+            return this.expiresAt != null;
+        }
+
+        boolean isExpired(final Instant now) {
+            return this.expiresAt != null && !this.expiresAt.isAfter(now);
+        }
+
+        Optional<Account> await() {
+            try {
+                return this.value.join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw ex;
+            }
+        }
+    }
+}
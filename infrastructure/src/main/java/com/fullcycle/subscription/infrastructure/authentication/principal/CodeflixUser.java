@@ -21,7 +21,7 @@ public record CodeflixUser(
                 jwt.getClaimAsString(NAME),
                 idpUserId,
                 Optional.ofNullable(jwt.getClaimAsString(ACCOUNT_ID))
-                        .or(() -> accountResolver.apply(new UserId(idpUserId)).map(acc -> acc.userId().value()))
+                        .or(() -> accountResolver.apply(new UserId(idpUserId)).map(acc -> acc.id().value()))
                         .orElseThrow(() -> ForbiddenException.with("Could not resolve account from user"))
         );
     }
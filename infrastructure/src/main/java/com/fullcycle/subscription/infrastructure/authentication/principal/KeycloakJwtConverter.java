@@ -1,6 +1,5 @@
 package com.fullcycle.subscription.infrastructure.authentication.principal;
 
-import com.fullcycle.subscription.domain.account.AccountGateway;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
@@ -16,11 +15,11 @@ import java.util.stream.Stream;
 @Component
 public class KeycloakJwtConverter implements Converter<Jwt, AbstractAuthenticationToken> {
 
-    private final AccountGateway accountGateway;
+    private final AccountFromUserIdResolver accountResolver;
     private final KeycloakAuthoritiesConverter authoritiesConverter;
 
-    public KeycloakJwtConverter(final AccountGateway accountGateway) {
-        this.accountGateway = Objects.requireNonNull(accountGateway);
+    public KeycloakJwtConverter(final AccountFromUserIdResolver accountResolver) {
+        this.accountResolver = Objects.requireNonNull(accountResolver);
         this.authoritiesConverter = new KeycloakAuthoritiesConverter();
     }
 
@@ -30,7 +29,7 @@ public class KeycloakJwtConverter implements Converter<Jwt, AbstractAuthenticati
     }
 
     private CodeflixUser extractPrincipal(final Jwt jwt) {
-        return CodeflixUser.fromJwt(jwt, accountGateway::accountOfUserId);
+        return CodeflixUser.fromJwt(jwt, accountResolver);
     }
 
     private Collection<? extends GrantedAuthority> extractAuthorities(final Jwt jwt) {
@@ -0,0 +1,28 @@
+package com.fullcycle.subscription.infrastructure.billing;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+public record BillingRunReport(
+        String runId,
+        LocalDate referenceDate,
+        Instant startedAt,
+        Instant finishedAt,
+        long charged,
+        long incomplete,
+        long canceled,
+        long skipped,
+        long failed,
+        boolean fenced
+) {
+
+    public long processed() {
+        return charged + incomplete + canceled + skipped + failed;
+    }
+
+    public double throughput() {
+        final var millis = Math.max(1, Duration.between(startedAt, finishedAt).toMillis());
+        return processed() * 1000.0 / millis;
+    }
+}
@@ -0,0 +1,156 @@
+package com.fullcycle.subscription.infrastructure.billing;
+
+import com.fullcycle.subscription.application.subscription.ChargeSubscription;
+import com.fullcycle.subscription.domain.subscription.status.SubscriptionStatus;
+import com.fullcycle.subscription.domain.utils.IdUtils;
+import com.fullcycle.subscription.infrastructure.configuration.properties.BillingProperties;
+import com.fullcycle.subscription.infrastructure.gateway.repository.BillingRunJdbcRepository;
+import com.fullcycle.subscription.infrastructure.gateway.repository.SubscriptionJdbcRepository;
+import com.fullcycle.subscription.infrastructure.gateway.repository.SubscriptionJdbcRepository.DueSubscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+@Component
+public class BillingRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BillingRunner.class);
+
+    private final SubscriptionJdbcRepository subscriptionRepository;
+    private final BillingRunJdbcRepository billingRunRepository;
+    private final ChargeSubscription chargeSubscription;
+    private final BillingProperties properties;
+    private final Clock clock;
+
+    public BillingRunner(
+            final SubscriptionJdbcRepository subscriptionRepository,
+            final BillingRunJdbcRepository billingRunRepository,
+            final ChargeSubscription chargeSubscription,
+            final BillingProperties properties,
+            final Clock clock
+    ) {
+        this.subscriptionRepository = Objects.requireNonNull(subscriptionRepository);
+        this.billingRunRepository = Objects.requireNonNull(billingRunRepository);
+        this.chargeSubscription = Objects.requireNonNull(chargeSubscription);
+        this.properties = Objects.requireNonNull(properties);
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    public BillingRunReport run() {
+        return run(LocalDate.now(this.clock));
+    }
+
+    public BillingRunReport run(final LocalDate referenceDate) {
+        return run(referenceDate, 0, 1, () -> true);
+    }
+
+    // stillOwner is checked before every charge; once it fails no further charge of the shard goes out
+    public BillingRunReport run(final LocalDate referenceDate, final int shard, final int shardCount, final BooleanSupplier stillOwner) {
+        final var runId = IdUtils.uniqueId();
+        final var startedAt = this.clock.instant();
+        final var counters = new Counters();
+        final var fenced = new AtomicBoolean(false);
+
+        log.info("Billing run started [runId:{}] [referenceDate:{}] [shard:{}/{}]", runId, referenceDate, shard, shardCount);
+
+        final var permits = new Semaphore(this.properties.maxConcurrency());
+        try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            DueSubscription cursor = null;
+            while (!fenced.get()) {
+                final var chunk = this.subscriptionRepository.dueSubscriptions(referenceDate, cursor, shard, shardCount, this.properties.chunkSize());
+                for (var dueSubscription : chunk) {
+                    permits.acquireUninterruptibly();
+                    if (fenced.get()) {
+                        permits.release();
+                        break;
+                    }
+
+                    executor.execute(() -> {
+                        try {
+                            if (fenced.get() || !stillOwner.getAsBoolean()) {
+                                fenced.set(true);
+                                return;
+                            }
+                            charge(runId, dueSubscription, counters);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                }
+
+                if (chunk.size() < this.properties.chunkSize()) {
+                    break;
+                }
+                cursor = chunk.getLast();
+            }
+        }
+
+        if (fenced.get()) {
+            log.warn("Billing run stopped, the shard lease was lost [runId:{}] [shard:{}/{}]", runId, shard, shardCount);
+        }
+
+        final var report = new BillingRunReport(
+                runId,
+                referenceDate,
+                startedAt,
+                this.clock.instant(),
+                counters.charged.sum(),
+                counters.incomplete.sum(),
+                counters.canceled.sum(),
+                counters.skipped.sum(),
+                counters.failed.sum(),
+                fenced.get()
+        );
+
+        this.billingRunRepository.save(report);
+
+        log.info("Billing run finished [runId:{}] [charged:{}] [incomplete:{}] [canceled:{}] [skipped:{}] [failed:{}] [throughput:{}/s]",
+                runId, report.charged(), report.incomplete(), report.canceled(), report.skipped(), report.failed(), "%.2f".formatted(report.throughput()));
+
+        return report;
+    }
+
+    private void charge(final String runId, final DueSubscription dueSubscription, final Counters counters) {
+        try {
+            final var output = this.chargeSubscription.execute(
+                    new ChargeInput(dueSubscription.accountId().value(), this.properties.paymentType(), null)
+            );
+
+            if (output.paymentTransaction() == null) {
+                counters.skipped.increment();
+                return;
+            }
+
+            switch (output.subscriptionStatus()) {
+                case SubscriptionStatus.ACTIVE -> counters.charged.increment();
+                case SubscriptionStatus.INCOMPLETE -> counters.incomplete.increment();
+                case SubscriptionStatus.CANCELED -> counters.canceled.increment();
+                default -> counters.skipped.increment();
+            }
+        } catch (Exception ex) {
+            counters.failed.increment();
+            log.error("Billing run failed to charge subscription [runId:{}] [subscriptionId:{}] [accountId:{}]",
+                    runId, dueSubscription.id().value(), dueSubscription.accountId().value(), ex);
+        }
+    }
+
+    private static final class Counters {
+        private final LongAdder charged = new LongAdder();
+        private final LongAdder incomplete = new LongAdder();
+        private final LongAdder canceled = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+    }
+
+    record ChargeInput(String accountId, String paymentType, String creditCardToken) implements ChargeSubscription.Input {
+    }
+}
@@ -0,0 +1,134 @@
+package com.fullcycle.subscription.infrastructure.billing;
+
+import com.fullcycle.subscription.application.subscription.ChargeSubscription;
+import com.fullcycle.subscription.domain.exceptions.DomainException;
+import com.fullcycle.subscription.domain.exceptions.InternalErrorException;
+import com.fullcycle.subscription.domain.utils.IdUtils;
+import com.fullcycle.subscription.infrastructure.configuration.properties.ChargeClaimProperties;
+import com.fullcycle.subscription.infrastructure.gateway.repository.ChargeClaimJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Clock;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class CoalescingChargeSubscription extends ChargeSubscription {
+
+    private final ChargeSubscription delegate;
+    private final ChargeClaimJdbcRepository claimRepository;
+    private final ChargeClaimProperties properties;
+    private final Clock clock;
+    private final String ownerId = IdUtils.uniqueId();
+    private final ConcurrentHashMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter coalesced;
+    private final Counter claimConflicts;
+
+    public CoalescingChargeSubscription(
+            final ChargeSubscription delegate,
+            final ChargeClaimJdbcRepository claimRepository,
+            final ChargeClaimProperties properties,
+            final Clock clock,
+            final MeterRegistry meterRegistry
+    ) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.claimRepository = Objects.requireNonNull(claimRepository);
+        this.properties = Objects.requireNonNull(properties);
+        this.clock = Objects.requireNonNull(clock);
+
+        this.coalesced = meterRegistry.counter("charges.coalesced");
+        this.claimConflicts = meterRegistry.counter("charges.claim.conflicts");
+    }
+
+    @Override
+    public Output execute(final Input in) {
+        if (in == null) {
+            throw new IllegalArgumentException("Input of CoalescingChargeSubscription should not be null");
+        }
+
+        final var accountId = in.accountId();
+        final var candidate = new InFlight(in.paymentType(), in.creditCardToken(), new CompletableFuture<>());
+        final var running = this.inFlight.putIfAbsent(accountId, candidate);
+        if (running != null) {
+            // the caller only shares the result of a charge made with the same payment input, any other one would be answered
+            // with a transaction it didn't ask for
+            if (!running.sameInputAs(candidate)) {
+                throw DomainException.with("A charge for account %s is already in progress with a different payment method".formatted(accountId));
+            }
+            this.coalesced.increment();
+            return await(running.output());
+        }
+
+        try {
+            final var output = chargeWithClaim(in);
+            candidate.output().complete(output);
+            return output;
+        } catch (RuntimeException ex) {
+            candidate.output().completeExceptionally(ex);
+            throw ex;
+        } finally {
+            this.inFlight.remove(accountId, candidate);
+        }
+    }
+
+    private Output chargeWithClaim(final Input in) {
+        final var accountId = in.accountId();
+        awaitClaim(accountId);
+
+        try {
+            // after waiting on another node the subscription is usually renewed already and the delegate returns without charging
+            return this.delegate.execute(in);
+        } finally {
+            this.claimRepository.release(accountId, this.ownerId);
+        }
+    }
+
+    private void awaitClaim(final String accountId) {
+        final var deadline = this.clock.instant().plus(this.properties.waitTimeout());
+        var conflicted = false;
+
+        while (true) {
+            final var now = this.clock.instant();
+            if (this.claimRepository.tryClaim(accountId, this.ownerId, now, now.plus(this.properties.ttl()))) {
+                return;
+            }
+
+            if (!conflicted) {
+                conflicted = true;
+                this.claimConflicts.increment();
+            }
+
+            if (!now.isBefore(deadline)) {
+                throw DomainException.with("A charge for account %s is already in progress".formatted(accountId));
+            }
+
+            try {
+                Thread.sleep(this.properties.pollInterval().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw InternalErrorException.with("Interrupted while waiting for the charge claim of account %s".formatted(accountId), e);
+            }
+        }
+    }
+
+    private static Output await(final CompletableFuture<Output> running) {
+        try {
+            return running.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private record InFlight(String paymentType, String creditCardToken, CompletableFuture<Output> output) {
+
+        boolean sameInputAs(final InFlight other) {
+            return Objects.equals(paymentType, other.paymentType) && Objects.equals(creditCardToken, other.creditCardToken);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.fullcycle.subscription.infrastructure.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+@Configuration(proxyBeanMethods = false)
+public class ExportConfig implements WebMvcConfigurer {
+
+    public static final String REQUEST_TIMEOUT_ATTRIBUTE = ExportConfig.class.getName() + ".requestTimeout";
+
+    // a full export outlives the container's default async timeout, which would cut the body mid-stream after the 200 went out;
+    // the handler leaves its own timeout on the request and it is applied right before the async processing starts
+    @Override
+    public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(final NativeWebRequest request, final Callable<T> task) {
+                if (request instanceof AsyncWebRequest asyncRequest
+                        && request.getAttribute(REQUEST_TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Duration timeout) {
+                    asyncRequest.setTimeout(timeout.toMillis());
+                }
+            }
+        });
+    }
+}
@@ -2,9 +2,11 @@ package com.fullcycle.subscription.infrastructure.configuration;
 
 import com.fullcycle.subscription.domain.exceptions.DomainException;
 import com.fullcycle.subscription.domain.exceptions.InternalErrorException;
+import com.fullcycle.subscription.domain.exceptions.OptimisticLockException;
 import com.fullcycle.subscription.domain.validation.Error;
 import com.fullcycle.subscription.domain.validation.handler.Notification;
 import com.fullcycle.subscription.infrastructure.exceptions.ForbiddenException;
+import com.fullcycle.subscription.infrastructure.exceptions.ServiceUnavailableException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -38,6 +40,20 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return ResponseEntity.unprocessableEntity().body(new Error("", ex.getMessage()));
     }
 
+    // the remote dependency is being protected, so the client is told to back off instead of getting a plain error
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<?> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        final var retryAfter = Math.max(1, (ex.retryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                .body(new Error("", ex.getMessage()));
+    }
+
+    @ExceptionHandler(OptimisticLockException.class)
+    public ResponseEntity<?> handleOptimisticLockException(OptimisticLockException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new Error(ex.aggregateType(), ex.getMessage()));
+    }
+
     @ExceptionHandler(ForbiddenException.class)
     public ResponseEntity<?> handleForbiddenException(ForbiddenException ex) {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new Error("Authentication", ex.getMessage()));
@@ -0,0 +1,24 @@
+package com.fullcycle.subscription.infrastructure.configuration;
+
+import com.fullcycle.subscription.infrastructure.configuration.properties.IdempotencyProperties;
+import com.fullcycle.subscription.infrastructure.idempotency.IdempotencyFilter;
+import com.fullcycle.subscription.infrastructure.idempotency.IdempotencyStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    @Bean
+    FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(final IdempotencyStore store, final IdempotencyProperties properties) {
+        final var registration = new FilterRegistrationBean<>(new IdempotencyFilter(store, properties));
+        // after Spring Security so the key is scoped to the authenticated principal
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        registration.addUrlPatterns("/subscriptions", "/subscriptions/active/charge", "/subscriptions/active/cancel", "/accounts/sign-up");
+        return registration;
+    }
+}
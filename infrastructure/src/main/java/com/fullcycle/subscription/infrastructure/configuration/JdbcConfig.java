@@ -2,15 +2,21 @@ package com.fullcycle.subscription.infrastructure.configuration;
 
 import com.fullcycle.subscription.infrastructure.jdbc.DatabaseClient;
 import com.fullcycle.subscription.infrastructure.jdbc.JdbcClientAdapter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.simple.JdbcClient;
 
 @Configuration(proxyBeanMethods = false)
 public class JdbcConfig {
 
     @Bean
-    DatabaseClient databaseClient(JdbcClient jdbcClient) {
-        return new JdbcClientAdapter(jdbcClient);
+    DatabaseClient databaseClient(
+            JdbcClient jdbcClient,
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+            @Value("${spring.datasource.url:}") String datasourceUrl
+    ) {
+        return new JdbcClientAdapter(jdbcClient, namedParameterJdbcTemplate, datasourceUrl.startsWith("jdbc:mysql:"));
     }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.fullcycle.subscription.infrastructure.configuration;
+
+import com.fullcycle.subscription.infrastructure.configuration.annotations.Keycloak;
+import com.fullcycle.subscription.infrastructure.configuration.annotations.KeycloakAdmin;
+import com.fullcycle.subscription.infrastructure.configuration.properties.ResilienceProperties;
+import com.fullcycle.subscription.infrastructure.resilience.Bulkhead;
+import com.fullcycle.subscription.infrastructure.resilience.CircuitBreaker;
+import com.fullcycle.subscription.infrastructure.resilience.Resilience;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration(proxyBeanMethods = false)
+public class ResilienceConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ResilienceConfig.class);
+
+    private static Resilience resilience(
+            final String name,
+            final ResilienceProperties properties,
+            final Clock clock,
+            final MeterRegistry meterRegistry
+    ) {
+        final var circuitBreaker = new CircuitBreaker(
+                name,
+                properties.windowSize(),
+                properties.minimumCalls(),
+                properties.failureRateThreshold(),
+                properties.openDuration(),
+                properties.halfOpenCalls(),
+                clock,
+                new CircuitBreaker.Listener() {
+                    @Override
+                    public void onStateChange(final String name, final CircuitBreaker.State from, final CircuitBreaker.State to) {
+                        log.warn("Circuit breaker changed state [name:{}] [from:{}] [to:{}]", name, from, to);
+                        meterRegistry.counter("resilience.circuit.transitions", "name", name, "state", to.name().toLowerCase()).increment();
+                    }
+                }
+        );
+        final var bulkhead = new Bulkhead(name, properties.maxConcurrentCalls(), properties.maxWait());
+
+        // 0 = closed, 1 = open, 2 = half-open
+        Gauge.builder("resilience.circuit.state", circuitBreaker, it -> it.state().ordinal())
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("resilience.circuit.failure-rate", circuitBreaker, CircuitBreaker::failureRate)
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("resilience.bulkhead.available", bulkhead, Bulkhead::availablePermits)
+                .tag("name", name)
+                .register(meterRegistry);
+
+        return new Resilience(name, circuitBreaker, bulkhead, Resilience.HTTP_FAILURES, new Resilience.Listener() {
+            @Override
+            public void onRejected(final String name, final Resilience.Rejection reason) {
+                meterRegistry.counter("resilience.calls.rejected", "name", name, "reason", reason.name().toLowerCase()).increment();
+            }
+        });
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "resilience.keycloak")
+    @Keycloak
+    public ResilienceProperties keycloakResilienceProperties() {
+        return new ResilienceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "resilience.keycloak-admin")
+    @KeycloakAdmin
+    public ResilienceProperties keycloakAdminResilienceProperties() {
+        return new ResilienceProperties();
+    }
+
+    @Bean
+    @Keycloak
+    public Resilience keycloakResilience(@Keycloak final ResilienceProperties properties, final Clock clock, final MeterRegistry meterRegistry) {
+        return resilience("keycloak", properties, clock, meterRegistry);
+    }
+
+    @Bean
+    @KeycloakAdmin
+    public Resilience keycloakAdminResilience(@KeycloakAdmin final ResilienceProperties properties, final Clock clock, final MeterRegistry meterRegistry) {
+        return resilience("keycloak-admin", properties, clock, meterRegistry);
+    }
+}
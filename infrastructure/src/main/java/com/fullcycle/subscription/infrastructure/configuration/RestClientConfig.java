@@ -3,29 +3,35 @@ package com.fullcycle.subscription.infrastructure.configuration;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fullcycle.subscription.infrastructure.configuration.annotations.Keycloak;
 import com.fullcycle.subscription.infrastructure.configuration.annotations.KeycloakAdmin;
+import com.fullcycle.subscription.infrastructure.configuration.properties.HttpTransportProperties;
 import com.fullcycle.subscription.infrastructure.configuration.properties.RestClientProperties;
+import com.fullcycle.subscription.infrastructure.http.HostMetricsInterceptor;
+import com.fullcycle.subscription.infrastructure.http.HttpTransport;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
-import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.http.converter.FormHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.RestClient;
 
-import java.net.http.HttpClient;
 import java.util.List;
 
 @Configuration(proxyBeanMethods = false)
 public class RestClientConfig {
 
-    private static RestClient restClient(final RestClientProperties properties, final ObjectMapper objectMapper) {
-        final var factory = new JdkClientHttpRequestFactory(HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build());
-        factory.setReadTimeout(properties.readTimeout());
-
+    private static RestClient restClient(
+            final String name,
+            final RestClientProperties properties,
+            final HttpTransport transport,
+            final ObjectMapper objectMapper,
+            final MeterRegistry meterRegistry
+    ) {
         return RestClient.builder()
                 .baseUrl(properties.baseUrl())
-                .requestFactory(factory)
+                .requestFactory(transport.requestFactory())
+                .requestInterceptor(new HostMetricsInterceptor(name, meterRegistry))
                 .messageConverters(converters -> {
                     converters.removeIf(it -> it instanceof MappingJackson2HttpMessageConverter);
                     converters.add(jsonConverter(objectMapper));
@@ -54,15 +60,39 @@ public class RestClientConfig {
         return new RestClientProperties();
     }
 
+    @Bean(destroyMethod = "close")
+    @Keycloak
+    public HttpTransport keycloakHttpTransport(@Keycloak final RestClientProperties properties, final HttpTransportProperties transportProperties) {
+        HttpTransport.configurePool(transportProperties);
+        return HttpTransport.create("keycloak", properties);
+    }
+
+    @Bean(destroyMethod = "close")
+    @KeycloakAdmin
+    public HttpTransport keycloakAdminHttpTransport(@KeycloakAdmin final RestClientProperties properties, final HttpTransportProperties transportProperties) {
+        HttpTransport.configurePool(transportProperties);
+        return HttpTransport.create("keycloak-admin", properties);
+    }
+
     @Bean
     @Keycloak
-    public RestClient keycloakHttpClient(@Keycloak final RestClientProperties properties, final ObjectMapper objectMapper) {
-        return restClient(properties, objectMapper);
+    public RestClient keycloakHttpClient(
+            @Keycloak final RestClientProperties properties,
+            @Keycloak final HttpTransport transport,
+            final ObjectMapper objectMapper,
+            final MeterRegistry meterRegistry
+    ) {
+        return restClient("keycloak", properties, transport, objectMapper, meterRegistry);
     }
 
     @Bean
     @KeycloakAdmin
-    public RestClient keycloakAminHttpClient(@KeycloakAdmin final RestClientProperties properties, final ObjectMapper objectMapper) {
-        return restClient(properties, objectMapper);
+    public RestClient keycloakAminHttpClient(
+            @KeycloakAdmin final RestClientProperties properties,
+            @KeycloakAdmin final HttpTransport transport,
+            final ObjectMapper objectMapper,
+            final MeterRegistry meterRegistry
+    ) {
+        return restClient("keycloak-admin", properties, transport, objectMapper, meterRegistry);
     }
 }
\ No newline at end of file
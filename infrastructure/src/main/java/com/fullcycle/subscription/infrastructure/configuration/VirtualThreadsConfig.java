@@ -0,0 +1,45 @@
+package com.fullcycle.subscription.infrastructure.configuration;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.undertow.UndertowDeploymentInfoCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.security.task.DelegatingSecurityContextAsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "web", name = "virtual-threads", havingValue = "true")
+public class VirtualThreadsConfig implements DisposableBean {
+
+    // Not exposed as a bean so Boot keeps auto-configuring its own applicationTaskExecutor
+    private final ExecutorService requestExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("request-", 0).factory()
+    );
+
+    @Bean
+    UndertowDeploymentInfoCustomizer virtualThreadsDeploymentInfoCustomizer() {
+        return deploymentInfo -> deploymentInfo.setExecutor(this.requestExecutor);
+    }
+
+    @Bean
+    WebMvcConfigurer virtualThreadsAsyncSupport() {
+        final var asyncExecutor = new DelegatingSecurityContextAsyncTaskExecutor(new TaskExecutorAdapter(this.requestExecutor));
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+                configurer.setTaskExecutor(asyncExecutor);
+            }
+        };
+    }
+
+    @Override
+    public void destroy() {
+        this.requestExecutor.close();
+    }
+}
@@ -0,0 +1,39 @@
+package com.fullcycle.subscription.infrastructure.configuration.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "account-cache")
+public class AccountCacheProperties {
+
+    private Duration ttl = Duration.ofMinutes(5);
+    private Duration negativeTtl = Duration.ofSeconds(5);
+    private int maxSize = 10_000;
+
+    public Duration ttl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public Duration negativeTtl() {
+        return negativeTtl;
+    }
+
+    public void setNegativeTtl(Duration negativeTtl) {
+        this.negativeTtl = negativeTtl;
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+}
@@ -0,0 +1,57 @@
+package com.fullcycle.subscription.infrastructure.configuration.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "client-credentials")
+public class ClientCredentialsProperties {
+
+    private boolean enabled = true;
+    private Duration refreshAhead = Duration.ofSeconds(30);
+    private Duration refreshJitter = Duration.ofSeconds(15);
+    private Duration defaultTtl = Duration.ofMinutes(1);
+    private Duration waitTimeout = Duration.ofSeconds(5);
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration refreshAhead() {
+        return refreshAhead;
+    }
+
+    public void setRefreshAhead(Duration refreshAhead) {
+        this.refreshAhead = refreshAhead;
+    }
+
+    public Duration refreshJitter() {
+        return refreshJitter;
+    }
+
+    public void setRefreshJitter(Duration refreshJitter) {
+        this.refreshJitter = refreshJitter;
+    }
+
+    public Duration defaultTtl() {
+        return defaultTtl;
+    }
+
+    public void setDefaultTtl(Duration defaultTtl) {
+        this.defaultTtl = defaultTtl;
+    }
+
+    public Duration waitTimeout() {
+        return waitTimeout;
+    }
+
+    public void setWaitTimeout(Duration waitTimeout) {
+        this.waitTimeout = waitTimeout;
+    }
+}
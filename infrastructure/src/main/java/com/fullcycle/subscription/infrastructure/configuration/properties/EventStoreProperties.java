@@ -0,0 +1,128 @@
+package com.fullcycle.subscription.infrastructure.configuration.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "events")
+public class EventStoreProperties {
+
+    private String format = "json";
+    private Migration migration = new Migration();
+    private Archive archive = new Archive();
+
+    public String format() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public Migration migration() {
+        return migration;
+    }
+
+    public void setMigration(Migration migration) {
+        this.migration = migration;
+    }
+
+    public Archive archive() {
+        return archive;
+    }
+
+    public void setArchive(Archive archive) {
+        this.archive = archive;
+    }
+
+    public static class Migration {
+
+        private boolean enabled;
+        private int batchSize = 500;
+
+        public boolean enabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int batchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    public static class Archive {
+
+        private boolean enabled;
+        private String directory = "./data/events-archive";
+        private Duration retention = Duration.ofDays(90);
+        private int batchSize = 1000;
+        private int maxBatchesPerRun = 10;
+        private Duration indexRefreshInterval = Duration.ofMinutes(1);
+        private int maxCachedIndexes = 1000;
+
+        public boolean enabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String directory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public Duration retention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+
+        public int batchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int maxBatchesPerRun() {
+            return maxBatchesPerRun;
+        }
+
+        public void setMaxBatchesPerRun(int maxBatchesPerRun) {
+            this.maxBatchesPerRun = maxBatchesPerRun;
+        }
+
+        public Duration indexRefreshInterval() {
+            return indexRefreshInterval;
+        }
+
+        public void setIndexRefreshInterval(Duration indexRefreshInterval) {
+            this.indexRefreshInterval = indexRefreshInterval;
+        }
+
+        public int maxCachedIndexes() {
+            return maxCachedIndexes;
+        }
+
+        public void setMaxCachedIndexes(int maxCachedIndexes) {
+            this.maxCachedIndexes = maxCachedIndexes;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.fullcycle.subscription.infrastructure.configuration.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "export")
+public class ExportProperties {
+
+    private int fetchSize = 1000;
+    private int flushEvery = 500;
+    private Duration requestTimeout = Duration.ofHours(1);
+
+    public int fetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public int flushEvery() {
+        return flushEvery;
+    }
+
+    public void setFlushEvery(int flushEvery) {
+        this.flushEvery = flushEvery;
+    }
+
+    public Duration requestTimeout() {
+        return requestTimeout;
+    }
+
+    public void setRequestTimeout(Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+}
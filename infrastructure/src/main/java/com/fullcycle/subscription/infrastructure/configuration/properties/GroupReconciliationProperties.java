@@ -0,0 +1,64 @@
+package com.fullcycle.subscription.infrastructure.configuration.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "group-reconciliation")
+public class GroupReconciliationProperties {
+
+    private boolean enabled;
+    private boolean dryRun;
+    private int fetchSize = 1000;
+    private int pageSize = 100;
+    private double correctionsPerSecond = 10;
+    private int maxCorrections = 1000;
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean dryRun() {
+        return dryRun;
+    }
+
+    public void setDryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    public int fetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public int pageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public double correctionsPerSecond() {
+        return correctionsPerSecond;
+    }
+
+    public void setCorrectionsPerSecond(double correctionsPerSecond) {
+        this.correctionsPerSecond = correctionsPerSecond;
+    }
+
+    public int maxCorrections() {
+        return maxCorrections;
+    }
+
+    public void setMaxCorrections(int maxCorrections) {
+        this.maxCorrections = maxCorrections;
+    }
+}
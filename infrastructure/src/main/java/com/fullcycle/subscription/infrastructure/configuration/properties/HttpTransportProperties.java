@@ -0,0 +1,30 @@
+package com.fullcycle.subscription.infrastructure.configuration.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "rest-client.transport")
+public class HttpTransportProperties {
+
+    private Duration keepAliveTimeout = Duration.ofSeconds(30);
+    private int maxPooledConnections;
+
+    public Duration keepAliveTimeout() {
+        return keepAliveTimeout;
+    }
+
+    public void setKeepAliveTimeout(Duration keepAliveTimeout) {
+        this.keepAliveTimeout = keepAliveTimeout;
+    }
+
+    public int maxPooledConnections() {
+        return maxPooledConnections;
+    }
+
+    public void setMaxPooledConnections(int maxPooledConnections) {
+        this.maxPooledConnections = maxPooledConnections;
+    }
+}
@@ -0,0 +1,66 @@
+package com.fullcycle.subscription.infrastructure.configuration.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+    private Duration ttl = Duration.ofHours(24);
+    private Duration processingLease = Duration.ofMinutes(2);
+    private Duration nearCacheTtl = Duration.ofMinutes(5);
+    private int nearCacheMaxSize = 10000;
+    private int maxBodySize = 64 * 1024;
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration ttl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public Duration processingLease() {
+        return processingLease;
+    }
+
+    public void setProcessingLease(Duration processingLease) {
+        this.processingLease = processingLease;
+    }
+
+    public Duration nearCacheTtl() {
+        return nearCacheTtl;
+    }
+
+    public void setNearCacheTtl(Duration nearCacheTtl) {
+        this.nearCacheTtl = nearCacheTtl;
+    }
+
+    public int nearCacheMaxSize() {
+        return nearCacheMaxSize;
+    }
+
+    public void setNearCacheMaxSize(int nearCacheMaxSize) {
+        this.nearCacheMaxSize = nearCacheMaxSize;
+    }
+
+    public int maxBodySize() {
+        return maxBodySize;
+    }
+
+    public void setMaxBodySize(int maxBodySize) {
+        this.maxBodySize = maxBodySize;
+    }
+}
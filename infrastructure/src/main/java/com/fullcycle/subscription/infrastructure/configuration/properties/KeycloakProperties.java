@@ -10,6 +10,7 @@ public class KeycloakProperties {
     private String clientSecret;
     private String tokenUri;
     private String adminUsersUri;
+    private String adminGroupsUri;
 
     public String clientId() {
         return clientId;
@@ -42,4 +43,12 @@ public class KeycloakProperties {
     public void setAdminUsersUri(String adminUsersUri) {
         this.adminUsersUri = adminUsersUri;
     }
-}
\ No newline at end of file
+
+    public String adminGroupsUri() {
+        return adminGroupsUri;
+    }
+
+    public void setAdminGroupsUri(String adminGroupsUri) {
+        this.adminGroupsUri = adminGroupsUri;
+    }
+}
@@ -0,0 +1,117 @@
+package com.fullcycle.subscription.infrastructure.configuration.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "payment-simulator")
+public class PaymentSimulatorProperties {
+
+    private Long seed;
+    private Duration timeout = Duration.ofSeconds(10);
+    private int maxRecordedOrders = 100_000;
+    private Profile pix = new Profile(0.05, Duration.ofMillis(150), Duration.ofMillis(800), "Pix payment was not confirmed");
+    private Profile creditCard = new Profile(0.1, Duration.ofMillis(300), Duration.ofMillis(1500), "Not enough funds");
+
+    public Long seed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    public Duration timeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public int maxRecordedOrders() {
+        return maxRecordedOrders;
+    }
+
+    public void setMaxRecordedOrders(int maxRecordedOrders) {
+        this.maxRecordedOrders = maxRecordedOrders;
+    }
+
+    public Profile pix() {
+        return pix;
+    }
+
+    public void setPix(Profile pix) {
+        this.pix = pix;
+    }
+
+    public Profile creditCard() {
+        return creditCard;
+    }
+
+    public void setCreditCard(Profile creditCard) {
+        this.creditCard = creditCard;
+    }
+
+    public static class Profile {
+
+        private double failureRatio;
+        private double timeoutRatio;
+        private Duration latencyMedian;
+        private Duration latencyP99;
+        private String failureMessage;
+
+        public Profile() {
+            this(0.0, Duration.ZERO, Duration.ZERO, "Payment declined");
+        }
+
+        public Profile(final double failureRatio, final Duration latencyMedian, final Duration latencyP99, final String failureMessage) {
+            this.failureRatio = failureRatio;
+            this.latencyMedian = latencyMedian;
+            this.latencyP99 = latencyP99;
+            this.failureMessage = failureMessage;
+        }
+
+        public double failureRatio() {
+            return failureRatio;
+        }
+
+        public void setFailureRatio(double failureRatio) {
+            this.failureRatio = failureRatio;
+        }
+
+        public double timeoutRatio() {
+            return timeoutRatio;
+        }
+
+        public void setTimeoutRatio(double timeoutRatio) {
+            this.timeoutRatio = timeoutRatio;
+        }
+
+        public Duration latencyMedian() {
+            return latencyMedian;
+        }
+
+        public void setLatencyMedian(Duration latencyMedian) {
+            this.latencyMedian = latencyMedian;
+        }
+
+        public Duration latencyP99() {
+            return latencyP99;
+        }
+
+        public void setLatencyP99(Duration latencyP99) {
+            this.latencyP99 = latencyP99;
+        }
+
+        public String failureMessage() {
+            return failureMessage;
+        }
+
+        public void setFailureMessage(String failureMessage) {
+            this.failureMessage = failureMessage;
+        }
+    }
+}
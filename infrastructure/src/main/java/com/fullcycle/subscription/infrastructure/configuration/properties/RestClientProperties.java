@@ -6,6 +6,10 @@ public class RestClientProperties {
 
     private int readTimeout;
 
+    private int connectTimeout = 1_000;
+
+    private String version = "HTTP_2";
+
     public String baseUrl() {
         return baseUrl;
     }
@@ -21,4 +25,20 @@ public class RestClientProperties {
     public void setReadTimeout(int readTimeout) {
         this.readTimeout = readTimeout;
     }
-}
\ No newline at end of file
+
+    public int connectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public String version() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,37 @@
+package com.fullcycle.subscription.infrastructure.configuration.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "snapshots")
+public class SnapshotProperties {
+
+    private boolean enabled;
+    private int everyEvents = 50;
+    private int batchSize = 1000;
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int everyEvents() {
+        return everyEvents;
+    }
+
+    public void setEveryEvents(int everyEvents) {
+        this.everyEvents = everyEvents;
+    }
+
+    public int batchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
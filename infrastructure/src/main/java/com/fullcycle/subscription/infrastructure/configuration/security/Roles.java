@@ -4,6 +4,7 @@ public final class Roles {
 
     public static final String ROLE_ADMIN = "ROLE_CATALOGO_ADMIN";
     public static final String ROLE_SUBSCRIBER = "ROLE_SUBSCRIBER";
+    public static final String ROLE_SUBSCRIPTION_ADMIN = "ROLE_SUBSCRIPTION_ADMIN";
     public static final String ROLE_CAST_MEMBERS = "ROLE_CATALOGO_CAST_MEMBERS";
     public static final String ROLE_CATEGORIES = "ROLE_CATALOGO_CATEGORIES";
     public static final String ROLE_GENRES = "ROLE_CATALOGO_GENRES";
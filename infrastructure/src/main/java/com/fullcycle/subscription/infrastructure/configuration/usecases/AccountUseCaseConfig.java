@@ -1,13 +1,19 @@
 package com.fullcycle.subscription.infrastructure.configuration.usecases;
 
+import com.fullcycle.subscription.application.OptimisticLockRetry;
 import com.fullcycle.subscription.application.account.*;
 import com.fullcycle.subscription.application.account.impl.*;
 import com.fullcycle.subscription.domain.account.AccountGateway;
 import com.fullcycle.subscription.domain.account.idp.IdentityProviderGateway;
 import com.fullcycle.subscription.domain.subscription.SubscriptionGateway;
+import com.fullcycle.subscription.infrastructure.configuration.properties.GroupMembershipProperties;
+import com.fullcycle.subscription.infrastructure.gateway.repository.GroupMembershipIntentJdbcRepository;
+import com.fullcycle.subscription.infrastructure.membership.DeferredGroupMembershipGateway;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Clock;
+
 @Configuration(proxyBeanMethods = false)
 public class AccountUseCaseConfig {
 
@@ -25,22 +31,49 @@ public class AccountUseCaseConfig {
     AddToGroup addToGroup(
             final AccountGateway accountGateway,
             final IdentityProviderGateway identityProviderGateway,
-            final SubscriptionGateway subscriptionGateway
+            final SubscriptionGateway subscriptionGateway,
+            final GroupMembershipIntentJdbcRepository intentRepository,
+            final GroupMembershipProperties groupMembershipProperties,
+            final Clock clock
     ) {
-        return new DefaultAddToGroup(accountGateway, identityProviderGateway, subscriptionGateway);
+        final var groupGateway = groupMembershipGateway(identityProviderGateway, intentRepository, groupMembershipProperties, clock);
+        return new DefaultAddToGroup(accountGateway, groupGateway, subscriptionGateway);
     }
 
     @Bean
     RemoveFromGroup removeFromGroup(
             final AccountGateway accountGateway,
             final IdentityProviderGateway identityProviderGateway,
-            final SubscriptionGateway subscriptionGateway
+            final SubscriptionGateway subscriptionGateway,
+            final GroupMembershipIntentJdbcRepository intentRepository,
+            final GroupMembershipProperties groupMembershipProperties,
+            final Clock clock
     ) {
-        return new DefaultRemoveFromGroup(accountGateway, identityProviderGateway, subscriptionGateway);
+        final var groupGateway = groupMembershipGateway(identityProviderGateway, intentRepository, groupMembershipProperties, clock);
+        return new DefaultRemoveFromGroup(accountGateway, groupGateway, subscriptionGateway);
+    }
+
+    @Bean
+    SearchAccounts searchAccounts(final AccountGateway accountGateway) {
+        return new DefaultSearchAccounts(accountGateway);
     }
 
     @Bean
-    UpdateBillingInfo updateBillingInfo(final AccountGateway accountGateway) {
-        return new DefaultUpdateBillingInfo(accountGateway);
+    UpdateBillingInfo updateBillingInfo(final AccountGateway accountGateway, final OptimisticLockRetry optimisticLockRetry) {
+        return RetryingUseCases.updateBillingInfo(new DefaultUpdateBillingInfo(accountGateway), optimisticLockRetry);
+    }
+
+    // the recorded intents are only applied by GroupMembershipSyncJob, which exists when group-membership.enabled is true;
+    // otherwise Keycloak is called directly, as an intent nobody applies would silently drop the change
+    private static IdentityProviderGateway groupMembershipGateway(
+            final IdentityProviderGateway identityProviderGateway,
+            final GroupMembershipIntentJdbcRepository intentRepository,
+            final GroupMembershipProperties groupMembershipProperties,
+            final Clock clock
+    ) {
+        if (!groupMembershipProperties.enabled()) {
+            return identityProviderGateway;
+        }
+        return new DeferredGroupMembershipGateway(identityProviderGateway, intentRepository, clock);
     }
 }
@@ -0,0 +1,36 @@
+package com.fullcycle.subscription.infrastructure.configuration.usecases;
+
+import com.fullcycle.subscription.application.OptimisticLockRetry;
+import com.fullcycle.subscription.infrastructure.configuration.properties.OptimisticLockProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+public class OptimisticLockRetryConfig {
+
+    @Bean
+    OptimisticLockRetry optimisticLockRetry(final OptimisticLockProperties properties, final MeterRegistry meterRegistry) {
+        return new OptimisticLockRetry(
+                properties.maxAttempts(),
+                properties.initialBackoff(),
+                properties.maxBackoff(),
+                new OptimisticLockRetry.Listener() {
+                    @Override
+                    public void onConflict(final String aggregateType) {
+                        meterRegistry.counter("aggregates.optimistic-lock.conflicts", "aggregate", aggregateType).increment();
+                    }
+
+                    @Override
+                    public void onRetry(final String aggregateType) {
+                        meterRegistry.counter("aggregates.optimistic-lock.retries", "aggregate", aggregateType).increment();
+                    }
+
+                    @Override
+                    public void onExhausted(final String aggregateType) {
+                        meterRegistry.counter("aggregates.optimistic-lock.exhausted", "aggregate", aggregateType).increment();
+                    }
+                }
+        );
+    }
+}
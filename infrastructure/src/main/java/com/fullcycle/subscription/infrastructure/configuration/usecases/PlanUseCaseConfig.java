@@ -1,5 +1,6 @@
 package com.fullcycle.subscription.infrastructure.configuration.usecases;
 
+import com.fullcycle.subscription.application.OptimisticLockRetry;
 import com.fullcycle.subscription.application.plan.ChangePlan;
 import com.fullcycle.subscription.application.plan.CreatePlan;
 import com.fullcycle.subscription.application.plan.impl.DefaultChangePlan;
@@ -12,8 +13,8 @@ import org.springframework.context.annotation.Configuration;
 public class PlanUseCaseConfig {
 
     @Bean
-    ChangePlan changePlan(final PlanGateway planGateway) {
-        return new DefaultChangePlan(planGateway);
+    ChangePlan changePlan(final PlanGateway planGateway, final OptimisticLockRetry optimisticLockRetry) {
+        return RetryingUseCases.changePlan(new DefaultChangePlan(planGateway), optimisticLockRetry);
     }
 
     @Bean
@@ -0,0 +1,50 @@
+package com.fullcycle.subscription.infrastructure.configuration.usecases;
+
+import com.fullcycle.subscription.application.OptimisticLockRetry;
+import com.fullcycle.subscription.application.account.UpdateBillingInfo;
+import com.fullcycle.subscription.application.plan.ChangePlan;
+import com.fullcycle.subscription.application.subscription.CancelSubscription;
+import com.fullcycle.subscription.application.subscription.ChargeSubscription;
+
+// Use cases are abstract classes, so each type gets its own decorator running the delegate through the retry
+final class RetryingUseCases {
+
+    private RetryingUseCases() {
+    }
+
+    static UpdateBillingInfo updateBillingInfo(final UpdateBillingInfo delegate, final OptimisticLockRetry retry) {
+        return new UpdateBillingInfo() {
+            @Override
+            public Output execute(final Input in) {
+                return retry.execute(delegate, in);
+            }
+        };
+    }
+
+    static ChangePlan changePlan(final ChangePlan delegate, final OptimisticLockRetry retry) {
+        return new ChangePlan() {
+            @Override
+            public Output execute(final Input in) {
+                return retry.execute(delegate, in);
+            }
+        };
+    }
+
+    static CancelSubscription cancelSubscription(final CancelSubscription delegate, final OptimisticLockRetry retry) {
+        return new CancelSubscription() {
+            @Override
+            public Output execute(final Input in) {
+                return retry.execute(delegate, in);
+            }
+        };
+    }
+
+    static ChargeSubscription chargeSubscription(final ChargeSubscription delegate, final OptimisticLockRetry retry) {
+        return new ChargeSubscription() {
+            @Override
+            public Output execute(final Input in) {
+                return retry.execute(delegate, in);
+            }
+        };
+    }
+}
@@ -1,15 +1,22 @@
 package com.fullcycle.subscription.infrastructure.configuration.usecases;
 
+import com.fullcycle.subscription.application.OptimisticLockRetry;
 import com.fullcycle.subscription.application.subscription.CancelSubscription;
 import com.fullcycle.subscription.application.subscription.ChargeSubscription;
 import com.fullcycle.subscription.application.subscription.CreateSubscription;
+import com.fullcycle.subscription.application.subscription.SearchSubscriptions;
 import com.fullcycle.subscription.application.subscription.impl.DefaultCancelSubscription;
 import com.fullcycle.subscription.application.subscription.impl.DefaultChargeSubscription;
 import com.fullcycle.subscription.application.subscription.impl.DefaultCreateSubscription;
+import com.fullcycle.subscription.application.subscription.impl.DefaultSearchSubscriptions;
 import com.fullcycle.subscription.domain.account.AccountGateway;
 import com.fullcycle.subscription.domain.payment.PaymentGateway;
 import com.fullcycle.subscription.domain.plan.PlanGateway;
 import com.fullcycle.subscription.domain.subscription.SubscriptionGateway;
+import com.fullcycle.subscription.infrastructure.billing.CoalescingChargeSubscription;
+import com.fullcycle.subscription.infrastructure.configuration.properties.ChargeClaimProperties;
+import com.fullcycle.subscription.infrastructure.gateway.repository.ChargeClaimJdbcRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -28,8 +35,13 @@ public class SubscriptionUseCaseConfig {
     }
 
     @Bean
-    CancelSubscription cancelSubscription(final SubscriptionGateway subscriptionGateway) {
-        return new DefaultCancelSubscription(subscriptionGateway);
+    CancelSubscription cancelSubscription(final SubscriptionGateway subscriptionGateway, final OptimisticLockRetry optimisticLockRetry) {
+        return RetryingUseCases.cancelSubscription(new DefaultCancelSubscription(subscriptionGateway), optimisticLockRetry);
+    }
+
+    @Bean
+    SearchSubscriptions searchSubscriptions(final SubscriptionGateway subscriptionGateway) {
+        return new DefaultSearchSubscriptions(subscriptionGateway);
     }
 
     @Bean
@@ -38,8 +50,20 @@ public class SubscriptionUseCaseConfig {
             final Clock clock,
             final PlanGateway planGateway,
             final PaymentGateway paymentGateway,
-            final SubscriptionGateway subscriptionGateway
+            final SubscriptionGateway subscriptionGateway,
+            final ChargeClaimJdbcRepository chargeClaimRepository,
+            final ChargeClaimProperties chargeClaimProperties,
+            final OptimisticLockRetry optimisticLockRetry,
+            final MeterRegistry meterRegistry
     ) {
-        return new DefaultChargeSubscription(accountGateway, clock, planGateway, paymentGateway, subscriptionGateway);
+        // the payment is processed before the save, so a conflict is only counted, never retried
+        final var chargeSubscription = new DefaultChargeSubscription(accountGateway, clock, planGateway, paymentGateway, subscriptionGateway);
+        return new CoalescingChargeSubscription(
+                RetryingUseCases.chargeSubscription(chargeSubscription, optimisticLockRetry.withMaxAttempts(1)),
+                chargeClaimRepository,
+                chargeClaimProperties,
+                clock,
+                meterRegistry
+        );
     }
 }
@@ -0,0 +1,23 @@
+package com.fullcycle.subscription.infrastructure.exceptions;
+
+import com.fullcycle.subscription.domain.exceptions.InternalErrorException;
+
+import java.time.Duration;
+
+public class ServiceUnavailableException extends InternalErrorException {
+
+    private final Duration retryAfter;
+
+    protected ServiceUnavailableException(final String aMessage, final Duration retryAfter) {
+        super(aMessage, null);
+        this.retryAfter = retryAfter;
+    }
+
+    public static ServiceUnavailableException with(final String message, final Duration retryAfter) {
+        return new ServiceUnavailableException(message, retryAfter);
+    }
+
+    public Duration retryAfter() {
+        return retryAfter;
+    }
+}
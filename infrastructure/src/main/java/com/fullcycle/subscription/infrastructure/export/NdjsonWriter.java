@@ -0,0 +1,60 @@
+package com.fullcycle.subscription.infrastructure.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullcycle.subscription.infrastructure.json.Json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+public final class NdjsonWriter {
+
+    private static final ObjectMapper MAPPER = Json.mapper();
+
+    private NdjsonWriter() {
+    }
+
+    public static <T> long write(
+            final OutputStream out,
+            final boolean gzip,
+            final Stream<T> rows,
+            final int flushEvery,
+            final RowWriter<T> rowWriter
+    ) throws IOException {
+        // syncFlush so every periodic flush pushes a complete gzip block to the client instead of buffering the deflater
+        final var target = gzip ? new GZIPOutputStream(out, 8192, true) : out;
+
+        long count = 0;
+        try (var generator = MAPPER.getFactory().createGenerator(target, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            final Iterator<T> it = rows.iterator();
+            while (it.hasNext()) {
+                generator.writeStartObject();
+                rowWriter.write(it.next(), generator);
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+
+                if (++count % Math.max(1, flushEvery) == 0) {
+                    generator.flush();
+                }
+            }
+        }
+
+        if (target instanceof GZIPOutputStream gz) {
+            gz.finish();
+        }
+        out.flush();
+        return count;
+    }
+
+    @FunctionalInterface
+    public interface RowWriter<T> {
+        void write(T row, JsonGenerator generator) throws IOException;
+    }
+}
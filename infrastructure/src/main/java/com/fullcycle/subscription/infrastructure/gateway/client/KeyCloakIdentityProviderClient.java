@@ -1,5 +1,6 @@
 package com.fullcycle.subscription.infrastructure.gateway.client;
 
+import com.fullcycle.subscription.domain.account.AccountId;
 import com.fullcycle.subscription.domain.account.idp.GroupId;
 import com.fullcycle.subscription.domain.account.idp.IdentityProviderGateway;
 import com.fullcycle.subscription.domain.account.idp.User;
@@ -9,6 +10,7 @@ import com.fullcycle.subscription.domain.exceptions.InternalErrorException;
 import com.fullcycle.subscription.infrastructure.authentication.clientcredentials.GetClientCredentials;
 import com.fullcycle.subscription.infrastructure.configuration.annotations.KeycloakAdmin;
 import com.fullcycle.subscription.infrastructure.configuration.properties.KeycloakProperties;
+import com.fullcycle.subscription.infrastructure.resilience.Resilience;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
@@ -20,6 +22,7 @@ import org.springframework.web.client.RestClient;
 
 import java.net.URI;
 import java.util.*;
+import java.util.function.Function;
 
 @Component
 public class KeyCloakIdentityProviderClient implements IdentityProviderGateway {
@@ -28,15 +31,18 @@ public class KeyCloakIdentityProviderClient implements IdentityProviderGateway {
     private final RestClient restClient;
     private final KeycloakProperties keycloakProperties;
     private final GetClientCredentials getClientCredentials;
+    private final Resilience resilience;
 
     public KeyCloakIdentityProviderClient(
             @KeycloakAdmin final RestClient restClient,
             final KeycloakProperties keycloakProperties,
-            final GetClientCredentials getClientCredentials
+            final GetClientCredentials getClientCredentials,
+            @KeycloakAdmin final Resilience resilience
     ) {
         this.restClient = Objects.requireNonNull(restClient);
         this.keycloakProperties = Objects.requireNonNull(keycloakProperties);
         this.getClientCredentials = Objects.requireNonNull(getClientCredentials);
+        this.resilience = Objects.requireNonNull(resilience);
     }
 
 
@@ -58,15 +64,19 @@ public class KeyCloakIdentityProviderClient implements IdentityProviderGateway {
                 Map.of("type", "password", "value", anUser.password(), "temporary", Boolean.FALSE)
         ));
 
+        return this.resilience.execute("create", () -> doCreate(account, map));
+    }
+
+    private UserId doCreate(final String account, final Map<String, Object> map) {
         try {
-            final var res = this.restClient.post()
+            final var res = withToken(token -> this.restClient.post()
                     .uri(this.keycloakProperties.adminUsersUri())
                     .accept(MediaType.APPLICATION_JSON)
                     .contentType(MediaType.APPLICATION_JSON)
-                    .header(HttpHeaders.AUTHORIZATION, "bearer " + getClientCredentials.retrieve())
+                    .header(HttpHeaders.AUTHORIZATION, "bearer " + token)
                     .body(map)
                     .retrieve()
-                    .toBodilessEntity();
+                    .toBodilessEntity());
 
             if (res.getStatusCode() != HttpStatus.CREATED) {
                 throw InternalErrorException.with("Unexpected Keycloak response [status:%s]".formatted(res.getStatusCode().value()));
@@ -88,6 +98,65 @@ public class KeyCloakIdentityProviderClient implements IdentityProviderGateway {
 
     }
 
+    @Override
+    public Optional<UserId> userIdOfAccount(final AccountId anAccountId) {
+        return this.resilience.execute("userIdOfAccount", () -> doUserIdOfAccount(anAccountId));
+    }
+
+    private Optional<UserId> doUserIdOfAccount(final AccountId anAccountId) {
+        try {
+            final var users = withToken(token -> this.restClient.get()
+                    .uri(this.keycloakProperties.adminUsersUri() + "?q={query}&exact=true&briefRepresentation=true", "account_id:" + anAccountId.value())
+                    .accept(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.AUTHORIZATION, "bearer " + token)
+                    .retrieve()
+                    .body(KeycloakUser[].class));
+
+            if (users == null || users.length == 0) {
+                return Optional.empty();
+            }
+            return Optional.of(new UserId(users[0].id()));
+        } catch (HttpClientErrorException ex) {
+            log.info("Error response observed from Keycloak when trying find user of account [accountId:{}] [response:{}]", anAccountId.value(), ex.getResponseBodyAsString());
+            throw InternalErrorException.with("Error response observed when trying to find user of account");
+        }
+    }
+
+    @Override
+    public void delete(final UserId anId) {
+        log.info("Deleting user from Keycloak [userId:{}]", anId.value());
+        this.resilience.run("delete", () -> doDelete(anId));
+    }
+
+    private void doDelete(final UserId anId) {
+        try {
+            withToken(token -> this.restClient.delete()
+                    .uri(this.keycloakProperties.adminUsersUri() + "/{id}", anId.value())
+                    .header(HttpHeaders.AUTHORIZATION, "bearer " + token)
+                    .retrieve()
+                    .toBodilessEntity());
+
+            log.info("User deleted from Keycloak [userId:{}]", anId.value());
+        } catch (HttpClientErrorException.NotFound ex) {
+            // already gone, e.g. a previous compensation that crashed before recording its outcome
+            log.info("User to delete was not found on Keycloak [userId:{}]", anId.value());
+        } catch (HttpClientErrorException ex) {
+            log.info("Error response observed from Keycloak when trying delete user [userId:{}] [response:{}]", anId.value(), ex.getResponseBodyAsString());
+            throw InternalErrorException.with("Error response observed when trying to delete user");
+        }
+    }
+
+    private <T> T withToken(final Function<String, T> call) {
+        final var token = getClientCredentials.retrieve();
+        try {
+            return call.apply(token);
+        } catch (HttpClientErrorException.Unauthorized ex) {
+            // the token may have been revoked or expired early on Keycloak's side: renew it once and retry
+            log.info("Client credentials rejected by Keycloak, renewing and retrying");
+            return call.apply(getClientCredentials.renew(token));
+        }
+    }
+
     private String getUserId(final HttpHeaders headers) {
         return Optional.ofNullable(headers)
                 .map(HttpHeaders::getLocation)
@@ -99,13 +168,16 @@ public class KeyCloakIdentityProviderClient implements IdentityProviderGateway {
     @Override
     public void addUserToGroup(final UserId userId, final GroupId groupId) {
         log.info("Adding user to group [userId:{}] [groupId:{}]", userId.value(), groupId.value());
+        this.resilience.run("addUserToGroup", () -> doAddUserToGroup(userId, groupId));
+    }
 
+    private void doAddUserToGroup(final UserId userId, final GroupId groupId) {
         try {
-            final var res = this.restClient.put()
+            final var res = withToken(token -> this.restClient.put()
                     .uri(this.keycloakProperties.adminUsersUri() + "/{id}/groups/{groupId}", userId.value(), groupId.value())
-                    .header(HttpHeaders.AUTHORIZATION, "bearer " + getClientCredentials.retrieve())
+                    .header(HttpHeaders.AUTHORIZATION, "bearer " + token)
                     .retrieve()
-                    .toBodilessEntity();
+                    .toBodilessEntity());
 
             if (!res.getStatusCode().is2xxSuccessful()) {
                 throw InternalErrorException.with("Unexpected Keycloak response [status:%s]".formatted(res.getStatusCode().value()));
@@ -123,13 +195,16 @@ public class KeyCloakIdentityProviderClient implements IdentityProviderGateway {
     @Override
     public void removeUserFromGroup(final UserId userId, final GroupId groupId) {
         log.info("Removing user to group [userId:{}] [groupId:{}]", userId.value(), groupId.value());
+        this.resilience.run("removeUserFromGroup", () -> doRemoveUserFromGroup(userId, groupId));
+    }
 
+    private void doRemoveUserFromGroup(final UserId userId, final GroupId groupId) {
         try {
-            final var res = this.restClient.delete()
+            final var res = withToken(token -> this.restClient.delete()
                     .uri(this.keycloakProperties.adminUsersUri() + "/{id}/groups/{groupId}", userId.value(), groupId.value())
-                    .header(HttpHeaders.AUTHORIZATION, "bearer " + getClientCredentials.retrieve())
+                    .header(HttpHeaders.AUTHORIZATION, "bearer " + token)
                     .retrieve()
-                    .toBodilessEntity();
+                    .toBodilessEntity());
 
             if (!res.getStatusCode().is2xxSuccessful()) {
                 throw InternalErrorException.with("Unexpected Keycloak response [status:%s]".formatted(res.getStatusCode().value()));
@@ -143,4 +218,33 @@ public class KeyCloakIdentityProviderClient implements IdentityProviderGateway {
             throw InternalErrorException.with("Error response observed when trying to remove user from group");
         }
     }
+
+    public List<UserId> groupMembers(final GroupId groupId, final int first, final int max) {
+        return this.resilience.execute("groupMembers", () -> doGroupMembers(groupId, first, max));
+    }
+
+    private List<UserId> doGroupMembers(final GroupId groupId, final int first, final int max) {
+        try {
+            final var members = withToken(token -> this.restClient.get()
+                    .uri(this.keycloakProperties.adminGroupsUri() + "/{id}/members?first={first}&max={max}&briefRepresentation=true", groupId.value(), first, max)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.AUTHORIZATION, "bearer " + token)
+                    .retrieve()
+                    .body(KeycloakGroupMember[].class));
+
+            if (members == null) {
+                return List.of();
+            }
+            return Arrays.stream(members).map(it -> new UserId(it.id())).toList();
+        } catch (HttpClientErrorException ex) {
+            log.info("Error response observed from Keycloak when trying list group members [groupId:{}] [response:{}]", groupId.value(), ex.getResponseBodyAsString());
+            throw InternalErrorException.with("Error response observed when trying to list group members");
+        }
+    }
+
+    record KeycloakGroupMember(String id) {
+    }
+
+    record KeycloakUser(String id) {
+    }
 }
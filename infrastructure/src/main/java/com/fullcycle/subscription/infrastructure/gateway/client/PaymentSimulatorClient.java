@@ -0,0 +1,135 @@
+package com.fullcycle.subscription.infrastructure.gateway.client;
+
+import com.fullcycle.subscription.domain.exceptions.InternalErrorException;
+import com.fullcycle.subscription.domain.payment.CreditCardPayment;
+import com.fullcycle.subscription.domain.payment.Payment;
+import com.fullcycle.subscription.domain.payment.PaymentGateway;
+import com.fullcycle.subscription.domain.payment.PixPayment;
+import com.fullcycle.subscription.domain.payment.Transaction;
+import com.fullcycle.subscription.domain.utils.IdUtils;
+import com.fullcycle.subscription.infrastructure.configuration.properties.PaymentSimulatorProperties;
+import com.fullcycle.subscription.infrastructure.configuration.properties.PaymentSimulatorProperties.Profile;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+// Stands in for the payment provider: latency, declines and timeouts follow the configured profile of each payment type
+@Component
+public class PaymentSimulatorClient implements PaymentGateway {
+
+    // standard normal quantile of the 99th percentile, turns the configured median and p99 into a log-normal latency
+    private static final double P99_Z = 2.326;
+
+    private final PaymentSimulatorProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Order> orders;
+
+    public PaymentSimulatorClient(final PaymentSimulatorProperties properties, final MeterRegistry meterRegistry) {
+        this.properties = Objects.requireNonNull(properties);
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
+        this.orders = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Order> eldest) {
+                return size() > properties.maxRecordedOrders();
+            }
+        });
+    }
+
+    @Override
+    public Transaction processPayment(final Payment payment) {
+        final var type = typeOf(payment);
+        final var profile = profileOf(payment);
+
+        // the provider keeps the outcome of an order, so a retry of the same order gets the same transaction back
+        final var order = this.orders.compute(payment.orderId(), (orderId, previous) -> previous != null
+                ? previous.retried()
+                : new Order(decide(profile, random(orderId, 0)), 1));
+
+        final var random = random(payment.orderId(), order.attempts());
+        final var latency = latency(profile, random);
+        final var timedOut = random.nextDouble() < profile.timeoutRatio() || latency.compareTo(this.properties.timeout()) >= 0;
+
+        sleep(timedOut ? this.properties.timeout() : latency);
+
+        if (timedOut) {
+            // the outcome stays recorded, as when the provider processed the payment but the response never arrived
+            this.meterRegistry.counter("payment-simulator.payments", "type", type, "outcome", "timeout").increment();
+            throw InternalErrorException.with("Payment provider timed out [orderId:%s]".formatted(payment.orderId()));
+        }
+
+        final var transaction = order.transaction();
+        this.meterRegistry.counter("payment-simulator.payments", "type", type, "outcome", transaction.isSuccess() ? "success" : "failure").increment();
+        return transaction;
+    }
+
+    private static Transaction decide(final Profile profile, final RandomGenerator random) {
+        if (random.nextDouble() < profile.failureRatio()) {
+            return Transaction.failure(IdUtils.uniqueId(), profile.failureMessage());
+        }
+        return Transaction.success(IdUtils.uniqueId());
+    }
+
+    private static Duration latency(final Profile profile, final RandomGenerator random) {
+        final var median = profile.latencyMedian().toNanos();
+        final var p99 = profile.latencyP99().toNanos();
+        if (median <= 0) {
+            return Duration.ZERO;
+        }
+        if (p99 <= median) {
+            return profile.latencyMedian();
+        }
+
+        final var sigma = (Math.log(p99) - Math.log(median)) / P99_Z;
+        return Duration.ofNanos((long) Math.exp(Math.log(median) + sigma * random.nextGaussian()));
+    }
+
+    // with a seed every attempt of an order draws the same values on any run, regardless of the order the threads get here
+    private RandomGenerator random(final String orderId, final int attempt) {
+        final var seed = this.properties.seed();
+        if (seed == null) {
+            return new SplittableRandom();
+        }
+        return new SplittableRandom(seed * 31 + orderId.hashCode() * 17L + attempt);
+    }
+
+    private Profile profileOf(final Payment payment) {
+        return switch (payment) {
+            case PixPayment ignored -> this.properties.pix();
+            case CreditCardPayment ignored -> this.properties.creditCard();
+        };
+    }
+
+    private static String typeOf(final Payment payment) {
+        return switch (payment) {
+            case PixPayment ignored -> Payment.PIX;
+            case CreditCardPayment ignored -> Payment.CREDIT_CARD;
+        };
+    }
+
+    private static void sleep(final Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw InternalErrorException.with("Interrupted while waiting for the payment provider", e);
+        }
+    }
+
+    private record Order(Transaction transaction, int attempts) {
+
+        private Order retried() {
+            return new Order(transaction, attempts + 1);
+        }
+    }
+}
@@ -3,9 +3,13 @@ package com.fullcycle.subscription.infrastructure.gateway.repository;
 import com.fullcycle.subscription.domain.account.Account;
 import com.fullcycle.subscription.domain.account.AccountGateway;
 import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.account.AccountSearchQuery;
 import com.fullcycle.subscription.domain.account.idp.UserId;
+import com.fullcycle.subscription.domain.pagination.Pagination;
+import com.fullcycle.subscription.domain.person.Email;
 import com.fullcycle.subscription.domain.utils.IdUtils;
 
+import java.util.Comparator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -31,6 +35,29 @@ public class AccountInMemoryRepository implements AccountGateway {
         return Optional.ofNullable(this.userIdIndex.get(userId.value()));
     }
 
+    @Override
+    public boolean existsAccountOfEmail(Email email) {
+        return this.db.values().stream().anyMatch(it -> it.email().equals(email));
+    }
+
+    @Override
+    public Pagination<Account> allAccounts(AccountSearchQuery query) {
+        final var cursor = query.cursor() != null ? KeysetCursor.decode(query.cursor(), KeysetCursor.scopeOf(query), 1) : null;
+        final var rows = this.db.values().stream()
+                .sorted(Comparator.comparing(it -> it.id().value()))
+                .filter(it -> cursor == null || it.id().value().compareTo(cursor.key(0)) > 0)
+                .limit(query.perPage() + 1L)
+                .toList();
+
+        final var page = cursor != null ? cursor.page() : 1;
+        if (rows.size() <= query.perPage()) {
+            return new Pagination<>(page, query.perPage(), this.db.size(), null, rows);
+        }
+
+        final var items = rows.subList(0, query.perPage());
+        return new Pagination<>(page, query.perPage(), this.db.size(), KeysetCursor.of(KeysetCursor.scopeOf(query), page + 1, this.db.size(), items.getLast().id().value()).encode(), items);
+    }
+
     @Override
     public Account save(Account anAccount) {
         this.db.put(anAccount.id().value(), anAccount);
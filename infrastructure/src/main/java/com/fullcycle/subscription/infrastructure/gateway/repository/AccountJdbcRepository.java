@@ -3,7 +3,10 @@ package com.fullcycle.subscription.infrastructure.gateway.repository;
 import com.fullcycle.subscription.domain.account.Account;
 import com.fullcycle.subscription.domain.account.AccountGateway;
 import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.account.AccountSearchQuery;
 import com.fullcycle.subscription.domain.account.idp.UserId;
+import com.fullcycle.subscription.domain.exceptions.OptimisticLockException;
+import com.fullcycle.subscription.domain.pagination.Pagination;
 import com.fullcycle.subscription.domain.person.Address;
 import com.fullcycle.subscription.domain.person.Document;
 import com.fullcycle.subscription.domain.person.Email;
@@ -16,6 +19,7 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -58,6 +62,53 @@ public class AccountJdbcRepository implements AccountGateway {
         return this.database.queryOne(sql, Map.of("userId", userId.value()), accountMapper());
     }
 
+    @Override
+    public boolean existsAccountOfEmail(final Email email) {
+        final var sql = "SELECT id FROM accounts WHERE email = :email";
+        return this.database.queryOne(sql, Map.of("email", email.value()), rs -> rs.getString("id")).isPresent();
+    }
+
+    @Override
+    public Pagination<Account> allAccounts(final AccountSearchQuery query) {
+        final var params = new HashMap<String, Object>();
+        params.put("limit", query.perPage() + 1);
+
+        final var cursor = query.cursor() != null ? KeysetCursor.decode(query.cursor(), KeysetCursor.scopeOf(query), 1) : null;
+        final List<Account> rows;
+        if (cursor == null) {
+            final var sql = """
+                    SELECT
+                        id, version, idp_user_id, email, firstname, lastname, document_number, document_type, address_zip_code, address_number, address_complement, address_country
+                    FROM accounts
+                    ORDER BY id
+                    LIMIT :limit
+                    """;
+            rows = this.database.query(sql, params, accountMapper());
+        } else {
+            final var sql = """
+                    SELECT
+                        id, version, idp_user_id, email, firstname, lastname, document_number, document_type, address_zip_code, address_number, address_complement, address_country
+                    FROM accounts
+                    WHERE id > :afterId
+                    ORDER BY id
+                    LIMIT :limit
+                    """;
+            params.put("afterId", cursor.key(0));
+            rows = this.database.query(sql, params, accountMapper());
+        }
+
+        final var total = cursor != null ? cursor.total() : this.database.queryOne("SELECT COUNT(*) FROM accounts", Map.of(), rs -> rs.getLong(1)).orElse(0L);
+        final var page = cursor != null ? cursor.page() : 1;
+
+        if (rows.size() <= query.perPage()) {
+            return new Pagination<>(page, query.perPage(), total, null, rows);
+        }
+
+        final var items = rows.subList(0, query.perPage());
+        final var next = KeysetCursor.of(KeysetCursor.scopeOf(query), page + 1, total, items.getLast().id().value());
+        return new Pagination<>(page, query.perPage(), total, next.encode(), items);
+    }
+
     @Override
     @Transactional(propagation = Propagation.REQUIRED)
     public Account save(final Account anAccount) {
@@ -98,7 +149,7 @@ public class AccountJdbcRepository implements AccountGateway {
                 """;
 
         if (executeUpdate(sql, account) == 0) {
-            throw new IllegalArgumentException("Account with id %s and version %s was not found".formatted(account.id().value(), account.version()));
+            throw OptimisticLockException.with(Account.class, account.id(), account.version());
         }
     }
 
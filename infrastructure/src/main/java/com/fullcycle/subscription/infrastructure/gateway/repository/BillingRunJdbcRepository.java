@@ -0,0 +1,73 @@
+package com.fullcycle.subscription.infrastructure.gateway.repository;
+
+import com.fullcycle.subscription.infrastructure.billing.BillingRunReport;
+import com.fullcycle.subscription.infrastructure.jdbc.DatabaseClient;
+import com.fullcycle.subscription.infrastructure.jdbc.JdbcUtils;
+import com.fullcycle.subscription.infrastructure.jdbc.RowMap;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+@Repository
+public class BillingRunJdbcRepository {
+
+    private final DatabaseClient database;
+
+    public BillingRunJdbcRepository(final DatabaseClient databaseClient) {
+        this.database = Objects.requireNonNull(databaseClient);
+    }
+
+    public Optional<BillingRunReport> billingRunOfId(final String runId) {
+        final var sql = """
+                SELECT id, reference_date, started_at, finished_at, charged, incomplete, canceled, skipped, failed, fenced
+                FROM billing_runs
+                WHERE id = :id
+                """;
+        return this.database.queryOne(sql, Map.of("id", runId), billingRunMapper());
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void save(final BillingRunReport report) {
+        final var sql = """
+                INSERT INTO billing_runs (id, reference_date, started_at, finished_at, charged, incomplete, canceled, skipped, failed, fenced, throughput)
+                VALUES (:id, :referenceDate, :startedAt, :finishedAt, :charged, :incomplete, :canceled, :skipped, :failed, :fenced, :throughput)
+                """;
+
+        final var params = new HashMap<String, Object>();
+        params.put("id", report.runId());
+        params.put("referenceDate", report.referenceDate());
+        params.put("startedAt", report.startedAt());
+        params.put("finishedAt", report.finishedAt());
+        params.put("charged", report.charged());
+        params.put("incomplete", report.incomplete());
+        params.put("canceled", report.canceled());
+        params.put("skipped", report.skipped());
+        params.put("failed", report.failed());
+        params.put("fenced", report.fenced());
+        params.put("throughput", BigDecimal.valueOf(report.throughput()).setScale(2, RoundingMode.HALF_UP));
+
+        this.database.update(sql, params);
+    }
+
+    private RowMap<BillingRunReport> billingRunMapper() {
+        return rs -> new BillingRunReport(
+                rs.getString("id"),
+                JdbcUtils.getLocalDate(rs, "reference_date"),
+                JdbcUtils.getInstant(rs, "started_at"),
+                JdbcUtils.getInstant(rs, "finished_at"),
+                rs.getLong("charged"),
+                rs.getLong("incomplete"),
+                rs.getLong("canceled"),
+                rs.getLong("skipped"),
+                rs.getLong("failed"),
+                rs.getBoolean("fenced")
+        );
+    }
+}
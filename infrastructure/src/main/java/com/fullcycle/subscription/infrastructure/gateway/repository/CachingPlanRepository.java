@@ -0,0 +1,171 @@
+package com.fullcycle.subscription.infrastructure.gateway.repository;
+
+import com.fullcycle.subscription.domain.exceptions.OptimisticLockException;
+import com.fullcycle.subscription.domain.plan.Plan;
+import com.fullcycle.subscription.domain.plan.PlanGateway;
+import com.fullcycle.subscription.domain.plan.PlanId;
+import com.fullcycle.subscription.infrastructure.gateway.repository.PlanJdbcRepository.CatalogVersion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Primary
+@Repository
+@ConditionalOnProperty(prefix = "plan-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CachingPlanRepository implements PlanGateway {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingPlanRepository.class);
+
+    private final PlanJdbcRepository delegate;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter reloads;
+
+    public CachingPlanRepository(final PlanJdbcRepository delegate, final MeterRegistry meterRegistry) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.hits = meterRegistry.counter("plans.cache", "result", "hit");
+        this.misses = meterRegistry.counter("plans.cache", "result", "miss");
+        this.reloads = meterRegistry.counter("plans.cache.reloads");
+    }
+
+    @Override
+    public PlanId nextId() {
+        return this.delegate.nextId();
+    }
+
+    @Override
+    public Optional<Plan> planOfId(final PlanId anId) {
+        final var cached = current().plans().get(anId);
+        if (cached != null) {
+            this.hits.increment();
+            return Optional.of(copyOf(cached));
+        }
+
+        this.misses.increment();
+        final var aPlan = this.delegate.planOfId(anId);
+        if (aPlan.isPresent()) {
+            reload();
+        }
+        return aPlan;
+    }
+
+    @Override
+    public List<Plan> allPlans() {
+        this.hits.increment();
+        return current().plans().values().stream()
+                .map(CachingPlanRepository::copyOf)
+                .toList();
+    }
+
+    @Override
+    public boolean existsPlanOfId(final PlanId anId) {
+        if (current().plans().containsKey(anId)) {
+            this.hits.increment();
+            return true;
+        }
+
+        this.misses.increment();
+        return this.delegate.existsPlanOfId(anId);
+    }
+
+    @Override
+    public Plan save(final Plan plan) {
+        final Plan saved;
+        try {
+            saved = this.delegate.save(plan);
+        } catch (OptimisticLockException ex) {
+            // the cached copy is stale, refresh it once the failed transaction is over so a retry reads the winning version
+            afterTransaction(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(final int status) {
+                    reloadQuietly();
+                }
+            });
+            throw ex;
+        }
+
+        // the caller's transaction may still roll back, so the snapshot only picks up the new rows after the commit
+        afterTransaction(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reloadQuietly();
+            }
+        });
+        return saved;
+    }
+
+    @Scheduled(fixedDelayString = "${plan-cache.poll-interval:5000}", initialDelayString = "${plan-cache.poll-interval:5000}")
+    public void refreshIfChanged() {
+        try {
+            final var loaded = this.snapshot.get();
+            if (loaded != null && loaded.version().equals(this.delegate.catalogVersion())) {
+                return;
+            }
+            reload();
+        } catch (RuntimeException ex) {
+            log.warn("Failed to refresh plan catalog, serving the previous snapshot", ex);
+        }
+    }
+
+    public Snapshot reload() {
+        final var version = this.delegate.catalogVersion();
+        final var plans = new LinkedHashMap<PlanId, Plan>();
+        for (var aPlan : this.delegate.allPlans()) {
+            plans.put(aPlan.id(), aPlan);
+        }
+
+        final var next = new Snapshot(version, Collections.unmodifiableMap(plans));
+        this.snapshot.set(next);
+        this.reloads.increment();
+        return next;
+    }
+
+    private void afterTransaction(final TransactionSynchronization synchronization) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(synchronization);
+            return;
+        }
+        reload();
+    }
+
+    // the transaction is already over here, a failure must not reach the caller and the poll catches up later
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException ex) {
+            log.warn("Failed to reload plan catalog after transaction, serving the previous snapshot", ex);
+        }
+    }
+
+    private Snapshot current() {
+        final var loaded = this.snapshot.get();
+        if (loaded != null) {
+            return loaded;
+        }
+        return reload();
+    }
+
+    private static Plan copyOf(final Plan aPlan) {
+        return aPlan.withId(aPlan.id());
+    }
+
+    public record Snapshot(CatalogVersion version, Map<PlanId, Plan> plans) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.fullcycle.subscription.infrastructure.gateway.repository;
+
+import com.fullcycle.subscription.infrastructure.jdbc.DatabaseClient;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+@Repository
+public class ChargeClaimJdbcRepository {
+
+    private final DatabaseClient database;
+
+    public ChargeClaimJdbcRepository(final DatabaseClient databaseClient) {
+        this.database = Objects.requireNonNull(databaseClient);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public boolean tryClaim(final String accountId, final String ownerId, final Instant now, final Instant expiresAt) {
+        final var params = new HashMap<String, Object>();
+        params.put("accountId", accountId);
+        params.put("ownerId", ownerId);
+        params.put("now", now);
+        params.put("expiresAt", expiresAt);
+
+        final var takeOverSql = """
+                UPDATE charge_claims
+                SET owner_id = :ownerId, claimed_at = :now, expires_at = :expiresAt
+                WHERE account_id = :accountId AND expires_at < :now
+                """;
+        if (this.database.update(takeOverSql, params) > 0) {
+            return true;
+        }
+
+        final var insertSql = """
+                INSERT INTO charge_claims (account_id, owner_id, claimed_at, expires_at)
+                VALUES (:accountId, :ownerId, :now, :expiresAt)
+                """;
+        try {
+            return this.database.update(insertSql, params) > 0;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void release(final String accountId, final String ownerId) {
+        final var sql = "DELETE FROM charge_claims WHERE account_id = :accountId AND owner_id = :ownerId";
+        this.database.update(sql, Map.of("accountId", accountId, "ownerId", ownerId));
+    }
+}
@@ -2,39 +2,242 @@ package com.fullcycle.subscription.infrastructure.gateway.repository;
 
 import com.fullcycle.subscription.domain.DomainEvent;
 import com.fullcycle.subscription.domain.utils.InstantUtils;
+import com.fullcycle.subscription.infrastructure.archive.ArchivedEvent;
+import com.fullcycle.subscription.infrastructure.archive.EventArchive;
+import com.fullcycle.subscription.infrastructure.configuration.properties.EventStoreProperties;
 import com.fullcycle.subscription.infrastructure.jdbc.DatabaseClient;
 import com.fullcycle.subscription.infrastructure.jdbc.JdbcUtils;
 import com.fullcycle.subscription.infrastructure.jdbc.RowMap;
-import com.fullcycle.subscription.infrastructure.json.Json;
+import com.fullcycle.subscription.infrastructure.json.EventCodec;
+import com.fullcycle.subscription.infrastructure.json.EventFormat;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Repository
 public class EventJdbcRepository {
 
     private final DatabaseClient database;
+    private final EventFormat format;
+    private final EventArchive archive;
 
     public EventJdbcRepository(final DatabaseClient databaseClient) {
+        this(databaseClient, EventFormat.JSON);
+    }
+
+    // the archive is only wired when events.archive.enabled is true
+    @Autowired
+    public EventJdbcRepository(final DatabaseClient databaseClient, final EventStoreProperties properties, final ObjectProvider<EventArchive> archive) {
+        this(databaseClient, EventFormat.of(properties.format()), archive.getIfAvailable(() -> EventArchive.NONE));
+    }
+
+    public EventJdbcRepository(final DatabaseClient databaseClient, final EventFormat format) {
+        this(databaseClient, format, EventArchive.NONE);
+    }
+
+    public EventJdbcRepository(final DatabaseClient databaseClient, final EventFormat format, final EventArchive archive) {
         this.database = Objects.requireNonNull(databaseClient);
+        this.format = Objects.requireNonNull(format);
+        this.archive = Objects.requireNonNull(archive);
     }
 
     public Optional<DomainEvent> eventOfIdAndUnprocessed(final Long eventId) {
-        final var sql = "SELECT event_id, processed, aggregate_id, aggregate_type, event_type, event_date, event_data FROM events WHERE event_id = :eventId AND processed = false";
+        final var sql = "SELECT event_id, processed, aggregate_id, aggregate_type, event_type, event_date, event_data, event_format, event_payload FROM events WHERE event_id = :eventId AND processed = false";
         final var params = Map.<String, Object>of("eventId", eventId);
         return this.database.queryOne(sql, params, eventMapper())
                 .map(this::toDomainEvent);
     }
 
+    public List<DomainEvent> allEventsOfAggregate(final String aggregateId, final String aggregateType, final boolean includeArchived) {
+        if (!includeArchived) {
+            return allEventsOfAggregate(aggregateId, aggregateType);
+        }
+        return eventsOfAggregateAfter(aggregateId, aggregateType, 0L).stream()
+                .map(StoredEvent::domainEvent)
+                .toList();
+    }
+
     public List<DomainEvent> allEventsOfAggregate(final String aggregateId, final String aggregateType) {
-        final var sql = "SELECT event_id, processed, aggregate_id, aggregate_type, event_type, event_date, event_data FROM events WHERE aggregate_id = :aggregateId and aggregate_type = :aggregateType";
+        final var sql = "SELECT event_id, processed, aggregate_id, aggregate_type, event_type, event_date, event_data, event_format, event_payload FROM events WHERE aggregate_id = :aggregateId and aggregate_type = :aggregateType ORDER BY event_id";
         final var params = Map.<String, Object>of("aggregateId", aggregateId, "aggregateType", aggregateType);
         return this.database.query(sql, params, eventMapper()).stream()
                 .map(this::toDomainEvent)
                 .toList();
     }
 
+    public List<StoredEvent> eventsOfAggregateAfter(final String aggregateId, final String aggregateType, final long afterEventId) {
+        final var sql = """
+                SELECT event_id, processed, aggregate_id, aggregate_type, event_type, event_date, event_data, event_format, event_payload
+                FROM events
+                WHERE aggregate_id = :aggregateId AND aggregate_type = :aggregateType AND event_id > :afterEventId
+                ORDER BY event_id
+                """;
+        final var params = Map.<String, Object>of("aggregateId", aggregateId, "aggregateType", aggregateType, "afterEventId", afterEventId);
+        final var live = this.database.query(sql, params, eventMapper());
+
+        final var archived = this.archive.eventsOfAggregateAfter(aggregateId, aggregateType, afterEventId);
+        if (archived.isEmpty()) {
+            return live.stream()
+                    .map(ev -> new StoredEvent(ev.eventId(), ev.eventDate(), this.toDomainEvent(ev)))
+                    .toList();
+        }
+
+        final var merged = new TreeMap<Long, StoredEvent>();
+        for (var ev : archived) {
+            merged.put(ev.eventId(), new StoredEvent(ev.eventId(), ev.eventDate(), ev.toDomainEvent()));
+        }
+        for (var ev : live) {
+            merged.put(ev.eventId(), new StoredEvent(ev.eventId(), ev.eventDate(), this.toDomainEvent(ev)));
+        }
+        return List.copyOf(merged.values());
+    }
+
+    public Optional<Long> lastEventIdOfAggregate(final String aggregateId, final String aggregateType) {
+        final var sql = """
+                SELECT event_id FROM events
+                WHERE aggregate_id = :aggregateId AND aggregate_type = :aggregateType
+                ORDER BY event_id DESC
+                LIMIT 1
+                """;
+        final var params = Map.<String, Object>of("aggregateId", aggregateId, "aggregateType", aggregateType);
+        return this.database.queryOne(sql, params, rs -> rs.getLong("event_id"));
+    }
+
+    public int countEventsOfAggregateAfter(final String aggregateId, final String aggregateType, final long afterEventId) {
+        final var sql = "SELECT COUNT(*) AS total FROM events WHERE aggregate_id = :aggregateId AND aggregate_type = :aggregateType AND event_id > :afterEventId";
+        final var params = Map.<String, Object>of("aggregateId", aggregateId, "aggregateType", aggregateType, "afterEventId", afterEventId);
+        return this.database.queryOne(sql, params, rs -> rs.getInt("total")).orElse(0);
+    }
+
+    public List<EventHeader> eventHeadersAfter(final long afterEventId, final int limit) {
+        final var sql = "SELECT event_id, aggregate_type, aggregate_id FROM events WHERE event_id > :afterEventId ORDER BY event_id LIMIT :limit";
+        return this.database.query(sql, Map.of("afterEventId", afterEventId, "limit", limit), rs -> new EventHeader(
+                rs.getLong("event_id"),
+                rs.getString("aggregate_type"),
+                rs.getString("aggregate_id")
+        ));
+    }
+
+    public Stream<ExportedEvent> streamEvents(final Instant from, final Instant to, final Boolean processed, final int fetchSize) {
+        final var params = new HashMap<String, Object>();
+        final var conditions = new ArrayList<String>();
+        if (from != null) {
+            conditions.add("event_date >= :from");
+            params.put("from", from);
+        }
+        if (to != null) {
+            conditions.add("event_date < :to");
+            params.put("to", to);
+        }
+        if (processed != null) {
+            conditions.add("processed = :processed");
+            params.put("processed", processed);
+        }
+
+        final var sql = """
+                SELECT event_id, processed, aggregate_id, aggregate_type, event_type, event_date, event_data, event_format, event_payload
+                FROM events
+                %s
+                ORDER BY event_id
+                """.formatted(conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions));
+        return this.database.stream(sql, params, eventMapper(), fetchSize)
+                .map(ev -> new ExportedEvent(ev.eventId(), ev.processed(), ev.aggregateId(), ev.aggregateType(), ev.eventType(), ev.eventDate(), ev.eventFormat(), ev.eventData(), () -> this.toDomainEvent(ev)));
+    }
+
+    public List<ArchivedEvent> processedEventsBefore(final Instant cutoff, final int limit) {
+        final var sql = """
+                SELECT event_id, processed, aggregate_id, aggregate_type, event_type, event_date, event_data, event_format, event_payload
+                FROM events
+                WHERE processed = true AND event_date < :cutoff
+                ORDER BY event_id
+                LIMIT :limit
+                """;
+        return this.database.query(sql, Map.of("cutoff", cutoff, "limit", limit), eventMapper()).stream()
+                .map(ev -> new ArchivedEvent(
+                        ev.eventId(),
+                        ev.aggregateId(),
+                        ev.aggregateType(),
+                        ev.eventType(),
+                        ev.eventDate(),
+                        ev.eventFormat().code(),
+                        ev.eventData(),
+                        ev.eventPayload()
+                ))
+                .toList();
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public int deleteArchived(final Collection<Long> eventIds) {
+        if (eventIds == null || eventIds.isEmpty()) {
+            return 0;
+        }
+
+        final var sql = "DELETE FROM events WHERE event_id IN (:ids) AND processed = true";
+        return this.database.update(sql, Map.of("ids", eventIds));
+    }
+
+    public List<StoredEvent> claimUnprocessed(final int limit) {
+        final var sql = """
+                SELECT event_id, processed, aggregate_id, aggregate_type, event_type, event_date, event_data, event_format, event_payload
+                FROM events
+                WHERE processed = false
+                ORDER BY event_id
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+                """;
+        return this.database.query(sql, Map.of("limit", limit), eventMapper()).stream()
+                .map(ev -> new StoredEvent(ev.eventId(), ev.eventDate(), this.toDomainEvent(ev)))
+                .toList();
+    }
+
+    public int reencode(final EventFormat target, final int limit) {
+        final var sql = """
+                SELECT event_id, processed, aggregate_id, aggregate_type, event_type, event_date, event_data, event_format, event_payload
+                FROM events
+                WHERE event_format <> :format
+                ORDER BY event_id
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+                """;
+        final var events = this.database.query(sql, Map.of("format", target.code(), "limit", limit), eventMapper());
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        final var updateSql = "UPDATE events SET event_type = :eventType, event_format = :eventFormat, event_data = :eventData, event_payload = :eventPayload WHERE event_id = :eventId";
+
+        final var batchParams = new ArrayList<Map<String, Object>>(events.size());
+        for (var ev : events) {
+            final var encoded = EventCodec.encode(toDomainEvent(ev), target);
+            final var params = new HashMap<String, Object>(8);
+            params.put("eventId", ev.eventId());
+            params.put("eventType", encoded.eventType());
+            params.put("eventFormat", encoded.format().code());
+            params.put("eventData", encoded.data());
+            params.put("eventPayload", encoded.payload());
+            batchParams.add(params);
+        }
+
+        this.database.batchUpdate(updateSql, batchParams);
+        return events.size();
+    }
+
+    public void markAsProcessed(final Collection<Long> eventIds) {
+        if (eventIds == null || eventIds.isEmpty()) {
+            return;
+        }
+
+        final var sql = "UPDATE events SET processed = true WHERE event_id IN (:ids)";
+        this.database.update(sql, Map.of("ids", eventIds));
+    }
+
     public void markAsProcessed(final Long eventId) {
         final var sql = "UPDATE events SET processed = true WHERE event_id = :id";
         if (this.database.update(sql, Map.of("id", eventId)) == 0) {
@@ -43,31 +246,36 @@ public class EventJdbcRepository {
     }
 
     public void saveAll(final Collection<DomainEvent> events) {
+        if (events == null || events.isEmpty()) {
+            return;
+        }
+
+        final var sql = "INSERT INTO events (processed, aggregate_id, aggregate_type, event_type, event_date, event_data, event_format, event_payload) VALUES (:processed, :aggregateId, :aggregateType, :eventType, :eventDate, :eventData, :eventFormat, :eventPayload)";
+
+        final var batchParams = new ArrayList<Map<String, Object>>(events.size());
         for (var ev : events) {
-            this.insertEvent(Event.newEvent(ev.aggregateId(), ev.aggregateType(), ev.getClass().getCanonicalName(), Json.writeValueAsString(ev)));
+            final var encoded = EventCodec.encode(ev, this.format);
+            batchParams.add(insertParams(Event.newEvent(ev.aggregateId(), ev.aggregateType(), encoded)));
         }
-    }
 
-    private void insertEvent(final Event event) {
-        final var sql = "INSERT INTO events (processed, aggregate_id, aggregate_type, event_type, event_date, event_data) VALUES (:processed, :aggregateId, :aggregateType, :eventType, :eventDate, :eventData)";
+        this.database.batchUpdate(sql, batchParams);
+    }
 
-        final var params = new HashMap<String, Object>();
+    private Map<String, Object> insertParams(final Event event) {
+        final var params = new HashMap<String, Object>(8);
         params.put("processed", event.processed());
         params.put("aggregateId", event.aggregateId());
         params.put("aggregateType", event.aggregateType());
         params.put("eventType", event.eventType());
         params.put("eventDate", event.eventDate());
         params.put("eventData", event.eventData());
-
-        this.database.update(sql, params);
+        params.put("eventFormat", event.eventFormat().code());
+        params.put("eventPayload", event.eventPayload());
+        return params;
     }
 
     private DomainEvent toDomainEvent(final Event event) {
-        try {
-            return (DomainEvent) Json.readTree(event.eventData(), Class.forName(event.eventType()));
-        } catch (ClassNotFoundException e) {
-            throw new RuntimeException(e);
-        }
+        return EventCodec.decode(event.eventType(), event.eventFormat(), event.eventData(), event.eventPayload());
     }
 
     private RowMap<Event> eventMapper() {
@@ -78,10 +286,32 @@ public class EventJdbcRepository {
                 rs.getString("aggregate_type"),
                 rs.getString("event_type"),
                 JdbcUtils.getInstant(rs, "event_date"),
-                rs.getString("event_data")
+                rs.getString("event_data"),
+                EventFormat.of(rs.getString("event_format")),
+                rs.getBytes("event_payload")
         );
     }
 
+    public record StoredEvent(Long eventId, Instant eventDate, DomainEvent domainEvent) {
+    }
+
+    public record EventHeader(long eventId, String aggregateType, String aggregateId) {
+    }
+
+    // JSON rows keep their stored text so exports can copy it as-is; binary rows are decoded on demand
+    public record ExportedEvent(
+            long eventId,
+            boolean processed,
+            String aggregateId,
+            String aggregateType,
+            String eventType,
+            Instant eventDate,
+            EventFormat eventFormat,
+            String eventData,
+            Supplier<DomainEvent> domainEvent
+    ) {
+    }
+
     private record Event(
             Long eventId,
             boolean processed,
@@ -89,11 +319,13 @@ public class EventJdbcRepository {
             String aggregateType,
             String eventType,
             Instant eventDate,
-            String eventData
+            String eventData,
+            EventFormat eventFormat,
+            byte[] eventPayload
     ) {
 
-        public static Event newEvent(String aggregateId, String aggregateType, String eventType, String data) {
-            return new Event(null, false, aggregateId, aggregateType, eventType, InstantUtils.now(), data);
+        public static Event newEvent(String aggregateId, String aggregateType, EventCodec.EncodedEvent encoded) {
+            return new Event(null, false, aggregateId, aggregateType, encoded.eventType(), InstantUtils.now(), encoded.data(), encoded.format(), encoded.payload());
         }
     }
 }
\ No newline at end of file
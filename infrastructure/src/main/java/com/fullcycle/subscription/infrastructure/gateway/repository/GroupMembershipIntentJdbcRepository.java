@@ -0,0 +1,130 @@
+package com.fullcycle.subscription.infrastructure.gateway.repository;
+
+import com.fullcycle.subscription.infrastructure.jdbc.DatabaseClient;
+import com.fullcycle.subscription.infrastructure.jdbc.JdbcUtils;
+import com.fullcycle.subscription.infrastructure.jdbc.RowMap;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Repository
+public class GroupMembershipIntentJdbcRepository {
+
+    public static final String PENDING = "PENDING";
+    public static final String PARKED = "PARKED";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final DatabaseClient database;
+
+    public GroupMembershipIntentJdbcRepository(final DatabaseClient databaseClient) {
+        this.database = Objects.requireNonNull(databaseClient);
+    }
+
+    public void save(final String userId, final String groupId, final Action action, final Instant now) {
+        save(userId, groupId, action, now, now);
+    }
+
+    // an intent is not applied before notBefore, e.g. the removal of a canceled subscription waits for the end of the paid period
+    public void save(final String userId, final String groupId, final Action action, final Instant now, final Instant notBefore) {
+        final var sql = """
+                INSERT INTO group_membership_intents (user_id, group_id, action, status, attempts, next_attempt_at, created_at)
+                VALUES (:userId, :groupId, :action, :status, 0, :notBefore, :now)
+                """;
+
+        final var params = new HashMap<String, Object>();
+        params.put("userId", userId);
+        params.put("groupId", groupId);
+        params.put("action", action.name());
+        params.put("status", PENDING);
+        params.put("now", now);
+        params.put("notBefore", notBefore);
+
+        this.database.update(sql, params);
+    }
+
+    public List<GroupMembershipIntent> pendingIntents(final Instant now, final int limit) {
+        final var sql = """
+                SELECT id, user_id, group_id, action, status, attempts, next_attempt_at
+                FROM group_membership_intents
+                WHERE status = :status AND next_attempt_at <= :now
+                ORDER BY id
+                LIMIT :limit
+                """;
+        return this.database.query(sql, Map.of("status", PENDING, "now", now, "limit", limit), intentMapper());
+    }
+
+    public List<GroupMembershipIntent> intentsOf(final String userId, final String groupId) {
+        final var sql = """
+                SELECT id, user_id, group_id, action, status, attempts, next_attempt_at
+                FROM group_membership_intents
+                WHERE user_id = :userId AND group_id = :groupId
+                ORDER BY id
+                """;
+        return this.database.query(sql, Map.of("userId", userId, "groupId", groupId), intentMapper());
+    }
+
+    // removes the applied intent together with the older ones of the same user and group it superseded
+    public int complete(final GroupMembershipIntent intent) {
+        final var sql = "DELETE FROM group_membership_intents WHERE user_id = :userId AND group_id = :groupId AND id <= :id";
+        return this.database.update(sql, Map.of("userId", intent.userId(), "groupId", intent.groupId(), "id", intent.id()));
+    }
+
+    public void retry(final GroupMembershipIntent intent, final Instant nextAttemptAt, final String error) {
+        updateAttempt(intent, PENDING, nextAttemptAt, error);
+    }
+
+    public void park(final GroupMembershipIntent intent, final String error) {
+        updateAttempt(intent, PARKED, intent.nextAttemptAt(), error);
+    }
+
+    private void updateAttempt(final GroupMembershipIntent intent, final String status, final Instant nextAttemptAt, final String error) {
+        final var sql = """
+                UPDATE group_membership_intents
+                SET status = :status, attempts = attempts + 1, next_attempt_at = :nextAttemptAt, last_error = :error
+                WHERE user_id = :userId AND group_id = :groupId AND id <= :id AND status = :pending
+                """;
+
+        final var params = new HashMap<String, Object>();
+        params.put("status", status);
+        params.put("nextAttemptAt", nextAttemptAt);
+        params.put("error", error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH));
+        params.put("userId", intent.userId());
+        params.put("groupId", intent.groupId());
+        params.put("id", intent.id());
+        params.put("pending", PENDING);
+
+        this.database.update(sql, params);
+    }
+
+    private RowMap<GroupMembershipIntent> intentMapper() {
+        return rs -> new GroupMembershipIntent(
+                rs.getLong("id"),
+                rs.getString("user_id"),
+                rs.getString("group_id"),
+                Action.valueOf(rs.getString("action")),
+                rs.getString("status"),
+                rs.getInt("attempts"),
+                JdbcUtils.getInstant(rs, "next_attempt_at")
+        );
+    }
+
+    public enum Action {
+        ADD, REMOVE
+    }
+
+    public record GroupMembershipIntent(
+            long id,
+            String userId,
+            String groupId,
+            Action action,
+            String status,
+            int attempts,
+            Instant nextAttemptAt
+    ) {
+    }
+}
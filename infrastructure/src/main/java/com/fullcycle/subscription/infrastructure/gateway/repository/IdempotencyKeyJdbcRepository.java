@@ -0,0 +1,100 @@
+package com.fullcycle.subscription.infrastructure.gateway.repository;
+
+import com.fullcycle.subscription.infrastructure.idempotency.IdempotentResponse;
+import com.fullcycle.subscription.infrastructure.jdbc.DatabaseClient;
+import com.fullcycle.subscription.infrastructure.jdbc.JdbcUtils;
+import com.fullcycle.subscription.infrastructure.jdbc.RowMap;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+@Repository
+public class IdempotencyKeyJdbcRepository {
+
+    private final DatabaseClient database;
+
+    public IdempotencyKeyJdbcRepository(final DatabaseClient databaseClient) {
+        this.database = Objects.requireNonNull(databaseClient);
+    }
+
+    public Optional<IdempotentResponse> responseOf(final String scopeKey) {
+        final var sql = """
+                SELECT fingerprint, completed, response_status, response_content_type, response_location, response_body, expires_at
+                FROM idempotency_keys
+                WHERE scope_key = :scopeKey
+                """;
+        return this.database.queryOne(sql, Map.of("scopeKey", scopeKey), responseMapper());
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public boolean tryBegin(final String scopeKey, final String fingerprint, final Instant now, final Instant expiresAt) {
+        final var params = new HashMap<String, Object>();
+        params.put("scopeKey", scopeKey);
+        params.put("fingerprint", fingerprint);
+        params.put("now", now);
+        params.put("expiresAt", expiresAt);
+
+        final var insertSql = """
+                INSERT INTO idempotency_keys (scope_key, fingerprint, completed, created_at, expires_at)
+                VALUES (:scopeKey, :fingerprint, false, :now, :expiresAt)
+                """;
+        try {
+            return this.database.update(insertSql, params) > 0;
+        } catch (DuplicateKeyException ex) {
+            final var reuseSql = """
+                    UPDATE idempotency_keys
+                    SET fingerprint = :fingerprint, completed = false, response_status = NULL, response_content_type = NULL,
+                        response_location = NULL, response_body = NULL, created_at = :now, expires_at = :expiresAt
+                    WHERE scope_key = :scopeKey AND expires_at <= :now
+                    """;
+            return this.database.update(reuseSql, params) > 0;
+        }
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void complete(final String scopeKey, final IdempotentResponse response) {
+        final var sql = """
+                UPDATE idempotency_keys
+                SET completed = true, response_status = :status, response_content_type = :contentType, response_location = :location, response_body = :body,
+                    expires_at = :expiresAt
+                WHERE scope_key = :scopeKey
+                """;
+        final var params = new HashMap<String, Object>();
+        params.put("scopeKey", scopeKey);
+        params.put("status", response.status());
+        params.put("contentType", response.contentType());
+        params.put("location", response.location());
+        params.put("body", response.body());
+        params.put("expiresAt", response.expiresAt());
+        this.database.update(sql, params);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void abandon(final String scopeKey) {
+        this.database.update("DELETE FROM idempotency_keys WHERE scope_key = :scopeKey AND completed = false", Map.of("scopeKey", scopeKey));
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public int deleteExpired(final Instant now) {
+        return this.database.update("DELETE FROM idempotency_keys WHERE expires_at <= :now", Map.of("now", now));
+    }
+
+    private RowMap<IdempotentResponse> responseMapper() {
+        return rs -> new IdempotentResponse(
+                rs.getString("fingerprint"),
+                rs.getBoolean("completed"),
+                rs.getInt("response_status"),
+                rs.getString("response_content_type"),
+                rs.getString("response_location"),
+                rs.getBytes("response_body"),
+                JdbcUtils.getInstant(rs, "expires_at")
+        );
+    }
+}
@@ -0,0 +1,181 @@
+package com.fullcycle.subscription.infrastructure.gateway.repository;
+
+import com.fullcycle.subscription.infrastructure.jdbc.DatabaseClient;
+import com.fullcycle.subscription.infrastructure.jdbc.JdbcUtils;
+import com.fullcycle.subscription.infrastructure.jdbc.RowMap;
+import com.fullcycle.subscription.infrastructure.scheduling.JobLease;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+@Repository
+public class JobLeaseJdbcRepository {
+
+    private final DatabaseClient database;
+
+    public JobLeaseJdbcRepository(final DatabaseClient databaseClient) {
+        this.database = Objects.requireNonNull(databaseClient);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void heartbeatMember(final String jobName, final String memberId, final Instant now) {
+        final var params = Map.<String, Object>of("jobName", jobName, "memberId", memberId, "now", now);
+
+        final var updateSql = "UPDATE job_members SET heartbeat_at = :now WHERE job_name = :jobName AND member_id = :memberId";
+        if (this.database.update(updateSql, params) > 0) {
+            return;
+        }
+
+        try {
+            final var insertSql = "INSERT INTO job_members (job_name, member_id, heartbeat_at) VALUES (:jobName, :memberId, :now)";
+            this.database.update(insertSql, params);
+        } catch (DuplicateKeyException ex) {
+            this.database.update(updateSql, params);
+        }
+    }
+
+    public List<String> liveMembers(final String jobName, final Instant aliveSince) {
+        final var sql = "SELECT member_id FROM job_members WHERE job_name = :jobName AND heartbeat_at >= :aliveSince ORDER BY member_id";
+        return this.database.query(sql, Map.of("jobName", jobName, "aliveSince", aliveSince), rs -> rs.getString("member_id"));
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void removeMember(final String jobName, final String memberId) {
+        final var sql = "DELETE FROM job_members WHERE job_name = :jobName AND member_id = :memberId";
+        this.database.update(sql, Map.of("jobName", jobName, "memberId", memberId));
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void ensureShards(final String jobName, final int shardCount) {
+        final var existingSql = "SELECT shard FROM job_leases WHERE job_name = :jobName";
+        final var existing = new HashSet<>(this.database.query(existingSql, Map.of("jobName", jobName), rs -> rs.getInt("shard")));
+        if (existing.size() >= shardCount) {
+            return;
+        }
+
+        final var insertSql = "INSERT INTO job_leases (job_name, shard, fencing_token) VALUES (:jobName, :shard, 0)";
+        for (int shard = 0; shard < shardCount; shard++) {
+            if (existing.contains(shard)) {
+                continue;
+            }
+            try {
+                this.database.update(insertSql, Map.of("jobName", jobName, "shard", shard));
+            } catch (DuplicateKeyException ignored) {
+                // another member created it first
+            }
+        }
+    }
+
+    public List<JobLease> leasesOf(final String jobName) {
+        final var sql = """
+                SELECT job_name, shard, owner_id, fencing_token, heartbeat_at, expires_at, progress, progress_at
+                FROM job_leases
+                WHERE job_name = :jobName
+                ORDER BY shard
+                """;
+        return this.database.query(sql, Map.of("jobName", jobName), jobLeaseMapper());
+    }
+
+    public Optional<JobLease> leaseOf(final String jobName, final int shard) {
+        final var sql = """
+                SELECT job_name, shard, owner_id, fencing_token, heartbeat_at, expires_at, progress, progress_at
+                FROM job_leases
+                WHERE job_name = :jobName AND shard = :shard
+                """;
+        return this.database.queryOne(sql, Map.of("jobName", jobName, "shard", shard), jobLeaseMapper());
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public Optional<JobLease> tryAcquire(final String jobName, final int shard, final String ownerId, final Instant now, final Instant expiresAt) {
+        final var sql = """
+                UPDATE job_leases
+                SET owner_id = :ownerId, fencing_token = fencing_token + 1, heartbeat_at = :now, expires_at = :expiresAt
+                WHERE job_name = :jobName AND shard = :shard
+                  AND (owner_id IS NULL OR expires_at IS NULL OR expires_at <= :now)
+                """;
+
+        final var params = new HashMap<String, Object>();
+        params.put("jobName", jobName);
+        params.put("shard", shard);
+        params.put("ownerId", ownerId);
+        params.put("now", now);
+        params.put("expiresAt", expiresAt);
+
+        if (this.database.update(sql, params) == 0) {
+            return Optional.empty();
+        }
+        return leaseOf(jobName, shard);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public boolean renew(final String jobName, final int shard, final String ownerId, final long fencingToken, final Instant now, final Instant expiresAt) {
+        final var sql = """
+                UPDATE job_leases
+                SET heartbeat_at = :now, expires_at = :expiresAt
+                WHERE job_name = :jobName AND shard = :shard AND owner_id = :ownerId AND fencing_token = :fencingToken
+                """;
+
+        final var params = new HashMap<String, Object>();
+        params.put("jobName", jobName);
+        params.put("shard", shard);
+        params.put("ownerId", ownerId);
+        params.put("fencingToken", fencingToken);
+        params.put("now", now);
+        params.put("expiresAt", expiresAt);
+
+        return this.database.update(sql, params) > 0;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public boolean release(final String jobName, final int shard, final String ownerId, final long fencingToken) {
+        final var sql = """
+                UPDATE job_leases
+                SET owner_id = NULL, expires_at = NULL
+                WHERE job_name = :jobName AND shard = :shard AND owner_id = :ownerId AND fencing_token = :fencingToken
+                """;
+        final var params = Map.<String, Object>of("jobName", jobName, "shard", shard, "ownerId", ownerId, "fencingToken", fencingToken);
+        return this.database.update(sql, params) > 0;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public boolean updateProgress(final String jobName, final int shard, final String memberId, final long fencingToken, final String progress, final Instant now) {
+        // same ownership rule as stillOwns: an expired lease keeps its token until someone takes it over, but is no longer ours
+        final var sql = """
+                UPDATE job_leases
+                SET progress = :progress, progress_at = :now
+                WHERE job_name = :jobName AND shard = :shard AND owner_id = :memberId AND fencing_token = :fencingToken AND expires_at > :now
+                """;
+
+        final var params = new HashMap<String, Object>();
+        params.put("jobName", jobName);
+        params.put("shard", shard);
+        params.put("memberId", memberId);
+        params.put("fencingToken", fencingToken);
+        params.put("progress", progress);
+        params.put("now", now);
+
+        return this.database.update(sql, params) > 0;
+    }
+
+    private RowMap<JobLease> jobLeaseMapper() {
+        return rs -> new JobLease(
+                rs.getString("job_name"),
+                rs.getInt("shard"),
+                rs.getString("owner_id"),
+                rs.getLong("fencing_token"),
+                JdbcUtils.getInstant(rs, "heartbeat_at"),
+                JdbcUtils.getInstant(rs, "expires_at"),
+                rs.getString("progress"),
+                JdbcUtils.getInstant(rs, "progress_at")
+        );
+    }
+}
@@ -0,0 +1,75 @@
+package com.fullcycle.subscription.infrastructure.gateway.repository;
+
+import com.fullcycle.subscription.domain.account.AccountSearchQuery;
+import com.fullcycle.subscription.domain.exceptions.DomainException;
+import com.fullcycle.subscription.domain.subscription.SubscriptionSearchQuery;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.zip.CRC32;
+
+// Opaque to clients: a hash of the query it belongs to, the last row's sort key, the page number and the total counted on the first page
+record KeysetCursor(String scope, int page, long total, List<String> keys) {
+
+    private static final String SEPARATOR = "\n";
+
+    KeysetCursor {
+        keys = List.copyOf(keys);
+    }
+
+    static KeysetCursor of(final String scope, final int page, final long total, final String... keys) {
+        return new KeysetCursor(hash(scope), page, total, List.of(keys));
+    }
+
+    // the sort key and the total only make sense for the query that produced them, so a cursor replayed with other
+    // filters, sort or page size is refused instead of silently seeking into a different result set
+    static KeysetCursor decode(final String cursor, final String scope, final int expectedKeys) {
+        final KeysetCursor decoded;
+        try {
+            final var parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, -1);
+            if (parts.length != expectedKeys + 3) {
+                throw new IllegalArgumentException();
+            }
+            decoded = new KeysetCursor(parts[0], Integer.parseInt(parts[1]), Long.parseLong(parts[2]), Arrays.asList(parts).subList(3, parts.length));
+        } catch (IllegalArgumentException ex) {
+            throw DomainException.with("Invalid pagination cursor");
+        }
+
+        if (!decoded.scope().equals(hash(scope))) {
+            throw DomainException.with("Pagination cursor does not match the query filters");
+        }
+        return decoded;
+    }
+
+    static String scopeOf(final AccountSearchQuery query) {
+        return String.join(SEPARATOR, "accounts", "id", String.valueOf(query.perPage()));
+    }
+
+    static String scopeOf(final SubscriptionSearchQuery query) {
+        return String.join(
+                SEPARATOR,
+                "subscriptions",
+                "due_date,id",
+                String.valueOf(query.perPage()),
+                String.valueOf(query.status()),
+                query.planId() != null ? String.valueOf(query.planId().value()) : "null"
+        );
+    }
+
+    String key(final int index) {
+        return this.keys.get(index);
+    }
+
+    String encode() {
+        final var raw = this.scope + SEPARATOR + this.page + SEPARATOR + this.total + SEPARATOR + String.join(SEPARATOR, this.keys);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String hash(final String scope) {
+        final var crc = new CRC32();
+        crc.update(scope.getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+}
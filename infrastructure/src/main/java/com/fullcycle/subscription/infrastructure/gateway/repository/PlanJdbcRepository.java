@@ -1,5 +1,6 @@
 package com.fullcycle.subscription.infrastructure.gateway.repository;
 
+import com.fullcycle.subscription.domain.exceptions.OptimisticLockException;
 import com.fullcycle.subscription.domain.money.Money;
 import com.fullcycle.subscription.domain.plan.Plan;
 import com.fullcycle.subscription.domain.plan.PlanGateway;
@@ -9,6 +10,7 @@ import com.fullcycle.subscription.infrastructure.jdbc.JdbcUtils;
 import com.fullcycle.subscription.infrastructure.jdbc.RowMap;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.*;
 
 @Repository
@@ -53,6 +55,15 @@ public class PlanJdbcRepository implements PlanGateway {
         return this.database.query(sql, planMapper());
     }
 
+    public CatalogVersion catalogVersion() {
+        final var sql = "SELECT COUNT(*) AS total, COALESCE(SUM(version), 0) AS versions, MAX(updated_at) AS last_updated_at FROM plans";
+        return this.database.queryOne(sql, Map.of(), rs -> new CatalogVersion(
+                rs.getLong("total"),
+                rs.getLong("versions"),
+                JdbcUtils.getInstant(rs, "last_updated_at")
+        )).orElseGet(() -> new CatalogVersion(0, 0, null));
+    }
+
     @Override
     public boolean existsPlanOfId(final PlanId anId) {
         final var sql = "SELECT id FROM plans WHERE id = :id";
@@ -93,7 +104,7 @@ public class PlanJdbcRepository implements PlanGateway {
                 WHERE id = :id and version = :version
                 """;
         if (this.database.update(sql, createParams(plan)) == 0) {
-            throw new IllegalArgumentException("Plan with id %s and version %s was not found".formatted(plan.id().value(), plan.version()));
+            throw OptimisticLockException.with(Plan.class, plan.id(), plan.version());
         }
         return plan;
     }
@@ -116,4 +127,7 @@ public class PlanJdbcRepository implements PlanGateway {
 
         return params;
     }
-}
\ No newline at end of file
+
+    public record CatalogVersion(long total, long versions, Instant lastUpdatedAt) {
+    }
+}
@@ -0,0 +1,126 @@
+package com.fullcycle.subscription.infrastructure.gateway.repository;
+
+import com.fullcycle.subscription.infrastructure.jdbc.DatabaseClient;
+import com.fullcycle.subscription.infrastructure.jdbc.JdbcUtils;
+import com.fullcycle.subscription.infrastructure.jdbc.RowMap;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+@Repository
+public class SignUpSagaJdbcRepository {
+
+    public static final String STARTED = "STARTED";
+    public static final String IDP_USER_CREATED = "IDP_USER_CREATED";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String COMPENSATED = "COMPENSATED";
+    public static final String FAILED = "FAILED";
+
+    private static final List<String> INCOMPLETE = List.of(STARTED, IDP_USER_CREATED);
+    private static final List<String> FINISHED = List.of(COMPLETED, COMPENSATED, FAILED);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final DatabaseClient database;
+
+    public SignUpSagaJdbcRepository(final DatabaseClient databaseClient) {
+        this.database = Objects.requireNonNull(databaseClient);
+    }
+
+    public void start(final String id, final String email, final Instant now) {
+        final var sql = """
+                INSERT INTO signup_sagas (id, email, status, attempts, created_at, updated_at)
+                VALUES (:id, :email, :status, 0, :now, :now)
+                """;
+        this.database.update(sql, Map.of("id", id, "email", email, "status", STARTED, "now", now));
+    }
+
+    public void idpUserCreated(final String id, final String idpUserId, final Instant now) {
+        final var sql = "UPDATE signup_sagas SET status = :status, idp_user_id = :idpUserId, updated_at = :now WHERE id = :id";
+        this.database.update(sql, Map.of("id", id, "status", IDP_USER_CREATED, "idpUserId", idpUserId, "now", now));
+    }
+
+    public void finish(final String id, final String status, final String error, final Instant now) {
+        final var sql = "UPDATE signup_sagas SET status = :status, last_error = :error, updated_at = :now WHERE id = :id";
+
+        final var params = new HashMap<String, Object>();
+        params.put("id", id);
+        params.put("status", status);
+        params.put("error", truncate(error));
+        params.put("now", now);
+
+        this.database.update(sql, params);
+    }
+
+    // keeps the saga in its current step, so the recovery picks it up once it goes stale
+    public void failedAttempt(final String id, final String error, final Instant now) {
+        final var sql = "UPDATE signup_sagas SET attempts = attempts + 1, last_error = :error, updated_at = :now WHERE id = :id";
+
+        final var params = new HashMap<String, Object>();
+        params.put("id", id);
+        params.put("error", truncate(error));
+        params.put("now", now);
+
+        this.database.update(sql, params);
+    }
+
+    public Optional<SignUpSaga> sagaOfId(final String id) {
+        final var sql = "SELECT id, email, status, idp_user_id, attempts, updated_at FROM signup_sagas WHERE id = :id";
+        return this.database.queryOne(sql, Map.of("id", id), sagaMapper());
+    }
+
+    public List<SignUpSaga> staleSagasOfEmail(final String email, final Instant before) {
+        final var sql = """
+                SELECT id, email, status, idp_user_id, attempts, updated_at
+                FROM signup_sagas
+                WHERE email = :email AND status IN (:incomplete) AND updated_at < :before
+                ORDER BY updated_at
+                """;
+        return this.database.query(sql, Map.of("email", email, "incomplete", INCOMPLETE, "before", before), sagaMapper());
+    }
+
+    public List<SignUpSaga> staleSagas(final Instant before, final int limit) {
+        final var sql = """
+                SELECT id, email, status, idp_user_id, attempts, updated_at
+                FROM signup_sagas
+                WHERE status IN (:incomplete) AND updated_at < :before
+                ORDER BY updated_at
+                LIMIT :limit
+                """;
+        return this.database.query(sql, Map.of("incomplete", INCOMPLETE, "before", before, "limit", limit), sagaMapper());
+    }
+
+    public int purgeFinished(final Instant before) {
+        final var sql = "DELETE FROM signup_sagas WHERE status IN (:finished) AND updated_at < :before";
+        return this.database.update(sql, Map.of("finished", FINISHED, "before", before));
+    }
+
+    private static String truncate(final String error) {
+        return error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private RowMap<SignUpSaga> sagaMapper() {
+        return rs -> new SignUpSaga(
+                rs.getString("id"),
+                rs.getString("email"),
+                rs.getString("status"),
+                rs.getString("idp_user_id"),
+                rs.getInt("attempts"),
+                JdbcUtils.getInstant(rs, "updated_at")
+        );
+    }
+
+    public record SignUpSaga(
+            String id,
+            String email,
+            String status,
+            String idpUserId,
+            int attempts,
+            Instant updatedAt
+    ) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.fullcycle.subscription.infrastructure.gateway.repository;
+
+import com.fullcycle.subscription.infrastructure.jdbc.DatabaseClient;
+import com.fullcycle.subscription.infrastructure.jdbc.JdbcUtils;
+import com.fullcycle.subscription.infrastructure.jdbc.RowMap;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+@Repository
+public class SnapshotJdbcRepository {
+
+    private final DatabaseClient database;
+
+    public SnapshotJdbcRepository(final DatabaseClient databaseClient) {
+        this.database = Objects.requireNonNull(databaseClient);
+    }
+
+    public Optional<StoredSnapshot> snapshotOf(final String aggregateType, final String aggregateId) {
+        final var sql = """
+                SELECT aggregate_type, aggregate_id, last_event_id, aggregate_version, snapshot_data, taken_at
+                FROM aggregate_snapshots
+                WHERE aggregate_type = :aggregateType AND aggregate_id = :aggregateId
+                """;
+        return this.database.queryOne(sql, Map.of("aggregateType", aggregateType, "aggregateId", aggregateId), snapshotMapper());
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public boolean save(final StoredSnapshot snapshot) {
+        final var params = new HashMap<String, Object>();
+        params.put("aggregateType", snapshot.aggregateType());
+        params.put("aggregateId", snapshot.aggregateId());
+        params.put("lastEventId", snapshot.lastEventId());
+        params.put("aggregateVersion", snapshot.aggregateVersion());
+        params.put("snapshotData", snapshot.data());
+        params.put("takenAt", snapshot.takenAt());
+
+        final var updateSql = """
+                UPDATE aggregate_snapshots
+                SET last_event_id = :lastEventId, aggregate_version = :aggregateVersion, snapshot_data = :snapshotData, taken_at = :takenAt
+                WHERE aggregate_type = :aggregateType AND aggregate_id = :aggregateId AND last_event_id < :lastEventId
+                """;
+        if (this.database.update(updateSql, params) > 0) {
+            return true;
+        }
+
+        if (snapshotOf(snapshot.aggregateType(), snapshot.aggregateId()).isPresent()) {
+            return false;
+        }
+
+        final var insertSql = """
+                INSERT INTO aggregate_snapshots (aggregate_type, aggregate_id, last_event_id, aggregate_version, snapshot_data, taken_at)
+                VALUES (:aggregateType, :aggregateId, :lastEventId, :aggregateVersion, :snapshotData, :takenAt)
+                """;
+        return this.database.update(insertSql, params) > 0;
+    }
+
+    private RowMap<StoredSnapshot> snapshotMapper() {
+        return rs -> new StoredSnapshot(
+                rs.getString("aggregate_type"),
+                rs.getString("aggregate_id"),
+                rs.getLong("last_event_id"),
+                rs.getInt("aggregate_version"),
+                rs.getString("snapshot_data"),
+                JdbcUtils.getInstant(rs, "taken_at")
+        );
+    }
+
+    public record StoredSnapshot(
+            String aggregateType,
+            String aggregateId,
+            long lastEventId,
+            int aggregateVersion,
+            String data,
+            Instant takenAt
+    ) {
+    }
+}
@@ -1,11 +1,15 @@
 package com.fullcycle.subscription.infrastructure.gateway.repository;
 
 import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.pagination.Pagination;
 import com.fullcycle.subscription.domain.subscription.Subscription;
 import com.fullcycle.subscription.domain.subscription.SubscriptionGateway;
 import com.fullcycle.subscription.domain.subscription.SubscriptionId;
+import com.fullcycle.subscription.domain.subscription.SubscriptionSearchQuery;
 import com.fullcycle.subscription.domain.utils.IdUtils;
 
+import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
@@ -28,6 +32,35 @@ public class SubscriptionInMemoryRepository implements SubscriptionGateway {
         return Optional.ofNullable(this.db.get(subscriptionId.value()));
     }
 
+    @Override
+    public Pagination<Subscription> allSubscriptions(SubscriptionSearchQuery query) {
+        final var cursor = query.cursor() != null ? KeysetCursor.decode(query.cursor(), KeysetCursor.scopeOf(query), 2) : null;
+        final var matching = this.db.values().stream()
+                .filter(it -> query.status() == null || it.status().value().equals(query.status()))
+                .filter(it -> query.planId() == null || it.planId().equals(query.planId()))
+                .sorted(Comparator.comparing(Subscription::dueDate).thenComparing(it -> it.id().value()))
+                .toList();
+
+        final var rows = matching.stream()
+                .filter(it -> cursor == null || isAfter(it, LocalDate.parse(cursor.key(0)), cursor.key(1)))
+                .limit(query.perPage() + 1L)
+                .toList();
+
+        final var page = cursor != null ? cursor.page() : 1;
+        if (rows.size() <= query.perPage()) {
+            return new Pagination<>(page, query.perPage(), matching.size(), null, rows);
+        }
+
+        final var items = rows.subList(0, query.perPage());
+        final var last = items.getLast();
+        return new Pagination<>(page, query.perPage(), matching.size(), KeysetCursor.of(KeysetCursor.scopeOf(query), page + 1, matching.size(), last.dueDate().toString(), last.id().value()).encode(), items);
+    }
+
+    private static boolean isAfter(Subscription subscription, LocalDate dueDate, String id) {
+        final var compare = subscription.dueDate().compareTo(dueDate);
+        return compare > 0 || (compare == 0 && subscription.id().value().compareTo(id) > 0);
+    }
+
     @Override
     public Subscription save(Subscription subscription) {
         this.db.put(subscription.id().value(), subscription);
@@ -1,26 +1,39 @@
 package com.fullcycle.subscription.infrastructure.gateway.repository;
 
 import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.exceptions.OptimisticLockException;
+import com.fullcycle.subscription.domain.pagination.Pagination;
 import com.fullcycle.subscription.domain.plan.PlanId;
 import com.fullcycle.subscription.domain.subscription.Subscription;
 import com.fullcycle.subscription.domain.subscription.SubscriptionGateway;
 import com.fullcycle.subscription.domain.subscription.SubscriptionId;
+import com.fullcycle.subscription.domain.subscription.SubscriptionSearchQuery;
+import com.fullcycle.subscription.domain.subscription.status.SubscriptionStatus;
 import com.fullcycle.subscription.domain.utils.IdUtils;
 import com.fullcycle.subscription.infrastructure.jdbc.DatabaseClient;
 import com.fullcycle.subscription.infrastructure.jdbc.JdbcUtils;
 import com.fullcycle.subscription.infrastructure.jdbc.RowMap;
+import com.fullcycle.subscription.infrastructure.scheduling.ShardLease;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public class SubscriptionJdbcRepository implements SubscriptionGateway {
 
+    // same value as ShardLease.bucketOf(account_id)
+    private static final String ACCOUNT_BUCKET = "(LOCATE(SUBSTRING(account_id, CHAR_LENGTH(account_id) - 1, 1), '%1$s') * 16 + LOCATE(RIGHT(account_id, 1), '%1$s'))"
+            .formatted(ShardLease.HEX_DIGITS);
+
     private final DatabaseClient database;
     private final EventJdbcRepository eventJdbcRepository;
 
@@ -46,6 +59,116 @@ public class SubscriptionJdbcRepository implements SubscriptionGateway {
         return this.database.queryOne(sql, Map.of("id", subscriptionId.value()), subscriptionMapper());
     }
 
+    @Override
+    public Pagination<Subscription> allSubscriptions(final SubscriptionSearchQuery query) {
+        final var params = new HashMap<String, Object>();
+        final var filters = new ArrayList<String>();
+        if (query.status() != null) {
+            filters.add("status = :status");
+            params.put("status", query.status());
+        }
+        if (query.planId() != null) {
+            filters.add("plan_id = :planId");
+            params.put("planId", query.planId().value());
+        }
+
+        final var cursor = query.cursor() != null ? KeysetCursor.decode(query.cursor(), KeysetCursor.scopeOf(query), 2) : null;
+        final var total = cursor != null ? cursor.total() : countSubscriptions(filters, params);
+        final var page = cursor != null ? cursor.page() : 1;
+
+        final var conditions = new ArrayList<>(filters);
+        if (cursor != null) {
+            // seek past the last row of the previous page instead of OFFSET, so every page costs the same
+            conditions.add("(due_date > :afterDueDate OR (due_date = :afterDueDate AND id > :afterId))");
+            params.put("afterDueDate", LocalDate.parse(cursor.key(0)));
+            params.put("afterId", cursor.key(1));
+        }
+        params.put("limit", query.perPage() + 1);
+
+        final var sql = """
+                SELECT id, version, account_id, plan_id, status, created_at, updated_at, due_date, last_renew_dt, last_transaction_id FROM subscriptions
+                %s
+                ORDER BY due_date, id
+                LIMIT :limit
+                """.formatted(where(conditions));
+        final var rows = this.database.query(sql, params, subscriptionMapper());
+
+        if (rows.size() <= query.perPage()) {
+            return new Pagination<>(page, query.perPage(), total, null, rows);
+        }
+
+        final var items = rows.subList(0, query.perPage());
+        final var last = items.getLast();
+        final var next = KeysetCursor.of(KeysetCursor.scopeOf(query), page + 1, total, last.dueDate().toString(), last.id().value());
+        return new Pagination<>(page, query.perPage(), total, next.encode(), items);
+    }
+
+    // only the rows of the given shard leave the database, so every node reads its share of the due set and not all of it
+    public List<DueSubscription> dueSubscriptions(final LocalDate until, final DueSubscription after, final int shard, final int shardCount, final int limit) {
+        final var params = new HashMap<String, Object>();
+        params.put("until", until);
+        params.put("canceled", SubscriptionStatus.CANCELED);
+        params.put("limit", limit);
+
+        final var conditions = new ArrayList<String>();
+        conditions.add("due_date <= :until");
+        conditions.add("status <> :canceled");
+
+        if (shardCount > 1) {
+            conditions.add("MOD(%s, :shardCount) = :shard".formatted(ACCOUNT_BUCKET));
+            params.put("shardCount", shardCount);
+            params.put("shard", shard);
+        }
+
+        if (after != null) {
+            conditions.add("(due_date > :afterDueDate OR (due_date = :afterDueDate AND id > :afterId))");
+            params.put("afterDueDate", after.dueDate());
+            params.put("afterId", after.id().value());
+        }
+
+        final var sql = """
+                SELECT id, account_id, due_date FROM subscriptions
+                %s
+                ORDER BY due_date, id
+                LIMIT :limit
+                """.formatted(where(conditions));
+        return this.database.query(sql, params, dueSubscriptionMapper());
+    }
+
+    public Stream<Subscription> streamSubscriptions(final LocalDate dueFrom, final LocalDate dueTo, final String status, final int fetchSize) {
+        final var params = new HashMap<String, Object>();
+        final var conditions = new ArrayList<String>();
+        if (dueFrom != null) {
+            conditions.add("due_date >= :dueFrom");
+            params.put("dueFrom", dueFrom);
+        }
+        if (dueTo != null) {
+            conditions.add("due_date < :dueTo");
+            params.put("dueTo", dueTo);
+        }
+        if (status != null) {
+            conditions.add("status = :status");
+            params.put("status", status);
+        }
+
+        final var sql = """
+                SELECT id, version, account_id, plan_id, status, created_at, updated_at, due_date, last_renew_dt, last_transaction_id FROM subscriptions
+                %s
+                ORDER BY due_date, id
+                """.formatted(where(conditions));
+        return this.database.stream(sql, params, subscriptionMapper(), fetchSize);
+    }
+
+    // every account with its subscription, if any; compared against the identity provider's group members
+    public Stream<MemberSubscription> streamMemberSubscriptions(final int fetchSize) {
+        final var sql = """
+                SELECT a.idp_user_id, s.status, s.due_date
+                FROM accounts a
+                LEFT JOIN subscriptions s ON s.account_id = a.id
+                """;
+        return this.database.stream(sql, Map.of(), memberSubscriptionMapper(), fetchSize);
+    }
+
     @Override
     @Transactional(propagation = Propagation.REQUIRED)
     public Subscription save(final Subscription subscription) {
@@ -83,7 +206,7 @@ public class SubscriptionJdbcRepository implements SubscriptionGateway {
                 WHERE id = :id and version = :version
                 """;
         if (executeUpdate(sql, subscription) == 0) {
-            throw new IllegalArgumentException("Subscription with id %s and version %s was not found".formatted(subscription.id().value(), subscription.version()));
+            throw OptimisticLockException.with(Subscription.class, subscription.id(), subscription.version());
         }
     }
 
@@ -102,6 +225,15 @@ public class SubscriptionJdbcRepository implements SubscriptionGateway {
         return this.database.update(sql, params);
     }
 
+    private long countSubscriptions(final List<String> filters, final Map<String, Object> params) {
+        final var sql = "SELECT COUNT(*) FROM subscriptions %s".formatted(where(filters));
+        return this.database.queryOne(sql, params, rs -> rs.getLong(1)).orElse(0L);
+    }
+
+    private static String where(final List<String> conditions) {
+        return conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions);
+    }
+
     private RowMap<Subscription> subscriptionMapper() {
         return rs -> Subscription.with(
                 new SubscriptionId(rs.getString("id")),
@@ -117,4 +249,25 @@ public class SubscriptionJdbcRepository implements SubscriptionGateway {
         );
     }
 
-}
\ No newline at end of file
+    private RowMap<DueSubscription> dueSubscriptionMapper() {
+        return rs -> new DueSubscription(
+                new SubscriptionId(rs.getString("id")),
+                new AccountId(rs.getString("account_id")),
+                JdbcUtils.getLocalDate(rs, "due_date")
+        );
+    }
+
+    private RowMap<MemberSubscription> memberSubscriptionMapper() {
+        return rs -> new MemberSubscription(
+                rs.getString("idp_user_id"),
+                rs.getString("status"),
+                JdbcUtils.getLocalDate(rs, "due_date")
+        );
+    }
+
+    public record DueSubscription(SubscriptionId id, AccountId accountId, LocalDate dueDate) {
+    }
+
+    public record MemberSubscription(String userId, String status, LocalDate dueDate) {
+    }
+}
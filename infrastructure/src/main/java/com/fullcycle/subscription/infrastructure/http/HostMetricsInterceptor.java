@@ -0,0 +1,57 @@
+package com.fullcycle.subscription.infrastructure.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HostMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    private final String client;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public HostMetricsInterceptor(final String client, final MeterRegistry meterRegistry) {
+        this.client = Objects.requireNonNull(client);
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(final HttpRequest request, final byte[] body, final ClientHttpRequestExecution execution) throws IOException {
+        final var host = request.getURI().getAuthority();
+        final var active = activeRequests(host);
+
+        var status = "IO_ERROR";
+        final var sample = Timer.start(this.meterRegistry);
+        active.incrementAndGet();
+        try {
+            final var response = execution.execute(request, body);
+            status = String.valueOf(response.getStatusCode().value());
+            return response;
+        } finally {
+            active.decrementAndGet();
+            sample.stop(Timer.builder("http.client.host.requests")
+                    .tags(Tags.of("client", this.client, "host", host, "method", request.getMethod().name(), "status", status))
+                    .publishPercentileHistogram()
+                    .register(this.meterRegistry));
+        }
+    }
+
+    // the JDK client does not expose its pool, so requests in flight per host stand in for active connections
+    private AtomicInteger activeRequests(final String host) {
+        return this.inFlight.computeIfAbsent(host, it -> this.meterRegistry.gauge(
+                "http.client.host.active",
+                Tags.of("client", this.client, "host", it),
+                new AtomicInteger()
+        ));
+    }
+}
@@ -0,0 +1,63 @@
+package com.fullcycle.subscription.infrastructure.http;
+
+import com.fullcycle.subscription.infrastructure.configuration.properties.HttpTransportProperties;
+import com.fullcycle.subscription.infrastructure.configuration.properties.RestClientProperties;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class HttpTransport implements AutoCloseable {
+
+    private static final String KEEP_ALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout";
+    private static final String POOL_SIZE_PROPERTY = "jdk.httpclient.connectionPoolSize";
+
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final JdkClientHttpRequestFactory requestFactory;
+
+    private HttpTransport(final String name, final RestClientProperties properties) {
+        // the client's async machinery runs on its own virtual threads instead of sharing the common pool
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-" + name + "-", 0).factory());
+
+        final var builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.valueOf(properties.version()))
+                .executor(this.executor);
+        if (properties.connectTimeout() > 0) {
+            builder.connectTimeout(Duration.ofMillis(properties.connectTimeout()));
+        }
+        this.httpClient = builder.build();
+
+        this.requestFactory = new JdkClientHttpRequestFactory(this.httpClient, this.executor);
+        this.requestFactory.setReadTimeout(properties.readTimeout());
+    }
+
+    public static HttpTransport create(final String name, final RestClientProperties properties) {
+        return new HttpTransport(Objects.requireNonNull(name), Objects.requireNonNull(properties));
+    }
+
+    // The JDK keeps a single connection pool per JVM and reads these once, so they must be set before the first client is built.
+    // Explicit -D flags always win.
+    public static void configurePool(final HttpTransportProperties properties) {
+        if (System.getProperty(KEEP_ALIVE_PROPERTY) == null && properties.keepAliveTimeout() != null) {
+            System.setProperty(KEEP_ALIVE_PROPERTY, String.valueOf(Math.max(1, properties.keepAliveTimeout().toSeconds())));
+        }
+        if (System.getProperty(POOL_SIZE_PROPERTY) == null && properties.maxPooledConnections() > 0) {
+            System.setProperty(POOL_SIZE_PROPERTY, String.valueOf(properties.maxPooledConnections()));
+        }
+    }
+
+    public ClientHttpRequestFactory requestFactory() {
+        return requestFactory;
+    }
+
+    @Override
+    public void close() {
+        this.httpClient.close();
+        this.executor.close();
+    }
+}
@@ -0,0 +1,144 @@
+package com.fullcycle.subscription.infrastructure.idempotency;
+
+import com.fullcycle.subscription.domain.validation.Error;
+import com.fullcycle.subscription.infrastructure.configuration.properties.IdempotencyProperties;
+import com.fullcycle.subscription.infrastructure.json.Json;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+    private static final Set<String> METHODS = Set.of("POST", "PUT", "PATCH");
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+
+    public IdempotencyFilter(final IdempotencyStore store, final IdempotencyProperties properties) {
+        this.store = Objects.requireNonNull(store);
+        this.properties = Objects.requireNonNull(properties);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        final var key = request.getHeader(IDEMPOTENCY_KEY);
+        return key == null || key.isBlank() || !METHODS.contains(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain chain) throws ServletException, IOException {
+        final var key = request.getHeader(IDEMPOTENCY_KEY).trim();
+        if (key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, "'%s' must have at most %d characters".formatted(IDEMPOTENCY_KEY, MAX_KEY_LENGTH));
+            return;
+        }
+
+        final var body = request.getInputStream().readNBytes(this.properties.maxBodySize() + 1);
+        if (body.length > this.properties.maxBodySize()) {
+            writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body is too large to be stored for '%s'".formatted(IDEMPOTENCY_KEY));
+            return;
+        }
+
+        final var principal = request.getUserPrincipal() != null ? request.getUserPrincipal().getName() : "anonymous";
+        final var target = request.getMethod() + " " + request.getRequestURI();
+        final var scopeKey = sha256(principal + "\n" + target + "\n" + key);
+        final var fingerprint = sha256(target + "\n" + new String(body, StandardCharsets.UTF_8));
+
+        final var lookup = this.store.begin(scopeKey, fingerprint);
+        switch (lookup.state()) {
+            case REPLAY -> {
+                if (!fingerprint.equals(lookup.response().fingerprint())) {
+                    writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, "'%s' was already used with a different request".formatted(IDEMPOTENCY_KEY));
+                } else {
+                    replay(response, lookup.response());
+                }
+            }
+            case IN_PROGRESS -> {
+                // the key is taken over by a retry at the latest when the processing lease of the first request expires
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(this.properties.processingLease().toSeconds()));
+                writeError(response, HttpStatus.CONFLICT, "A request with the same '%s' is still being processed".formatted(IDEMPOTENCY_KEY));
+            }
+            case STARTED -> execute(new CachedBodyRequest(request, body), response, chain, scopeKey, fingerprint);
+        }
+    }
+
+    private void execute(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
+            final FilterChain chain,
+            final String scopeKey,
+            final String fingerprint
+    ) throws ServletException, IOException {
+        final var wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, wrapper);
+        } catch (IOException | ServletException | RuntimeException ex) {
+            this.store.abandon(scopeKey);
+            throw ex;
+        }
+
+        try {
+            // 5xx may be transient, so the key is released and a retry runs the use case again
+            if (wrapper.getStatus() >= 500) {
+                this.store.abandon(scopeKey);
+            } else {
+                this.store.complete(scopeKey, fingerprint, wrapper.getStatus(), wrapper.getContentType(), wrapper.getHeader(HttpHeaders.LOCATION), wrapper.getContentAsByteArray());
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Failed to store idempotent response, retries will run the request again [key:{}]", scopeKey, ex);
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private static void replay(final HttpServletResponse response, final IdempotentResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        response.setHeader(IDEMPOTENT_REPLAYED, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+
+        final var body = stored.body() != null ? stored.body() : new byte[0];
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static void writeError(final HttpServletResponse response, final HttpStatus status, final String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(Json.writeValueAsBytes(List.of(new Error(IDEMPOTENCY_KEY, message))));
+    }
+
+    private static String sha256(final String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
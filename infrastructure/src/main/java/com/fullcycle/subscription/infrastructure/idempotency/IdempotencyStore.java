@@ -0,0 +1,120 @@
+package com.fullcycle.subscription.infrastructure.idempotency;
+
+import com.fullcycle.subscription.infrastructure.configuration.properties.IdempotencyProperties;
+import com.fullcycle.subscription.infrastructure.gateway.repository.IdempotencyKeyJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class IdempotencyStore {
+
+    private final IdempotencyKeyJdbcRepository repository;
+    private final IdempotencyProperties properties;
+    private final Clock clock;
+    private final ConcurrentHashMap<String, NearEntry> nearCache = new ConcurrentHashMap<>();
+
+    private final Counter nearHits;
+    private final Counter storeHits;
+    private final Counter misses;
+
+    public IdempotencyStore(
+            final IdempotencyKeyJdbcRepository repository,
+            final IdempotencyProperties properties,
+            final Clock clock,
+            final MeterRegistry meterRegistry
+    ) {
+        this.repository = Objects.requireNonNull(repository);
+        this.properties = Objects.requireNonNull(properties);
+        this.clock = Objects.requireNonNull(clock);
+
+        this.nearHits = meterRegistry.counter("idempotency.lookups", "result", "near-cache");
+        this.storeHits = meterRegistry.counter("idempotency.lookups", "result", "store");
+        this.misses = meterRegistry.counter("idempotency.lookups", "result", "miss");
+        meterRegistry.gaugeMapSize("idempotency.near-cache.size", Tags.empty(), this.nearCache);
+    }
+
+    public Lookup begin(final String scopeKey, final String fingerprint) {
+        final var now = this.clock.instant();
+
+        final var near = this.nearCache.get(scopeKey);
+        if (near != null && !near.isExpired(now)) {
+            this.nearHits.increment();
+            return new Lookup(Lookup.State.REPLAY, near.response());
+        }
+
+        // an in-progress key only holds the short processing lease, so the key of an instance that died mid-request
+        // can be taken over by a retry once it expires; the retention ttl only starts when the response is stored
+        if (this.repository.tryBegin(scopeKey, fingerprint, now, now.plus(this.properties.processingLease()))) {
+            this.misses.increment();
+            return new Lookup(Lookup.State.STARTED, null);
+        }
+
+        this.storeHits.increment();
+        final var stored = this.repository.responseOf(scopeKey).orElse(null);
+        if (stored == null || !stored.completed()) {
+            return new Lookup(Lookup.State.IN_PROGRESS, stored);
+        }
+
+        cacheNear(scopeKey, stored, now);
+        return new Lookup(Lookup.State.REPLAY, stored);
+    }
+
+    public IdempotentResponse complete(final String scopeKey, final String fingerprint, final int status, final String contentType, final String location, final byte[] body) {
+        final var now = this.clock.instant();
+        final var response = new IdempotentResponse(fingerprint, true, status, contentType, location, body, now.plus(this.properties.ttl()));
+
+        this.repository.complete(scopeKey, response);
+        cacheNear(scopeKey, response, now);
+        return response;
+    }
+
+    public void abandon(final String scopeKey) {
+        this.repository.abandon(scopeKey);
+    }
+
+    public int purgeExpired() {
+        final var now = this.clock.instant();
+        this.nearCache.values().removeIf(it -> it.isExpired(now));
+        return this.repository.deleteExpired(now);
+    }
+
+    private void cacheNear(final String scopeKey, final IdempotentResponse response, final Instant now) {
+        final var nearExpiry = now.plus(this.properties.nearCacheTtl());
+        this.nearCache.put(scopeKey, new NearEntry(response, nearExpiry.isBefore(response.expiresAt()) ? nearExpiry : response.expiresAt()));
+
+        if (this.nearCache.size() > this.properties.nearCacheMaxSize()) {
+            this.nearCache.values().removeIf(it -> it.isExpired(now));
+
+            // the table still has every response, so dropping arbitrary near entries only costs a DB read
+            final var target = this.properties.nearCacheMaxSize() * 9 / 10;
+            final var iterator = this.nearCache.values().iterator();
+            while (this.nearCache.size() > target && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    public record Lookup(State state, IdempotentResponse response) {
+
+        public enum State {
+            STARTED,
+            REPLAY,
+            IN_PROGRESS
+        }
+    }
+
+    private record NearEntry(IdempotentResponse response, Instant expiresAt) {
+
+        boolean isExpired(final Instant now) {
+            return !now.isBefore(expiresAt);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.fullcycle.subscription.infrastructure.idempotency;
+
+import java.time.Instant;
+
+public record IdempotentResponse(
+        String fingerprint,
+        boolean completed,
+        int status,
+        String contentType,
+        String location,
+        byte[] body,
+        Instant expiresAt
+) {
+
+    public boolean isExpired(final Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
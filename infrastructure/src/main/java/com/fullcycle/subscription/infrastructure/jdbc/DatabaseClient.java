@@ -3,6 +3,7 @@ package com.fullcycle.subscription.infrastructure.jdbc;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface DatabaseClient {
 
@@ -12,8 +13,12 @@ public interface DatabaseClient {
 
     <T> List<T> query(String sql, Map<String, Object> params, RowMap<T> mapper);
 
+    <T> Stream<T> stream(String sql, Map<String, Object> params, RowMap<T> mapper, int fetchSize);
+
     int update(String sql, Map<String, Object> params);
 
     Number insert(String sql, Map<String, Object> params);
 
+    int[] batchUpdate(String sql, List<Map<String, Object>> batchParams);
+
 }
\ No newline at end of file
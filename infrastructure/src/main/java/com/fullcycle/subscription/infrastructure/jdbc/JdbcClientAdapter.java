@@ -1,6 +1,8 @@
 package com.fullcycle.subscription.infrastructure.jdbc;
 
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 
@@ -8,13 +10,25 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class JdbcClientAdapter implements DatabaseClient {
 
+    // Connector/J only streams a result set row by row when the fetch size is Integer.MIN_VALUE
+    private static final int MYSQL_ROW_STREAMING = Integer.MIN_VALUE;
+
     private final JdbcClient target;
+    private final NamedParameterJdbcTemplate namedTarget;
+    private final boolean mysql;
+
+    public JdbcClientAdapter(final JdbcClient target, final NamedParameterJdbcTemplate namedTarget) {
+        this(target, namedTarget, false);
+    }
 
-    public JdbcClientAdapter(final JdbcClient target) {
+    public JdbcClientAdapter(final JdbcClient target, final NamedParameterJdbcTemplate namedTarget, final boolean mysql) {
         this.target = Objects.requireNonNull(target);
+        this.namedTarget = Objects.requireNonNull(namedTarget);
+        this.mysql = mysql;
     }
 
     @Override
@@ -32,6 +46,15 @@ public class JdbcClientAdapter implements DatabaseClient {
         return this.target.sql(sql).params(params).query(new RowMapAdapter<>(mapper)).list();
     }
 
+    @Override
+    public <T> Stream<T> stream(final String sql, final Map<String, Object> params, final RowMap<T> mapper, final int fetchSize) {
+        final var cursorTemplate = new JdbcTemplate(Objects.requireNonNull(this.namedTarget.getJdbcTemplate().getDataSource()));
+        // on MySQL only the streamed statement switches to row streaming, every other query keeps the buffered result sets;
+        // the connection can't run anything else until the stream is closed, so callers must not query while iterating
+        cursorTemplate.setFetchSize(this.mysql ? MYSQL_ROW_STREAMING : fetchSize);
+        return new NamedParameterJdbcTemplate(cursorTemplate).queryForStream(sql, params, new RowMapAdapter<>(mapper));
+    }
+
     @Override
     public int update(String sql, Map<String, Object> params) {
         try {
@@ -51,4 +74,13 @@ public class JdbcClientAdapter implements DatabaseClient {
             throw ex;
         }
     }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int[] batchUpdate(final String sql, final List<Map<String, Object>> batchParams) {
+        if (batchParams == null || batchParams.isEmpty()) {
+            return new int[0];
+        }
+        return this.namedTarget.batchUpdate(sql, batchParams.toArray(Map[]::new));
+    }
 }
\ No newline at end of file
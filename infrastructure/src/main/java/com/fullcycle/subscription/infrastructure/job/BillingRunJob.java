@@ -0,0 +1,78 @@
+package com.fullcycle.subscription.infrastructure.job;
+
+import com.fullcycle.subscription.domain.payment.Payment;
+import com.fullcycle.subscription.infrastructure.billing.BillingRunner;
+import com.fullcycle.subscription.infrastructure.configuration.properties.BillingProperties;
+import com.fullcycle.subscription.infrastructure.scheduling.ShardCoordinator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Component
+@ConditionalOnProperty(prefix = "billing", name = "enabled", havingValue = "true")
+public class BillingRunJob {
+
+    public static final String JOB_NAME = "billing";
+
+    private static final Logger log = LoggerFactory.getLogger(BillingRunJob.class);
+
+    private final BillingRunner billingRunner;
+    private final ShardCoordinator shardCoordinator;
+    private final BillingProperties properties;
+    private final Clock clock;
+
+    public BillingRunJob(
+            final BillingRunner billingRunner,
+            final ShardCoordinator shardCoordinator,
+            final BillingProperties properties,
+            final Clock clock
+    ) {
+        this.billingRunner = Objects.requireNonNull(billingRunner);
+        this.shardCoordinator = Objects.requireNonNull(shardCoordinator);
+        this.properties = Objects.requireNonNull(properties);
+        this.clock = Objects.requireNonNull(clock);
+
+        // accounts don't store a payment method yet, so every charge goes out with the configured type and no card token
+        if (!Payment.PIX.equals(properties.paymentType())) {
+            throw new IllegalStateException("billing.payment-type must be '%s', there is no stored card token to charge [paymentType:%s]"
+                    .formatted(Payment.PIX, properties.paymentType()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${billing.poll-interval:60000}", initialDelayString = "${billing.poll-interval:60000}")
+    public void chargeDueSubscriptions() {
+        final var referenceDate = LocalDate.now(this.clock);
+        final var progress = referenceDate.toString();
+
+        try {
+            for (var lease : this.shardCoordinator.acquire(JOB_NAME, this.properties.shards())) {
+                if (progress.equals(lease.progress())) {
+                    continue;
+                }
+
+                final var report = this.billingRunner.run(
+                        referenceDate,
+                        lease.shard(),
+                        lease.shardCount(),
+                        () -> this.shardCoordinator.stillOwns(lease)
+                );
+                // a fenced run left due subscriptions behind, the shard stays pending so whoever holds it next charges them today
+                if (report.fenced()) {
+                    log.warn("Billing shard lost its lease while running, progress not recorded [shard:{}] [runId:{}]", lease.shard(), report.runId());
+                    continue;
+                }
+                if (!this.shardCoordinator.checkpoint(lease, progress)) {
+                    log.warn("Billing shard lost its lease while running [shard:{}] [runId:{}]", lease.shard(), report.runId());
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.error("Billing run failed, due subscriptions will be charged on the next run", ex);
+        }
+    }
+}
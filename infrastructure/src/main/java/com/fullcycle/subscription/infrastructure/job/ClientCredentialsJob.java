@@ -1,23 +1,33 @@
 package com.fullcycle.subscription.infrastructure.job;
 
 import com.fullcycle.subscription.infrastructure.authentication.clientcredentials.RefreshClientCredentials;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.util.Objects;
-import java.util.concurrent.TimeUnit;
 
 @Component
+@ConditionalOnProperty(prefix = "client-credentials", name = "enabled", havingValue = "true", matchIfMissing = true)
 public class ClientCredentialsJob {
 
+    private static final Logger log = LoggerFactory.getLogger(ClientCredentialsJob.class);
+
     private final RefreshClientCredentials refreshClientCredentials;
 
     public ClientCredentialsJob(final RefreshClientCredentials refreshClientCredentials) {
         this.refreshClientCredentials = Objects.requireNonNull(refreshClientCredentials);
     }
 
-    @Scheduled(fixedRate = 3, timeUnit = TimeUnit.MINUTES, initialDelay = 3)
+    // checks often and only calls Keycloak once the token reaches its refresh point, which follows the token's expires_in
+    @Scheduled(fixedDelayString = "${client-credentials.poll-interval:5000}", initialDelayString = "${client-credentials.poll-interval:5000}")
     public void refreshClientCredentials() {
-        this.refreshClientCredentials.refresh();
+        try {
+            this.refreshClientCredentials.refreshIfDue();
+        } catch (RuntimeException ex) {
+            log.error("Client credentials refresh failed, it will be retried on the next run", ex);
+        }
     }
-}
\ No newline at end of file
+}
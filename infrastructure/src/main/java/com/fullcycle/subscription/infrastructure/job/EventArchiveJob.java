@@ -0,0 +1,85 @@
+package com.fullcycle.subscription.infrastructure.job;
+
+import com.fullcycle.subscription.infrastructure.archive.ArchivedEvent;
+import com.fullcycle.subscription.infrastructure.archive.SegmentEventArchive;
+import com.fullcycle.subscription.infrastructure.configuration.properties.EventStoreProperties;
+import com.fullcycle.subscription.infrastructure.gateway.repository.EventJdbcRepository;
+import com.fullcycle.subscription.infrastructure.scheduling.ShardCoordinator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Objects;
+
+@Component
+@ConditionalOnProperty(prefix = "events.archive", name = "enabled", havingValue = "true")
+public class EventArchiveJob {
+
+    public static final String JOB_NAME = "events-archive";
+
+    private static final Logger log = LoggerFactory.getLogger(EventArchiveJob.class);
+
+    private final EventJdbcRepository eventRepository;
+    private final SegmentEventArchive archive;
+    private final ShardCoordinator shardCoordinator;
+    private final EventStoreProperties.Archive properties;
+    private final Clock clock;
+
+    private final Counter archivedEvents;
+
+    public EventArchiveJob(
+            final EventJdbcRepository eventRepository,
+            final SegmentEventArchive archive,
+            final ShardCoordinator shardCoordinator,
+            final EventStoreProperties properties,
+            final Clock clock,
+            final MeterRegistry meterRegistry
+    ) {
+        this.eventRepository = Objects.requireNonNull(eventRepository);
+        this.archive = Objects.requireNonNull(archive);
+        this.shardCoordinator = Objects.requireNonNull(shardCoordinator);
+        this.properties = Objects.requireNonNull(properties).archive();
+        this.clock = Objects.requireNonNull(clock);
+
+        this.archivedEvents = meterRegistry.counter("events.archived");
+    }
+
+    @Scheduled(fixedDelayString = "${events.archive.poll-interval:600000}", initialDelayString = "${events.archive.poll-interval:600000}")
+    public void archiveProcessedEvents() {
+        final var cutoff = this.clock.instant().minus(this.properties.retention());
+        var total = 0;
+        try {
+            // a single shard so only one instance writes segments at a time
+            if (this.shardCoordinator.acquire(JOB_NAME, 1).isEmpty()) {
+                return;
+            }
+
+            for (int i = 0; i < this.properties.maxBatchesPerRun(); i++) {
+                final var events = this.eventRepository.processedEventsBefore(cutoff, this.properties.batchSize());
+                if (events.isEmpty()) {
+                    break;
+                }
+
+                this.archive.write(events);
+                total += this.eventRepository.deleteArchived(events.stream().map(ArchivedEvent::eventId).toList());
+
+                if (events.size() < this.properties.batchSize()) {
+                    break;
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.error("Event archival failed, remaining events will be archived on the next run [archived:{}]", total, ex);
+        } finally {
+            this.archivedEvents.increment(total);
+        }
+
+        if (total > 0) {
+            log.info("Processed events archived [count:{}] [cutoff:{}]", total, cutoff);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.fullcycle.subscription.infrastructure.job;
+
+import com.fullcycle.subscription.infrastructure.configuration.properties.EventStoreProperties;
+import com.fullcycle.subscription.infrastructure.gateway.repository.EventJdbcRepository;
+import com.fullcycle.subscription.infrastructure.json.EventFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Objects;
+
+@Component
+@ConditionalOnProperty(prefix = "events.migration", name = "enabled", havingValue = "true")
+public class EventPayloadMigrationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(EventPayloadMigrationJob.class);
+
+    private final EventJdbcRepository eventRepository;
+    private final EventStoreProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public EventPayloadMigrationJob(
+            final EventJdbcRepository eventRepository,
+            final EventStoreProperties properties,
+            final PlatformTransactionManager transactionManager
+    ) {
+        this.eventRepository = Objects.requireNonNull(eventRepository);
+        this.properties = Objects.requireNonNull(properties);
+        this.transactionTemplate = new TransactionTemplate(Objects.requireNonNull(transactionManager));
+    }
+
+    @Scheduled(fixedDelayString = "${events.migration.poll-interval:60000}", initialDelayString = "${events.migration.poll-interval:60000}")
+    public void migrate() {
+        final var target = EventFormat.of(this.properties.format());
+        final var batchSize = this.properties.migration().batchSize();
+
+        var total = 0;
+        try {
+            int migrated;
+            do {
+                migrated = Objects.requireNonNull(this.transactionTemplate.execute(status -> this.eventRepository.reencode(target, batchSize)));
+                total += migrated;
+            } while (migrated == batchSize);
+        } catch (RuntimeException ex) {
+            log.error("Event payload migration failed, remaining events will be migrated on the next run [migrated:{}]", total, ex);
+            return;
+        }
+
+        if (total > 0) {
+            log.info("Event payloads re-encoded [format:{}] [count:{}]", target.code(), total);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.fullcycle.subscription.infrastructure.job;
+
+import com.fullcycle.subscription.infrastructure.configuration.properties.GroupMembershipProperties;
+import com.fullcycle.subscription.infrastructure.membership.GroupMembershipSync;
+import com.fullcycle.subscription.infrastructure.scheduling.ShardCoordinator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+@Component
+@ConditionalOnProperty(prefix = "group-membership", name = "enabled", havingValue = "true")
+public class GroupMembershipSyncJob {
+
+    public static final String JOB_NAME = "group-membership";
+
+    private static final Logger log = LoggerFactory.getLogger(GroupMembershipSyncJob.class);
+
+    private final GroupMembershipSync groupMembershipSync;
+    private final ShardCoordinator shardCoordinator;
+    private final GroupMembershipProperties properties;
+
+    public GroupMembershipSyncJob(
+            final GroupMembershipSync groupMembershipSync,
+            final ShardCoordinator shardCoordinator,
+            final GroupMembershipProperties properties
+    ) {
+        this.groupMembershipSync = Objects.requireNonNull(groupMembershipSync);
+        this.shardCoordinator = Objects.requireNonNull(shardCoordinator);
+        this.properties = Objects.requireNonNull(properties);
+    }
+
+    @Scheduled(fixedDelayString = "${group-membership.poll-interval:2000}", initialDelayString = "${group-membership.poll-interval:2000}")
+    public void syncGroupMemberships() {
+        try {
+            // a single shard: one instance applies the intents, the parallelism is bounded inside the pass
+            for (var ignored : this.shardCoordinator.acquire(JOB_NAME, 1)) {
+                var applied = 0;
+                var failed = 0;
+
+                // bounded so a large backlog doesn't hold the scheduler thread and the lease; the rest is picked up on the next tick
+                for (int batch = 0; batch < this.properties.maxBatchesPerRun(); batch++) {
+                    final var pass = this.groupMembershipSync.syncPending();
+                    applied += pass.applied();
+                    failed += pass.failed();
+
+                    // failed intents are pushed to the future by their backoff, so a full page always means there is more due work
+                    if (pass.scanned() < this.properties.batchSize()) {
+                        break;
+                    }
+                }
+
+                if (applied > 0 || failed > 0) {
+                    log.info("Group memberships synced [applied:{}] [failed:{}]", applied, failed);
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.error("Group membership sync failed, pending intents will be applied on the next run", ex);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.fullcycle.subscription.infrastructure.job;
+
+import com.fullcycle.subscription.infrastructure.configuration.properties.GroupMembershipProperties;
+import com.fullcycle.subscription.infrastructure.membership.GroupReconciler;
+import com.fullcycle.subscription.infrastructure.scheduling.ShardCoordinator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+@Component
+@ConditionalOnProperty(prefix = "group-reconciliation", name = "enabled", havingValue = "true")
+public class GroupReconciliationJob {
+
+    public static final String JOB_NAME = "group-reconciliation";
+
+    private static final Logger log = LoggerFactory.getLogger(GroupReconciliationJob.class);
+
+    private final GroupReconciler groupReconciler;
+    private final ShardCoordinator shardCoordinator;
+    private final GroupMembershipProperties membershipProperties;
+
+    public GroupReconciliationJob(
+            final GroupReconciler groupReconciler,
+            final ShardCoordinator shardCoordinator,
+            final GroupMembershipProperties membershipProperties
+    ) {
+        this.groupReconciler = Objects.requireNonNull(groupReconciler);
+        this.shardCoordinator = Objects.requireNonNull(shardCoordinator);
+        this.membershipProperties = Objects.requireNonNull(membershipProperties);
+    }
+
+    @Scheduled(fixedDelayString = "${group-reconciliation.poll-interval:3600000}", initialDelayString = "${group-reconciliation.poll-interval:3600000}")
+    public void reconcileGroups() {
+        final var groupId = this.membershipProperties.subscriberGroupId();
+        if (groupId == null || groupId.isBlank()) {
+            log.debug("Group reconciliation skipped, no subscriber group configured");
+            return;
+        }
+
+        try {
+            for (var ignored : this.shardCoordinator.acquire(JOB_NAME, 1)) {
+                this.groupReconciler.reconcile();
+            }
+        } catch (RuntimeException ex) {
+            log.error("Group reconciliation failed, drift will be corrected on the next run", ex);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.fullcycle.subscription.infrastructure.job;
+
+import com.fullcycle.subscription.infrastructure.idempotency.IdempotencyStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+@Component
+@ConditionalOnProperty(prefix = "idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyKeyPurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyKeyPurgeJob.class);
+
+    private final IdempotencyStore store;
+
+    public IdempotencyKeyPurgeJob(final IdempotencyStore store) {
+        this.store = Objects.requireNonNull(store);
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval:3600000}", initialDelayString = "${idempotency.purge-interval:3600000}")
+    public void purge() {
+        try {
+            final var purged = this.store.purgeExpired();
+            if (purged > 0) {
+                log.info("Expired idempotency keys purged [count:{}]", purged);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Failed to purge expired idempotency keys", ex);
+        }
+    }
+}
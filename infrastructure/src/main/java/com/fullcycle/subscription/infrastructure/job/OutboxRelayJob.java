@@ -0,0 +1,35 @@
+package com.fullcycle.subscription.infrastructure.job;
+
+import com.fullcycle.subscription.infrastructure.outbox.OutboxRelay;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+@Component
+@ConditionalOnProperty(prefix = "outbox", name = "enabled", havingValue = "true")
+public class OutboxRelayJob {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelayJob.class);
+
+    private final OutboxRelay outboxRelay;
+
+    public OutboxRelayJob(final OutboxRelay outboxRelay) {
+        this.outboxRelay = Objects.requireNonNull(outboxRelay);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval:1000}", initialDelayString = "${outbox.poll-interval:1000}")
+    public void drainOutbox() {
+        try {
+            final var relayed = this.outboxRelay.drain();
+            if (relayed > 0) {
+                log.debug("Outbox relay published events [count:{}]", relayed);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Outbox relay failed, events will be retried on the next run", ex);
+        }
+    }
+}
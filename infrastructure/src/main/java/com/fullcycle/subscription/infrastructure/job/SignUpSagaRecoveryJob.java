@@ -0,0 +1,45 @@
+package com.fullcycle.subscription.infrastructure.job;
+
+import com.fullcycle.subscription.infrastructure.mediator.SignUpSagaRecovery;
+import com.fullcycle.subscription.infrastructure.scheduling.ShardCoordinator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+@Component
+@ConditionalOnProperty(prefix = "signup-saga", name = "enabled", havingValue = "true")
+public class SignUpSagaRecoveryJob {
+
+    public static final String JOB_NAME = "signup-saga";
+
+    private static final Logger log = LoggerFactory.getLogger(SignUpSagaRecoveryJob.class);
+
+    private final SignUpSagaRecovery sagaRecovery;
+    private final ShardCoordinator shardCoordinator;
+
+    public SignUpSagaRecoveryJob(final SignUpSagaRecovery sagaRecovery, final ShardCoordinator shardCoordinator) {
+        this.sagaRecovery = Objects.requireNonNull(sagaRecovery);
+        this.shardCoordinator = Objects.requireNonNull(shardCoordinator);
+    }
+
+    @Scheduled(fixedDelayString = "${signup-saga.poll-interval:60000}", initialDelayString = "${signup-saga.poll-interval:60000}")
+    public void recoverSignUps() {
+        try {
+            for (var ignored : this.shardCoordinator.acquire(JOB_NAME, 1)) {
+                // failed sagas are touched on every attempt, so they leave the stale window and a single batch per run is enough
+                final var pass = this.sagaRecovery.recoverStale();
+                final var purged = this.sagaRecovery.purgeFinished();
+
+                if (pass.scanned() > 0 || purged > 0) {
+                    log.info("Sign-up sagas recovered [recovered:{}] [failed:{}] [purged:{}]", pass.recovered(), pass.failed(), purged);
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.error("Sign-up saga recovery failed, stale sagas will be retried on the next run", ex);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.fullcycle.subscription.infrastructure.job;
+
+import com.fullcycle.subscription.infrastructure.configuration.properties.SnapshotProperties;
+import com.fullcycle.subscription.infrastructure.scheduling.ShardCoordinator;
+import com.fullcycle.subscription.infrastructure.snapshot.AggregateSnapshotter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+@Component
+@ConditionalOnProperty(prefix = "snapshots", name = "enabled", havingValue = "true")
+public class SnapshotJob {
+
+    public static final String JOB_NAME = "snapshots";
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotJob.class);
+
+    private final AggregateSnapshotter snapshotter;
+    private final ShardCoordinator shardCoordinator;
+    private final SnapshotProperties properties;
+
+    public SnapshotJob(
+            final AggregateSnapshotter snapshotter,
+            final ShardCoordinator shardCoordinator,
+            final SnapshotProperties properties
+    ) {
+        this.snapshotter = Objects.requireNonNull(snapshotter);
+        this.shardCoordinator = Objects.requireNonNull(shardCoordinator);
+        this.properties = Objects.requireNonNull(properties);
+    }
+
+    @Scheduled(fixedDelayString = "${snapshots.poll-interval:300000}", initialDelayString = "${snapshots.poll-interval:300000}")
+    public void snapshotAggregates() {
+        try {
+            // a single shard: one instance scans the events table and the lease progress stores the last scanned event id
+            for (var lease : this.shardCoordinator.acquire(JOB_NAME, 1)) {
+                var watermark = lease.progress() == null ? 0L : Long.parseLong(lease.progress());
+                var taken = 0;
+
+                while (true) {
+                    final var pass = this.snapshotter.snapshotPending(watermark);
+                    taken += pass.snapshots();
+
+                    if (pass.watermark() != watermark && !this.shardCoordinator.checkpoint(lease, Long.toString(pass.watermark()))) {
+                        log.warn("Snapshot job lost its lease while running [watermark:{}]", pass.watermark());
+                        break;
+                    }
+
+                    watermark = pass.watermark();
+                    if (pass.scanned() < this.properties.batchSize()) {
+                        break;
+                    }
+                }
+
+                if (taken > 0) {
+                    log.info("Aggregate snapshots taken [count:{}] [watermark:{}]", taken, watermark);
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.error("Snapshot job failed, pending aggregates will be snapshotted on the next run", ex);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.fullcycle.subscription.infrastructure.json;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.fullcycle.subscription.domain.DomainEvent;
+import com.fullcycle.subscription.domain.account.AccountCreated;
+import com.fullcycle.subscription.domain.account.AccountEvent;
+import com.fullcycle.subscription.domain.subscription.SubscriptionCanceled;
+import com.fullcycle.subscription.domain.subscription.SubscriptionCreated;
+import com.fullcycle.subscription.domain.subscription.SubscriptionEvent;
+import com.fullcycle.subscription.domain.subscription.SubscriptionIncomplete;
+import com.fullcycle.subscription.domain.subscription.SubscriptionRenewed;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public enum EventCodec {
+    INSTANCE;
+
+    // Stable type codes written to events.event_type by the binary format; bump the suffix when a payload schema changes
+    private static final Map<Class<? extends DomainEvent>, String> TYPE_CODES = Map.of(
+            SubscriptionCreated.class, "subscription.created.v1",
+            SubscriptionRenewed.class, "subscription.renewed.v1",
+            SubscriptionIncomplete.class, "subscription.incomplete.v1",
+            SubscriptionCanceled.class, "subscription.canceled.v1",
+            AccountCreated.class, "account.created.v1"
+    );
+
+    private final ObjectMapper jsonMapper = Json.mapper();
+    private final ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.smile()
+            .featuresToDisable(
+                    DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES,
+                    DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES,
+                    DeserializationFeature.FAIL_ON_NULL_CREATOR_PROPERTIES
+            )
+            .modules(new JavaTimeModule(), new Jdk8Module(), new BlackbirdModule())
+            .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+            .build();
+
+    private final Map<String, ObjectReader> jsonReaders = new ConcurrentHashMap<>();
+    private final Map<String, ObjectReader> smileReaders = new HashMap<>();
+    private final Map<Class<?>, ObjectWriter> jsonWriters = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectWriter> smileWriters = new HashMap<>();
+
+    EventCodec() {
+        register(SubscriptionEvent.class);
+        register(AccountEvent.class);
+    }
+
+    public static String eventType(final DomainEvent event) {
+        return event.getClass().getCanonicalName();
+    }
+
+    public static String typeCode(final DomainEvent event) {
+        final var code = TYPE_CODES.get(event.getClass());
+        if (code == null) {
+            throw new IllegalArgumentException("No type code registered for " + event.getClass().getName());
+        }
+        return code;
+    }
+
+    public static String encode(final DomainEvent event) {
+        try {
+            return INSTANCE.jsonWriters.computeIfAbsent(event.getClass(), INSTANCE.jsonMapper::writerFor).writeValueAsString(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static EncodedEvent encode(final DomainEvent event, final EventFormat format) {
+        return switch (format) {
+            case JSON -> new EncodedEvent(eventType(event), EventFormat.JSON, encode(event), null);
+            case SMILE -> new EncodedEvent(typeCode(event), EventFormat.SMILE, null, encodeSmile(event));
+        };
+    }
+
+    public static DomainEvent decode(final String eventType, final String data) {
+        final var reader = INSTANCE.jsonReaderOf(eventType);
+        try (final var parser = reader.createParser(data)) {
+            // a JSON column handed back as a quoted string: unwrap it once instead of building a tree
+            if (parser.nextToken() == JsonToken.VALUE_STRING) {
+                return reader.readValue(parser.getText());
+            }
+            return reader.readValue(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static DomainEvent decode(final String eventType, final EventFormat format, final String data, final byte[] payload) {
+        return switch (format) {
+            case JSON -> decode(eventType, data);
+            case SMILE -> decodeSmile(eventType, payload);
+        };
+    }
+
+    private static byte[] encodeSmile(final DomainEvent event) {
+        final var writer = INSTANCE.smileWriters.get(event.getClass());
+        if (writer == null) {
+            throw new IllegalArgumentException("No type code registered for " + event.getClass().getName());
+        }
+        try {
+            return writer.writeValueAsBytes(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static DomainEvent decodeSmile(final String typeCode, final byte[] payload) {
+        final var reader = INSTANCE.smileReaders.get(typeCode);
+        if (reader == null) {
+            throw new IllegalArgumentException("Unknown event type code: " + typeCode);
+        }
+        try {
+            return reader.readValue(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ObjectReader jsonReaderOf(final String eventType) {
+        final var reader = this.jsonReaders.get(eventType);
+        if (reader != null) {
+            return reader;
+        }
+
+        return this.jsonReaders.computeIfAbsent(eventType, type -> {
+            try {
+                return readerFor(this.jsonMapper, Class.forName(type));
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentException("Unknown event type: " + type, e);
+            }
+        });
+    }
+
+    private void register(final Class<? extends DomainEvent> sealedType) {
+        for (var eventClass : sealedType.getPermittedSubclasses()) {
+            this.jsonReaders.put(eventClass.getCanonicalName(), readerFor(this.jsonMapper, eventClass));
+
+            final var code = TYPE_CODES.get(eventClass);
+            if (code == null) {
+                throw new IllegalStateException("No type code registered for " + eventClass.getName());
+            }
+            this.smileReaders.put(code, readerFor(this.smileMapper, eventClass));
+            this.smileWriters.put(eventClass, this.smileMapper.writerFor(eventClass));
+        }
+    }
+
+    private static ObjectReader readerFor(final ObjectMapper mapper, final Class<?> eventClass) {
+        if (!DomainEvent.class.isAssignableFrom(eventClass)) {
+            throw new IllegalArgumentException("Not a domain event: " + eventClass.getName());
+        }
+        return mapper.readerFor(eventClass);
+    }
+
+    public record EncodedEvent(String eventType, EventFormat format, String data, byte[] payload) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.fullcycle.subscription.infrastructure.json;
+
+public enum EventFormat {
+    JSON("json"),
+    SMILE("smile");
+
+    private final String code;
+
+    EventFormat(final String code) {
+        this.code = code;
+    }
+
+    public String code() {
+        return code;
+    }
+
+    public static EventFormat of(final String code) {
+        if (code == null || code.isBlank()) {
+            return JSON;
+        }
+        for (var format : values()) {
+            if (format.code.equalsIgnoreCase(code)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown event format: " + code);
+    }
+}
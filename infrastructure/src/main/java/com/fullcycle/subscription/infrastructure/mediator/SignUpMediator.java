@@ -3,42 +3,132 @@ package com.fullcycle.subscription.infrastructure.mediator;
 import com.fullcycle.subscription.application.account.CreateAccount;
 import com.fullcycle.subscription.application.account.CreateIdpUser;
 import com.fullcycle.subscription.domain.account.AccountGateway;
+import com.fullcycle.subscription.domain.account.idp.UserId;
+import com.fullcycle.subscription.domain.exceptions.DomainException;
+import com.fullcycle.subscription.domain.person.Document;
+import com.fullcycle.subscription.domain.person.Email;
+import com.fullcycle.subscription.domain.person.Name;
+import com.fullcycle.subscription.infrastructure.gateway.repository.SignUpSagaJdbcRepository;
 import com.fullcycle.subscription.infrastructure.rest.models.req.SignUpRequest;
 import com.fullcycle.subscription.infrastructure.rest.models.res.SignUpResponse;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
 import java.util.Objects;
-import java.util.function.Function;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.fullcycle.subscription.infrastructure.gateway.repository.SignUpSagaJdbcRepository.COMPLETED;
+import static com.fullcycle.subscription.infrastructure.gateway.repository.SignUpSagaJdbcRepository.FAILED;
 
 @Component
 public class SignUpMediator {
 
+    private static final Logger log = LoggerFactory.getLogger(SignUpMediator.class);
+
     private final AccountGateway accountGateway;
     private final CreateAccount createAccount;
     private final CreateIdpUser createIdpUser;
+    private final SignUpSagaJdbcRepository sagaRepository;
+    private final SignUpSagaRecovery sagaRecovery;
+    private final Clock clock;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
 
-    public SignUpMediator(final AccountGateway accountGateway, final CreateAccount createAccount, final CreateIdpUser createIdpUser) {
+    public SignUpMediator(
+            final AccountGateway accountGateway,
+            final CreateAccount createAccount,
+            final CreateIdpUser createIdpUser,
+            final SignUpSagaJdbcRepository sagaRepository,
+            final SignUpSagaRecovery sagaRecovery,
+            final Clock clock
+    ) {
         this.accountGateway = Objects.requireNonNull(accountGateway);
         this.createAccount = Objects.requireNonNull(createAccount);
         this.createIdpUser = Objects.requireNonNull(createIdpUser);
+        this.sagaRepository = Objects.requireNonNull(sagaRepository);
+        this.sagaRecovery = Objects.requireNonNull(sagaRecovery);
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        this.executor.close();
     }
 
     public SignUpResponse signUp(final SignUpRequest req) {
-        return nextAccountId()
-                .andThen(createIdpUser())
-                .andThen(createAccount())
-                .apply(req);
+        // an invalid request is refused before anything is created, so it never needs a compensation
+        final var email = validate(req);
+
+        this.sagaRecovery.recoverAbandoned(req.email());
+
+        final var withAccountId = req.with(this.accountGateway.nextId());
+        final var sagaId = withAccountId.accountId();
+        this.sagaRepository.start(sagaId, withAccountId.email(), this.clock.instant());
+
+        // the e-mail lookup is the only remote check, so it runs while the user is being created on Keycloak
+        final var validation = CompletableFuture.runAsync(() -> ensureEmailIsAvailable(email), this.executor);
+
+        final var withUserId = createIdpUser(sagaId, withAccountId);
+        this.sagaRepository.idpUserCreated(sagaId, withUserId.userId(), this.clock.instant());
+
+        final SignUpResponse res;
+        try {
+            awaitValidation(validation);
+            res = this.createAccount.execute(withUserId, SignUpResponse::new);
+        } catch (RuntimeException ex) {
+            this.sagaRecovery.compensate(sagaId, new UserId(withUserId.userId()), ex);
+            throw ex;
+        }
+
+        try {
+            this.sagaRepository.finish(sagaId, COMPLETED, null, this.clock.instant());
+        } catch (RuntimeException ex) {
+            // the account is already there, the recovery marks the saga as completed when it finds it
+            log.warn("Failed to mark sign-up saga as completed [accountId:{}] [error:{}]", sagaId, ex.getMessage());
+        }
+        return res;
+    }
+
+    private SignUpRequest createIdpUser(final String sagaId, final SignUpRequest req) {
+        try {
+            return this.createIdpUser.execute(req, req::with);
+        } catch (DomainException ex) {
+            // refused by Keycloak, nothing was created
+            this.sagaRepository.finish(sagaId, FAILED, ex.getMessage(), this.clock.instant());
+            throw ex;
+        } catch (RuntimeException ex) {
+            // the user may exist on Keycloak anyway, so the saga stays open for the recovery
+            this.sagaRepository.failedAttempt(sagaId, ex.getMessage(), this.clock.instant());
+            throw ex;
+        }
     }
 
-    private Function<SignUpRequest, SignUpRequest> nextAccountId() {
-        return req -> req.with(this.accountGateway.nextId());
+    private static Email validate(final SignUpRequest req) {
+        final var email = new Email(req.email());
+        new Name(req.firstname(), req.lastname());
+        Document.create(req.documentNumber(), req.documentType());
+        return email;
     }
 
-    private Function<SignUpRequest, SignUpRequest> createIdpUser() {
-        return req -> this.createIdpUser.execute(req, req::with);
+    private void ensureEmailIsAvailable(final Email email) {
+        if (this.accountGateway.existsAccountOfEmail(email)) {
+            throw DomainException.with("Invalid username or password");
+        }
     }
 
-    private Function<SignUpRequest, SignUpResponse> createAccount() {
-        return req -> this.createAccount.execute(req, SignUpResponse::new);
+    private static void awaitValidation(final CompletableFuture<Void> validation) {
+        try {
+            validation.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
     }
 }
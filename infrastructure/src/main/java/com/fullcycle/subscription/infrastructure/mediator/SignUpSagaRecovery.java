@@ -0,0 +1,125 @@
+package com.fullcycle.subscription.infrastructure.mediator;
+
+import com.fullcycle.subscription.domain.account.AccountGateway;
+import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.account.idp.IdentityProviderGateway;
+import com.fullcycle.subscription.domain.account.idp.UserId;
+import com.fullcycle.subscription.infrastructure.configuration.properties.SignUpSagaProperties;
+import com.fullcycle.subscription.infrastructure.gateway.repository.SignUpSagaJdbcRepository;
+import com.fullcycle.subscription.infrastructure.gateway.repository.SignUpSagaJdbcRepository.SignUpSaga;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+
+import static com.fullcycle.subscription.infrastructure.gateway.repository.SignUpSagaJdbcRepository.*;
+
+@Component
+public class SignUpSagaRecovery {
+
+    private static final Logger log = LoggerFactory.getLogger(SignUpSagaRecovery.class);
+
+    private final SignUpSagaJdbcRepository sagaRepository;
+    private final AccountGateway accountGateway;
+    private final IdentityProviderGateway identityProviderGateway;
+    private final SignUpSagaProperties properties;
+    private final Clock clock;
+
+    public SignUpSagaRecovery(
+            final SignUpSagaJdbcRepository sagaRepository,
+            final AccountGateway accountGateway,
+            final IdentityProviderGateway identityProviderGateway,
+            final SignUpSagaProperties properties,
+            final Clock clock
+    ) {
+        this.sagaRepository = Objects.requireNonNull(sagaRepository);
+        this.accountGateway = Objects.requireNonNull(accountGateway);
+        this.identityProviderGateway = Objects.requireNonNull(identityProviderGateway);
+        this.properties = Objects.requireNonNull(properties);
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    // a retry of a sign-up abandoned by a crashed instance would otherwise run into the user it left behind on Keycloak
+    public void recoverAbandoned(final String email) {
+        for (var saga : this.sagaRepository.staleSagasOfEmail(email, staleBefore())) {
+            recover(saga);
+        }
+    }
+
+    public RecoveryPass recoverStale() {
+        final var sagas = this.sagaRepository.staleSagas(staleBefore(), this.properties.batchSize());
+
+        var recovered = 0;
+        for (var saga : sagas) {
+            if (recover(saga)) {
+                recovered++;
+            }
+        }
+        return new RecoveryPass(sagas.size(), recovered, sagas.size() - recovered);
+    }
+
+    public int purgeFinished() {
+        return this.sagaRepository.purgeFinished(this.clock.instant().minus(this.properties.retention()));
+    }
+
+    public boolean recover(final SignUpSaga saga) {
+        final var accountId = new AccountId(saga.id());
+        try {
+            // the account commits before the saga is marked, so a crash in between leaves a finished sign-up behind
+            if (this.accountGateway.accountOfId(accountId).isPresent()) {
+                this.sagaRepository.finish(saga.id(), COMPLETED, null, this.clock.instant());
+                return true;
+            }
+
+            // a crash during the Keycloak call leaves no user id recorded, the user is looked up by the account id attribute instead
+            final var userId = saga.idpUserId() != null
+                    ? Optional.of(new UserId(saga.idpUserId()))
+                    : this.identityProviderGateway.userIdOfAccount(accountId);
+            userId.ifPresent(this.identityProviderGateway::delete);
+
+            this.sagaRepository.finish(saga.id(), COMPENSATED, "Abandoned at step %s".formatted(saga.status()), this.clock.instant());
+            log.info("Abandoned sign-up compensated [accountId:{}] [step:{}] [userId:{}]", saga.id(), saga.status(), userId.map(UserId::value).orElse(null));
+            return true;
+        } catch (RuntimeException ex) {
+            failedAttempt(saga, ex);
+            return false;
+        }
+    }
+
+    // undoes the Keycloak user of a sign-up whose later steps failed; never throws, so the caller rethrows the original failure
+    public void compensate(final String sagaId, final UserId userId, final RuntimeException cause) {
+        try {
+            this.identityProviderGateway.delete(userId);
+            this.sagaRepository.finish(sagaId, COMPENSATED, cause.getMessage(), this.clock.instant());
+            log.info("Sign-up compensated [accountId:{}] [userId:{}] [cause:{}]", sagaId, userId.value(), cause.getMessage());
+        } catch (RuntimeException ex) {
+            log.warn("Sign-up compensation failed, it will be retried by the recovery [accountId:{}] [userId:{}] [error:{}]", sagaId, userId.value(), ex.getMessage());
+            try {
+                this.sagaRepository.failedAttempt(sagaId, ex.getMessage(), this.clock.instant());
+            } catch (RuntimeException ignored) {
+                // the saga is still at IDP_USER_CREATED, the recovery picks it up once it goes stale
+            }
+        }
+    }
+
+    private void failedAttempt(final SignUpSaga saga, final RuntimeException ex) {
+        if (saga.attempts() + 1 >= this.properties.maxAttempts()) {
+            log.error("Sign-up recovery gave up, the Keycloak user needs manual cleanup [accountId:{}] [userId:{}] [error:{}]", saga.id(), saga.idpUserId(), ex.getMessage());
+            this.sagaRepository.finish(saga.id(), FAILED, ex.getMessage(), this.clock.instant());
+        } else {
+            log.warn("Sign-up recovery failed [accountId:{}] [attempt:{}] [error:{}]", saga.id(), saga.attempts() + 1, ex.getMessage());
+            this.sagaRepository.failedAttempt(saga.id(), ex.getMessage(), this.clock.instant());
+        }
+    }
+
+    private Instant staleBefore() {
+        return this.clock.instant().minus(this.properties.staleAfter());
+    }
+
+    public record RecoveryPass(int scanned, int recovered, int failed) {
+    }
+}
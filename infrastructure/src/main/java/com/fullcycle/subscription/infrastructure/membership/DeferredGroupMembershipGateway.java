@@ -0,0 +1,56 @@
+package com.fullcycle.subscription.infrastructure.membership;
+
+import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.account.idp.GroupId;
+import com.fullcycle.subscription.domain.account.idp.IdentityProviderGateway;
+import com.fullcycle.subscription.domain.account.idp.User;
+import com.fullcycle.subscription.domain.account.idp.UserId;
+import com.fullcycle.subscription.infrastructure.gateway.repository.GroupMembershipIntentJdbcRepository;
+import com.fullcycle.subscription.infrastructure.gateway.repository.GroupMembershipIntentJdbcRepository.Action;
+
+import java.time.Clock;
+import java.util.Objects;
+import java.util.Optional;
+
+public class DeferredGroupMembershipGateway implements IdentityProviderGateway {
+
+    private final IdentityProviderGateway delegate;
+    private final GroupMembershipIntentJdbcRepository intentRepository;
+    private final Clock clock;
+
+    public DeferredGroupMembershipGateway(
+            final IdentityProviderGateway delegate,
+            final GroupMembershipIntentJdbcRepository intentRepository,
+            final Clock clock
+    ) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.intentRepository = Objects.requireNonNull(intentRepository);
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    @Override
+    public UserId create(final User anUser) {
+        return this.delegate.create(anUser);
+    }
+
+    @Override
+    public Optional<UserId> userIdOfAccount(final AccountId anAccountId) {
+        return this.delegate.userIdOfAccount(anAccountId);
+    }
+
+    @Override
+    public void delete(final UserId anId) {
+        this.delegate.delete(anId);
+    }
+
+    // membership changes are only recorded here and applied to the identity provider by GroupMembershipSync
+    @Override
+    public void addUserToGroup(final UserId anUserId, final GroupId aGroupId) {
+        this.intentRepository.save(anUserId.value(), aGroupId.value(), Action.ADD, this.clock.instant());
+    }
+
+    @Override
+    public void removeUserFromGroup(final UserId anUserId, final GroupId aGroupId) {
+        this.intentRepository.save(anUserId.value(), aGroupId.value(), Action.REMOVE, this.clock.instant());
+    }
+}
@@ -0,0 +1,141 @@
+package com.fullcycle.subscription.infrastructure.membership;
+
+import com.fullcycle.subscription.domain.account.idp.GroupId;
+import com.fullcycle.subscription.domain.account.idp.IdentityProviderGateway;
+import com.fullcycle.subscription.domain.account.idp.UserId;
+import com.fullcycle.subscription.infrastructure.configuration.properties.GroupMembershipProperties;
+import com.fullcycle.subscription.infrastructure.gateway.repository.GroupMembershipIntentJdbcRepository;
+import com.fullcycle.subscription.infrastructure.gateway.repository.GroupMembershipIntentJdbcRepository.GroupMembershipIntent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class GroupMembershipSync {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupMembershipSync.class);
+
+    private final GroupMembershipIntentJdbcRepository intentRepository;
+    private final IdentityProviderGateway identityProviderGateway;
+    private final GroupMembershipProperties properties;
+    private final Clock clock;
+
+    private final Counter applied;
+    private final Counter coalesced;
+    private final Counter retried;
+    private final Counter parked;
+    private final Timer applyDuration;
+
+    public GroupMembershipSync(
+            final GroupMembershipIntentJdbcRepository intentRepository,
+            final IdentityProviderGateway identityProviderGateway,
+            final GroupMembershipProperties properties,
+            final Clock clock,
+            final MeterRegistry meterRegistry
+    ) {
+        this.intentRepository = Objects.requireNonNull(intentRepository);
+        this.identityProviderGateway = Objects.requireNonNull(identityProviderGateway);
+        this.properties = Objects.requireNonNull(properties);
+        this.clock = Objects.requireNonNull(clock);
+
+        this.applied = meterRegistry.counter("group-membership.intents.applied");
+        this.coalesced = meterRegistry.counter("group-membership.intents.coalesced");
+        this.retried = meterRegistry.counter("group-membership.intents.retried");
+        this.parked = meterRegistry.counter("group-membership.intents.parked");
+        this.applyDuration = meterRegistry.timer("group-membership.apply.duration");
+    }
+
+    public SyncPass syncPending() {
+        final var intents = this.intentRepository.pendingIntents(this.clock.instant(), this.properties.batchSize());
+        if (intents.isEmpty()) {
+            return new SyncPass(0, 0, 0);
+        }
+
+        // intents come ordered by id, so the last one of each user and group is the membership it should end up with
+        final var latest = new LinkedHashMap<String, GroupMembershipIntent>();
+        for (var intent : intents) {
+            latest.put(intent.userId() + "/" + intent.groupId(), intent);
+        }
+        this.coalesced.increment(intents.size() - latest.size());
+
+        final var succeeded = new LongAdder();
+        final var failed = new LongAdder();
+        final var permits = new Semaphore(Math.max(1, this.properties.maxConcurrency()));
+        try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var intent : latest.values()) {
+                permits.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        if (apply(intent)) {
+                            succeeded.increment();
+                        } else {
+                            failed.increment();
+                        }
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+
+        return new SyncPass(intents.size(), succeeded.intValue(), failed.intValue());
+    }
+
+    private boolean apply(final GroupMembershipIntent intent) {
+        final var userId = new UserId(intent.userId());
+        final var groupId = new GroupId(intent.groupId());
+
+        try {
+            this.applyDuration.record(() -> {
+                switch (intent.action()) {
+                    case ADD -> this.identityProviderGateway.addUserToGroup(userId, groupId);
+                    case REMOVE -> this.identityProviderGateway.removeUserFromGroup(userId, groupId);
+                }
+            });
+            this.intentRepository.complete(intent);
+            this.applied.increment();
+            return true;
+        } catch (RuntimeException ex) {
+            onFailure(intent, ex);
+            return false;
+        }
+    }
+
+    private void onFailure(final GroupMembershipIntent intent, final RuntimeException ex) {
+        final var attempt = intent.attempts() + 1;
+        if (attempt >= this.properties.maxAttempts()) {
+            this.intentRepository.park(intent, ex.getMessage());
+            this.parked.increment();
+            log.error("Group membership intent parked after {} attempts [userId:{}] [groupId:{}] [action:{}]",
+                    attempt, intent.userId(), intent.groupId(), intent.action(), ex);
+            return;
+        }
+
+        final var nextAttemptAt = this.clock.instant().plus(backoff(attempt));
+        this.intentRepository.retry(intent, nextAttemptAt, ex.getMessage());
+        this.retried.increment();
+        log.warn("Group membership intent failed, retrying at {} [userId:{}] [groupId:{}] [action:{}] [attempt:{}] [error:{}]",
+                nextAttemptAt, intent.userId(), intent.groupId(), intent.action(), attempt, ex.getMessage());
+    }
+
+    private Duration backoff(final int attempt) {
+        final var ceiling = Math.min(this.properties.maxBackoff().toMillis(), this.properties.initialBackoff().toMillis() << Math.min(attempt - 1, 20));
+        // half fixed, half random so a Keycloak outage doesn't bring every intent back at the same instant
+        return Duration.ofMillis(ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1));
+    }
+
+    public record SyncPass(int scanned, int applied, int failed) {
+    }
+}
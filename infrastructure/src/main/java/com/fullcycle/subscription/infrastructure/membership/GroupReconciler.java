@@ -0,0 +1,217 @@
+package com.fullcycle.subscription.infrastructure.membership;
+
+import com.fullcycle.subscription.domain.account.idp.GroupId;
+import com.fullcycle.subscription.domain.account.idp.UserId;
+import com.fullcycle.subscription.domain.subscription.status.SubscriptionStatus;
+import com.fullcycle.subscription.infrastructure.configuration.properties.GroupMembershipProperties;
+import com.fullcycle.subscription.infrastructure.configuration.properties.GroupReconciliationProperties;
+import com.fullcycle.subscription.infrastructure.gateway.client.KeyCloakIdentityProviderClient;
+import com.fullcycle.subscription.infrastructure.gateway.repository.SubscriptionJdbcRepository;
+import com.fullcycle.subscription.infrastructure.gateway.repository.SubscriptionJdbcRepository.MemberSubscription;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+@Component
+public class GroupReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupReconciler.class);
+
+    private final SubscriptionJdbcRepository subscriptionRepository;
+    private final KeyCloakIdentityProviderClient identityProviderClient;
+    private final GroupMembershipProperties membershipProperties;
+    private final GroupReconciliationProperties properties;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger lastDrift = new AtomicInteger();
+
+    public GroupReconciler(
+            final SubscriptionJdbcRepository subscriptionRepository,
+            final KeyCloakIdentityProviderClient identityProviderClient,
+            final GroupMembershipProperties membershipProperties,
+            final GroupReconciliationProperties properties,
+            final Clock clock,
+            final MeterRegistry meterRegistry
+    ) {
+        this.subscriptionRepository = Objects.requireNonNull(subscriptionRepository);
+        this.identityProviderClient = Objects.requireNonNull(identityProviderClient);
+        this.membershipProperties = Objects.requireNonNull(membershipProperties);
+        this.properties = Objects.requireNonNull(properties);
+        this.clock = Objects.requireNonNull(clock);
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
+
+        Gauge.builder("group-reconciliation.drift", this.lastDrift, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    public ReconciliationReport reconcile() {
+        final var groupId = new GroupId(this.membershipProperties.subscriberGroupId());
+        final var startedAt = this.clock.instant();
+        final var today = LocalDate.now(this.clock);
+
+        // users that must be in the group, and users that must not; canceled subscriptions still inside the paid period are left alone
+        final var entitled = new HashSet<String>();
+        final var revoked = new HashSet<String>();
+        try (var rows = this.subscriptionRepository.streamMemberSubscriptions(this.properties.fetchSize())) {
+            rows.forEach(it -> classify(it, today, entitled, revoked));
+        }
+        revoked.removeAll(entitled);
+
+        final var members = groupMembers(groupId);
+
+        final var missing = new HashSet<>(entitled);
+        missing.removeAll(members);
+
+        // members without an account (staff, service users) are never touched
+        final var stale = new HashSet<>(members);
+        stale.retainAll(revoked);
+
+        this.lastDrift.set(missing.size() + stale.size());
+
+        log.info("Group reconciliation diffed [groupId:{}] [entitled:{}] [members:{}] [missing:{}] [stale:{}]",
+                groupId.value(), entitled.size(), members.size(), missing.size(), stale.size());
+
+        final var corrections = new Corrections();
+        if (!this.properties.dryRun()) {
+            final var pacer = new Pacer(this.properties.correctionsPerSecond());
+            correct("add", missing, pacer, corrections, userId -> this.identityProviderClient.addUserToGroup(new UserId(userId), groupId));
+            correct("remove", stale, pacer, corrections, userId -> this.identityProviderClient.removeUserFromGroup(new UserId(userId), groupId));
+        }
+
+        final var report = new ReconciliationReport(
+                groupId.value(),
+                startedAt,
+                this.clock.instant(),
+                entitled.size(),
+                members.size(),
+                missing.size(),
+                stale.size(),
+                corrections.added,
+                corrections.removed,
+                corrections.failed,
+                this.properties.dryRun()
+        );
+
+        log.info("Group reconciliation finished [groupId:{}] [added:{}] [removed:{}] [failed:{}] [dryRun:{}]",
+                groupId.value(), report.added(), report.removed(), report.failed(), report.dryRun());
+
+        return report;
+    }
+
+    private static void classify(final MemberSubscription row, final LocalDate today, final Set<String> entitled, final Set<String> revoked) {
+        if (row.status() == null) {
+            revoked.add(row.userId());
+            return;
+        }
+
+        switch (row.status()) {
+            case SubscriptionStatus.TRIALING, SubscriptionStatus.ACTIVE -> entitled.add(row.userId());
+            case SubscriptionStatus.CANCELED, SubscriptionStatus.INCOMPLETE -> {
+                if (row.dueDate().isBefore(today)) {
+                    revoked.add(row.userId());
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private Set<String> groupMembers(final GroupId groupId) {
+        final var pageSize = Math.max(1, this.properties.pageSize());
+        final var members = new HashSet<String>();
+
+        var first = 0;
+        while (true) {
+            final var page = this.identityProviderClient.groupMembers(groupId, first, pageSize);
+            page.forEach(it -> members.add(it.value()));
+
+            if (page.size() < pageSize) {
+                return members;
+            }
+            first += pageSize;
+        }
+    }
+
+    private void correct(
+            final String action,
+            final Set<String> userIds,
+            final Pacer pacer,
+            final Corrections corrections,
+            final Consumer<String> operation
+    ) {
+        for (var userId : userIds) {
+            if (corrections.total() >= this.properties.maxCorrections()) {
+                log.warn("Group reconciliation reached max corrections, the rest is left for the next run [max:{}]", this.properties.maxCorrections());
+                return;
+            }
+
+            pacer.await();
+            try {
+                operation.accept(userId);
+                corrections.succeeded(action);
+                this.meterRegistry.counter("group-reconciliation.corrections", "action", action, "outcome", "success").increment();
+            } catch (RuntimeException ex) {
+                corrections.failed++;
+                this.meterRegistry.counter("group-reconciliation.corrections", "action", action, "outcome", "failure").increment();
+                log.warn("Group reconciliation failed to correct membership [action:{}] [userId:{}] [error:{}]", action, userId, ex.getMessage());
+            }
+        }
+    }
+
+    private static final class Corrections {
+        private int added;
+        private int removed;
+        private int failed;
+
+        private void succeeded(final String action) {
+            if ("add".equals(action)) {
+                added++;
+            } else {
+                removed++;
+            }
+        }
+
+        private int total() {
+            return added + removed + failed;
+        }
+    }
+
+    // spaces the corrections evenly so a large drift doesn't turn into a burst against the Keycloak admin API
+    private static final class Pacer {
+        private final long intervalNanos;
+        private long nextAt = System.nanoTime();
+
+        private Pacer(final double perSecond) {
+            this.intervalNanos = perSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / perSecond) : 0L;
+        }
+
+        private void await() {
+            if (this.intervalNanos == 0) {
+                return;
+            }
+
+            final var now = System.nanoTime();
+            final var wait = this.nextAt - now;
+            if (wait > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while pacing group reconciliation", e);
+                }
+            }
+            this.nextAt = Math.max(now, this.nextAt) + this.intervalNanos;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.fullcycle.subscription.infrastructure.membership;
+
+import java.time.Instant;
+
+public record ReconciliationReport(
+        String groupId,
+        Instant startedAt,
+        Instant finishedAt,
+        int entitled,
+        int members,
+        int missing,
+        int stale,
+        int added,
+        int removed,
+        int failed,
+        boolean dryRun
+) {
+
+    public int drift() {
+        return missing + stale;
+    }
+}
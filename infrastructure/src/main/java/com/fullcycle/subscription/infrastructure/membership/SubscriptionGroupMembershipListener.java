@@ -0,0 +1,77 @@
+package com.fullcycle.subscription.infrastructure.membership;
+
+import com.fullcycle.subscription.domain.account.Account;
+import com.fullcycle.subscription.domain.account.AccountGateway;
+import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.subscription.SubscriptionCanceled;
+import com.fullcycle.subscription.domain.subscription.SubscriptionRenewed;
+import com.fullcycle.subscription.infrastructure.configuration.properties.GroupMembershipProperties;
+import com.fullcycle.subscription.infrastructure.gateway.repository.GroupMembershipIntentJdbcRepository;
+import com.fullcycle.subscription.infrastructure.gateway.repository.GroupMembershipIntentJdbcRepository.Action;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Objects;
+
+@Component
+@ConditionalOnProperty(prefix = "group-membership", name = "enabled", havingValue = "true")
+public class SubscriptionGroupMembershipListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionGroupMembershipListener.class);
+
+    private final AccountGateway accountGateway;
+    private final GroupMembershipIntentJdbcRepository intentRepository;
+    private final String groupId;
+    private final Clock clock;
+
+    public SubscriptionGroupMembershipListener(
+            final AccountGateway accountGateway,
+            final GroupMembershipIntentJdbcRepository intentRepository,
+            final GroupMembershipProperties properties,
+            final Clock clock
+    ) {
+        this.accountGateway = Objects.requireNonNull(accountGateway);
+        this.intentRepository = Objects.requireNonNull(intentRepository);
+        this.clock = Objects.requireNonNull(clock);
+
+        final var groupId = properties.subscriberGroupId();
+        if (groupId == null || groupId.isBlank()) {
+            throw new IllegalStateException("group-membership.subscriber-group-id must be set when group-membership.enabled is true");
+        }
+        this.groupId = groupId;
+    }
+
+    // runs inside the outbox relay transaction, so the recorded intent commits together with the event being marked as processed;
+    // nothing here may throw, a single bad event would roll back and redeliver the whole batch forever
+    @EventListener
+    public void onRenewed(final SubscriptionRenewed event) {
+        record(event.accountId(), Action.ADD, this.clock.instant());
+    }
+
+    // the access lasts until the end of the paid period, so the removal is scheduled for the day after the due date
+    @EventListener
+    public void onCanceled(final SubscriptionCanceled event) {
+        final var expiresAt = event.dueDate().plusDays(1).atStartOfDay(this.clock.getZone()).toInstant();
+        final var now = this.clock.instant();
+        record(event.accountId(), Action.REMOVE, expiresAt.isAfter(now) ? expiresAt : now);
+    }
+
+    private void record(final String accountId, final Action action, final Instant notBefore) {
+        try {
+            final var userId = this.accountGateway.accountOfId(new AccountId(accountId)).map(Account::userId);
+            if (userId.isEmpty()) {
+                log.warn("Group membership intent skipped, account not found [accountId:{}] [action:{}]", accountId, action);
+                return;
+            }
+            this.intentRepository.save(userId.get().value(), this.groupId, action, this.clock.instant(), notBefore);
+        } catch (RuntimeException ex) {
+            // the reconciliation corrects the membership on its next run
+            log.error("Failed to record group membership intent [accountId:{}] [action:{}]", accountId, action, ex);
+        }
+    }
+}
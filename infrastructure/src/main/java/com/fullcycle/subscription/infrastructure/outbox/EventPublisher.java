@@ -0,0 +1,10 @@
+package com.fullcycle.subscription.infrastructure.outbox;
+
+import com.fullcycle.subscription.infrastructure.gateway.repository.EventJdbcRepository.StoredEvent;
+
+import java.util.List;
+
+public interface EventPublisher {
+
+    void publish(List<StoredEvent> events);
+}
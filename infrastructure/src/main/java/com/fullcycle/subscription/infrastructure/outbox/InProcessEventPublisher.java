@@ -0,0 +1,33 @@
+package com.fullcycle.subscription.infrastructure.outbox;
+
+import com.fullcycle.subscription.infrastructure.gateway.repository.EventJdbcRepository.StoredEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+@Component
+@ConditionalOnProperty(prefix = "outbox", name = "publisher", havingValue = "in-process", matchIfMissing = true)
+public class InProcessEventPublisher implements EventPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(InProcessEventPublisher.class);
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public InProcessEventPublisher(final ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = Objects.requireNonNull(applicationEventPublisher);
+    }
+
+    @Override
+    public void publish(final List<StoredEvent> events) {
+        for (var ev : events) {
+            log.info("Publishing event [eventId:{}] [aggregateType:{}] [aggregateId:{}] [eventType:{}]",
+                    ev.eventId(), ev.domainEvent().aggregateType(), ev.domainEvent().aggregateId(), ev.domainEvent().getClass().getSimpleName());
+            this.applicationEventPublisher.publishEvent(ev.domainEvent());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.fullcycle.subscription.infrastructure.outbox;
+
+import com.fullcycle.subscription.infrastructure.configuration.properties.OutboxProperties;
+import com.fullcycle.subscription.infrastructure.gateway.repository.EventJdbcRepository;
+import com.fullcycle.subscription.infrastructure.gateway.repository.EventJdbcRepository.StoredEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class OutboxRelay {
+
+    private final EventJdbcRepository eventRepository;
+    private final EventPublisher eventPublisher;
+    private final OutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter publishedEvents;
+    private final Counter failedBatches;
+    private final Timer batchDuration;
+    private final Timer eventLag;
+    private final AtomicLong oldestLagMillis;
+
+    public OutboxRelay(
+            final EventJdbcRepository eventRepository,
+            final EventPublisher eventPublisher,
+            final OutboxProperties properties,
+            final PlatformTransactionManager transactionManager,
+            final MeterRegistry meterRegistry
+    ) {
+        this.eventRepository = Objects.requireNonNull(eventRepository);
+        this.eventPublisher = Objects.requireNonNull(eventPublisher);
+        this.properties = Objects.requireNonNull(properties);
+        this.transactionTemplate = new TransactionTemplate(Objects.requireNonNull(transactionManager));
+
+        this.publishedEvents = meterRegistry.counter("outbox.events.published");
+        this.failedBatches = meterRegistry.counter("outbox.batches.failed");
+        this.batchDuration = meterRegistry.timer("outbox.batch.duration");
+        this.eventLag = Timer.builder("outbox.event.lag")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.oldestLagMillis = meterRegistry.gauge("outbox.lag.oldest.ms", new AtomicLong());
+    }
+
+    public int drain() {
+        var total = 0;
+        for (int i = 0; i < this.properties.maxBatchesPerRun(); i++) {
+            final var relayed = relayBatch();
+            total += relayed;
+
+            if (relayed < this.properties.batchSize()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    public int relayBatch() {
+        final var sample = Timer.start();
+        try {
+            final var relayed = this.transactionTemplate.execute(status -> {
+                final var events = this.eventRepository.claimUnprocessed(this.properties.batchSize());
+                if (events.isEmpty()) {
+                    return List.<StoredEvent>of();
+                }
+
+                this.eventPublisher.publish(events);
+                this.eventRepository.markAsProcessed(events.stream().map(StoredEvent::eventId).toList());
+                return events;
+            });
+
+            recordLag(relayed);
+            this.publishedEvents.increment(relayed.size());
+            return relayed.size();
+        } catch (RuntimeException ex) {
+            this.failedBatches.increment();
+            throw ex;
+        } finally {
+            sample.stop(this.batchDuration);
+        }
+    }
+
+    private void recordLag(final List<StoredEvent> events) {
+        if (events.isEmpty()) {
+            this.oldestLagMillis.set(0);
+            return;
+        }
+
+        final var now = Instant.now();
+        for (var ev : events) {
+            this.eventLag.record(Duration.between(ev.eventDate(), now));
+        }
+        this.oldestLagMillis.set(Duration.between(events.getFirst().eventDate(), now).toMillis());
+    }
+}
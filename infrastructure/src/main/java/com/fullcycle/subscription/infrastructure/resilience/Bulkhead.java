@@ -0,0 +1,53 @@
+package com.fullcycle.subscription.infrastructure.resilience;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrentCalls;
+    private final Duration maxWait;
+    private final Semaphore permits;
+
+    public Bulkhead(final String name, final int maxConcurrentCalls, final Duration maxWait) {
+        if (maxConcurrentCalls < 1) {
+            throw new IllegalArgumentException("'maxConcurrentCalls' should be greater than zero");
+        }
+        this.name = Objects.requireNonNull(name);
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWait = Objects.requireNonNull(maxWait);
+        this.permits = new Semaphore(maxConcurrentCalls);
+    }
+
+    public boolean tryAcquire() {
+        if (this.maxWait.isZero()) {
+            return this.permits.tryAcquire();
+        }
+
+        try {
+            return this.permits.tryAcquire(this.maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void release() {
+        this.permits.release();
+    }
+
+    public int availablePermits() {
+        return this.permits.availablePermits();
+    }
+
+    public int maxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public String name() {
+        return name;
+    }
+}
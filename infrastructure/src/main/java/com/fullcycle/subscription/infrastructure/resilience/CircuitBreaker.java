@@ -0,0 +1,197 @@
+package com.fullcycle.subscription.infrastructure.resilience;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+public class CircuitBreaker {
+
+    public static final long REJECTED = -1;
+
+    private final String name;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final Duration openDuration;
+    private final int halfOpenCalls;
+    private final Clock clock;
+    private final Listener listener;
+
+    // count-based sliding window: the outcome of the last N calls, failures = true
+    private final boolean[] window;
+    private int next;
+    private int recorded;
+    private int failures;
+
+    private State state = State.CLOSED;
+    // bumped on every transition; outcomes are only counted for calls admitted in the current generation, so a slow call
+    // admitted before the circuit opened can't close it again by succeeding while it is half-open
+    private long generation;
+    private Instant openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(
+            final String name,
+            final int windowSize,
+            final int minimumCalls,
+            final int failureRateThreshold,
+            final Duration openDuration,
+            final int halfOpenCalls,
+            final Clock clock,
+            final Listener listener
+    ) {
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize) {
+            throw new IllegalArgumentException("'minimumCalls' should be between 1 and 'windowSize'");
+        }
+        if (failureRateThreshold < 1 || failureRateThreshold > 100) {
+            throw new IllegalArgumentException("'failureRateThreshold' should be between 1 and 100");
+        }
+        if (halfOpenCalls < 1) {
+            throw new IllegalArgumentException("'halfOpenCalls' should be greater than zero");
+        }
+        this.name = Objects.requireNonNull(name);
+        this.window = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDuration = Objects.requireNonNull(openDuration);
+        this.halfOpenCalls = halfOpenCalls;
+        this.clock = Objects.requireNonNull(clock);
+        this.listener = Objects.requireNonNull(listener);
+    }
+
+    // returns the generation the call was admitted in, to be handed back with its outcome, or REJECTED
+    public synchronized long tryAcquire() {
+        final var admitted = switch (this.state) {
+            case CLOSED -> true;
+            case OPEN -> {
+                if (this.clock.instant().isBefore(this.openedAt.plus(this.openDuration))) {
+                    yield false;
+                }
+                transitionTo(State.HALF_OPEN);
+                yield acquireHalfOpen();
+            }
+            case HALF_OPEN -> acquireHalfOpen();
+        };
+        return admitted ? this.generation : REJECTED;
+    }
+
+    public synchronized void onSuccess(final long admittedIn) {
+        if (admittedIn != this.generation) {
+            return;
+        }
+
+        switch (this.state) {
+            case CLOSED -> record(false);
+            case HALF_OPEN -> {
+                if (++this.halfOpenSuccesses >= this.halfOpenCalls) {
+                    transitionTo(State.CLOSED);
+                }
+            }
+            case OPEN -> {
+            }
+        }
+    }
+
+    public synchronized void onFailure(final long admittedIn) {
+        if (admittedIn != this.generation) {
+            return;
+        }
+
+        switch (this.state) {
+            case CLOSED -> {
+                record(true);
+                if (this.recorded >= this.minimumCalls && this.failures * 100 >= this.failureRateThreshold * this.recorded) {
+                    transitionTo(State.OPEN);
+                }
+            }
+            case HALF_OPEN -> transitionTo(State.OPEN);
+            case OPEN -> {
+            }
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    // how long until the circuit lets a probe through
+    public synchronized Duration retryAfter() {
+        if (this.state != State.OPEN) {
+            return Duration.ZERO;
+        }
+
+        final var remaining = Duration.between(this.clock.instant(), this.openedAt.plus(this.openDuration));
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    public synchronized int failureRate() {
+        return this.recorded == 0 ? 0 : this.failures * 100 / this.recorded;
+    }
+
+    public synchronized void reset() {
+        transitionTo(State.CLOSED);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    private boolean acquireHalfOpen() {
+        if (this.halfOpenPermits >= this.halfOpenCalls) {
+            return false;
+        }
+        this.halfOpenPermits++;
+        return true;
+    }
+
+    private void record(final boolean failure) {
+        if (this.recorded == this.window.length) {
+            if (this.window[this.next]) {
+                this.failures--;
+            }
+        } else {
+            this.recorded++;
+        }
+
+        this.window[this.next] = failure;
+        if (failure) {
+            this.failures++;
+        }
+        this.next = (this.next + 1) % this.window.length;
+    }
+
+    private void transitionTo(final State target) {
+        final var previous = this.state;
+        this.state = target;
+        this.generation++;
+        this.halfOpenPermits = 0;
+        this.halfOpenSuccesses = 0;
+
+        if (target == State.OPEN) {
+            this.openedAt = this.clock.instant();
+        }
+        if (target == State.CLOSED) {
+            this.next = 0;
+            this.recorded = 0;
+            this.failures = 0;
+        }
+
+        if (previous != target) {
+            this.listener.onStateChange(this.name, previous, target);
+        }
+    }
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    public interface Listener {
+
+        Listener NOOP = new Listener() {
+        };
+
+        default void onStateChange(String name, State from, State to) {
+        }
+    }
+}
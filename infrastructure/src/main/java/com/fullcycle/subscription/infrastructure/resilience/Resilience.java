@@ -0,0 +1,108 @@
+package com.fullcycle.subscription.infrastructure.resilience;
+
+import com.fullcycle.subscription.infrastructure.exceptions.ServiceUnavailableException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+public class Resilience {
+
+    // timeouts, connection errors and 5xx mean the remote side is unhealthy; 4xx and domain errors are the caller's problem
+    public static final Predicate<Throwable> HTTP_FAILURES = ex -> ex instanceof ResourceAccessException || ex instanceof HttpServerErrorException;
+
+    // a full bulkhead frees up as soon as any in-flight call returns
+    private static final Duration BULKHEAD_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final String name;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Predicate<Throwable> isFailure;
+    private final Listener listener;
+
+    public Resilience(
+            final String name,
+            final CircuitBreaker circuitBreaker,
+            final Bulkhead bulkhead,
+            final Predicate<Throwable> isFailure,
+            final Listener listener
+    ) {
+        this.name = Objects.requireNonNull(name);
+        this.circuitBreaker = Objects.requireNonNull(circuitBreaker);
+        this.bulkhead = Objects.requireNonNull(bulkhead);
+        this.isFailure = Objects.requireNonNull(isFailure);
+        this.listener = Objects.requireNonNull(listener);
+    }
+
+    public <T> T execute(final String operation, final Supplier<T> call) {
+        if (!this.bulkhead.tryAcquire()) {
+            this.listener.onRejected(this.name, Rejection.BULKHEAD_FULL);
+            throw ServiceUnavailableException.with("Too many concurrent calls to %s [operation:%s]".formatted(this.name, operation), BULKHEAD_RETRY_AFTER);
+        }
+
+        try {
+            final var generation = this.circuitBreaker.tryAcquire();
+            if (generation == CircuitBreaker.REJECTED) {
+                this.listener.onRejected(this.name, Rejection.CIRCUIT_OPEN);
+                throw ServiceUnavailableException.with(
+                        "Circuit breaker of %s is open [operation:%s]".formatted(this.name, operation),
+                        this.circuitBreaker.retryAfter()
+                );
+            }
+
+            try {
+                final var result = call.get();
+                this.circuitBreaker.onSuccess(generation);
+                return result;
+            } catch (RuntimeException ex) {
+                if (this.isFailure.test(ex)) {
+                    this.circuitBreaker.onFailure(generation);
+                } else {
+                    this.circuitBreaker.onSuccess(generation);
+                }
+                throw ex;
+            }
+        } finally {
+            this.bulkhead.release();
+        }
+    }
+
+    public void run(final String operation, final Runnable call) {
+        execute(operation, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    public void reset() {
+        this.circuitBreaker.reset();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public CircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Bulkhead bulkhead() {
+        return bulkhead;
+    }
+
+    public enum Rejection {
+        BULKHEAD_FULL, CIRCUIT_OPEN
+    }
+
+    public interface Listener {
+
+        Listener NOOP = new Listener() {
+        };
+
+        default void onRejected(String name, Rejection reason) {
+        }
+    }
+}
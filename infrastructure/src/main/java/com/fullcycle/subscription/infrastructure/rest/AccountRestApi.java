@@ -1,8 +1,10 @@
 package com.fullcycle.subscription.infrastructure.rest;
 
+import com.fullcycle.subscription.domain.pagination.Pagination;
 import com.fullcycle.subscription.infrastructure.authentication.principal.CodeflixUser;
 import com.fullcycle.subscription.infrastructure.rest.models.req.BillingInfoRequest;
 import com.fullcycle.subscription.infrastructure.rest.models.req.SignUpRequest;
+import com.fullcycle.subscription.infrastructure.rest.models.res.AccountListResponse;
 import com.fullcycle.subscription.infrastructure.rest.models.res.BillingInfoResponse;
 import com.fullcycle.subscription.infrastructure.rest.models.res.SignUpResponse;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,15 +15,30 @@ import jakarta.validation.Valid;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @RequestMapping(value = "accounts")
 @Tag(name = "Account")
 public interface AccountRestApi {
 
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "List accounts page by page through an opaque cursor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Listed successfully"),
+            @ApiResponse(responseCode = "403", description = "The caller is not a subscription admin"),
+            @ApiResponse(responseCode = "422", description = "A validation error was observed"),
+            @ApiResponse(responseCode = "500", description = "An unpredictable error was observed")
+    })
+    ResponseEntity<Pagination<AccountListResponse>> listAccounts(
+            @RequestParam(name = "per_page", defaultValue = "25") int perPage,
+            @RequestParam(name = "cursor", required = false) String cursor
+    );
+
     @PostMapping(
             value = "sign-up",
             consumes = MediaType.APPLICATION_JSON_VALUE,
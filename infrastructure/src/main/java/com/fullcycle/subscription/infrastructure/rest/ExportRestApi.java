@@ -0,0 +1,49 @@
+package com.fullcycle.subscription.infrastructure.rest;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Tag(name = "Export")
+public interface ExportRestApi {
+
+    @GetMapping(value = "subscriptions/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream every subscription matching the filters as NDJSON, ordered by due date")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Streamed successfully"),
+            @ApiResponse(responseCode = "403", description = "The caller is not a subscription admin"),
+            @ApiResponse(responseCode = "500", description = "An unpredictable error was observed")
+    })
+    ResponseEntity<StreamingResponseBody> exportSubscriptions(
+            @RequestParam(name = "due_from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @RequestParam(name = "due_to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+            @RequestParam(name = "status", required = false) String status,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    );
+
+    @GetMapping(value = "events/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream every stored event matching the filters as NDJSON, ordered by event id")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Streamed successfully"),
+            @ApiResponse(responseCode = "403", description = "The caller is not a subscription admin"),
+            @ApiResponse(responseCode = "500", description = "An unpredictable error was observed")
+    })
+    ResponseEntity<StreamingResponseBody> exportEvents(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(name = "processed", required = false) Boolean processed,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    );
+}
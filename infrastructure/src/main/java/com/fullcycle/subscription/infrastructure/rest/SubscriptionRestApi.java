@@ -1,11 +1,13 @@
 package com.fullcycle.subscription.infrastructure.rest;
 
+import com.fullcycle.subscription.domain.pagination.Pagination;
 import com.fullcycle.subscription.infrastructure.authentication.principal.CodeflixUser;
 import com.fullcycle.subscription.infrastructure.rest.models.req.ChargeSubscriptionRequest;
 import com.fullcycle.subscription.infrastructure.rest.models.req.CreateSubscriptionRequest;
 import com.fullcycle.subscription.infrastructure.rest.models.res.CancelSubscriptionResponse;
 import com.fullcycle.subscription.infrastructure.rest.models.res.ChargeSubscriptionResponse;
 import com.fullcycle.subscription.infrastructure.rest.models.res.CreateSubscriptionResponse;
+import com.fullcycle.subscription.infrastructure.rest.models.res.SubscriptionListResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -14,15 +16,32 @@ import jakarta.validation.Valid;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @RequestMapping(value = "subscriptions")
 @Tag(name = "Subscription")
 public interface SubscriptionRestApi {
 
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "List subscriptions ordered by due date, page by page through an opaque cursor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Listed successfully"),
+            @ApiResponse(responseCode = "403", description = "The caller is not a subscription admin"),
+            @ApiResponse(responseCode = "422", description = "A validation error was observed"),
+            @ApiResponse(responseCode = "500", description = "An unpredictable error was observed")
+    })
+    ResponseEntity<Pagination<SubscriptionListResponse>> listSubscriptions(
+            @RequestParam(name = "status", required = false) String status,
+            @RequestParam(name = "plan_id", required = false) Long planId,
+            @RequestParam(name = "per_page", defaultValue = "25") int perPage,
+            @RequestParam(name = "cursor", required = false) String cursor
+    );
+
     @PostMapping(
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE
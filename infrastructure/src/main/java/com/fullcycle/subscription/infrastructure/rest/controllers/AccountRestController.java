@@ -1,14 +1,19 @@
 package com.fullcycle.subscription.infrastructure.rest.controllers;
 
+import com.fullcycle.subscription.application.account.SearchAccounts;
 import com.fullcycle.subscription.application.account.UpdateBillingInfo;
+import com.fullcycle.subscription.domain.pagination.Pagination;
 import com.fullcycle.subscription.infrastructure.authentication.principal.CodeflixUser;
+import com.fullcycle.subscription.infrastructure.configuration.security.Roles;
 import com.fullcycle.subscription.infrastructure.mediator.SignUpMediator;
 import com.fullcycle.subscription.infrastructure.rest.AccountRestApi;
 import com.fullcycle.subscription.infrastructure.rest.models.req.BillingInfoRequest;
 import com.fullcycle.subscription.infrastructure.rest.models.req.SignUpRequest;
+import com.fullcycle.subscription.infrastructure.rest.models.res.AccountListResponse;
 import com.fullcycle.subscription.infrastructure.rest.models.res.BillingInfoResponse;
 import com.fullcycle.subscription.infrastructure.rest.models.res.SignUpResponse;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.net.URI;
@@ -19,10 +24,21 @@ public class AccountRestController implements AccountRestApi {
 
     private final SignUpMediator signUpMediator;
     private final UpdateBillingInfo updateBillingInfo;
+    private final SearchAccounts searchAccounts;
 
-    public AccountRestController(final SignUpMediator signUpMediator, final UpdateBillingInfo updateBillingInfo) {
+    public AccountRestController(final SignUpMediator signUpMediator, final UpdateBillingInfo updateBillingInfo, final SearchAccounts searchAccounts) {
         this.signUpMediator = Objects.requireNonNull(signUpMediator);
         this.updateBillingInfo = Objects.requireNonNull(updateBillingInfo);
+        this.searchAccounts = Objects.requireNonNull(searchAccounts);
+    }
+
+    @Override
+    @Secured(Roles.ROLE_SUBSCRIPTION_ADMIN)
+    public ResponseEntity<Pagination<AccountListResponse>> listAccounts(final int perPage, final String cursor) {
+        record SearchAccountsInput(int perPage, String cursor) implements SearchAccounts.Input {
+        }
+        final var res = this.searchAccounts.execute(new SearchAccountsInput(perPage, cursor), out -> out.map(AccountListResponse::new));
+        return ResponseEntity.ok(res);
     }
 
     @Override
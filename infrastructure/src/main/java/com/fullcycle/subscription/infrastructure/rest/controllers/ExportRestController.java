@@ -0,0 +1,124 @@
+package com.fullcycle.subscription.infrastructure.rest.controllers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fullcycle.subscription.domain.subscription.Subscription;
+import com.fullcycle.subscription.infrastructure.configuration.ExportConfig;
+import com.fullcycle.subscription.infrastructure.configuration.properties.ExportProperties;
+import com.fullcycle.subscription.infrastructure.configuration.security.Roles;
+import com.fullcycle.subscription.infrastructure.export.NdjsonWriter;
+import com.fullcycle.subscription.infrastructure.gateway.repository.EventJdbcRepository;
+import com.fullcycle.subscription.infrastructure.gateway.repository.EventJdbcRepository.ExportedEvent;
+import com.fullcycle.subscription.infrastructure.gateway.repository.SubscriptionJdbcRepository;
+import com.fullcycle.subscription.infrastructure.json.EventFormat;
+import com.fullcycle.subscription.infrastructure.rest.ExportRestApi;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@RestController
+public class ExportRestController implements ExportRestApi {
+
+    private final SubscriptionJdbcRepository subscriptionRepository;
+    private final EventJdbcRepository eventRepository;
+    private final ExportProperties properties;
+
+    public ExportRestController(
+            final SubscriptionJdbcRepository subscriptionRepository,
+            final EventJdbcRepository eventRepository,
+            final ExportProperties properties
+    ) {
+        this.subscriptionRepository = Objects.requireNonNull(subscriptionRepository);
+        this.eventRepository = Objects.requireNonNull(eventRepository);
+        this.properties = Objects.requireNonNull(properties);
+    }
+
+    @Override
+    @Secured(Roles.ROLE_SUBSCRIPTION_ADMIN)
+    public ResponseEntity<StreamingResponseBody> exportSubscriptions(final LocalDate dueFrom, final LocalDate dueTo, final String status, final String acceptEncoding) {
+        final var gzip = acceptsGzip(acceptEncoding);
+        // the cursor is opened inside the body so it lives on the async thread and is closed once the last row is written
+        final StreamingResponseBody body = out -> {
+            try (var rows = this.subscriptionRepository.streamSubscriptions(dueFrom, dueTo, status, this.properties.fetchSize())) {
+                NdjsonWriter.write(out, gzip, rows, this.properties.flushEvery(), ExportRestController::writeSubscription);
+            }
+        };
+        return ndjson(gzip, body);
+    }
+
+    @Override
+    @Secured(Roles.ROLE_SUBSCRIPTION_ADMIN)
+    public ResponseEntity<StreamingResponseBody> exportEvents(final Instant from, final Instant to, final Boolean processed, final String acceptEncoding) {
+        final var gzip = acceptsGzip(acceptEncoding);
+        final StreamingResponseBody body = out -> {
+            try (var rows = this.eventRepository.streamEvents(from, to, processed, this.properties.fetchSize())) {
+                NdjsonWriter.write(out, gzip, rows, this.properties.flushEvery(), ExportRestController::writeEvent);
+            }
+        };
+        return ndjson(gzip, body);
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(final boolean gzip, final StreamingResponseBody body) {
+        RequestContextHolder.currentRequestAttributes()
+                .setAttribute(ExportConfig.REQUEST_TIMEOUT_ATTRIBUTE, this.properties.requestTimeout(), RequestAttributes.SCOPE_REQUEST);
+
+        final var res = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            res.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return res.body(body);
+    }
+
+    private static boolean acceptsGzip(final String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    private static void writeSubscription(final Subscription subscription, final JsonGenerator gen) throws IOException {
+        gen.writeStringField("subscription_id", subscription.id().value());
+        gen.writeNumberField("version", subscription.version());
+        gen.writeStringField("account_id", subscription.accountId().value());
+        gen.writeNumberField("plan_id", subscription.planId().value());
+        gen.writeStringField("subscription_status", subscription.status().value());
+        gen.writeStringField("subscription_due_date", subscription.dueDate().toString());
+        writeInstant(gen, "last_renew_date", subscription.lastRenewDate());
+        gen.writeStringField("last_transaction_id", subscription.lastTransactionId());
+        writeInstant(gen, "created_at", subscription.createdAt());
+        writeInstant(gen, "updated_at", subscription.updatedAt());
+    }
+
+    private static void writeEvent(final ExportedEvent event, final JsonGenerator gen) throws IOException {
+        gen.writeNumberField("event_id", event.eventId());
+        gen.writeStringField("aggregate_type", event.aggregateType());
+        gen.writeStringField("aggregate_id", event.aggregateId());
+        gen.writeStringField("event_type", event.eventType());
+        writeInstant(gen, "event_date", event.eventDate());
+        gen.writeBooleanField("processed", event.processed());
+
+        // JSON rows are already serialized with the same mapper settings, so they are copied verbatim instead of decoded
+        if (event.eventFormat() == EventFormat.JSON && event.eventData() != null) {
+            gen.writeFieldName("data");
+            gen.writeRawValue(event.eventData());
+        } else {
+            gen.writePOJOField("data", event.domainEvent().get());
+        }
+    }
+
+    private static void writeInstant(final JsonGenerator gen, final String field, final Instant value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(field);
+        } else {
+            gen.writeStringField(field, value.toString());
+        }
+    }
+}
@@ -3,14 +3,19 @@ package com.fullcycle.subscription.infrastructure.rest.controllers;
 import com.fullcycle.subscription.application.subscription.CancelSubscription;
 import com.fullcycle.subscription.application.subscription.ChargeSubscription;
 import com.fullcycle.subscription.application.subscription.CreateSubscription;
+import com.fullcycle.subscription.application.subscription.SearchSubscriptions;
+import com.fullcycle.subscription.domain.pagination.Pagination;
 import com.fullcycle.subscription.infrastructure.authentication.principal.CodeflixUser;
+import com.fullcycle.subscription.infrastructure.configuration.security.Roles;
 import com.fullcycle.subscription.infrastructure.rest.SubscriptionRestApi;
 import com.fullcycle.subscription.infrastructure.rest.models.req.ChargeSubscriptionRequest;
 import com.fullcycle.subscription.infrastructure.rest.models.req.CreateSubscriptionRequest;
 import com.fullcycle.subscription.infrastructure.rest.models.res.CancelSubscriptionResponse;
 import com.fullcycle.subscription.infrastructure.rest.models.res.ChargeSubscriptionResponse;
 import com.fullcycle.subscription.infrastructure.rest.models.res.CreateSubscriptionResponse;
+import com.fullcycle.subscription.infrastructure.rest.models.res.SubscriptionListResponse;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.net.URI;
@@ -22,11 +27,27 @@ public class SubscriptionRestController implements SubscriptionRestApi {
     private final CreateSubscription createSubscription;
     private final CancelSubscription cancelSubscription;
     private final ChargeSubscription chargeSubscription;
+    private final SearchSubscriptions searchSubscriptions;
 
-    public SubscriptionRestController(final CreateSubscription createSubscription, final CancelSubscription cancelSubscription, final ChargeSubscription chargeSubscription) {
+    public SubscriptionRestController(
+            final CreateSubscription createSubscription,
+            final CancelSubscription cancelSubscription,
+            final ChargeSubscription chargeSubscription,
+            final SearchSubscriptions searchSubscriptions
+    ) {
         this.createSubscription = Objects.requireNonNull(createSubscription);
         this.cancelSubscription = Objects.requireNonNull(cancelSubscription);
         this.chargeSubscription = Objects.requireNonNull(chargeSubscription);
+        this.searchSubscriptions = Objects.requireNonNull(searchSubscriptions);
+    }
+
+    @Override
+    @Secured(Roles.ROLE_SUBSCRIPTION_ADMIN)
+    public ResponseEntity<Pagination<SubscriptionListResponse>> listSubscriptions(final String status, final Long planId, final int perPage, final String cursor) {
+        record SearchSubscriptionsInput(int perPage, String cursor, String status, Long planId) implements SearchSubscriptions.Input {
+        }
+        final var res = this.searchSubscriptions.execute(new SearchSubscriptionsInput(perPage, cursor, status, planId), out -> out.map(SubscriptionListResponse::new));
+        return ResponseEntity.ok(res);
     }
 
     @Override
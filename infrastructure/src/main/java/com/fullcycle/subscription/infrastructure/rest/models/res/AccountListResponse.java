@@ -0,0 +1,16 @@
+package com.fullcycle.subscription.infrastructure.rest.models.res;
+
+import com.fullcycle.subscription.application.account.SearchAccounts;
+
+public record AccountListResponse(
+        String accountId,
+        String userId,
+        String email,
+        String firstname,
+        String lastname
+) {
+
+    public AccountListResponse(SearchAccounts.Output out) {
+        this(out.accountId().value(), out.userId(), out.email(), out.firstname(), out.lastname());
+    }
+}
@@ -0,0 +1,30 @@
+package com.fullcycle.subscription.infrastructure.rest.models.res;
+
+import com.fullcycle.subscription.application.subscription.SearchSubscriptions;
+
+import java.time.Instant;
+
+public record SubscriptionListResponse(
+        String subscriptionId,
+        String accountId,
+        Long planId,
+        String subscriptionStatus,
+        String subscriptionDueDate,
+        Instant lastRenewDate,
+        Instant createdAt,
+        Instant updatedAt
+) {
+
+    public SubscriptionListResponse(SearchSubscriptions.Output out) {
+        this(
+                out.subscriptionId().value(),
+                out.accountId().value(),
+                out.planId().value(),
+                out.status(),
+                out.dueDate().toString(),
+                out.lastRenewDate(),
+                out.createdAt(),
+                out.updatedAt()
+        );
+    }
+}
@@ -0,0 +1,19 @@
+package com.fullcycle.subscription.infrastructure.scheduling;
+
+import java.time.Instant;
+
+public record JobLease(
+        String jobName,
+        int shard,
+        String ownerId,
+        long fencingToken,
+        Instant heartbeatAt,
+        Instant expiresAt,
+        String progress,
+        Instant progressAt
+) {
+
+    public boolean isHeldBy(final String memberId, final Instant now) {
+        return memberId.equals(ownerId) && expiresAt != null && expiresAt.isAfter(now);
+    }
+}
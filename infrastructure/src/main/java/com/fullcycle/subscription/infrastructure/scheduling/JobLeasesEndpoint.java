@@ -0,0 +1,36 @@
+package com.fullcycle.subscription.infrastructure.scheduling;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+@Component
+@Endpoint(id = "jobleases")
+public class JobLeasesEndpoint {
+
+    private final ShardCoordinator shardCoordinator;
+
+    public JobLeasesEndpoint(final ShardCoordinator shardCoordinator) {
+        this.shardCoordinator = Objects.requireNonNull(shardCoordinator);
+    }
+
+    @ReadOperation
+    public Map<String, List<JobLease>> leases() {
+        final var leases = new TreeMap<String, List<JobLease>>();
+        for (var jobName : this.shardCoordinator.jobs()) {
+            leases.put(jobName, this.shardCoordinator.progressOf(jobName));
+        }
+        return leases;
+    }
+
+    @ReadOperation
+    public List<JobLease> leasesOf(@Selector final String jobName) {
+        return this.shardCoordinator.progressOf(jobName);
+    }
+}
@@ -0,0 +1,180 @@
+package com.fullcycle.subscription.infrastructure.scheduling;
+
+import com.fullcycle.subscription.domain.utils.IdUtils;
+import com.fullcycle.subscription.infrastructure.configuration.properties.SchedulerProperties;
+import com.fullcycle.subscription.infrastructure.gateway.repository.JobLeaseJdbcRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class ShardCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardCoordinator.class);
+
+    private final JobLeaseJdbcRepository leaseRepository;
+    private final SchedulerProperties properties;
+    private final Clock clock;
+    private final String memberId;
+    private final Set<String> joinedJobs = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService heartbeatExecutor;
+
+    public ShardCoordinator(
+            final JobLeaseJdbcRepository leaseRepository,
+            final SchedulerProperties properties,
+            final Clock clock
+    ) {
+        this.leaseRepository = Objects.requireNonNull(leaseRepository);
+        this.properties = Objects.requireNonNull(properties);
+        this.clock = Objects.requireNonNull(clock);
+        this.memberId = resolveMemberId(properties.instanceId());
+    }
+
+    // leases are renewed on a thread of their own, a long job running on the scheduler must never let its own lease expire
+    @PostConstruct
+    public void start() {
+        final var interval = this.properties.heartbeatInterval().toMillis();
+        this.heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("shard-heartbeat").daemon().factory());
+        this.heartbeatExecutor.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public String memberId() {
+        return memberId;
+    }
+
+    public List<ShardLease> acquire(final String jobName, final int shardCount) {
+        final var now = this.clock.instant();
+        final var expiresAt = now.plus(this.properties.leaseDuration());
+
+        this.leaseRepository.heartbeatMember(jobName, this.memberId, now);
+        this.leaseRepository.ensureShards(jobName, shardCount);
+        this.joinedJobs.add(jobName);
+
+        final var members = this.leaseRepository.liveMembers(jobName, now.minus(this.properties.memberTimeout()));
+        final var memberIndex = Math.max(0, members.indexOf(this.memberId));
+        final var memberCount = Math.max(1, members.size());
+
+        final var owned = new ArrayList<ShardLease>();
+        for (var lease : this.leaseRepository.leasesOf(jobName)) {
+            if (lease.shard() >= shardCount) {
+                continue;
+            }
+
+            final var assignedToMe = lease.shard() % memberCount == memberIndex;
+            final var heldByMe = lease.isHeldBy(this.memberId, now);
+
+            if (heldByMe && !assignedToMe) {
+                this.leaseRepository.release(jobName, lease.shard(), this.memberId, lease.fencingToken());
+                log.info("Shard handed over after rebalance [job:{}] [shard:{}] [member:{}]", jobName, lease.shard(), this.memberId);
+                continue;
+            }
+
+            if (heldByMe) {
+                if (this.leaseRepository.renew(jobName, lease.shard(), this.memberId, lease.fencingToken(), now, expiresAt)) {
+                    owned.add(new ShardLease(jobName, lease.shard(), shardCount, lease.fencingToken(), lease.progress()));
+                }
+                continue;
+            }
+
+            if (assignedToMe) {
+                this.leaseRepository.tryAcquire(jobName, lease.shard(), this.memberId, now, expiresAt)
+                        .ifPresent(acquired -> {
+                            log.info("Shard acquired [job:{}] [shard:{}] [member:{}] [fencingToken:{}] [previousOwner:{}]",
+                                    jobName, acquired.shard(), this.memberId, acquired.fencingToken(), lease.ownerId());
+                            owned.add(new ShardLease(jobName, acquired.shard(), shardCount, acquired.fencingToken(), acquired.progress()));
+                        });
+            }
+        }
+
+        return owned;
+    }
+
+    public void heartbeat() {
+        final var now = this.clock.instant();
+        final var expiresAt = now.plus(this.properties.leaseDuration());
+
+        for (var jobName : this.joinedJobs) {
+            try {
+                this.leaseRepository.heartbeatMember(jobName, this.memberId, now);
+                for (var lease : this.leaseRepository.leasesOf(jobName)) {
+                    if (lease.isHeldBy(this.memberId, now)) {
+                        this.leaseRepository.renew(jobName, lease.shard(), this.memberId, lease.fencingToken(), now, expiresAt);
+                    }
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Failed to heartbeat job leases [job:{}] [member:{}]", jobName, this.memberId, ex);
+            }
+        }
+    }
+
+    public boolean checkpoint(final ShardLease lease, final String progress) {
+        final var updated = this.leaseRepository.updateProgress(lease.jobName(), lease.shard(), this.memberId, lease.fencingToken(), progress, this.clock.instant());
+        if (!updated) {
+            log.warn("Lease expired or taken over, progress discarded [job:{}] [shard:{}] [fencingToken:{}]", lease.jobName(), lease.shard(), lease.fencingToken());
+        }
+        return updated;
+    }
+
+    // checked right before each side effect: a lease taken over by another member has a new fencing token
+    public boolean stillOwns(final ShardLease lease) {
+        final var now = this.clock.instant();
+        return this.leaseRepository.leaseOf(lease.jobName(), lease.shard())
+                .filter(it -> it.fencingToken() == lease.fencingToken())
+                .filter(it -> it.isHeldBy(this.memberId, now))
+                .isPresent();
+    }
+
+    public List<JobLease> progressOf(final String jobName) {
+        return this.leaseRepository.leasesOf(jobName);
+    }
+
+    public Set<String> jobs() {
+        return Set.copyOf(this.joinedJobs);
+    }
+
+    @PreDestroy
+    public void leave() {
+        if (this.heartbeatExecutor != null) {
+            this.heartbeatExecutor.shutdownNow();
+        }
+
+        for (var jobName : this.joinedJobs) {
+            try {
+                for (var lease : this.leaseRepository.leasesOf(jobName)) {
+                    if (this.memberId.equals(lease.ownerId())) {
+                        this.leaseRepository.release(jobName, lease.shard(), this.memberId, lease.fencingToken());
+                    }
+                }
+                this.leaseRepository.removeMember(jobName, this.memberId);
+            } catch (RuntimeException ex) {
+                log.warn("Failed to leave job, leases will expire instead [job:{}] [member:{}]", jobName, this.memberId, ex);
+            }
+        }
+    }
+
+    private static String resolveMemberId(final String instanceId) {
+        if (instanceId != null && !instanceId.isBlank()) {
+            return instanceId;
+        }
+
+        try {
+            return InetAddress.getLocalHost().getHostName() + "-" + IdUtils.uniqueId().substring(0, 8);
+        } catch (UnknownHostException ex) {
+            return IdUtils.uniqueId();
+        }
+    }
+}
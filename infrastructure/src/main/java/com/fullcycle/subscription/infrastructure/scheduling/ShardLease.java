@@ -0,0 +1,24 @@
+package com.fullcycle.subscription.infrastructure.scheduling;
+
+import java.time.LocalDate;
+
+public record ShardLease(String jobName, int shard, int shardCount, long fencingToken, String progress) {
+
+    public static final String HEX_DIGITS = "0123456789abcdef";
+
+    // the last two hex digits of the id, 17..272 for the generated ids; mirrored in SQL so the database filters the shard
+    public static int bucketOf(final String key) {
+        final var length = key.length();
+        final var high = length > 1 ? HEX_DIGITS.indexOf(key.charAt(length - 2)) + 1 : 0;
+        final var low = length > 0 ? HEX_DIGITS.indexOf(key.charAt(length - 1)) + 1 : 0;
+        return high * 16 + low;
+    }
+
+    public boolean owns(final String key) {
+        return Math.floorMod(bucketOf(key), shardCount) == shard;
+    }
+
+    public boolean owns(final LocalDate date) {
+        return Math.floorMod(date.toEpochDay(), shardCount) == shard;
+    }
+}
@@ -0,0 +1,48 @@
+package com.fullcycle.subscription.infrastructure.snapshot;
+
+import com.fullcycle.subscription.domain.account.Account;
+import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.account.idp.UserId;
+import com.fullcycle.subscription.domain.person.Address;
+import com.fullcycle.subscription.domain.person.Document;
+import com.fullcycle.subscription.domain.person.Email;
+import com.fullcycle.subscription.domain.person.Name;
+
+public record AccountSnapshot(
+        String id,
+        int version,
+        String userId,
+        String email,
+        String firstname,
+        String lastname,
+        String documentNumber,
+        String documentType,
+        Address billingAddress
+) {
+
+    public static AccountSnapshot from(final Account account) {
+        return new AccountSnapshot(
+                account.id().value(),
+                account.version(),
+                account.userId().value(),
+                account.email().value(),
+                account.name().firstname(),
+                account.name().lastname(),
+                account.document().value(),
+                account.document().type(),
+                account.billingAddress()
+        );
+    }
+
+    public Account toAccount() {
+        return Account.with(
+                new AccountId(id),
+                version,
+                new UserId(userId),
+                new Email(email),
+                new Name(firstname, lastname),
+                Document.create(documentNumber, documentType),
+                billingAddress
+        );
+    }
+}
@@ -0,0 +1,13 @@
+package com.fullcycle.subscription.infrastructure.snapshot;
+
+import com.fullcycle.subscription.infrastructure.gateway.repository.EventJdbcRepository.StoredEvent;
+
+import java.util.List;
+import java.util.Optional;
+
+public record AggregateHistory<T>(Optional<T> snapshot, long snapshotEventId, List<StoredEvent> events) {
+
+    public static <T> AggregateHistory<T> withoutSnapshot(final List<StoredEvent> events) {
+        return new AggregateHistory<>(Optional.empty(), 0L, events);
+    }
+}
@@ -0,0 +1,164 @@
+package com.fullcycle.subscription.infrastructure.snapshot;
+
+import com.fullcycle.subscription.domain.account.Account;
+import com.fullcycle.subscription.domain.account.AccountEvent;
+import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.subscription.Subscription;
+import com.fullcycle.subscription.domain.subscription.SubscriptionEvent;
+import com.fullcycle.subscription.domain.subscription.SubscriptionId;
+import com.fullcycle.subscription.infrastructure.configuration.properties.SnapshotProperties;
+import com.fullcycle.subscription.infrastructure.gateway.repository.AccountJdbcRepository;
+import com.fullcycle.subscription.infrastructure.gateway.repository.EventJdbcRepository;
+import com.fullcycle.subscription.infrastructure.gateway.repository.EventJdbcRepository.EventHeader;
+import com.fullcycle.subscription.infrastructure.gateway.repository.SnapshotJdbcRepository;
+import com.fullcycle.subscription.infrastructure.gateway.repository.SnapshotJdbcRepository.StoredSnapshot;
+import com.fullcycle.subscription.infrastructure.gateway.repository.SubscriptionJdbcRepository;
+import com.fullcycle.subscription.infrastructure.json.Json;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+@Component
+public class AggregateSnapshotter {
+
+    private final EventJdbcRepository eventRepository;
+    private final SnapshotJdbcRepository snapshotRepository;
+    private final SubscriptionJdbcRepository subscriptionRepository;
+    private final AccountJdbcRepository accountRepository;
+    private final SnapshotProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    private final Counter takenSnapshots;
+
+    public AggregateSnapshotter(
+            final EventJdbcRepository eventRepository,
+            final SnapshotJdbcRepository snapshotRepository,
+            final SubscriptionJdbcRepository subscriptionRepository,
+            final AccountJdbcRepository accountRepository,
+            final SnapshotProperties properties,
+            final PlatformTransactionManager transactionManager,
+            final MeterRegistry meterRegistry,
+            final Clock clock
+    ) {
+        this.eventRepository = Objects.requireNonNull(eventRepository);
+        this.snapshotRepository = Objects.requireNonNull(snapshotRepository);
+        this.subscriptionRepository = Objects.requireNonNull(subscriptionRepository);
+        this.accountRepository = Objects.requireNonNull(accountRepository);
+        this.properties = Objects.requireNonNull(properties);
+        this.transactionTemplate = new TransactionTemplate(Objects.requireNonNull(transactionManager));
+        this.clock = Objects.requireNonNull(clock);
+
+        this.takenSnapshots = meterRegistry.counter("snapshots.taken");
+    }
+
+    public AggregateHistory<Subscription> historyOfSubscription(final SubscriptionId subscriptionId) {
+        return historyOf(SubscriptionEvent.TYPE, subscriptionId.value(), data -> Json.readTree(data, SubscriptionSnapshot.class).toSubscription());
+    }
+
+    public AggregateHistory<Account> historyOfAccount(final AccountId accountId) {
+        return historyOf(AccountEvent.TYPE, accountId.value(), data -> Json.readTree(data, AccountSnapshot.class).toAccount());
+    }
+
+    public SnapshotPass snapshotPending(final long afterEventId) {
+        final var headers = this.eventRepository.eventHeadersAfter(afterEventId, this.properties.batchSize());
+        if (headers.isEmpty()) {
+            return new SnapshotPass(afterEventId, 0, 0);
+        }
+
+        final var aggregates = new LinkedHashSet<AggregateKey>();
+        for (var header : headers) {
+            aggregates.add(AggregateKey.of(header));
+        }
+
+        var taken = 0;
+        for (var aggregate : aggregates) {
+            final var snapshotEventId = this.snapshotRepository.snapshotOf(aggregate.type(), aggregate.id())
+                    .map(StoredSnapshot::lastEventId)
+                    .orElse(0L);
+
+            final var pending = this.eventRepository.countEventsOfAggregateAfter(aggregate.id(), aggregate.type(), snapshotEventId);
+            if (pending >= this.properties.everyEvents() && snapshot(aggregate.type(), aggregate.id())) {
+                taken++;
+            }
+        }
+
+        return new SnapshotPass(headers.getLast().eventId(), headers.size(), taken);
+    }
+
+    public boolean snapshot(final String aggregateType, final String aggregateId) {
+        final var written = this.transactionTemplate.execute(status -> {
+            final var lastEventId = this.eventRepository.lastEventIdOfAggregate(aggregateId, aggregateType);
+            if (lastEventId.isEmpty()) {
+                return false;
+            }
+
+            final var state = stateOf(aggregateType, aggregateId);
+            if (state.isEmpty()) {
+                return false;
+            }
+
+            // a save committed between both reads would leave the state ahead of lastEventId; the next pass retries
+            if (!lastEventId.equals(this.eventRepository.lastEventIdOfAggregate(aggregateId, aggregateType))) {
+                return false;
+            }
+
+            return this.snapshotRepository.save(new StoredSnapshot(
+                    aggregateType,
+                    aggregateId,
+                    lastEventId.get(),
+                    state.get().version(),
+                    Json.writeValueAsString(state.get().data()),
+                    this.clock.instant()
+            ));
+        });
+
+        if (Boolean.TRUE.equals(written)) {
+            this.takenSnapshots.increment();
+            return true;
+        }
+        return false;
+    }
+
+    private <T> AggregateHistory<T> historyOf(final String aggregateType, final String aggregateId, final Function<String, T> decoder) {
+        final var snapshot = this.snapshotRepository.snapshotOf(aggregateType, aggregateId);
+        if (snapshot.isEmpty()) {
+            return AggregateHistory.withoutSnapshot(this.eventRepository.eventsOfAggregateAfter(aggregateId, aggregateType, 0L));
+        }
+
+        final var lastEventId = snapshot.get().lastEventId();
+        return new AggregateHistory<>(
+                Optional.of(decoder.apply(snapshot.get().data())),
+                lastEventId,
+                this.eventRepository.eventsOfAggregateAfter(aggregateId, aggregateType, lastEventId)
+        );
+    }
+
+    private Optional<AggregateState> stateOf(final String aggregateType, final String aggregateId) {
+        return switch (aggregateType) {
+            case SubscriptionEvent.TYPE -> this.subscriptionRepository.subscriptionOfId(new SubscriptionId(aggregateId))
+                    .map(it -> new AggregateState(it.version(), SubscriptionSnapshot.from(it)));
+            case AccountEvent.TYPE -> this.accountRepository.accountOfId(new AccountId(aggregateId))
+                    .map(it -> new AggregateState(it.version(), AccountSnapshot.from(it)));
+            default -> Optional.empty();
+        };
+    }
+
+    private record AggregateKey(String type, String id) {
+
+        static AggregateKey of(final EventHeader header) {
+            return new AggregateKey(header.aggregateType(), header.aggregateId());
+        }
+    }
+
+    private record AggregateState(int version, Object data) {
+    }
+}
@@ -0,0 +1,4 @@
+package com.fullcycle.subscription.infrastructure.snapshot;
+
+public record SnapshotPass(long watermark, int scanned, int snapshots) {
+}
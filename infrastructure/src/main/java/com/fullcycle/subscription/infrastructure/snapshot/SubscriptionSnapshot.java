@@ -0,0 +1,53 @@
+package com.fullcycle.subscription.infrastructure.snapshot;
+
+import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.plan.PlanId;
+import com.fullcycle.subscription.domain.subscription.Subscription;
+import com.fullcycle.subscription.domain.subscription.SubscriptionId;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+public record SubscriptionSnapshot(
+        String id,
+        int version,
+        String accountId,
+        Long planId,
+        LocalDate dueDate,
+        String status,
+        Instant lastRenewDate,
+        String lastTransactionId,
+        Instant createdAt,
+        Instant updatedAt
+) {
+
+    public static SubscriptionSnapshot from(final Subscription subscription) {
+        return new SubscriptionSnapshot(
+                subscription.id().value(),
+                subscription.version(),
+                subscription.accountId().value(),
+                subscription.planId().value(),
+                subscription.dueDate(),
+                subscription.status().value(),
+                subscription.lastRenewDate(),
+                subscription.lastTransactionId(),
+                subscription.createdAt(),
+                subscription.updatedAt()
+        );
+    }
+
+    public Subscription toSubscription() {
+        return Subscription.with(
+                new SubscriptionId(id),
+                version,
+                new AccountId(accountId),
+                new PlanId(planId),
+                dueDate,
+                status,
+                lastRenewDate,
+                lastTransactionId,
+                createdAt,
+                updatedAt
+        );
+    }
+}
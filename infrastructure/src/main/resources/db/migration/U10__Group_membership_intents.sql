@@ -0,0 +1 @@
+DROP TABLE IF EXISTS group_membership_intents;
\ No newline at end of file
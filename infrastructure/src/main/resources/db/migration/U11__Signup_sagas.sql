@@ -0,0 +1 @@
+DROP TABLE IF EXISTS signup_sagas;
\ No newline at end of file
@@ -0,0 +1 @@
+ALTER TABLE billing_runs DROP COLUMN fenced;
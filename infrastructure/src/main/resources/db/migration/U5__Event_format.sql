@@ -0,0 +1,3 @@
+DROP INDEX idx_events_format ON events;
+ALTER TABLE events DROP COLUMN event_payload;
+ALTER TABLE events DROP COLUMN event_format;
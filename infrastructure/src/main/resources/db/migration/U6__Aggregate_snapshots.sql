@@ -0,0 +1,3 @@
+CREATE INDEX idx_events_aggregates ON events (aggregate_id);
+DROP INDEX idx_events_aggregate_stream ON events;
+DROP TABLE IF EXISTS aggregate_snapshots;
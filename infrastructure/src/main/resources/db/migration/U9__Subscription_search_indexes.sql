@@ -0,0 +1,2 @@
+DROP INDEX idx_subscriptions_plan_due_date ON subscriptions;
+DROP INDEX idx_subscriptions_status_due_date ON subscriptions;
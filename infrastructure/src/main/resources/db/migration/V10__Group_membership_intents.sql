@@ -0,0 +1,14 @@
+CREATE TABLE group_membership_intents (
+    id BIGINT NOT NULL PRIMARY KEY AUTO_INCREMENT,
+    user_id VARCHAR(255) NOT NULL,
+    group_id VARCHAR(255) NOT NULL,
+    action VARCHAR(16) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_group_membership_intents_pending ON group_membership_intents (status, next_attempt_at, id);
+CREATE INDEX idx_group_membership_intents_user_group ON group_membership_intents (user_id, group_id, id);
@@ -0,0 +1,13 @@
+CREATE TABLE signup_sagas (
+    id CHAR(32) NOT NULL PRIMARY KEY,
+    email VARCHAR(255) NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    idp_user_id VARCHAR(255),
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_signup_sagas_status_updated_at ON signup_sagas (status, updated_at);
+CREATE INDEX idx_signup_sagas_email ON signup_sagas (email);
@@ -0,0 +1 @@
+ALTER TABLE billing_runs ADD COLUMN fenced BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1 @@
+CREATE INDEX idx_events_processed ON events (processed, event_id);
@@ -0,0 +1,14 @@
+CREATE TABLE billing_runs (
+    id CHAR(32) NOT NULL PRIMARY KEY,
+    reference_date DATE NOT NULL,
+    started_at TIMESTAMP(6) NOT NULL,
+    finished_at TIMESTAMP(6) NOT NULL,
+    charged INT NOT NULL,
+    incomplete INT NOT NULL,
+    canceled INT NOT NULL,
+    skipped INT NOT NULL,
+    failed INT NOT NULL,
+    throughput DECIMAL(12, 2) NOT NULL
+);
+
+CREATE INDEX idx_billing_runs_reference_date ON billing_runs (reference_date);
@@ -0,0 +1,18 @@
+CREATE TABLE job_members (
+    job_name VARCHAR(64) NOT NULL,
+    member_id VARCHAR(255) NOT NULL,
+    heartbeat_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (job_name, member_id)
+);
+
+CREATE TABLE job_leases (
+    job_name VARCHAR(64) NOT NULL,
+    shard INT NOT NULL,
+    owner_id VARCHAR(255),
+    fencing_token BIGINT NOT NULL DEFAULT 0,
+    heartbeat_at TIMESTAMP(6),
+    expires_at TIMESTAMP(6),
+    progress VARCHAR(255),
+    progress_at TIMESTAMP(6),
+    PRIMARY KEY (job_name, shard)
+);
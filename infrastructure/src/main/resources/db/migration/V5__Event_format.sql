@@ -0,0 +1,4 @@
+ALTER TABLE events ADD COLUMN event_format VARCHAR(16) NOT NULL DEFAULT 'json';
+ALTER TABLE events ADD COLUMN event_payload BLOB;
+
+CREATE INDEX idx_events_format ON events (event_format, event_id);
@@ -0,0 +1,12 @@
+CREATE TABLE aggregate_snapshots (
+    aggregate_type VARCHAR(32) NOT NULL,
+    aggregate_id VARCHAR(32) NOT NULL,
+    last_event_id INT NOT NULL,
+    aggregate_version INT NOT NULL,
+    snapshot_data JSON NOT NULL,
+    taken_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (aggregate_type, aggregate_id)
+);
+
+CREATE INDEX idx_events_aggregate_stream ON events (aggregate_id, aggregate_type, event_id);
+DROP INDEX idx_events_aggregates ON events;
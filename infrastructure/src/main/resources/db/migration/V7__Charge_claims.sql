@@ -0,0 +1,6 @@
+CREATE TABLE charge_claims (
+    account_id VARCHAR(32) NOT NULL PRIMARY KEY,
+    owner_id VARCHAR(64) NOT NULL,
+    claimed_at TIMESTAMP(6) NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL
+);
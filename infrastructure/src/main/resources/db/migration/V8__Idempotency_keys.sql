@@ -0,0 +1,13 @@
+CREATE TABLE idempotency_keys (
+    scope_key CHAR(64) NOT NULL PRIMARY KEY,
+    fingerprint CHAR(64) NOT NULL,
+    completed BOOLEAN NOT NULL DEFAULT FALSE,
+    response_status SMALLINT,
+    response_content_type VARCHAR(255),
+    response_location VARCHAR(2048),
+    response_body BLOB,
+    created_at TIMESTAMP(6) NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
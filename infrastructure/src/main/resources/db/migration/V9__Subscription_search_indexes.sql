@@ -0,0 +1,2 @@
+CREATE INDEX idx_subscriptions_status_due_date ON subscriptions (status, due_date, id);
+CREATE INDEX idx_subscriptions_plan_due_date ON subscriptions (plan_id, due_date, id);
@@ -4,11 +4,13 @@ import com.fullcycle.subscription.infrastructure.gateway.repository.AccountJdbcR
 import com.fullcycle.subscription.infrastructure.gateway.repository.EventJdbcRepository;
 import com.fullcycle.subscription.infrastructure.gateway.repository.PlanJdbcRepository;
 import com.fullcycle.subscription.infrastructure.gateway.repository.SubscriptionJdbcRepository;
+import com.fullcycle.subscription.infrastructure.jdbc.DatabaseClient;
 import com.fullcycle.subscription.infrastructure.jdbc.JdbcClientAdapter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.test.jdbc.JdbcTestUtils;
 
@@ -23,6 +25,11 @@ public class AbstractRepositoryTest extends AbstractTest {
     @Autowired
     private JdbcClient jdbcClient;
 
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private DatabaseClient databaseClient;
+
     private AccountJdbcRepository accountRepository;
     private PlanJdbcRepository planRepository;
     private EventJdbcRepository eventRepository;
@@ -30,10 +37,11 @@ public class AbstractRepositoryTest extends AbstractTest {
 
     @BeforeEach
     void setUp() {
-        this.eventRepository = new EventJdbcRepository(new JdbcClientAdapter(jdbcClient));
-        this.accountRepository = new AccountJdbcRepository(new JdbcClientAdapter(jdbcClient), eventRepository);
-        this.planRepository = new PlanJdbcRepository(new JdbcClientAdapter(jdbcClient));
-        this.subscriptionRepository = new SubscriptionJdbcRepository(new JdbcClientAdapter(jdbcClient), eventRepository);
+        this.databaseClient = new JdbcClientAdapter(jdbcClient, namedParameterJdbcTemplate);
+        this.eventRepository = new EventJdbcRepository(databaseClient);
+        this.accountRepository = new AccountJdbcRepository(databaseClient, eventRepository);
+        this.planRepository = new PlanJdbcRepository(databaseClient);
+        this.subscriptionRepository = new SubscriptionJdbcRepository(databaseClient, eventRepository);
     }
 
     protected int countAccounts() {
@@ -48,6 +56,10 @@ public class AbstractRepositoryTest extends AbstractTest {
         return JdbcTestUtils.countRowsInTable(jdbcClient, SUBSCRIPTION_TABLE);
     }
 
+    protected DatabaseClient databaseClient() {
+        return this.databaseClient;
+    }
+
     protected AccountJdbcRepository accountRepository() {
         return this.accountRepository;
     }
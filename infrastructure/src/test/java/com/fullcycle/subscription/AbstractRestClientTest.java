@@ -2,6 +2,7 @@ package com.fullcycle.subscription;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fullcycle.subscription.infrastructure.configuration.WebServerConfig;
+import com.fullcycle.subscription.infrastructure.resilience.Resilience;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
@@ -11,6 +12,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.List;
+
 @ActiveProfiles("test-integration")
 @AutoConfigureWireMock(port = 0)
 @EnableAutoConfiguration(exclude = {
@@ -22,9 +25,14 @@ public abstract class AbstractRestClientTest extends AbstractTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private List<Resilience> resiliences;
+
     @BeforeEach
     void beforeEach() {
         WireMock.reset();
         WireMock.resetAllRequests();
+        // circuit breakers live in the shared context, so failures injected by one test must not open them for the next
+        this.resiliences.forEach(Resilience::reset);
     }
 }
\ No newline at end of file
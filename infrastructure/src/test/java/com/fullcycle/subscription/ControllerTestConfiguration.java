@@ -1,6 +1,7 @@
 package com.fullcycle.subscription;
 
 import com.fullcycle.subscription.domain.account.AccountGateway;
+import com.fullcycle.subscription.infrastructure.authentication.principal.AccountFromUserIdResolver;
 import org.mockito.Mockito;
 import org.springframework.context.annotation.Bean;
 
@@ -10,4 +11,9 @@ public class ControllerTestConfiguration {
     public AccountGateway accountGateway() {
         return Mockito.mock(AccountGateway.class);
     }
+
+    @Bean
+    public AccountFromUserIdResolver accountFromUserIdResolver(final AccountGateway accountGateway) {
+        return accountGateway::accountOfUserId;
+    }
 }
\ No newline at end of file
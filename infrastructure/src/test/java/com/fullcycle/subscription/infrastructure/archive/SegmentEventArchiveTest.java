@@ -0,0 +1,104 @@
+package com.fullcycle.subscription.infrastructure.archive;
+
+import com.fullcycle.subscription.AbstractRepositoryTest;
+import com.fullcycle.subscription.MutableClock;
+import com.fullcycle.subscription.domain.Fixture;
+import com.fullcycle.subscription.domain.subscription.SubscriptionCommand;
+import com.fullcycle.subscription.domain.subscription.SubscriptionEvent;
+import com.fullcycle.subscription.infrastructure.gateway.repository.EventJdbcRepository;
+import com.fullcycle.subscription.infrastructure.json.EventFormat;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+class SegmentEventArchiveTest extends AbstractRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void givenProcessedEvents_whenArchived_shouldLeaveTheTableAndStayReadable() {
+        // given
+        final var archive = new SegmentEventArchive(directory);
+        final var eventRepository = new EventJdbcRepository(databaseClient(), EventFormat.JSON, archive);
+
+        final var aSubscription = Fixture.Subscriptions.johns();
+        aSubscription.execute(new SubscriptionCommand.IncompleteSubscription("No funds", "TRX-1"));
+        aSubscription.execute(new SubscriptionCommand.CancelSubscription());
+        eventRepository.saveAll(aSubscription.domainEvents());
+
+        final var processed = eventRepository.claimUnprocessed(2);
+        eventRepository.markAsProcessed(processed.stream().map(EventJdbcRepository.StoredEvent::eventId).toList());
+
+        // when
+        final var archivable = eventRepository.processedEventsBefore(Instant.now().plus(1, ChronoUnit.MINUTES), 10);
+        final var actualSegments = archive.write(archivable);
+        final var actualDeleted = eventRepository.deleteArchived(archivable.stream().map(ArchivedEvent::eventId).toList());
+
+        // then
+        Assertions.assertEquals(2, archivable.size());
+        Assertions.assertEquals(2, actualDeleted);
+        Assertions.assertEquals(2, actualSegments.stream().mapToInt(SegmentIndex::events).sum());
+        Assertions.assertTrue(actualSegments.getFirst().aggregates().contains(ArchivedEvent.aggregateKey(SubscriptionEvent.TYPE, aSubscription.id().value())));
+        Assertions.assertTrue(Files.exists(directory.resolve(actualSegments.getFirst().partition().toString()).resolve(actualSegments.getFirst().segment())));
+
+        Assertions.assertEquals(1, eventRepository.allEventsOfAggregate(aSubscription.id().value(), SubscriptionEvent.TYPE).size());
+        Assertions.assertEquals(aSubscription.domainEvents(), eventRepository.allEventsOfAggregate(aSubscription.id().value(), SubscriptionEvent.TYPE, true));
+    }
+
+    @Test
+    public void givenASegmentWrittenTwice_whenReading_shouldNotDuplicateEvents() {
+        // given
+        final var aSubscription = Fixture.Subscriptions.johns();
+        aSubscription.execute(new SubscriptionCommand.CancelSubscription());
+        eventRepository().saveAll(aSubscription.domainEvents());
+        eventRepository().markAsProcessed(eventRepository().claimUnprocessed(10).stream().map(EventJdbcRepository.StoredEvent::eventId).toList());
+
+        final var archivable = eventRepository().processedEventsBefore(Instant.now().plus(1, ChronoUnit.MINUTES), 10);
+
+        final var firstInstance = new SegmentEventArchive(directory);
+        firstInstance.write(archivable);
+        firstInstance.write(archivable.subList(1, 2));
+
+        // when
+        final var actualEvents = new SegmentEventArchive(directory).eventsOfAggregateAfter(aSubscription.id().value(), SubscriptionEvent.TYPE, 0L);
+
+        // then
+        Assertions.assertEquals(archivable.stream().map(ArchivedEvent::eventId).toList(), actualEvents.stream().map(ArchivedEvent::eventId).toList());
+        Assertions.assertEquals(aSubscription.domainEvents(), actualEvents.stream().map(ArchivedEvent::toDomainEvent).toList());
+        Assertions.assertEquals(List.of(), new SegmentEventArchive(directory).eventsOfAggregateAfter(aSubscription.id().value(), SubscriptionEvent.TYPE, archivable.getLast().eventId()));
+    }
+
+    @Test
+    public void givenASegmentWrittenByAnotherInstance_whenReading_shouldPickItUpOnTheNextRefresh() {
+        // given
+        final var aSubscription = Fixture.Subscriptions.johns();
+        aSubscription.execute(new SubscriptionCommand.CancelSubscription());
+        eventRepository().saveAll(aSubscription.domainEvents());
+        eventRepository().markAsProcessed(eventRepository().claimUnprocessed(10).stream().map(EventJdbcRepository.StoredEvent::eventId).toList());
+
+        final var archivable = eventRepository().processedEventsBefore(Instant.now().plus(1, ChronoUnit.MINUTES), 10);
+
+        final var clock = new MutableClock(Instant.parse("2024-06-10T03:00:00Z"));
+        final var reader = new SegmentEventArchive(directory, Duration.ofMinutes(1), 1, clock);
+        Assertions.assertEquals(List.of(), reader.eventsOfAggregateAfter(aSubscription.id().value(), SubscriptionEvent.TYPE, 0L));
+
+        new SegmentEventArchive(directory).write(archivable);
+
+        // when
+        final var actualBeforeRefresh = reader.eventsOfAggregateAfter(aSubscription.id().value(), SubscriptionEvent.TYPE, 0L);
+        clock.advance(Duration.ofMinutes(1));
+        final var actualAfterRefresh = reader.eventsOfAggregateAfter(aSubscription.id().value(), SubscriptionEvent.TYPE, 0L);
+
+        // then
+        Assertions.assertEquals(List.of(), actualBeforeRefresh);
+        Assertions.assertEquals(archivable.stream().map(ArchivedEvent::eventId).toList(), actualAfterRefresh.stream().map(ArchivedEvent::eventId).toList());
+    }
+}
@@ -1,20 +1,31 @@
 package com.fullcycle.subscription.infrastructure.authentication.clientcredentials;
 
+import com.fullcycle.subscription.MutableClock;
 import com.fullcycle.subscription.domain.exceptions.InternalErrorException;
 import com.fullcycle.subscription.infrastructure.authentication.clientcredentials.AuthenticationGateway.AuthenticationResult;
 import com.fullcycle.subscription.infrastructure.authentication.clientcredentials.AuthenticationGateway.ClientCredentialsInput;
 import com.fullcycle.subscription.infrastructure.authentication.clientcredentials.AuthenticationGateway.RefreshTokenInput;
+import com.fullcycle.subscription.infrastructure.configuration.properties.ClientCredentialsProperties;
 import com.fullcycle.subscription.infrastructure.configuration.properties.KeycloakProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
-import static org.mockito.Mockito.doReturn;
-import static org.mockito.Mockito.doThrow;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ClientCredentialsManagerTest {
@@ -25,9 +36,19 @@ class ClientCredentialsManagerTest {
     @Mock
     private AuthenticationGateway authenticationGateway;
 
-    @InjectMocks
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-05-01T10:00:00Z"));
+
+    private ClientCredentialsProperties properties;
+
     private ClientCredentialsManager manager;
 
+    @BeforeEach
+    void setUp() {
+        this.properties = new ClientCredentialsProperties();
+        this.properties.setRefreshJitter(Duration.ZERO);
+        this.manager = new ClientCredentialsManager(authenticationGateway, keycloakProperties, properties, clock, new SimpleMeterRegistry());
+    }
+
     @Test
     public void givenValidAuthenticationResult_whenCallsRefresh_shouldCreateCredentials() {
         // given
@@ -39,7 +60,7 @@ class ClientCredentialsManagerTest {
         doReturn(expectedClientId).when(keycloakProperties).clientId();
         doReturn(expectedClientSecret).when(keycloakProperties).clientSecret();
 
-        doReturn(new AuthenticationResult(expectedAccessToken, expectedRefreshToken))
+        doReturn(new AuthenticationResult(expectedAccessToken, expectedRefreshToken, 300L))
                 .when(authenticationGateway).login(new ClientCredentialsInput(expectedClientId, expectedClientSecret));
 
         // when
@@ -58,12 +79,12 @@ class ClientCredentialsManagerTest {
         final var expectedClientId = "client-id";
         final var expectedClientSecret = "sad1324213";
 
-        ReflectionTestUtils.setField(this.manager, "credentials", new ClientCredentialsManager.ClientCredentials(expectedClientId, "acc", "ref"));
+        ReflectionTestUtils.setField(this.manager, "credentials", credentials(expectedClientId, "acc", "ref"));
 
         doReturn(expectedClientId).when(keycloakProperties).clientId();
         doReturn(expectedClientSecret).when(keycloakProperties).clientSecret();
 
-        doReturn(new AuthenticationResult(expectedAccessToken, expectedRefreshToken))
+        doReturn(new AuthenticationResult(expectedAccessToken, expectedRefreshToken, 300L))
                 .when(authenticationGateway).refresh(new RefreshTokenInput(expectedClientId, expectedClientSecret, "ref"));
 
         // when
@@ -84,7 +105,7 @@ class ClientCredentialsManagerTest {
         final var expectedClientId = "client-id";
         final var expectedClientSecret = "sad1324213";
 
-        ReflectionTestUtils.setField(this.manager, "credentials", new ClientCredentialsManager.ClientCredentials(expectedClientId, "acc", "ref"));
+        ReflectionTestUtils.setField(this.manager, "credentials", credentials(expectedClientId, "acc", "ref"));
 
         doReturn(expectedClientId).when(keycloakProperties).clientId();
         doReturn(expectedClientSecret).when(keycloakProperties).clientSecret();
@@ -92,7 +113,7 @@ class ClientCredentialsManagerTest {
         doThrow(InternalErrorException.with("BLA!"))
                 .when(authenticationGateway).refresh(new RefreshTokenInput(expectedClientId, expectedClientSecret, "ref"));
 
-        doReturn(new AuthenticationResult(expectedAccessToken, expectedRefreshToken))
+        doReturn(new AuthenticationResult(expectedAccessToken, expectedRefreshToken, 300L))
                 .when(authenticationGateway).login(new ClientCredentialsInput(expectedClientId, expectedClientSecret));
 
         // when
@@ -104,4 +125,119 @@ class ClientCredentialsManagerTest {
         Assertions.assertEquals(expectedAccessToken, actualCredentials.accessToken());
         Assertions.assertEquals(expectedRefreshToken, actualCredentials.refreshToken());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void givenNoCredentialsYet_whenRetrieves_shouldLoginInsteadOfFailing() {
+        // given
+        final var expectedAccessToken = "access";
+        final var expectedClientId = "client-id";
+        final var expectedClientSecret = "sad1324213";
+
+        doReturn(expectedClientId).when(keycloakProperties).clientId();
+        doReturn(expectedClientSecret).when(keycloakProperties).clientSecret();
+
+        doReturn(new AuthenticationResult(expectedAccessToken, "refresh", 300L))
+                .when(authenticationGateway).login(new ClientCredentialsInput(expectedClientId, expectedClientSecret));
+
+        // when
+        final var actualToken = this.manager.retrieve();
+
+        // then
+        Assertions.assertEquals(expectedAccessToken, actualToken);
+        verify(authenticationGateway, times(1)).login(any());
+    }
+
+    @Test
+    public void givenExpiredCredentials_whenManyCallersRetrieveConcurrently_shouldRefreshOnlyOnce() throws Exception {
+        // given
+        final var expectedAccessToken = "access";
+        final var expectedCallers = 16;
+
+        doReturn("client-id").when(keycloakProperties).clientId();
+        doReturn("secret").when(keycloakProperties).clientSecret();
+
+        when(authenticationGateway.login(any())).thenAnswer(call -> {
+            Thread.sleep(100);
+            return new AuthenticationResult(expectedAccessToken, "refresh", 300L);
+        });
+
+        final var start = new CountDownLatch(1);
+        final var tokens = new ArrayList<Future<String>>();
+
+        // when
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < expectedCallers; i++) {
+                tokens.add(executor.submit(() -> {
+                    start.await();
+                    return this.manager.retrieve();
+                }));
+            }
+            start.countDown();
+
+            // then
+            for (var token : tokens) {
+                Assertions.assertEquals(expectedAccessToken, token.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        verify(authenticationGateway, times(1)).login(any());
+    }
+
+    @Test
+    public void givenValidCredentials_whenRefreshPointIsReached_shouldRefreshAheadOfExpiry() {
+        // given
+        final var expectedClientId = "client-id";
+        final var expectedClientSecret = "sad1324213";
+
+        doReturn(expectedClientId).when(keycloakProperties).clientId();
+        doReturn(expectedClientSecret).when(keycloakProperties).clientSecret();
+
+        doReturn(new AuthenticationResult("access-1", "refresh-1", 300L))
+                .when(authenticationGateway).login(new ClientCredentialsInput(expectedClientId, expectedClientSecret));
+        doReturn(new AuthenticationResult("access-2", "refresh-2", 300L))
+                .when(authenticationGateway).refresh(new RefreshTokenInput(expectedClientId, expectedClientSecret, "refresh-1"));
+
+        this.manager.refresh();
+
+        // when
+        clock.advance(Duration.ofSeconds(260));
+        final var refreshedEarly = this.manager.refreshIfDue();
+
+        clock.advance(Duration.ofSeconds(10));
+        final var refreshedAtRefreshPoint = this.manager.refreshIfDue();
+
+        // then
+        Assertions.assertFalse(refreshedEarly);
+        Assertions.assertTrue(refreshedAtRefreshPoint);
+        Assertions.assertEquals("access-2", this.manager.retrieve());
+    }
+
+    @Test
+    public void givenTokenRejectedByTwoCallers_whenRenews_shouldRefreshOnlyOnce() {
+        // given
+        final var expectedClientId = "client-id";
+        final var expectedClientSecret = "sad1324213";
+
+        ReflectionTestUtils.setField(this.manager, "credentials", credentials(expectedClientId, "rejected", "ref"));
+
+        doReturn(expectedClientId).when(keycloakProperties).clientId();
+        doReturn(expectedClientSecret).when(keycloakProperties).clientSecret();
+
+        doReturn(new AuthenticationResult("renewed", "refresh", 300L))
+                .when(authenticationGateway).refresh(new RefreshTokenInput(expectedClientId, expectedClientSecret, "ref"));
+
+        // when
+        final var first = this.manager.renew("rejected");
+        final var second = this.manager.renew("rejected");
+
+        // then
+        Assertions.assertEquals("renewed", first);
+        Assertions.assertEquals("renewed", second);
+        verify(authenticationGateway, times(1)).refresh(any());
+    }
+
+    private ClientCredentialsManager.ClientCredentials credentials(final String clientId, final String accessToken, final String refreshToken) {
+        final var now = clock.instant();
+        return new ClientCredentialsManager.ClientCredentials(clientId, accessToken, refreshToken, now, now.plusSeconds(240), now.plusSeconds(300));
+    }
+}
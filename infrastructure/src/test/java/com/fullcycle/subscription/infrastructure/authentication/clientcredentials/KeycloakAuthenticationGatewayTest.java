@@ -25,6 +25,7 @@ class KeycloakAuthenticationGatewayTest extends AbstractRestClientTest {
         final var expectedClientSecret = "asdej1o123";
         final var expectedAccessToken = "access";
         final var expectedRefreshToken = "refresh";
+        final var expectedExpiresIn = 300L;
 
         stubFor(
                 post(urlPathEqualTo("/realms/test/protocol/openid-connect/token"))
@@ -33,7 +34,7 @@ class KeycloakAuthenticationGatewayTest extends AbstractRestClientTest {
                         .willReturn(aResponse()
                                 .withStatus(200)
                                 .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                                .withBody(Json.writeValueAsString(new KeycloakAuthenticationResult(expectedAccessToken, expectedRefreshToken)))
+                                .withBody(Json.writeValueAsString(new KeycloakAuthenticationResult(expectedAccessToken, expectedRefreshToken, expectedExpiresIn)))
                         )
         );
 
@@ -44,6 +45,7 @@ class KeycloakAuthenticationGatewayTest extends AbstractRestClientTest {
         // then
         assertEquals(expectedAccessToken, actualOutput.accessToken());
         assertEquals(expectedRefreshToken, actualOutput.refreshToken());
+        assertEquals(expectedExpiresIn, actualOutput.expiresIn());
     }
 
     @Test
@@ -53,6 +55,7 @@ class KeycloakAuthenticationGatewayTest extends AbstractRestClientTest {
         final var expectedClientSecret = "asdej1o123";
         final var expectedAccessToken = "access2";
         final var expectedRefreshToken = "refresh2";
+        final var expectedExpiresIn = 300L;
 
         stubFor(
                 post(urlPathEqualTo("/realms/test/protocol/openid-connect/token"))
@@ -61,7 +64,7 @@ class KeycloakAuthenticationGatewayTest extends AbstractRestClientTest {
                         .willReturn(aResponse()
                                 .withStatus(200)
                                 .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                                .withBody(Json.writeValueAsString(new KeycloakAuthenticationResult(expectedAccessToken, expectedRefreshToken)))
+                                .withBody(Json.writeValueAsString(new KeycloakAuthenticationResult(expectedAccessToken, expectedRefreshToken, expectedExpiresIn)))
                         )
         );
 
@@ -72,5 +75,6 @@ class KeycloakAuthenticationGatewayTest extends AbstractRestClientTest {
         // then
         assertEquals(expectedAccessToken, actualOutput.accessToken());
         assertEquals(expectedRefreshToken, actualOutput.refreshToken());
+        assertEquals(expectedExpiresIn, actualOutput.expiresIn());
     }
 }
\ No newline at end of file
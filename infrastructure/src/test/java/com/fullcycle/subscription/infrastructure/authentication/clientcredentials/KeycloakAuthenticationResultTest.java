@@ -20,7 +20,8 @@ public class KeycloakAuthenticationResultTest {
         final var keycloakResponse = """
                 {
                     "access_token": "a26ce442a369459f9a1579abe6727efc",
-                    "refresh_token": "io1ji3o21jpi3o1jpi3j1i2j312j312jp"
+                    "refresh_token": "io1ji3o21jpi3o1jpi3j1i2j312j312jp",
+                    "expires_in": 300
                 }
                 """;
 
@@ -28,6 +29,7 @@ public class KeycloakAuthenticationResultTest {
 
         Assertions.assertThat(actualCategory)
                 .hasFieldOrPropertyWithValue("accessToken", "a26ce442a369459f9a1579abe6727efc")
-                .hasFieldOrPropertyWithValue("refreshToken", "io1ji3o21jpi3o1jpi3j1i2j312j312jp");
+                .hasFieldOrPropertyWithValue("refreshToken", "io1ji3o21jpi3o1jpi3j1i2j312j312jp")
+                .hasFieldOrPropertyWithValue("expiresIn", 300L);
     }
 }
\ No newline at end of file
@@ -0,0 +1,196 @@
+package com.fullcycle.subscription.infrastructure.authentication.principal;
+
+import com.fullcycle.subscription.MutableClock;
+import com.fullcycle.subscription.domain.Fixture;
+import com.fullcycle.subscription.domain.account.Account;
+import com.fullcycle.subscription.domain.account.AccountCreated;
+import com.fullcycle.subscription.domain.account.AccountGateway;
+import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.account.idp.UserId;
+import com.fullcycle.subscription.domain.person.Address;
+import com.fullcycle.subscription.domain.person.Document;
+import com.fullcycle.subscription.domain.person.Email;
+import com.fullcycle.subscription.domain.person.Name;
+import com.fullcycle.subscription.infrastructure.configuration.properties.AccountCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingAccountFromUserIdResolverTest {
+
+    @Mock
+    private AccountGateway accountGateway;
+
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private CachingAccountFromUserIdResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        final var properties = new AccountCacheProperties();
+        properties.setTtl(Duration.ofMinutes(5));
+        properties.setNegativeTtl(Duration.ofSeconds(5));
+        properties.setMaxSize(100);
+
+        this.clock = new MutableClock(Instant.parse("2024-06-10T03:00:00Z"));
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.resolver = new CachingAccountFromUserIdResolver(accountGateway, properties, clock, meterRegistry);
+    }
+
+    @Test
+    public void givenAResolvedAccount_whenCallsApplyAgain_shouldServeFromCache() {
+        // given
+        final var expectedAccount = Fixture.Accounts.john();
+        doReturn(Optional.of(expectedAccount)).when(accountGateway).accountOfUserId(expectedAccount.userId());
+
+        // when
+        resolver.apply(expectedAccount.userId());
+        final var actualAccount = resolver.apply(expectedAccount.userId());
+
+        // then
+        Assertions.assertEquals(expectedAccount.id(), actualAccount.get().id());
+        verify(accountGateway, times(1)).accountOfUserId(any());
+        Assertions.assertEquals(1.0, meterRegistry.counter("auth.account.cache", "result", "hit").count());
+        Assertions.assertEquals(1.0, meterRegistry.counter("auth.account.cache", "result", "miss").count());
+    }
+
+    @Test
+    public void givenAnExpiredEntry_whenCallsApply_shouldReload() {
+        // given
+        final var expectedAccount = Fixture.Accounts.john();
+        doReturn(Optional.of(expectedAccount)).when(accountGateway).accountOfUserId(expectedAccount.userId());
+        resolver.apply(expectedAccount.userId());
+
+        // when
+        clock.advance(Duration.ofMinutes(6));
+        resolver.apply(expectedAccount.userId());
+
+        // then
+        verify(accountGateway, times(2)).accountOfUserId(any());
+    }
+
+    @Test
+    public void givenConcurrentRequestsForTheSameUser_whenCallsApply_shouldQueryOnlyOnce() throws Exception {
+        // given
+        final var expectedAccount = Fixture.Accounts.john();
+        final var loading = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            loading.await(5, TimeUnit.SECONDS);
+            return Optional.of(expectedAccount);
+        }).when(accountGateway).accountOfUserId(expectedAccount.userId());
+
+        // when
+        final var results = new ArrayList<Future<?>>();
+        try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> resolver.apply(expectedAccount.userId())));
+            }
+            Thread.sleep(100);
+            loading.countDown();
+        }
+
+        // then
+        for (var result : results) {
+            Assertions.assertEquals(Optional.of(expectedAccount), result.get());
+        }
+        verify(accountGateway, times(1)).accountOfUserId(any());
+    }
+
+    @Test
+    public void givenAFailedLoad_whenCallsApplyAgain_shouldNotCacheTheFailure() {
+        // given
+        final var expectedAccount = Fixture.Accounts.john();
+        doThrow(new IllegalStateException("db down"))
+                .doReturn(Optional.of(expectedAccount))
+                .when(accountGateway).accountOfUserId(expectedAccount.userId());
+
+        // when
+        Assertions.assertThrows(IllegalStateException.class, () -> resolver.apply(expectedAccount.userId()));
+        final var actualAccount = resolver.apply(expectedAccount.userId());
+
+        // then
+        Assertions.assertTrue(actualAccount.isPresent());
+    }
+
+    @Test
+    public void givenANegativeEntry_whenAccountIsCreated_shouldInvalidateIt() {
+        // given
+        final var expectedAccount = Fixture.Accounts.john();
+        final var aUserId = new UserId("USER");
+        doReturn(Optional.empty())
+                .doReturn(Optional.of(expectedAccount))
+                .when(accountGateway).accountOfUserId(aUserId);
+
+        Assertions.assertTrue(resolver.apply(aUserId).isEmpty());
+        Assertions.assertTrue(resolver.apply(aUserId).isEmpty());
+
+        // when
+        resolver.onAccountEvent(new AccountCreated(expectedAccount));
+        final var actualAccount = resolver.apply(aUserId);
+
+        // then
+        Assertions.assertEquals(expectedAccount.id(), actualAccount.get().id());
+        verify(accountGateway, times(2)).accountOfUserId(aUserId);
+    }
+
+    @Test
+    public void givenResolvedAccounts_whenOneAccountChanges_shouldOnlyInvalidateItsEntry() {
+        // given
+        final var john = Fixture.Accounts.john();
+        final var mary = Account.with(
+                new AccountId("ACC-MARY"),
+                1,
+                new UserId("USER-MARY"),
+                new Email("mary@doe.com"),
+                new Name("Mary", "Doe"),
+                Document.create("12345678900", Document.Cpf.TYPE),
+                new Address("12312123", "123", "", "Brasil")
+        );
+        doReturn(Optional.of(john)).when(accountGateway).accountOfUserId(john.userId());
+        doReturn(Optional.of(mary)).when(accountGateway).accountOfUserId(mary.userId());
+
+        resolver.apply(john.userId());
+        resolver.apply(mary.userId());
+
+        // when
+        resolver.onAccountEvent(new AccountCreated(john));
+        resolver.apply(john.userId());
+        resolver.apply(mary.userId());
+
+        // then
+        verify(accountGateway, times(2)).accountOfUserId(john.userId());
+        verify(accountGateway, times(1)).accountOfUserId(mary.userId());
+    }
+
+    @Test
+    public void givenANegativeEntry_whenNegativeTtlExpires_shouldQueryAgain() {
+        // given
+        final var aUserId = new UserId("USER");
+        doReturn(Optional.empty()).when(accountGateway).accountOfUserId(aUserId);
+        resolver.apply(aUserId);
+
+        // when
+        clock.advance(Duration.ofSeconds(6));
+        resolver.apply(aUserId);
+
+        // then
+        verify(accountGateway, times(2)).accountOfUserId(aUserId);
+    }
+}
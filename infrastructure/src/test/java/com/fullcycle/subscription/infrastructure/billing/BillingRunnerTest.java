@@ -0,0 +1,228 @@
+package com.fullcycle.subscription.infrastructure.billing;
+
+import com.fullcycle.subscription.AbstractRepositoryTest;
+import com.fullcycle.subscription.application.subscription.impl.DefaultChargeSubscription;
+import com.fullcycle.subscription.domain.account.Account;
+import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.account.idp.UserId;
+import com.fullcycle.subscription.domain.money.Money;
+import com.fullcycle.subscription.domain.payment.PaymentGateway;
+import com.fullcycle.subscription.domain.payment.Transaction;
+import com.fullcycle.subscription.domain.person.Address;
+import com.fullcycle.subscription.domain.person.Document;
+import com.fullcycle.subscription.domain.person.Email;
+import com.fullcycle.subscription.domain.person.Name;
+import com.fullcycle.subscription.domain.plan.Plan;
+import com.fullcycle.subscription.domain.plan.PlanId;
+import com.fullcycle.subscription.domain.subscription.Subscription;
+import com.fullcycle.subscription.domain.subscription.SubscriptionId;
+import com.fullcycle.subscription.domain.subscription.status.SubscriptionStatus;
+import com.fullcycle.subscription.domain.utils.IdUtils;
+import com.fullcycle.subscription.infrastructure.configuration.properties.BillingProperties;
+import com.fullcycle.subscription.infrastructure.gateway.repository.BillingRunJdbcRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Charges run on virtual threads with their own connections, so the seeded rows must be committed
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BillingRunnerTest extends AbstractRepositoryTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 10);
+    private static final Double APPROVED_AMOUNT = 20.0;
+    private static final Double DECLINED_AMOUNT = 30.0;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @AfterEach
+    void cleanUp() {
+        JdbcTestUtils.deleteFromTables(jdbcClient, "billing_runs", "events", "subscriptions", "accounts", "plans");
+    }
+
+    @Test
+    public void givenDueSubscriptions_whenCallsRun_shouldChargeEachOneAndPersistTheReport() {
+        // given
+        final var approvedPlan = planRepository().save(Plan.newPlan(new PlanId(1L), "Plus", "Plus plan", true, new Money("BRL", APPROVED_AMOUNT)));
+        final var declinedPlan = planRepository().save(Plan.newPlan(new PlanId(2L), "Premium", "Premium plan", true, new Money("BRL", DECLINED_AMOUNT)));
+
+        final var charged = seedSubscription("charged", approvedPlan, TODAY.minusDays(9), SubscriptionStatus.ACTIVE);
+        final var chargedToday = seedSubscription("today", approvedPlan, TODAY, SubscriptionStatus.ACTIVE);
+        final var incomplete = seedSubscription("incomplete", declinedPlan, TODAY.minusDays(1), SubscriptionStatus.ACTIVE);
+        final var canceled = seedSubscription("canceled", declinedPlan, TODAY.minusDays(9), SubscriptionStatus.ACTIVE);
+        final var notDue = seedSubscription("notdue", approvedPlan, TODAY.plusDays(1), SubscriptionStatus.ACTIVE);
+        final var alreadyCanceled = seedSubscription("gone", approvedPlan, TODAY.minusDays(30), SubscriptionStatus.CANCELED);
+
+        final var processedPayments = new AtomicInteger();
+        final PaymentGateway paymentGateway = payment -> {
+            processedPayments.incrementAndGet();
+            return APPROVED_AMOUNT.equals(payment.amount())
+                    ? Transaction.success(IdUtils.uniqueId())
+                    : Transaction.failure(IdUtils.uniqueId(), "Payment declined");
+        };
+
+        final var clock = Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).plusHours(3).toInstant(), ZoneOffset.UTC);
+        final var chargeSubscription = new DefaultChargeSubscription(accountRepository(), clock, planRepository(), paymentGateway, subscriptionRepository());
+        final var billingRunRepository = new BillingRunJdbcRepository(databaseClient());
+        final var runner = new BillingRunner(subscriptionRepository(), billingRunRepository, chargeSubscription, billingProperties(2, 3), clock);
+
+        // when
+        final var actualReport = runner.run();
+
+        // then
+        Assertions.assertEquals(TODAY, actualReport.referenceDate());
+        Assertions.assertEquals(2, actualReport.charged());
+        Assertions.assertEquals(1, actualReport.incomplete());
+        Assertions.assertEquals(1, actualReport.canceled());
+        Assertions.assertEquals(0, actualReport.skipped());
+        Assertions.assertEquals(0, actualReport.failed());
+        Assertions.assertFalse(actualReport.fenced());
+        Assertions.assertEquals(4, processedPayments.get());
+
+        Assertions.assertEquals(SubscriptionStatus.ACTIVE, statusOf(charged));
+        Assertions.assertEquals(SubscriptionStatus.ACTIVE, statusOf(chargedToday));
+        Assertions.assertEquals(SubscriptionStatus.INCOMPLETE, statusOf(incomplete));
+        Assertions.assertEquals(SubscriptionStatus.CANCELED, statusOf(canceled));
+        Assertions.assertEquals(SubscriptionStatus.ACTIVE, statusOf(notDue));
+        Assertions.assertEquals(SubscriptionStatus.CANCELED, statusOf(alreadyCanceled));
+        Assertions.assertTrue(subscriptionRepository().subscriptionOfId(charged).get().dueDate().isAfter(TODAY));
+
+        final var actualPersistedReport = billingRunRepository.billingRunOfId(actualReport.runId()).get();
+        Assertions.assertEquals(actualReport.charged(), actualPersistedReport.charged());
+        Assertions.assertEquals(actualReport.incomplete(), actualPersistedReport.incomplete());
+        Assertions.assertEquals(actualReport.canceled(), actualPersistedReport.canceled());
+    }
+
+    @Test
+    public void givenAChargeThatThrows_whenCallsRun_shouldCountAsFailedAndKeepCharging() {
+        // given
+        final var plan = planRepository().save(Plan.newPlan(new PlanId(1L), "Plus", "Plus plan", true, new Money("BRL", APPROVED_AMOUNT)));
+        seedSubscription("first", plan, TODAY.minusDays(1), SubscriptionStatus.ACTIVE);
+        seedSubscription("second", plan, TODAY.minusDays(1), SubscriptionStatus.ACTIVE);
+
+        final var calls = new AtomicInteger();
+        final PaymentGateway paymentGateway = payment -> {
+            if (calls.getAndIncrement() == 0) {
+                throw new IllegalStateException("Gateway unavailable");
+            }
+            return Transaction.success(IdUtils.uniqueId());
+        };
+
+        final var clock = Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        final var chargeSubscription = new DefaultChargeSubscription(accountRepository(), clock, planRepository(), paymentGateway, subscriptionRepository());
+        final var runner = new BillingRunner(subscriptionRepository(), new BillingRunJdbcRepository(databaseClient()), chargeSubscription, billingProperties(10, 1), clock);
+
+        // when
+        final var actualReport = runner.run();
+
+        // then
+        Assertions.assertEquals(1, actualReport.charged());
+        Assertions.assertEquals(1, actualReport.failed());
+    }
+
+    @Test
+    public void givenShardedRuns_whenEachShardRuns_shouldChargeEveryDueSubscriptionOnce() {
+        // given
+        final var plan = planRepository().save(Plan.newPlan(new PlanId(1L), "Plus", "Plus plan", true, new Money("BRL", APPROVED_AMOUNT)));
+        for (int i = 0; i < 12; i++) {
+            seedSubscription("due" + i, plan, TODAY.minusDays(1), SubscriptionStatus.ACTIVE);
+        }
+
+        final var processedPayments = new AtomicInteger();
+        final PaymentGateway paymentGateway = payment -> {
+            processedPayments.incrementAndGet();
+            return Transaction.success(IdUtils.uniqueId());
+        };
+
+        final var clock = Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        final var chargeSubscription = new DefaultChargeSubscription(accountRepository(), clock, planRepository(), paymentGateway, subscriptionRepository());
+        final var runner = new BillingRunner(subscriptionRepository(), new BillingRunJdbcRepository(databaseClient()), chargeSubscription, billingProperties(2, 2), clock);
+
+        // when
+        final var actualFirstShard = runner.run(TODAY, 0, 2, () -> true);
+        final var actualSecondShard = runner.run(TODAY, 1, 2, () -> true);
+
+        // then
+        Assertions.assertEquals(12, actualFirstShard.charged() + actualSecondShard.charged());
+        Assertions.assertEquals(12, processedPayments.get());
+    }
+
+    @Test
+    public void givenALostLease_whenCallsRun_shouldStopCharging() {
+        // given
+        final var plan = planRepository().save(Plan.newPlan(new PlanId(1L), "Plus", "Plus plan", true, new Money("BRL", APPROVED_AMOUNT)));
+        for (int i = 0; i < 5; i++) {
+            seedSubscription("due" + i, plan, TODAY.minusDays(1), SubscriptionStatus.ACTIVE);
+        }
+
+        final var processedPayments = new AtomicInteger();
+        final PaymentGateway paymentGateway = payment -> {
+            processedPayments.incrementAndGet();
+            return Transaction.success(IdUtils.uniqueId());
+        };
+
+        final var clock = Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        final var chargeSubscription = new DefaultChargeSubscription(accountRepository(), clock, planRepository(), paymentGateway, subscriptionRepository());
+        final var runner = new BillingRunner(subscriptionRepository(), new BillingRunJdbcRepository(databaseClient()), chargeSubscription, billingProperties(10, 1), clock);
+
+        final var checks = new AtomicInteger();
+
+        // when
+        final var actualReport = runner.run(TODAY, 0, 1, () -> checks.incrementAndGet() <= 2);
+
+        // then
+        Assertions.assertEquals(2, actualReport.charged());
+        Assertions.assertEquals(2, processedPayments.get());
+        Assertions.assertTrue(actualReport.fenced());
+    }
+
+    private SubscriptionId seedSubscription(final String name, final Plan plan, final LocalDate dueDate, final String status) {
+        final var anAccount = accountRepository().save(Account.with(
+                new AccountId(IdUtils.uniqueId()),
+                0,
+                new UserId(IdUtils.uniqueId()),
+                new Email("%s@billing.com".formatted(name)),
+                new Name("John", name),
+                Document.create("12345678900", Document.Cpf.TYPE),
+                new Address("12312123", "123", "", "Brasil")
+        ));
+
+        final var now = Instant.now();
+        final var aSubscription = Subscription.with(
+                new SubscriptionId(IdUtils.uniqueId()),
+                0,
+                anAccount.id(),
+                plan.id(),
+                dueDate,
+                status,
+                null,
+                null,
+                now,
+                now
+        );
+        return subscriptionRepository().save(aSubscription).id();
+    }
+
+    private String statusOf(final SubscriptionId subscriptionId) {
+        return subscriptionRepository().subscriptionOfId(subscriptionId).get().status().value();
+    }
+
+    private static BillingProperties billingProperties(final int chunkSize, final int maxConcurrency) {
+        final var properties = new BillingProperties();
+        properties.setChunkSize(chunkSize);
+        properties.setMaxConcurrency(maxConcurrency);
+        properties.setPaymentType("pix");
+        return properties;
+    }
+}
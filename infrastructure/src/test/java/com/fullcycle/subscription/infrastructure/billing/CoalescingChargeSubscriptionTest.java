@@ -0,0 +1,201 @@
+package com.fullcycle.subscription.infrastructure.billing;
+
+import com.fullcycle.subscription.application.subscription.ChargeSubscription;
+import com.fullcycle.subscription.domain.exceptions.DomainException;
+import com.fullcycle.subscription.domain.payment.Transaction;
+import com.fullcycle.subscription.domain.subscription.SubscriptionId;
+import com.fullcycle.subscription.infrastructure.configuration.properties.ChargeClaimProperties;
+import com.fullcycle.subscription.infrastructure.gateway.repository.ChargeClaimJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingChargeSubscriptionTest {
+
+    @Mock
+    private ChargeClaimJdbcRepository claimRepository;
+
+    private ChargeClaimProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        this.properties = new ChargeClaimProperties();
+        this.properties.setWaitTimeout(Duration.ZERO);
+        this.properties.setPollInterval(Duration.ofMillis(1));
+        this.meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void givenConcurrentChargesOfTheSameAccount_whenExecuted_shouldChargeOnceAndShareTheResult() throws Exception {
+        // given
+        doReturn(true).when(claimRepository).tryClaim(eq("ACC-1"), anyString(), any(), any());
+
+        final var started = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var charges = new AtomicInteger();
+        final var expectedOutput = new Output(new SubscriptionId("SUB-1"), "ACTIVE", LocalDate.now().plusMonths(1), Transaction.success("TX-1"));
+
+        final var chargeSubscription = newChargeSubscription(new ChargeSubscription() {
+            @Override
+            public ChargeSubscription.Output execute(final ChargeSubscription.Input in) {
+                charges.incrementAndGet();
+                started.countDown();
+                await(release);
+                return expectedOutput;
+            }
+        });
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final var first = executor.submit(() -> chargeSubscription.execute(new Input("ACC-1")));
+            Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            final var second = executor.submit(() -> chargeSubscription.execute(new Input("ACC-1")));
+            while (meterRegistry.counter("charges.coalesced").count() < 1) {
+                Thread.sleep(5);
+            }
+
+            // when
+            release.countDown();
+
+            // then
+            Assertions.assertSame(expectedOutput, first.get(5, TimeUnit.SECONDS));
+            Assertions.assertSame(expectedOutput, second.get(5, TimeUnit.SECONDS));
+        }
+
+        Assertions.assertEquals(1, charges.get());
+        Assertions.assertEquals(1.0, meterRegistry.counter("charges.coalesced").count());
+        verify(claimRepository, times(1)).tryClaim(eq("ACC-1"), anyString(), any(), any());
+        verify(claimRepository, times(1)).release(eq("ACC-1"), anyString());
+    }
+
+    @Test
+    public void givenConcurrentChargesOfTheSameAccountWithDifferentPayments_whenExecuted_shouldRejectTheSecond() throws Exception {
+        // given
+        doReturn(true).when(claimRepository).tryClaim(eq("ACC-1"), anyString(), any(), any());
+
+        final var started = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var charges = new AtomicInteger();
+        final var expectedOutput = new Output(new SubscriptionId("SUB-1"), "ACTIVE", LocalDate.now().plusMonths(1), Transaction.success("TX-1"));
+
+        final var chargeSubscription = newChargeSubscription(new ChargeSubscription() {
+            @Override
+            public ChargeSubscription.Output execute(final ChargeSubscription.Input in) {
+                charges.incrementAndGet();
+                started.countDown();
+                await(release);
+                return expectedOutput;
+            }
+        });
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final var first = executor.submit(() -> chargeSubscription.execute(new Input("ACC-1")));
+            Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // when
+            final var actualError = Assertions.assertThrows(
+                    DomainException.class,
+                    () -> chargeSubscription.execute(new Input("ACC-1", "credit_card", "TOKEN-1"))
+            );
+            release.countDown();
+
+            // then
+            Assertions.assertEquals("A charge for account ACC-1 is already in progress with a different payment method", actualError.getMessage());
+            Assertions.assertSame(expectedOutput, first.get(5, TimeUnit.SECONDS));
+        }
+
+        Assertions.assertEquals(1, charges.get());
+        Assertions.assertEquals(0.0, meterRegistry.counter("charges.coalesced").count());
+    }
+
+    @Test
+    public void givenAClaimHeldByAnotherNode_whenWaitTimesOut_shouldFailWithoutCharging() {
+        // given
+        doReturn(false).when(claimRepository).tryClaim(eq("ACC-1"), anyString(), any(), any());
+
+        final var charges = new AtomicInteger();
+        final var chargeSubscription = newChargeSubscription(new ChargeSubscription() {
+            @Override
+            public ChargeSubscription.Output execute(final ChargeSubscription.Input in) {
+                charges.incrementAndGet();
+                return null;
+            }
+        });
+
+        // when
+        final var actualError = Assertions.assertThrows(DomainException.class, () -> chargeSubscription.execute(new Input("ACC-1")));
+
+        // then
+        Assertions.assertEquals("A charge for account ACC-1 is already in progress", actualError.getMessage());
+        Assertions.assertEquals(0, charges.get());
+        Assertions.assertEquals(1.0, meterRegistry.counter("charges.claim.conflicts").count());
+        verify(claimRepository, never()).release(anyString(), anyString());
+    }
+
+    @Test
+    public void givenAFailingCharge_whenExecuted_shouldReleaseTheClaimAndLetTheNextCallRun() {
+        // given
+        doReturn(true).when(claimRepository).tryClaim(eq("ACC-1"), anyString(), any(), any());
+
+        final var charges = new AtomicInteger();
+        final var chargeSubscription = newChargeSubscription(new ChargeSubscription() {
+            @Override
+            public ChargeSubscription.Output execute(final ChargeSubscription.Input in) {
+                if (charges.incrementAndGet() == 1) {
+                    throw new IllegalStateException("gateway down");
+                }
+                return null;
+            }
+        });
+
+        // when
+        Assertions.assertThrows(IllegalStateException.class, () -> chargeSubscription.execute(new Input("ACC-1")));
+        chargeSubscription.execute(new Input("ACC-1"));
+
+        // then
+        Assertions.assertEquals(2, charges.get());
+        verify(claimRepository, times(2)).release(eq("ACC-1"), anyString());
+    }
+
+    private CoalescingChargeSubscription newChargeSubscription(final ChargeSubscription delegate) {
+        return new CoalescingChargeSubscription(delegate, claimRepository, properties, Clock.systemUTC(), meterRegistry);
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    record Input(String accountId, String paymentType, String creditCardToken) implements ChargeSubscription.Input {
+
+        Input(final String accountId) {
+            this(accountId, "pix", null);
+        }
+    }
+
+    record Output(SubscriptionId subscriptionId, String subscriptionStatus, LocalDate subscriptionDueDate,
+                  Transaction paymentTransaction) implements ChargeSubscription.Output {
+    }
+}
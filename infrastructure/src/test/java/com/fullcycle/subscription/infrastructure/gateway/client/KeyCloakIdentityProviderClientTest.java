@@ -10,10 +10,14 @@ import com.fullcycle.subscription.domain.exceptions.InternalErrorException;
 import com.fullcycle.subscription.domain.person.Email;
 import com.fullcycle.subscription.domain.person.Name;
 import com.fullcycle.subscription.infrastructure.authentication.clientcredentials.GetClientCredentials;
+import com.github.tomakehurst.wiremock.http.Fault;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.mockito.Mockito.doReturn;
@@ -157,6 +161,7 @@ class KeycloakIdentityProviderClientTest extends AbstractRestClientTest {
         );
 
         doReturn(expectedAuthorization).when(getClientCredentials).retrieve();
+        doReturn(expectedAuthorization).when(getClientCredentials).renew(expectedAuthorization);
 
         // when
         var actualError = Assertions.assertThrows(InternalErrorException.class, () -> this.client.addUserToGroup(expectedUserId, expectedGroupId));
@@ -164,7 +169,7 @@ class KeycloakIdentityProviderClientTest extends AbstractRestClientTest {
         // then
         Assertions.assertEquals(expectedMessage, actualError.getMessage());
 
-        verify(1, putRequestedFor(urlEqualTo("/admin/realms/test/users/b7071c9e-453e-4fd4-9be7-70461f4aa1d7/groups/GG-123"))
+        verify(2, putRequestedFor(urlEqualTo("/admin/realms/test/users/b7071c9e-453e-4fd4-9be7-70461f4aa1d7/groups/GG-123"))
                 .withHeader("Authorization", equalTo("bearer" + expectedAuthorization))
         );
     }
@@ -215,6 +220,7 @@ class KeycloakIdentityProviderClientTest extends AbstractRestClientTest {
         );
 
         doReturn(expectedAuthorization).when(getClientCredentials).retrieve();
+        doReturn(expectedAuthorization).when(getClientCredentials).renew(expectedAuthorization);
 
         // when
         var actualError = Assertions.assertThrows(InternalErrorException.class, () -> this.client.removeUserFromGroup(expectedUserId, expectedGroupId));
@@ -222,8 +228,121 @@ class KeycloakIdentityProviderClientTest extends AbstractRestClientTest {
         // then
         Assertions.assertEquals(expectedMessage, actualError.getMessage());
 
-        verify(1, deleteRequestedFor(urlEqualTo("/admin/realms/test/users/b7071c9e-453e-4fd4-9be7-70461f4aa1d7/groups/GG-123"))
+        verify(2, deleteRequestedFor(urlEqualTo("/admin/realms/test/users/b7071c9e-453e-4fd4-9be7-70461f4aa1d7/groups/GG-123"))
                 .withHeader("Authorization", equalTo("bearer" + expectedAuthorization))
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    public void givenKeycloakResettingConnections_whenFailureRateCrossesThreshold_shouldFailFastWithoutCallingIt() {
+        // given
+        var expectedGroupId = new GroupId("GG-123");
+        var expectedUserId = new UserId("b7071c9e-453e-4fd4-9be7-70461f4aa1d7");
+        var expectedMessage = "Circuit breaker of keycloak-admin is open [operation:addUserToGroup]";
+        var minimumCalls = 10;
+
+        stubFor(
+                put(urlEqualTo("/admin/realms/test/users/" + expectedUserId.value() + "/groups/" + expectedGroupId.value()))
+                        .willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER))
+        );
+
+        doReturn("token").when(getClientCredentials).retrieve();
+
+        for (int i = 0; i < minimumCalls; i++) {
+            Assertions.assertThrows(ResourceAccessException.class, () -> this.client.addUserToGroup(expectedUserId, expectedGroupId));
+        }
+
+        // when
+        var actualError = Assertions.assertThrows(InternalErrorException.class, () -> this.client.addUserToGroup(expectedUserId, expectedGroupId));
+
+        // then
+        Assertions.assertEquals(expectedMessage, actualError.getMessage());
+        verify(minimumCalls, putRequestedFor(urlEqualTo("/admin/realms/test/users/b7071c9e-453e-4fd4-9be7-70461f4aa1d7/groups/GG-123")));
+    }
+
+    @Test
+    public void givenKeycloakReturning5xx_whenCircuitOpens_shouldAlsoFailFastOnOtherOperations() {
+        // given
+        var expectedGroupId = new GroupId("GG-123");
+        var expectedUserId = new UserId("b7071c9e-453e-4fd4-9be7-70461f4aa1d7");
+        var minimumCalls = 10;
+
+        stubFor(
+                delete(urlEqualTo("/admin/realms/test/users/" + expectedUserId.value() + "/groups/" + expectedGroupId.value()))
+                        .willReturn(aResponse().withStatus(503))
+        );
+
+        doReturn("token").when(getClientCredentials).retrieve();
+
+        for (int i = 0; i < minimumCalls; i++) {
+            Assertions.assertThrows(HttpServerErrorException.class, () -> this.client.removeUserFromGroup(expectedUserId, expectedGroupId));
+        }
+
+        // when
+        var actualError = Assertions.assertThrows(InternalErrorException.class, () -> this.client.addUserToGroup(expectedUserId, expectedGroupId));
+
+        // then
+        Assertions.assertEquals("Circuit breaker of keycloak-admin is open [operation:addUserToGroup]", actualError.getMessage());
+        verify(0, putRequestedFor(anyUrl()));
+    }
+
+    @Test
+    public void givenKeycloakRejectingRequests_whenCallsRepeatedly_shouldNotOpenCircuit() {
+        // given
+        var expectedGroupId = new GroupId("GG-123");
+        var expectedUserId = new UserId("b7071c9e-453e-4fd4-9be7-70461f4aa1d7");
+        var expectedCalls = 15;
+
+        stubFor(
+                put(urlEqualTo("/admin/realms/test/users/" + expectedUserId.value() + "/groups/" + expectedGroupId.value()))
+                        .willReturn(aResponse().withStatus(401))
+        );
+
+        doReturn("").when(getClientCredentials).retrieve();
+        doReturn("").when(getClientCredentials).renew("");
+
+        // when
+        for (int i = 0; i < expectedCalls; i++) {
+            var actualError = Assertions.assertThrows(InternalErrorException.class, () -> this.client.addUserToGroup(expectedUserId, expectedGroupId));
+            Assertions.assertEquals("Error response observed when trying to add user to group", actualError.getMessage());
+        }
+
+        // then
+        verify(expectedCalls * 2, putRequestedFor(urlEqualTo("/admin/realms/test/users/b7071c9e-453e-4fd4-9be7-70461f4aa1d7/groups/GG-123")));
+    }
+
+    @Test
+    public void givenRejectedToken_whenCallsAddUserToGroup_shouldRenewTokenAndRetryOnce() {
+        // given
+        var expectedGroupId = new GroupId("GG-123");
+        var expectedUserId = new UserId("b7071c9e-453e-4fd4-9be7-70461f4aa1d7");
+        var rejectedAuthorization = "old";
+        var expectedAuthorization = "new";
+
+        stubFor(
+                put(urlEqualTo("/admin/realms/test/users/" + expectedUserId.value() + "/groups/" + expectedGroupId.value()))
+                        .withHeader("Authorization", equalTo("bearer " + rejectedAuthorization))
+                        .willReturn(aResponse().withStatus(401))
+        );
+        stubFor(
+                put(urlEqualTo("/admin/realms/test/users/" + expectedUserId.value() + "/groups/" + expectedGroupId.value()))
+                        .withHeader("Authorization", equalTo("bearer " + expectedAuthorization))
+                        .willReturn(aResponse().withStatus(204))
+        );
+
+        doReturn(rejectedAuthorization).when(getClientCredentials).retrieve();
+        doReturn(expectedAuthorization).when(getClientCredentials).renew(rejectedAuthorization);
+
+        // when
+        this.client.addUserToGroup(expectedUserId, expectedGroupId);
+
+        // then
+        Mockito.verify(getClientCredentials, Mockito.times(1)).renew(rejectedAuthorization);
+        verify(1, putRequestedFor(urlEqualTo("/admin/realms/test/users/b7071c9e-453e-4fd4-9be7-70461f4aa1d7/groups/GG-123"))
+                .withHeader("Authorization", equalTo("bearer " + rejectedAuthorization))
+        );
+        verify(1, putRequestedFor(urlEqualTo("/admin/realms/test/users/b7071c9e-453e-4fd4-9be7-70461f4aa1d7/groups/GG-123"))
+                .withHeader("Authorization", equalTo("bearer " + expectedAuthorization))
+        );
+    }
+}
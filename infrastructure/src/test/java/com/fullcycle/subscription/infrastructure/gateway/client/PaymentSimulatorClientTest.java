@@ -0,0 +1,95 @@
+package com.fullcycle.subscription.infrastructure.gateway.client;
+
+import com.fullcycle.subscription.domain.UnitTest;
+import com.fullcycle.subscription.domain.exceptions.InternalErrorException;
+import com.fullcycle.subscription.domain.payment.BillingAddress;
+import com.fullcycle.subscription.domain.payment.CreditCardPayment;
+import com.fullcycle.subscription.domain.payment.PixPayment;
+import com.fullcycle.subscription.infrastructure.configuration.properties.PaymentSimulatorProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+class PaymentSimulatorClientTest extends UnitTest {
+
+    private static final BillingAddress ADDRESS = new BillingAddress("12345678", "10", "", "BR");
+
+    private PaymentSimulatorProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentSimulatorClient client;
+
+    @BeforeEach
+    void setUp() {
+        this.properties = new PaymentSimulatorProperties();
+        this.properties.setSeed(42L);
+        this.properties.setTimeout(Duration.ofMillis(50));
+        this.properties.setPix(new PaymentSimulatorProperties.Profile(0.0, Duration.ZERO, Duration.ZERO, "Pix payment was not confirmed"));
+        this.properties.setCreditCard(new PaymentSimulatorProperties.Profile(1.0, Duration.ZERO, Duration.ZERO, "Not enough funds"));
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.client = new PaymentSimulatorClient(properties, meterRegistry);
+    }
+
+    @Test
+    public void givenFailureRatioPerPaymentType_whenProcessesPayments_shouldApplyTheProfileOfEachType() {
+        // given
+        final var pix = new PixPayment(29.9, "order-1", ADDRESS);
+        final var creditCard = new CreditCardPayment(29.9, "order-2", "token", ADDRESS);
+
+        // when
+        final var actualPix = this.client.processPayment(pix);
+        final var actualCreditCard = this.client.processPayment(creditCard);
+
+        // then
+        Assertions.assertTrue(actualPix.isSuccess());
+        Assertions.assertFalse(actualCreditCard.isSuccess());
+        Assertions.assertEquals("Not enough funds", actualCreditCard.errorMessage());
+        Assertions.assertEquals(1.0, meterRegistry.counter("payment-simulator.payments", "type", "pix", "outcome", "success").count());
+        Assertions.assertEquals(1.0, meterRegistry.counter("payment-simulator.payments", "type", "credit_card", "outcome", "failure").count());
+    }
+
+    @Test
+    public void givenSameOrder_whenProcessedTwice_shouldReturnTheSameTransaction() {
+        // given
+        final var payment = new PixPayment(29.9, "order-1", ADDRESS);
+
+        // when
+        final var actualFirst = this.client.processPayment(payment);
+        final var actualRetry = this.client.processPayment(payment);
+
+        // then
+        Assertions.assertEquals(actualFirst, actualRetry);
+    }
+
+    @Test
+    public void givenTimedOutPayment_whenRetried_shouldReturnTheOutcomeRecordedByTheProvider() {
+        // given
+        this.properties.pix().setTimeoutRatio(1.0);
+        final var payment = new PixPayment(29.9, "order-1", ADDRESS);
+
+        // when
+        Assertions.assertThrows(InternalErrorException.class, () -> this.client.processPayment(payment));
+
+        this.properties.pix().setTimeoutRatio(0.0);
+        final var actualRetry = this.client.processPayment(payment);
+
+        // then
+        Assertions.assertTrue(actualRetry.isSuccess());
+        Assertions.assertEquals(1.0, meterRegistry.counter("payment-simulator.payments", "type", "pix", "outcome", "timeout").count());
+    }
+
+    @Test
+    public void givenLatencyAboveTimeout_whenProcessesPayment_shouldTimeOut() {
+        // given
+        this.properties.setPix(new PaymentSimulatorProperties.Profile(0.0, Duration.ofSeconds(1), Duration.ofSeconds(1), "Pix payment was not confirmed"));
+        final var payment = new PixPayment(29.9, "order-1", ADDRESS);
+
+        // when
+        final var actualError = Assertions.assertThrows(InternalErrorException.class, () -> this.client.processPayment(payment));
+
+        // then
+        Assertions.assertEquals("Payment provider timed out [orderId:order-1]", actualError.getMessage());
+    }
+}
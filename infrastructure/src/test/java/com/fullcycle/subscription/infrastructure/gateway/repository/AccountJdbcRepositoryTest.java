@@ -5,7 +5,9 @@ import com.fullcycle.subscription.domain.account.Account;
 import com.fullcycle.subscription.domain.account.AccountCreated;
 import com.fullcycle.subscription.domain.account.AccountEvent;
 import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.account.AccountSearchQuery;
 import com.fullcycle.subscription.domain.account.idp.UserId;
+import com.fullcycle.subscription.domain.exceptions.DomainException;
 import com.fullcycle.subscription.domain.person.Address;
 import com.fullcycle.subscription.domain.person.Document;
 import com.fullcycle.subscription.domain.person.Email;
@@ -14,6 +16,9 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.context.jdbc.Sql;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class AccountJdbcRepositoryTest extends AbstractRepositoryTest {
@@ -165,4 +170,60 @@ class AccountJdbcRepositoryTest extends AbstractRepositoryTest {
         assertEquals(expectedDocument, actualResponse.document());
         assertEquals(expectedAddress, actualResponse.billingAddress());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void givenManyAccounts_whenPagesThroughWithCursor_shouldSeekInIdOrder() {
+        // given
+        for (var suffix : List.of("C", "A", "E", "B", "D")) {
+            var anId = "0".repeat(31) + suffix;
+            this.accountRepository().save(Account.newAccount(
+                    new AccountId(anId),
+                    new UserId("USER-" + suffix),
+                    new Email("user-%s@gmail.com".formatted(suffix.toLowerCase())),
+                    new Name("John", "Doe"),
+                    new Document.Cpf("12312312332")
+            ));
+        }
+
+        var actualIds = new ArrayList<String>();
+        var actualPages = new ArrayList<Integer>();
+
+        // when
+        String cursor = null;
+        do {
+            var actualPage = this.accountRepository().allAccounts(new AccountSearchQuery(2, cursor));
+            actualPage.data().forEach(it -> actualIds.add(it.id().value().substring(31)));
+            actualPages.add(actualPage.meta().currentPage());
+            assertEquals(5, actualPage.meta().total());
+            cursor = actualPage.meta().nextCursor();
+        } while (cursor != null);
+
+        // then
+        assertEquals(List.of("A", "B", "C", "D", "E"), actualIds);
+        assertEquals(List.of(1, 2, 3), actualPages);
+    }
+
+    @Test
+    public void givenACursorOfAnotherPageSize_whenSearches_shouldThrowDomainException() {
+        // given
+        for (var suffix : List.of("A", "B")) {
+            this.accountRepository().save(Account.newAccount(
+                    new AccountId("0".repeat(31) + suffix),
+                    new UserId("USER-" + suffix),
+                    new Email("user-%s@gmail.com".formatted(suffix.toLowerCase())),
+                    new Name("John", "Doe"),
+                    new Document.Cpf("12312312332")
+            ));
+        }
+        var firstPage = this.accountRepository().allAccounts(new AccountSearchQuery(1, null));
+
+        // when
+        var actualError = Assertions.assertThrows(
+                DomainException.class,
+                () -> this.accountRepository().allAccounts(new AccountSearchQuery(10, firstPage.meta().nextCursor()))
+        );
+
+        // then
+        assertEquals("Pagination cursor does not match the query filters", actualError.getMessage());
+    }
+}
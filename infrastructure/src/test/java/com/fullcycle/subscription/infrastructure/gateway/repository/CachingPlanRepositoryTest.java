@@ -0,0 +1,115 @@
+package com.fullcycle.subscription.infrastructure.gateway.repository;
+
+import com.fullcycle.subscription.AbstractRepositoryTest;
+import com.fullcycle.subscription.domain.money.Money;
+import com.fullcycle.subscription.domain.plan.Plan;
+import com.fullcycle.subscription.domain.plan.PlanCommand;
+import com.fullcycle.subscription.domain.plan.PlanId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+
+class CachingPlanRepositoryTest extends AbstractRepositoryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachingPlanRepository cachingRepository;
+
+    @BeforeEach
+    void setUpCache() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.cachingRepository = new CachingPlanRepository(planRepository(), meterRegistry);
+    }
+
+    @Test
+    @Sql({"classpath:/sql/plans/seed-plan-master.sql"})
+    public void givenACachedCatalog_whenCallsPlanOfIdTwice_shouldLoadOnceAndServeCopies() {
+        // given
+        final var expectedId = new PlanId(1L);
+
+        // when
+        final var firstRead = cachingRepository.planOfId(expectedId).get();
+        firstRead.execute(new PlanCommand.ChangePlan("Changed", "Changed", new Money("BRL", 1.0), true));
+        final var secondRead = cachingRepository.planOfId(expectedId).get();
+
+        // then
+        Assertions.assertEquals("Master", secondRead.name());
+        Assertions.assertEquals(1.0, meterRegistry.counter("plans.cache.reloads").count());
+        Assertions.assertEquals(2.0, meterRegistry.counter("plans.cache", "result", "hit").count());
+    }
+
+    @Test
+    @Sql({"classpath:/sql/plans/seed-plan-master.sql"})
+    public void givenAPlanSavedThroughTheCache_whenTheTransactionCommits_shouldServeTheNewSnapshot() {
+        // given
+        final var expectedId = new PlanId(1L);
+        cachingRepository.planOfId(expectedId);
+
+        // when
+        cachingRepository.save(masterPlus(expectedId));
+        final var beforeCommit = cachingRepository.planOfId(expectedId).get();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // then
+        Assertions.assertEquals("Master", beforeCommit.name());
+        Assertions.assertEquals("Master Plus", cachingRepository.planOfId(expectedId).get().name());
+    }
+
+    @Test
+    @Sql({"classpath:/sql/plans/seed-plan-master.sql"})
+    public void givenAPlanSavedThroughTheCache_whenTheTransactionRollsBack_shouldKeepTheCommittedSnapshot() {
+        // given
+        final var expectedId = new PlanId(1L);
+        cachingRepository.planOfId(expectedId);
+
+        // when
+        cachingRepository.save(masterPlus(expectedId));
+        TestTransaction.end();
+
+        // then
+        Assertions.assertEquals("Master", cachingRepository.planOfId(expectedId).get().name());
+        Assertions.assertEquals(1.0, meterRegistry.counter("plans.cache.reloads").count());
+    }
+
+    @Test
+    @Sql({"classpath:/sql/plans/seed-plan-master.sql"})
+    public void givenAPlanChangedByAnotherNode_whenPollDetectsNewVersion_shouldReloadTheSnapshot() {
+        // given
+        final var expectedId = new PlanId(1L);
+        cachingRepository.allPlans();
+
+        planRepository().save(masterPlus(expectedId));
+
+        // when
+        cachingRepository.refreshIfChanged();
+
+        // then
+        Assertions.assertEquals("Master Plus", cachingRepository.planOfId(expectedId).get().name());
+        Assertions.assertEquals(2.0, meterRegistry.counter("plans.cache.reloads").count());
+    }
+
+    @Test
+    @Sql({"classpath:/sql/plans/seed-plan-master.sql"})
+    public void givenAnUnchangedCatalog_whenPollRuns_shouldNotReload() {
+        // given
+        cachingRepository.allPlans();
+
+        // when
+        cachingRepository.refreshIfChanged();
+
+        // then
+        Assertions.assertEquals(1.0, meterRegistry.counter("plans.cache.reloads").count());
+    }
+
+    private static Plan masterPlus(final PlanId anId) {
+        final var now = Instant.now();
+        return Plan.with(anId, 1, "Master Plus", "O plano master com mais benefícios", true, new Money("BRL", 30.0), now, now, null);
+    }
+}
@@ -0,0 +1,55 @@
+package com.fullcycle.subscription.infrastructure.gateway.repository;
+
+import com.fullcycle.subscription.AbstractRepositoryTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+class ChargeClaimJdbcRepositoryTest extends AbstractRepositoryTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-10T03:00:00Z");
+    private static final Duration TTL = Duration.ofSeconds(60);
+
+    private ChargeClaimJdbcRepository claimRepository;
+
+    @BeforeEach
+    void setUpRepository() {
+        this.claimRepository = new ChargeClaimJdbcRepository(databaseClient());
+    }
+
+    @Test
+    public void givenAClaimedAccount_whenAnotherOwnerTries_shouldBeRejectedUntilReleased() {
+        // given
+        Assertions.assertTrue(claimRepository.tryClaim("ACC-1", "node-a", NOW, NOW.plus(TTL)));
+
+        // when
+        final var actualWhileHeld = claimRepository.tryClaim("ACC-1", "node-b", NOW.plusSeconds(1), NOW.plusSeconds(1).plus(TTL));
+        claimRepository.release("ACC-1", "node-b");
+        final var actualAfterForeignRelease = claimRepository.tryClaim("ACC-1", "node-b", NOW.plusSeconds(2), NOW.plusSeconds(2).plus(TTL));
+        claimRepository.release("ACC-1", "node-a");
+        final var actualAfterRelease = claimRepository.tryClaim("ACC-1", "node-b", NOW.plusSeconds(3), NOW.plusSeconds(3).plus(TTL));
+
+        // then
+        Assertions.assertFalse(actualWhileHeld);
+        Assertions.assertFalse(actualAfterForeignRelease);
+        Assertions.assertTrue(actualAfterRelease);
+        Assertions.assertTrue(claimRepository.tryClaim("ACC-2", "node-b", NOW, NOW.plus(TTL)));
+    }
+
+    @Test
+    public void givenAnExpiredClaim_whenAnotherOwnerTries_shouldTakeItOver() {
+        // given
+        Assertions.assertTrue(claimRepository.tryClaim("ACC-1", "node-a", NOW, NOW.plus(TTL)));
+
+        // when
+        final var later = NOW.plus(TTL).plusSeconds(1);
+        final var actualTakeOver = claimRepository.tryClaim("ACC-1", "node-b", later, later.plus(TTL));
+
+        // then
+        Assertions.assertTrue(actualTakeOver);
+        Assertions.assertFalse(claimRepository.tryClaim("ACC-1", "node-a", later, later.plus(TTL)));
+    }
+}
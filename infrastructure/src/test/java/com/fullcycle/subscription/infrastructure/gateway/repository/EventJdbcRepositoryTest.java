@@ -0,0 +1,151 @@
+package com.fullcycle.subscription.infrastructure.gateway.repository;
+
+import com.fullcycle.subscription.AbstractRepositoryTest;
+import com.fullcycle.subscription.domain.Fixture;
+import com.fullcycle.subscription.domain.subscription.*;
+import com.fullcycle.subscription.infrastructure.jdbc.DatabaseClient;
+import com.fullcycle.subscription.infrastructure.jdbc.RowMap;
+import com.fullcycle.subscription.infrastructure.json.EventFormat;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+class EventJdbcRepositoryTest extends AbstractRepositoryTest {
+
+    @Test
+    public void givenAggregateWithManyEvents_whenSaved_shouldWriteAllEventsInOneStatement() {
+        // given
+        var countingClient = new CountingDatabaseClient(databaseClient());
+        var eventRepository = new EventJdbcRepository(countingClient);
+        var subscriptionRepository = new SubscriptionJdbcRepository(countingClient, eventRepository);
+
+        var aSubscription = Fixture.Subscriptions.johns();
+        aSubscription.execute(new SubscriptionCommand.IncompleteSubscription("No funds", "TRX-1"));
+        aSubscription.execute(new SubscriptionCommand.CancelSubscription());
+
+        Assertions.assertEquals(3, aSubscription.domainEvents().size());
+
+        // when
+        subscriptionRepository.save(aSubscription);
+
+        // then
+        Assertions.assertEquals(1, countingClient.updates);
+        Assertions.assertEquals(1, countingClient.batches);
+
+        var actualEvents = eventRepository().allEventsOfAggregate(aSubscription.id().value(), SubscriptionEvent.TYPE);
+        Assertions.assertEquals(3, actualEvents.size());
+        Assertions.assertInstanceOf(SubscriptionCreated.class, actualEvents.get(0));
+        Assertions.assertInstanceOf(SubscriptionIncomplete.class, actualEvents.get(1));
+    }
+
+    @Test
+    public void givenNoEvents_whenCallsSaveAll_shouldNotHitTheDatabase() {
+        // given
+        var countingClient = new CountingDatabaseClient(databaseClient());
+        var eventRepository = new EventJdbcRepository(countingClient);
+
+        // when
+        eventRepository.saveAll(List.of());
+
+        // then
+        Assertions.assertEquals(0, countingClient.updates);
+        Assertions.assertEquals(0, countingClient.batches);
+    }
+
+    @Test
+    public void givenEventsWrittenAsJson_whenReencodedToSmile_shouldStillBeReadable() {
+        // given
+        var smileRepository = new EventJdbcRepository(databaseClient(), EventFormat.SMILE);
+
+        var aSubscription = Fixture.Subscriptions.johns();
+        aSubscription.execute(new SubscriptionCommand.CancelSubscription());
+        var expectedEvents = aSubscription.domainEvents();
+
+        eventRepository().saveAll(expectedEvents);
+
+        // when
+        var actualMigrated = smileRepository.reencode(EventFormat.SMILE, 10);
+
+        // then
+        Assertions.assertEquals(2, actualMigrated);
+        Assertions.assertEquals(0, smileRepository.reencode(EventFormat.SMILE, 10));
+        Assertions.assertEquals(List.of("smile"), databaseClient().query("SELECT DISTINCT event_format FROM events", rs -> rs.getString("event_format")));
+
+        Assertions.assertEquals(expectedEvents, eventRepository().allEventsOfAggregate(aSubscription.id().value(), SubscriptionEvent.TYPE));
+    }
+
+    @Test
+    public void givenMixedFormats_whenQueriesAggregate_shouldDecodeEveryRow() {
+        // given
+        var smileRepository = new EventJdbcRepository(databaseClient(), EventFormat.SMILE);
+
+        var aSubscription = Fixture.Subscriptions.johns();
+        var created = aSubscription.domainEvents();
+        eventRepository().saveAll(created);
+
+        aSubscription.execute(new SubscriptionCommand.CancelSubscription());
+        var canceled = aSubscription.domainEvents().subList(1, 2);
+        smileRepository.saveAll(canceled);
+
+        // when
+        var actualEvents = eventRepository().allEventsOfAggregate(aSubscription.id().value(), SubscriptionEvent.TYPE);
+
+        // then
+        Assertions.assertEquals(2, actualEvents.size());
+        Assertions.assertEquals(created.getFirst(), actualEvents.get(0));
+        Assertions.assertEquals(canceled.getFirst(), actualEvents.get(1));
+    }
+
+    static class CountingDatabaseClient implements DatabaseClient {
+
+        private final DatabaseClient target;
+        private int updates;
+        private int batches;
+
+        CountingDatabaseClient(final DatabaseClient target) {
+            this.target = target;
+        }
+
+        @Override
+        public <T> Optional<T> queryOne(String sql, Map<String, Object> params, RowMap<T> mapper) {
+            return target.queryOne(sql, params, mapper);
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMap<T> mapper) {
+            return target.query(sql, mapper);
+        }
+
+        @Override
+        public <T> List<T> query(String sql, Map<String, Object> params, RowMap<T> mapper) {
+            return target.query(sql, params, mapper);
+        }
+
+        @Override
+        public <T> Stream<T> stream(String sql, Map<String, Object> params, RowMap<T> mapper, int fetchSize) {
+            return target.stream(sql, params, mapper, fetchSize);
+        }
+
+        @Override
+        public int update(String sql, Map<String, Object> params) {
+            updates++;
+            return target.update(sql, params);
+        }
+
+        @Override
+        public Number insert(String sql, Map<String, Object> params) {
+            updates++;
+            return target.insert(sql, params);
+        }
+
+        @Override
+        public int[] batchUpdate(String sql, List<Map<String, Object>> batchParams) {
+            batches++;
+            return target.batchUpdate(sql, batchParams);
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.fullcycle.subscription.infrastructure.gateway.repository;
 import com.fullcycle.subscription.AbstractRepositoryTest;
 import com.fullcycle.subscription.domain.Fixture;
 import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.exceptions.DomainException;
+import com.fullcycle.subscription.domain.exceptions.OptimisticLockException;
 import com.fullcycle.subscription.domain.plan.PlanId;
 import com.fullcycle.subscription.domain.subscription.*;
 import com.fullcycle.subscription.domain.subscription.status.ActiveSubscriptionStatus;
@@ -12,6 +14,8 @@ import org.springframework.test.context.jdbc.Sql;
 
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -199,4 +203,128 @@ class SubscriptionJdbcRepositoryTest extends AbstractRepositoryTest {
         assertEquals(expectedDueDate, actualEvent.dueDate());
         assertNotNull(actualEvent.occurredOn());
     }
+
+    @Test
+    @Sql({"classpath:/sql/subscriptions/seed-subscription-johndoe.sql"})
+    public void givenAStaleSubscription_whenSaves_shouldThrowOptimisticLockException() {
+        // given
+        var expectedId = new SubscriptionId("5783bdbcbb2347eb8883e969f14d350c");
+
+        var winner = this.subscriptionRepository().subscriptionOfId(expectedId).get();
+        var loser = this.subscriptionRepository().subscriptionOfId(expectedId).get();
+
+        winner.execute(new SubscriptionCommand.CancelSubscription());
+        this.subscriptionRepository().save(winner);
+
+        loser.execute(new SubscriptionCommand.CancelSubscription());
+
+        // when
+        var actualException = Assertions.assertThrows(OptimisticLockException.class, () -> this.subscriptionRepository().save(loser));
+
+        // then
+        assertEquals("Subscription", actualException.aggregateType());
+        assertEquals(expectedId.value(), actualException.aggregateId());
+        assertEquals(1, actualException.version());
+        assertEquals(2, this.subscriptionRepository().subscriptionOfId(expectedId).get().version());
+    }
+
+    @Test
+    public void givenManySubscriptions_whenPagesThroughWithCursor_shouldSeekInDueDateAndIdOrder() {
+        // given
+        var baseDate = LocalDate.of(2024, 5, 1);
+        newSubscription("E", baseDate.plusDays(2), ActiveSubscriptionStatus.ACTIVE);
+        newSubscription("A", baseDate, ActiveSubscriptionStatus.ACTIVE);
+        newSubscription("C", baseDate.plusDays(1), ActiveSubscriptionStatus.CANCELED);
+        newSubscription("B", baseDate.plusDays(1), ActiveSubscriptionStatus.ACTIVE);
+        newSubscription("D", baseDate.plusDays(1), ActiveSubscriptionStatus.ACTIVE);
+
+        var actualIds = new ArrayList<String>();
+        var actualPages = new ArrayList<Integer>();
+
+        // when
+        String cursor = null;
+        do {
+            var actualPage = this.subscriptionRepository().allSubscriptions(new SubscriptionSearchQuery(2, cursor, null, null));
+            actualPage.data().forEach(it -> actualIds.add(it.id().value()));
+            actualPages.add(actualPage.meta().currentPage());
+            assertEquals(5, actualPage.meta().total());
+            cursor = actualPage.meta().nextCursor();
+        } while (cursor != null);
+
+        // then
+        assertEquals(List.of(idOf("A"), idOf("B"), idOf("C"), idOf("D"), idOf("E")), actualIds);
+        assertEquals(List.of(1, 2, 3), actualPages);
+    }
+
+    @Test
+    public void givenManySubscriptions_whenFiltersByStatus_shouldOnlyReturnMatchingOnes() {
+        // given
+        var baseDate = LocalDate.of(2024, 5, 1);
+        newSubscription("A", baseDate, ActiveSubscriptionStatus.ACTIVE);
+        newSubscription("B", baseDate, ActiveSubscriptionStatus.CANCELED);
+        newSubscription("C", baseDate.plusDays(1), ActiveSubscriptionStatus.ACTIVE);
+
+        // when
+        var firstPage = this.subscriptionRepository().allSubscriptions(new SubscriptionSearchQuery(1, null, ActiveSubscriptionStatus.ACTIVE, new PlanId(1L)));
+        var secondPage = this.subscriptionRepository().allSubscriptions(new SubscriptionSearchQuery(1, firstPage.meta().nextCursor(), ActiveSubscriptionStatus.ACTIVE, new PlanId(1L)));
+
+        // then
+        assertEquals(2, firstPage.meta().total());
+        assertEquals(idOf("A"), firstPage.data().getFirst().id().value());
+        assertEquals(idOf("C"), secondPage.data().getFirst().id().value());
+        assertNull(secondPage.meta().nextCursor());
+    }
+
+    @Test
+    public void givenAnInvalidCursor_whenSearches_shouldThrowDomainException() {
+        Assertions.assertThrows(DomainException.class, () -> this.subscriptionRepository().allSubscriptions(new SubscriptionSearchQuery(10, "not-a-cursor", null, null)));
+    }
+
+    @Test
+    public void givenACursorOfAnotherFilter_whenSearches_shouldThrowDomainException() {
+        // given
+        var baseDate = LocalDate.of(2024, 5, 1);
+        newSubscription("A", baseDate, ActiveSubscriptionStatus.ACTIVE);
+        newSubscription("B", baseDate, ActiveSubscriptionStatus.ACTIVE);
+
+        var firstPage = this.subscriptionRepository().allSubscriptions(new SubscriptionSearchQuery(1, null, ActiveSubscriptionStatus.ACTIVE, null));
+
+        // when
+        var actualError = Assertions.assertThrows(
+                DomainException.class,
+                () -> this.subscriptionRepository().allSubscriptions(new SubscriptionSearchQuery(1, firstPage.meta().nextCursor(), ActiveSubscriptionStatus.CANCELED, null))
+        );
+
+        // then
+        assertEquals("Pagination cursor does not match the query filters", actualError.getMessage());
+    }
+
+    @Test
+    public void givenManySubscriptions_whenStreamsWithDueDateRangeAndStatus_shouldReturnMatchingOnesInOrder() {
+        // given
+        var baseDate = LocalDate.of(2024, 5, 1);
+        newSubscription("D", baseDate.plusDays(3), ActiveSubscriptionStatus.ACTIVE);
+        newSubscription("A", baseDate.minusDays(1), ActiveSubscriptionStatus.ACTIVE);
+        newSubscription("C", baseDate.plusDays(1), ActiveSubscriptionStatus.ACTIVE);
+        newSubscription("B", baseDate, ActiveSubscriptionStatus.ACTIVE);
+        newSubscription("E", baseDate, ActiveSubscriptionStatus.CANCELED);
+
+        // when
+        final List<String> actualIds;
+        try (var rows = this.subscriptionRepository().streamSubscriptions(baseDate, baseDate.plusDays(3), ActiveSubscriptionStatus.ACTIVE, 2)) {
+            actualIds = rows.map(it -> it.id().value()).toList();
+        }
+
+        // then
+        assertEquals(List.of(idOf("B"), idOf("C")), actualIds);
+    }
+
+    private void newSubscription(final String suffix, final LocalDate dueDate, final String status) {
+        var now = Instant.parse("2024-04-28T10:58:11.111Z");
+        this.subscriptionRepository().save(Subscription.with(new SubscriptionId(idOf(suffix)), 0, new AccountId(idOf("ACC" + suffix)), new PlanId(1L), dueDate, status, null, null, now, now));
+    }
+
+    private static String idOf(final String suffix) {
+        return "0".repeat(32 - suffix.length()) + suffix;
+    }
 }
@@ -0,0 +1,58 @@
+package com.fullcycle.subscription.infrastructure.http;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class HostMetricsInterceptorTest {
+
+    @Test
+    public void givenARequest_whenExecutes_shouldTrackInFlightAndRecordLatencyPerHost() throws Exception {
+        // given
+        var registry = new SimpleMeterRegistry();
+        var interceptor = new HostMetricsInterceptor("keycloak-admin", registry);
+        var request = new MockClientHttpRequest(HttpMethod.PUT, URI.create("http://keycloak:8443/admin/users/1/groups/2"));
+        var activeDuringCall = new AtomicReference<Double>();
+
+        // when
+        interceptor.intercept(request, new byte[0], (req, body) -> {
+            activeDuringCall.set(registry.get("http.client.host.active").tag("host", "keycloak:8443").gauge().value());
+            return new MockClientHttpResponse(new byte[0], HttpStatus.NO_CONTENT);
+        });
+
+        // then
+        Assertions.assertEquals(1.0, activeDuringCall.get());
+        Assertions.assertEquals(0.0, registry.get("http.client.host.active").tag("host", "keycloak:8443").gauge().value());
+
+        var timer = registry.get("http.client.host.requests")
+                .tags("client", "keycloak-admin", "host", "keycloak:8443", "method", "PUT", "status", "204")
+                .timer();
+        Assertions.assertEquals(1, timer.count());
+    }
+
+    @Test
+    public void givenAnIOError_whenExecutes_shouldRecordItAndRethrow() {
+        // given
+        var registry = new SimpleMeterRegistry();
+        var interceptor = new HostMetricsInterceptor("keycloak", registry);
+        var request = new MockClientHttpRequest(HttpMethod.POST, URI.create("http://keycloak/realms/test/token"));
+
+        // when
+        Assertions.assertThrows(IOException.class, () -> interceptor.intercept(request, new byte[0], (req, body) -> {
+            throw new IOException("connection reset");
+        }));
+
+        // then
+        var timer = registry.get("http.client.host.requests").tags("host", "keycloak", "status", "IO_ERROR").timer();
+        Assertions.assertEquals(1, timer.count());
+        Assertions.assertEquals(0.0, registry.get("http.client.host.active").gauge().value());
+    }
+}
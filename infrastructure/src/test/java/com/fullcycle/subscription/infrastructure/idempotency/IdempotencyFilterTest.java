@@ -0,0 +1,159 @@
+package com.fullcycle.subscription.infrastructure.idempotency;
+
+import com.fullcycle.subscription.AbstractRepositoryTest;
+import com.fullcycle.subscription.MutableClock;
+import com.fullcycle.subscription.infrastructure.configuration.properties.IdempotencyProperties;
+import com.fullcycle.subscription.infrastructure.gateway.repository.IdempotencyKeyJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class IdempotencyFilterTest extends AbstractRepositoryTest {
+
+    private MutableClock clock;
+    private IdempotencyStore store;
+    private IdempotencyFilter filter;
+    private AtomicInteger invocations;
+
+    @BeforeEach
+    void setUpFilter() {
+        this.clock = new MutableClock(Instant.parse("2024-06-10T03:00:00Z"));
+        this.store = new IdempotencyStore(new IdempotencyKeyJdbcRepository(databaseClient()), new IdempotencyProperties(), clock, new SimpleMeterRegistry());
+        this.filter = new IdempotencyFilter(store, new IdempotencyProperties());
+        this.invocations = new AtomicInteger();
+    }
+
+    @Test
+    public void givenACompletedRequest_whenRetriedWithSameKey_shouldReplayWithoutInvokingTheChain() throws Exception {
+        // given
+        final var first = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", "{\"plan_id\":1}"), first, created("SUB-1"));
+
+        // when
+        final var actualResponse = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", "{\"plan_id\":1}"), actualResponse, created("SUB-2"));
+
+        // then
+        Assertions.assertEquals(1, invocations.get());
+        Assertions.assertEquals(201, actualResponse.getStatus());
+        Assertions.assertEquals("/subscriptions/SUB-1", actualResponse.getHeader(HttpHeaders.LOCATION));
+        Assertions.assertEquals("true", actualResponse.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+        Assertions.assertEquals(first.getContentAsString(), actualResponse.getContentAsString());
+    }
+
+    @Test
+    public void givenACompletedRequest_whenNearCacheExpires_shouldReplayFromTheTable() throws Exception {
+        // given
+        filter.doFilter(request("key-1", "{\"plan_id\":1}"), new MockHttpServletResponse(), created("SUB-1"));
+        clock.advance(Duration.ofMinutes(10));
+
+        // when
+        final var actualResponse = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", "{\"plan_id\":1}"), actualResponse, created("SUB-2"));
+
+        // then
+        Assertions.assertEquals(1, invocations.get());
+        Assertions.assertEquals("{\"subscription_id\":\"SUB-1\"}", actualResponse.getContentAsString());
+    }
+
+    @Test
+    public void givenAUsedKey_whenRetriedWithDifferentBody_shouldReturnUnprocessableEntity() throws Exception {
+        // given
+        filter.doFilter(request("key-1", "{\"plan_id\":1}"), new MockHttpServletResponse(), created("SUB-1"));
+
+        // when
+        final var actualResponse = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", "{\"plan_id\":2}"), actualResponse, created("SUB-2"));
+
+        // then
+        Assertions.assertEquals(1, invocations.get());
+        Assertions.assertEquals(422, actualResponse.getStatus());
+    }
+
+    @Test
+    public void givenAKeyInProgress_whenRetried_shouldReturnConflict() throws Exception {
+        // given
+        final var actualResponse = new MockHttpServletResponse();
+        final FilterChain reentrant = (req, res) -> filter.doFilter(request("key-1", "{\"plan_id\":1}"), actualResponse, created("SUB-2"));
+
+        // when
+        filter.doFilter(request("key-1", "{\"plan_id\":1}"), new MockHttpServletResponse(), reentrant);
+
+        // then
+        Assertions.assertEquals(0, invocations.get());
+        Assertions.assertEquals(409, actualResponse.getStatus());
+        Assertions.assertEquals("120", actualResponse.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    public void givenAKeyLeftInProgressByACrash_whenRetriedAfterTheProcessingLease_shouldInvokeTheChainAgain() throws Exception {
+        // given
+        final var whileLeased = new MockHttpServletResponse();
+        final FilterChain crashing = (req, res) -> {
+            // the instance dies before the response is stored or the key released
+            filter.doFilter(request("key-1", "{\"plan_id\":1}"), whileLeased, created("SUB-1"));
+            throw new Error("crash");
+        };
+        Assertions.assertThrows(Error.class, () -> filter.doFilter(request("key-1", "{\"plan_id\":1}"), new MockHttpServletResponse(), crashing));
+        clock.advance(Duration.ofMinutes(3));
+
+        // when
+        final var actualResponse = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", "{\"plan_id\":1}"), actualResponse, created("SUB-2"));
+
+        // then
+        Assertions.assertEquals(409, whileLeased.getStatus());
+        Assertions.assertEquals(1, invocations.get());
+        Assertions.assertEquals(201, actualResponse.getStatus());
+        Assertions.assertEquals("/subscriptions/SUB-2", actualResponse.getHeader(HttpHeaders.LOCATION));
+    }
+
+    @Test
+    public void givenAServerError_whenRetried_shouldInvokeTheChainAgain() throws Exception {
+        // given
+        final FilterChain failing = (req, res) -> ((HttpServletResponse) res).setStatus(503);
+        filter.doFilter(request("key-1", "{\"plan_id\":1}"), new MockHttpServletResponse(), failing);
+
+        // when
+        final var actualResponse = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", "{\"plan_id\":1}"), actualResponse, created("SUB-1"));
+
+        // then
+        Assertions.assertEquals(1, invocations.get());
+        Assertions.assertEquals(201, actualResponse.getStatus());
+        Assertions.assertNull(actualResponse.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+    }
+
+    private FilterChain created(final String subscriptionId) {
+        return (req, res) -> {
+            invocations.incrementAndGet();
+            Assertions.assertEquals("{\"plan_id\":1}", new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+
+            final var response = (HttpServletResponse) res;
+            response.setStatus(201);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setHeader(HttpHeaders.LOCATION, "/subscriptions/" + subscriptionId);
+            response.getOutputStream().write("{\"subscription_id\":\"%s\"}".formatted(subscriptionId).getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private static MockHttpServletRequest request(final String key, final String body) {
+        final var request = new MockHttpServletRequest("POST", "/subscriptions");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, key);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
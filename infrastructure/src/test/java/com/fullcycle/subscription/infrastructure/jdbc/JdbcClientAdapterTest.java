@@ -0,0 +1,63 @@
+package com.fullcycle.subscription.infrastructure.jdbc;
+
+import com.fullcycle.subscription.AbstractRepositoryTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class JdbcClientAdapterTest extends AbstractRepositoryTest {
+
+    private static final String INSERT_PLAN = """
+            INSERT INTO plans (version, name, description, active, currency, amount, created_at, updated_at)
+            VALUES (1, :name, 'description', true, 'BRL', :amount, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            """;
+
+    @Test
+    public void givenManyRows_whenCallsBatchUpdate_shouldInsertAllOfThem() {
+        // given
+        var expectedRows = 50;
+
+        // when
+        var actualResult = databaseClient().batchUpdate(INSERT_PLAN, plans(expectedRows));
+
+        // then
+        Assertions.assertEquals(expectedRows, actualResult.length);
+        Assertions.assertEquals(expectedRows, countPlans());
+    }
+
+    @Test
+    public void givenManyRows_whenCallsStream_shouldWalkAllRowsInOrder() {
+        // given
+        var expectedRows = 250;
+        databaseClient().batchUpdate(INSERT_PLAN, plans(expectedRows));
+
+        var sql = "SELECT name, amount FROM plans WHERE amount >= :minAmount ORDER BY amount";
+        var params = Map.<String, Object>of("minAmount", 10);
+
+        // when
+        List<String> actualNames;
+        try (var stream = databaseClient().stream(sql, params, rs -> rs.getString("name"), 50)) {
+            actualNames = stream.toList();
+        }
+
+        // then
+        Assertions.assertEquals(expectedRows - 10, actualNames.size());
+        Assertions.assertEquals("Plan 10", actualNames.getFirst());
+        Assertions.assertEquals("Plan " + (expectedRows - 1), actualNames.getLast());
+    }
+
+    private static List<Map<String, Object>> plans(final int count) {
+        var batch = new ArrayList<Map<String, Object>>(count);
+        for (int i = 0; i < count; i++) {
+            var params = new HashMap<String, Object>();
+            params.put("name", "Plan " + i);
+            params.put("amount", i);
+            batch.add(params);
+        }
+        return batch;
+    }
+}
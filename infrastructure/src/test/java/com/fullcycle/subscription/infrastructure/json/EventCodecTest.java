@@ -0,0 +1,108 @@
+package com.fullcycle.subscription.infrastructure.json;
+
+import com.fullcycle.subscription.domain.DomainEvent;
+import com.fullcycle.subscription.domain.Fixture;
+import com.fullcycle.subscription.domain.account.AccountCreated;
+import com.fullcycle.subscription.domain.subscription.Subscription;
+import com.fullcycle.subscription.domain.subscription.SubscriptionCommand;
+import com.fullcycle.subscription.domain.subscription.SubscriptionCreated;
+import com.fullcycle.subscription.domain.subscription.SubscriptionId;
+import com.fullcycle.subscription.domain.subscription.status.SubscriptionStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Tag("unitTest")
+class EventCodecTest {
+
+    @Test
+    public void givenEveryDomainEvent_whenEncodeAndDecode_shouldRoundTrip() {
+        // given
+        final var expectedEvents = allDomainEvents();
+
+        for (var expectedEvent : expectedEvents) {
+            // when
+            final var actualEvent = EventCodec.decode(EventCodec.eventType(expectedEvent), EventCodec.encode(expectedEvent));
+
+            // then
+            Assertions.assertEquals(expectedEvent, actualEvent);
+        }
+    }
+
+    @Test
+    public void givenEveryDomainEvent_whenEncodeAsSmile_shouldRoundTripWithTypeCode() {
+        // given
+        final var expectedEvents = allDomainEvents();
+
+        for (var expectedEvent : expectedEvents) {
+            // when
+            final var encoded = EventCodec.encode(expectedEvent, EventFormat.SMILE);
+            final var actualEvent = EventCodec.decode(encoded.eventType(), encoded.format(), encoded.data(), encoded.payload());
+
+            // then
+            Assertions.assertEquals(EventCodec.typeCode(expectedEvent), encoded.eventType());
+            Assertions.assertNull(encoded.data());
+            Assertions.assertTrue(encoded.payload().length < EventCodec.encode(expectedEvent).getBytes().length);
+            Assertions.assertEquals(expectedEvent, actualEvent);
+        }
+    }
+
+    @Test
+    public void givenADoubleEncodedPayload_whenDecode_shouldUnwrapTheString() {
+        // given
+        final var expectedEvent = new SubscriptionCreated(Subscription.newSubscription(new SubscriptionId("SUB-1"), Fixture.Accounts.john().id(), Fixture.Plans.plus()));
+        final var doubleEncoded = Json.writeValueAsString(EventCodec.encode(expectedEvent));
+
+        // when
+        final var actualEvent = EventCodec.decode(EventCodec.eventType(expectedEvent), doubleEncoded);
+
+        // then
+        Assertions.assertEquals(expectedEvent, actualEvent);
+    }
+
+    @Test
+    public void givenAPayloadWrittenByJson_whenDecode_shouldMatchReadTree() {
+        // given
+        final var expectedEvent = new AccountCreated(Fixture.Accounts.john());
+        final var payload = Json.writeValueAsString(expectedEvent);
+
+        // when
+        final var actualEvent = EventCodec.decode(EventCodec.eventType(expectedEvent), payload);
+
+        // then
+        Assertions.assertEquals(Json.readTree(payload, AccountCreated.class), actualEvent);
+    }
+
+    @Test
+    public void givenAnUnknownEventType_whenDecode_shouldFail() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EventCodec.decode("com.acme.Unknown", "{}"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EventCodec.decode(String.class.getName(), "{}"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EventCodec.decode("subscription.unknown.v1", EventFormat.SMILE, null, new byte[0]));
+    }
+
+    private static List<DomainEvent> allDomainEvents() {
+        final var now = Instant.now();
+        final var events = new ArrayList<DomainEvent>();
+        events.add(new AccountCreated(Fixture.Accounts.john()));
+        events.addAll(Fixture.Subscriptions.johns().domainEvents());
+
+        for (var cmd : List.of(
+                new SubscriptionCommand.RenewSubscription(Fixture.Plans.plus(), "TX-1"),
+                new SubscriptionCommand.IncompleteSubscription("declined", "TX-1"),
+                new SubscriptionCommand.CancelSubscription()
+        )) {
+            final var aSubscription = Subscription.with(
+                    new SubscriptionId("SUB-1"), 1, Fixture.Accounts.john().id(), Fixture.Plans.plus().id(),
+                    LocalDate.now(), SubscriptionStatus.ACTIVE, now, "TX-0", now, now
+            );
+            aSubscription.execute(cmd);
+            events.addAll(aSubscription.domainEvents());
+        }
+        return events;
+    }
+}
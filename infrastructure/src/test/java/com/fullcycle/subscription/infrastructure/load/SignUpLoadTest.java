@@ -0,0 +1,181 @@
+package com.fullcycle.subscription.infrastructure.load;
+
+import com.fullcycle.subscription.TimeZoneSetup;
+import com.fullcycle.subscription.infrastructure.authentication.clientcredentials.GetClientCredentials;
+import com.fullcycle.subscription.infrastructure.configuration.WebServerConfig;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.mockito.Mockito.doReturn;
+
+@Tag("loadTest")
+@ExtendWith(TimeZoneSetup.class)
+class SignUpLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SignUpLoadTest.class);
+
+    private static final int WORKERS = 8;
+    private static final int REQUESTS = 400;
+    private static final int CONCURRENCY = 100;
+    private static final int IDP_LATENCY_MS = 150;
+
+    private static final Map<String, Result> RESULTS = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    @AfterAll
+    static void report() {
+        RESULTS.forEach((mode, result) -> log.info("Sign-up load [mode:{}] [requests:{}] [errors:{}] [p50:{}ms] [p99:{}ms] [throughput:{}/s]",
+                mode, result.requests(), result.errors(), result.p50(), result.p99(), "%.1f".formatted(result.throughput())));
+    }
+
+    @Nested
+    @TestPropertySource(properties = "web.virtual-threads=false")
+    class FixedWorkerPool extends LoadScenario {
+
+        @Test
+        public void givenABurstOfSignUps_whenServedByTheWorkerPool_shouldCompleteAll() throws Exception {
+            run("fixed-pool");
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = "web.virtual-threads=true")
+    class VirtualThreads extends LoadScenario {
+
+        @Test
+        public void givenABurstOfSignUps_whenServedByVirtualThreads_shouldCompleteAll() throws Exception {
+            run("virtual-threads");
+        }
+    }
+
+    @ActiveProfiles("test-integration")
+    @AutoConfigureWireMock(port = 0)
+    @SpringBootTest(classes = WebServerConfig.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+    @TestPropertySource(properties = {
+            "server.undertow.threads.worker=" + WORKERS,
+            "spring.datasource.hikari.maximum-pool-size=20",
+            "spring.datasource.hikari.connection-timeout=5000"
+    })
+    abstract static class LoadScenario {
+
+        @LocalServerPort
+        private int port;
+
+        @SpyBean
+        private GetClientCredentials getClientCredentials;
+
+        @BeforeEach
+        void stubIdentityProvider() {
+            WireMock.reset();
+            doReturn("token").when(getClientCredentials).retrieve();
+
+            stubFor(post(urlEqualTo("/admin/realms/test/users"))
+                    .willReturn(aResponse()
+                            .withStatus(201)
+                            .withFixedDelay(IDP_LATENCY_MS)
+                            .withHeader("Location", "http://keycloak.internal/admin/realms/test/users/{{randomValue type='UUID'}}")
+                            .withTransformers("response-template")));
+        }
+
+        void run(final String mode) throws Exception {
+            final var client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            final var uri = URI.create("http://localhost:%d/api/accounts/sign-up".formatted(port));
+
+            final var latencies = Collections.synchronizedList(new ArrayList<Long>());
+            final var futures = new ArrayList<Future<Integer>>();
+            final var permits = new Semaphore(CONCURRENCY);
+
+            final var startedAt = System.nanoTime();
+            try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < REQUESTS; i++) {
+                    final var body = signUpBody(mode, i);
+                    permits.acquire();
+                    futures.add(executor.submit(() -> {
+                        try {
+                            final var request = HttpRequest.newBuilder(uri)
+                                    .header("Content-Type", "application/json")
+                                    .timeout(Duration.ofSeconds(30))
+                                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                                    .build();
+                            final var requestStart = System.nanoTime();
+                            final var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            latencies.add((System.nanoTime() - requestStart) / 1_000_000);
+                            return response.statusCode();
+                        } finally {
+                            permits.release();
+                        }
+                    }));
+                }
+            }
+            final var elapsedMillis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+
+            var errors = 0;
+            for (var future : futures) {
+                if (future.get() >= 300) {
+                    errors++;
+                }
+            }
+
+            final var sorted = latencies.stream().sorted().toList();
+            final var result = new Result(REQUESTS, errors, percentile(sorted, 0.50), percentile(sorted, 0.99), REQUESTS * 1000.0 / elapsedMillis);
+            RESULTS.put(mode, result);
+
+            Assertions.assertEquals(0, errors);
+        }
+
+        private static String signUpBody(final String mode, final int i) {
+            return """
+                    {
+                      "firstname": "Load",
+                      "lastname": "Test",
+                      "email": "%s-%d@load.test",
+                      "password": "123456",
+                      "document_type": "cpf",
+                      "document_number": "12345678900"
+                    }
+                    """.formatted(mode, i);
+        }
+
+        private static long percentile(final List<Long> sorted, final double percentile) {
+            if (sorted.isEmpty()) {
+                return 0;
+            }
+            final var index = (int) Math.ceil(percentile * sorted.size()) - 1;
+            return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+        }
+    }
+
+    record Result(int requests, int errors, long p50, long p99, double throughput) {
+    }
+}
@@ -7,17 +7,28 @@ import com.fullcycle.subscription.domain.UnitTest;
 import com.fullcycle.subscription.domain.account.AccountGateway;
 import com.fullcycle.subscription.domain.account.AccountId;
 import com.fullcycle.subscription.domain.account.idp.UserId;
+import com.fullcycle.subscription.domain.exceptions.DomainException;
+import com.fullcycle.subscription.domain.exceptions.InternalErrorException;
 import com.fullcycle.subscription.domain.person.Document;
+import com.fullcycle.subscription.infrastructure.gateway.repository.SignUpSagaJdbcRepository;
 import com.fullcycle.subscription.infrastructure.rest.models.req.SignUpRequest;
 import com.fullcycle.subscription.infrastructure.rest.models.res.SignUpResponse;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static com.fullcycle.subscription.infrastructure.gateway.repository.SignUpSagaJdbcRepository.COMPLETED;
+import static com.fullcycle.subscription.infrastructure.gateway.repository.SignUpSagaJdbcRepository.FAILED;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class SignUpMediatorTest extends UnitTest {
@@ -30,12 +41,24 @@ class SignUpMediatorTest extends UnitTest {
     @Mock
     private CreateIdpUser createIdpUser;
 
-    @InjectMocks
+    @Mock
+    private SignUpSagaJdbcRepository sagaRepository;
+
+    @Mock
+    private SignUpSagaRecovery sagaRecovery;
+
     private SignUpMediator signUpMediator;
 
     @Captor
     private ArgumentCaptor<CreateAccount.Input> createAccountInputCaptor;
 
+    private final Clock clock = Clock.fixed(Instant.parse("2024-06-10T03:00:00Z"), ZoneOffset.UTC);
+
+    @BeforeEach
+    void setUp() {
+        this.signUpMediator = new SignUpMediator(accountGateway, createAccount, createIdpUser, sagaRepository, sagaRecovery, clock);
+    }
+
     @Test
     void givenValidRequest_whenSignUpSuccessfully_shouldReturnAccountId() {
         // given
@@ -51,10 +74,7 @@ class SignUpMediatorTest extends UnitTest {
         var req = new SignUpRequest(expectedDocumentNumber, expectedDocumentType, expectedPassword, expectedEmail, expectedLastname, expectedFirstname);
 
         when(accountGateway.nextId()).thenReturn(expectedAccountId);
-        when(createIdpUser.execute(any(), any())).thenAnswer(t -> {
-            final Presenter<CreateIdpUser.Output, SignUpRequest> argument = t.getArgument(1);
-            return argument.apply(() -> expectedUserId);
-        });
+        mockIdpUserCreated(expectedUserId);
 
         when(createAccount.execute(any(), any())).thenAnswer(t -> {
             final Presenter<CreateAccount.Output, SignUpResponse> argument = t.getArgument(1);
@@ -72,6 +92,115 @@ class SignUpMediatorTest extends UnitTest {
         var actualInput = createAccountInputCaptor.getValue();
         Assertions.assertEquals(expectedUserId.value(), actualInput.userId());
         Assertions.assertEquals(expectedAccountId.value(), actualInput.accountId());
+
+        verify(sagaRecovery, times(1)).recoverAbandoned(expectedEmail);
+        verify(sagaRepository, times(1)).start(expectedAccountId.value(), expectedEmail, clock.instant());
+        verify(sagaRepository, times(1)).idpUserCreated(expectedAccountId.value(), expectedUserId.value(), clock.instant());
+        verify(sagaRepository, times(1)).finish(expectedAccountId.value(), COMPLETED, null, clock.instant());
+        verify(sagaRecovery, never()).compensate(any(), any(), any());
+    }
+
+    @Test
+    void givenAccountCreationFailure_whenSignUp_shouldDeleteTheIdpUserAndRethrow() {
+        // given
+        var expectedUserId = new UserId("123");
+        var expectedAccountId = new AccountId("456");
+        var expectedError = InternalErrorException.with("Database unavailable");
+
+        when(accountGateway.nextId()).thenReturn(expectedAccountId);
+        mockIdpUserCreated(expectedUserId);
+        when(createAccount.execute(any(), any())).thenThrow(expectedError);
+
+        // when
+        var actualError = Assertions.assertThrows(InternalErrorException.class, () -> this.signUpMediator.signUp(validRequest()));
+
+        // then
+        Assertions.assertSame(expectedError, actualError);
+        verify(sagaRecovery, times(1)).compensate(expectedAccountId.value(), expectedUserId, expectedError);
+        verify(sagaRepository, never()).finish(any(), eq(COMPLETED), any(), any());
+    }
+
+    @Test
+    void givenInvalidDocument_whenSignUp_shouldFailBeforeCreatingTheIdpUser() {
+        // given
+        var req = new SignUpRequest("123", Document.Cpf.TYPE, "123456", "john@doe.com", "Doe", "John");
+
+        // when
+        var actualError = Assertions.assertThrows(DomainException.class, () -> this.signUpMediator.signUp(req));
+
+        // then
+        Assertions.assertEquals("'cpf' is invalid", actualError.getMessage());
+        verify(sagaRepository, never()).start(anyString(), anyString(), any());
+        verify(createIdpUser, never()).execute(any(), any());
+        verify(sagaRecovery, never()).compensate(any(), any(), any());
+        verify(createAccount, never()).execute(any(), any());
+    }
+
+    @Test
+    void givenEmailAlreadyInUse_whenSignUp_shouldDeleteTheIdpUserWithoutCreatingTheAccount() {
+        // given
+        var expectedUserId = new UserId("123");
+        var expectedAccountId = new AccountId("456");
+
+        when(accountGateway.nextId()).thenReturn(expectedAccountId);
+        when(accountGateway.existsAccountOfEmail(any())).thenReturn(true);
+        mockIdpUserCreated(expectedUserId);
+
+        // when
+        var actualError = Assertions.assertThrows(DomainException.class, () -> this.signUpMediator.signUp(validRequest()));
+
+        // then
+        Assertions.assertEquals("Invalid username or password", actualError.getMessage());
+        verify(sagaRecovery, times(1)).compensate(eq(expectedAccountId.value()), eq(expectedUserId), any());
+        verify(createAccount, never()).execute(any(), any());
+    }
+
+    @Test
+    void givenIdpUserRefused_whenSignUp_shouldFailTheSagaWithoutCompensating() {
+        // given
+        var expectedAccountId = new AccountId("456");
+        var expectedError = DomainException.with("Invalid username or password");
+
+        when(accountGateway.nextId()).thenReturn(expectedAccountId);
+        when(createIdpUser.execute(any(), any())).thenThrow(expectedError);
+
+        // when
+        var actualError = Assertions.assertThrows(DomainException.class, () -> this.signUpMediator.signUp(validRequest()));
+
+        // then
+        Assertions.assertSame(expectedError, actualError);
+        verify(sagaRepository, times(1)).finish(expectedAccountId.value(), FAILED, expectedError.getMessage(), clock.instant());
+        verify(sagaRepository, never()).idpUserCreated(anyString(), anyString(), any());
+        verify(sagaRecovery, never()).compensate(any(), any(), any());
+        verify(createAccount, never()).execute(any(), any());
     }
 
-}
\ No newline at end of file
+    @Test
+    void givenIdpUnavailable_whenSignUp_shouldLeaveTheSagaOpenForRecovery() {
+        // given
+        var expectedAccountId = new AccountId("456");
+        var expectedError = InternalErrorException.with("Keycloak is unavailable");
+
+        when(accountGateway.nextId()).thenReturn(expectedAccountId);
+        when(createIdpUser.execute(any(), any())).thenThrow(expectedError);
+
+        // when
+        Assertions.assertThrows(InternalErrorException.class, () -> this.signUpMediator.signUp(validRequest()));
+
+        // then
+        verify(sagaRepository, times(1)).failedAttempt(expectedAccountId.value(), expectedError.getMessage(), clock.instant());
+        verify(sagaRepository, never()).finish(any(), any(), any(), any());
+        verify(sagaRecovery, never()).compensate(any(), any(), any());
+    }
+
+    private void mockIdpUserCreated(final UserId userId) {
+        when(createIdpUser.execute(any(), any())).thenAnswer(t -> {
+            final Presenter<CreateIdpUser.Output, SignUpRequest> argument = t.getArgument(1);
+            return argument.apply(() -> userId);
+        });
+    }
+
+    private static SignUpRequest validRequest() {
+        return new SignUpRequest("11122233344", Document.Cpf.TYPE, "123456", "john@doe.com", "Doe", "John");
+    }
+}
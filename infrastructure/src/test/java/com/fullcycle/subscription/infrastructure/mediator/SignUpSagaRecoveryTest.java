@@ -0,0 +1,105 @@
+package com.fullcycle.subscription.infrastructure.mediator;
+
+import com.fullcycle.subscription.domain.UnitTest;
+import com.fullcycle.subscription.domain.account.Account;
+import com.fullcycle.subscription.domain.account.AccountGateway;
+import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.account.idp.IdentityProviderGateway;
+import com.fullcycle.subscription.domain.account.idp.UserId;
+import com.fullcycle.subscription.domain.exceptions.InternalErrorException;
+import com.fullcycle.subscription.infrastructure.configuration.properties.SignUpSagaProperties;
+import com.fullcycle.subscription.infrastructure.gateway.repository.SignUpSagaJdbcRepository;
+import com.fullcycle.subscription.infrastructure.gateway.repository.SignUpSagaJdbcRepository.SignUpSaga;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static com.fullcycle.subscription.infrastructure.gateway.repository.SignUpSagaJdbcRepository.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SignUpSagaRecoveryTest extends UnitTest {
+
+    @Mock
+    private SignUpSagaJdbcRepository sagaRepository;
+
+    @Mock
+    private AccountGateway accountGateway;
+
+    @Mock
+    private IdentityProviderGateway identityProviderGateway;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2024-06-10T03:00:00Z"), ZoneOffset.UTC);
+
+    private SignUpSagaProperties properties;
+    private SignUpSagaRecovery sagaRecovery;
+
+    @BeforeEach
+    void setUp() {
+        this.properties = new SignUpSagaProperties();
+        this.properties.setMaxAttempts(2);
+        this.sagaRecovery = new SignUpSagaRecovery(sagaRepository, accountGateway, identityProviderGateway, properties, clock);
+    }
+
+    @Test
+    void givenSagaAbandonedDuringKeycloakCall_whenRecovers_shouldLookUpTheUserByAccountAndDeleteIt() {
+        // given
+        final var saga = new SignUpSaga("acc-1", "john@doe.com", STARTED, null, 0, clock.instant().minusSeconds(600));
+
+        when(sagaRepository.staleSagas(clock.instant().minus(properties.staleAfter()), properties.batchSize())).thenReturn(List.of(saga));
+        when(accountGateway.accountOfId(new AccountId("acc-1"))).thenReturn(Optional.empty());
+        when(identityProviderGateway.userIdOfAccount(new AccountId("acc-1"))).thenReturn(Optional.of(new UserId("user-1")));
+
+        // when
+        final var actualPass = this.sagaRecovery.recoverStale();
+
+        // then
+        Assertions.assertEquals(1, actualPass.recovered());
+        verify(identityProviderGateway, times(1)).delete(new UserId("user-1"));
+        verify(sagaRepository, times(1)).finish(eq("acc-1"), eq(COMPENSATED), any(), eq(clock.instant()));
+    }
+
+    @Test
+    void givenSagaWhoseAccountWasCreated_whenRecovers_shouldCompleteItWithoutDeletingTheUser() {
+        // given
+        final var saga = new SignUpSaga("acc-1", "john@doe.com", IDP_USER_CREATED, "user-1", 0, clock.instant().minusSeconds(600));
+
+        when(accountGateway.accountOfId(new AccountId("acc-1"))).thenReturn(Optional.of(mock(Account.class)));
+
+        // when
+        final var actualRecovered = this.sagaRecovery.recover(saga);
+
+        // then
+        Assertions.assertTrue(actualRecovered);
+        verify(sagaRepository, times(1)).finish("acc-1", COMPLETED, null, clock.instant());
+        verify(identityProviderGateway, never()).delete(any());
+    }
+
+    @Test
+    void givenFailingKeycloak_whenRecoveryReachesMaxAttempts_shouldGiveUp() {
+        // given
+        final var firstAttempt = new SignUpSaga("acc-1", "john@doe.com", IDP_USER_CREATED, "user-1", 0, clock.instant().minusSeconds(600));
+        final var lastAttempt = new SignUpSaga("acc-1", "john@doe.com", IDP_USER_CREATED, "user-1", 1, clock.instant().minusSeconds(600));
+
+        when(accountGateway.accountOfId(new AccountId("acc-1"))).thenReturn(Optional.empty());
+        doThrow(InternalErrorException.with("Keycloak is unavailable")).when(identityProviderGateway).delete(new UserId("user-1"));
+
+        // when
+        final var actualFirst = this.sagaRecovery.recover(firstAttempt);
+        final var actualLast = this.sagaRecovery.recover(lastAttempt);
+
+        // then
+        Assertions.assertFalse(actualFirst);
+        Assertions.assertFalse(actualLast);
+        verify(sagaRepository, times(1)).failedAttempt("acc-1", "Keycloak is unavailable", clock.instant());
+        verify(sagaRepository, times(1)).finish("acc-1", FAILED, "Keycloak is unavailable", clock.instant());
+    }
+}
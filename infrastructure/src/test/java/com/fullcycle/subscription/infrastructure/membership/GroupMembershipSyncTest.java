@@ -0,0 +1,165 @@
+package com.fullcycle.subscription.infrastructure.membership;
+
+import com.fullcycle.subscription.AbstractRepositoryTest;
+import com.fullcycle.subscription.MutableClock;
+import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.account.idp.GroupId;
+import com.fullcycle.subscription.domain.account.idp.IdentityProviderGateway;
+import com.fullcycle.subscription.domain.account.idp.User;
+import com.fullcycle.subscription.domain.account.idp.UserId;
+import com.fullcycle.subscription.domain.exceptions.InternalErrorException;
+import com.fullcycle.subscription.infrastructure.configuration.properties.GroupMembershipProperties;
+import com.fullcycle.subscription.infrastructure.gateway.repository.GroupMembershipIntentJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Intents are applied on virtual threads with their own connections, so the recorded rows must be committed
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class GroupMembershipSyncTest extends AbstractRepositoryTest {
+
+    private static final String GROUP = "subscribers";
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-06-10T03:00:00Z"));
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    private GroupMembershipIntentJdbcRepository intentRepository;
+    private RecordingGateway gateway;
+    private GroupMembershipProperties properties;
+    private DeferredGroupMembershipGateway deferredGateway;
+    private GroupMembershipSync sync;
+
+    @BeforeEach
+    void setUpSync() {
+        this.intentRepository = new GroupMembershipIntentJdbcRepository(databaseClient());
+        this.gateway = new RecordingGateway();
+        this.properties = new GroupMembershipProperties();
+        this.properties.setMaxAttempts(2);
+        this.deferredGateway = new DeferredGroupMembershipGateway(gateway, intentRepository, clock);
+        this.sync = new GroupMembershipSync(intentRepository, gateway, properties, clock, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        JdbcTestUtils.deleteFromTables(jdbcClient, "group_membership_intents");
+    }
+
+    @Test
+    public void givenAddThenRemoveOfSameUser_whenSyncs_shouldOnlyApplyTheLatestIntent() {
+        // given
+        deferredGateway.addUserToGroup(new UserId("user-1"), new GroupId(GROUP));
+        deferredGateway.addUserToGroup(new UserId("user-2"), new GroupId(GROUP));
+        deferredGateway.removeUserFromGroup(new UserId("user-1"), new GroupId(GROUP));
+
+        Assertions.assertTrue(gateway.calls.isEmpty());
+
+        // when
+        final var actualPass = sync.syncPending();
+
+        // then
+        Assertions.assertEquals(3, actualPass.scanned());
+        Assertions.assertEquals(2, actualPass.applied());
+        Assertions.assertEquals(0, actualPass.failed());
+        Assertions.assertEquals(2, gateway.calls.size());
+        Assertions.assertTrue(gateway.calls.containsAll(List.of("REMOVE user-1 subscribers", "ADD user-2 subscribers")));
+        Assertions.assertTrue(intentRepository.intentsOf("user-1", GROUP).isEmpty());
+        Assertions.assertTrue(intentRepository.intentsOf("user-2", GROUP).isEmpty());
+    }
+
+    @Test
+    public void givenFailingIdentityProvider_whenSyncs_shouldBackOffAndParkAfterMaxAttempts() {
+        // given
+        gateway.failing = true;
+        deferredGateway.addUserToGroup(new UserId("user-1"), new GroupId(GROUP));
+
+        // when
+        final var actualFirstPass = sync.syncPending();
+        final var actualBeforeBackoff = sync.syncPending();
+
+        clock.advance(Duration.ofMinutes(10));
+        final var actualSecondPass = sync.syncPending();
+
+        // then
+        Assertions.assertEquals(1, actualFirstPass.failed());
+        Assertions.assertEquals(0, actualBeforeBackoff.scanned());
+        Assertions.assertEquals(1, actualSecondPass.failed());
+
+        final var actualIntent = intentRepository.intentsOf("user-1", GROUP).getFirst();
+        Assertions.assertEquals(GroupMembershipIntentJdbcRepository.PARKED, actualIntent.status());
+        Assertions.assertEquals(2, actualIntent.attempts());
+        Assertions.assertEquals(0, sync.syncPending().scanned());
+    }
+
+    @Test
+    public void givenParkedIntent_whenNewerIntentIsApplied_shouldSupersedeIt() {
+        // given
+        gateway.failing = true;
+        properties.setMaxAttempts(1);
+        deferredGateway.addUserToGroup(new UserId("user-1"), new GroupId(GROUP));
+        sync.syncPending();
+
+        gateway.failing = false;
+        deferredGateway.removeUserFromGroup(new UserId("user-1"), new GroupId(GROUP));
+
+        // when
+        final var actualPass = sync.syncPending();
+
+        // then
+        Assertions.assertEquals(1, actualPass.applied());
+        Assertions.assertEquals(List.of("REMOVE user-1 subscribers"), gateway.calls);
+        Assertions.assertTrue(intentRepository.intentsOf("user-1", GROUP).isEmpty());
+    }
+
+    private static class RecordingGateway implements IdentityProviderGateway {
+
+        private final List<String> calls = new CopyOnWriteArrayList<>();
+        private volatile boolean failing;
+
+        @Override
+        public UserId create(final User anUser) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<UserId> userIdOfAccount(final AccountId anAccountId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void delete(final UserId anId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void addUserToGroup(final UserId anId, final GroupId groupId) {
+            call("ADD", anId, groupId);
+        }
+
+        @Override
+        public void removeUserFromGroup(final UserId anId, final GroupId groupId) {
+            call("REMOVE", anId, groupId);
+        }
+
+        private void call(final String action, final UserId anId, final GroupId groupId) {
+            if (failing) {
+                throw InternalErrorException.with("Error response observed when trying to add user to group");
+            }
+            calls.add(action + " " + anId.value() + " " + groupId.value());
+        }
+    }
+}
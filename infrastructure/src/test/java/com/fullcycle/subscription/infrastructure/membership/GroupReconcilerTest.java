@@ -0,0 +1,153 @@
+package com.fullcycle.subscription.infrastructure.membership;
+
+import com.fullcycle.subscription.AbstractRestClientTest;
+import com.fullcycle.subscription.domain.subscription.status.SubscriptionStatus;
+import com.fullcycle.subscription.domain.utils.IdUtils;
+import com.fullcycle.subscription.infrastructure.authentication.clientcredentials.GetClientCredentials;
+import com.fullcycle.subscription.infrastructure.configuration.properties.GroupMembershipProperties;
+import com.fullcycle.subscription.infrastructure.configuration.properties.GroupReconciliationProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.test.jdbc.JdbcTestUtils;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.mockito.Mockito.doReturn;
+
+class GroupReconcilerTest extends AbstractRestClientTest {
+
+    private static final String GROUP = "subscribers";
+    private static final String MEMBERS_URL = "/admin/realms/test/groups/" + GROUP + "/members";
+
+    @SpyBean
+    private GetClientCredentials getClientCredentials;
+
+    @Autowired
+    private GroupReconciler reconciler;
+
+    @Autowired
+    private GroupMembershipProperties membershipProperties;
+
+    @Autowired
+    private GroupReconciliationProperties properties;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @BeforeEach
+    void setUp() {
+        this.membershipProperties.setSubscriberGroupId(GROUP);
+        this.properties.setPageSize(2);
+        this.properties.setCorrectionsPerSecond(0);
+        doReturn("token").when(getClientCredentials).retrieve();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        this.membershipProperties.setSubscriberGroupId(null);
+        this.properties.setPageSize(100);
+        this.properties.setCorrectionsPerSecond(10);
+        this.properties.setDryRun(false);
+        JdbcTestUtils.deleteFromTables(jdbcClient, "subscriptions", "accounts");
+    }
+
+    @Test
+    public void givenDriftBetweenSubscriptionsAndGroup_whenReconciles_shouldAddMissingAndRemoveStaleMembers() {
+        // given
+        final var today = LocalDate.now();
+        seed("u-active", SubscriptionStatus.ACTIVE, today.plusDays(10));
+        seed("u-new", SubscriptionStatus.TRIALING, today.plusDays(30));
+        seed("u-stale", SubscriptionStatus.CANCELED, today.minusDays(1));
+        seed("u-grace", SubscriptionStatus.CANCELED, today.plusDays(5));
+
+        stubMembersPage(0, """
+                [{"id": "u-stale"}, {"id": "u-active"}]
+                """);
+        stubMembersPage(2, """
+                [{"id": "u-grace"}, {"id": "u-staff"}]
+                """);
+        stubMembersPage(4, "[]");
+
+        stubFor(put(urlPathMatching("/admin/realms/test/users/.*/groups/" + GROUP)).willReturn(aResponse().withStatus(204)));
+        stubFor(delete(urlPathMatching("/admin/realms/test/users/.*/groups/" + GROUP)).willReturn(aResponse().withStatus(204)));
+
+        // when
+        final var actualReport = this.reconciler.reconcile();
+
+        // then
+        Assertions.assertEquals(2, actualReport.entitled());
+        Assertions.assertEquals(4, actualReport.members());
+        Assertions.assertEquals(1, actualReport.added());
+        Assertions.assertEquals(1, actualReport.removed());
+        Assertions.assertEquals(0, actualReport.failed());
+        Assertions.assertEquals(2, actualReport.drift());
+
+        verify(3, getRequestedFor(urlPathEqualTo(MEMBERS_URL)).withHeader("Authorization", equalTo("bearer token")));
+        verify(1, putRequestedFor(urlEqualTo("/admin/realms/test/users/u-new/groups/" + GROUP)));
+        verify(1, putRequestedFor(urlPathMatching("/admin/realms/test/users/.*")));
+        verify(1, deleteRequestedFor(urlEqualTo("/admin/realms/test/users/u-stale/groups/" + GROUP)));
+        verify(1, deleteRequestedFor(urlPathMatching("/admin/realms/test/users/.*")));
+    }
+
+    @Test
+    public void givenDryRun_whenReconciles_shouldOnlyReportTheDrift() {
+        // given
+        this.properties.setDryRun(true);
+        seed("u-new", SubscriptionStatus.ACTIVE, LocalDate.now().plusDays(30));
+        stubMembersPage(0, "[]");
+
+        // when
+        final var actualReport = this.reconciler.reconcile();
+
+        // then
+        Assertions.assertEquals(1, actualReport.missing());
+        Assertions.assertEquals(0, actualReport.added());
+        verify(0, putRequestedFor(anyUrl()));
+    }
+
+    private void stubMembersPage(final int first, final String body) {
+        stubFor(
+                get(urlPathEqualTo(MEMBERS_URL))
+                        .withQueryParam("first", equalTo(Integer.toString(first)))
+                        .withQueryParam("max", equalTo("2"))
+                        .willReturn(aResponse()
+                                .withStatus(200)
+                                .withHeader("Content-Type", "application/json")
+                                .withBody(body)
+                        )
+        );
+    }
+
+    private void seed(final String userId, final String status, final LocalDate dueDate) {
+        final var accountId = IdUtils.uniqueId();
+        final var now = Timestamp.from(Instant.now());
+
+        this.jdbcClient.sql("""
+                        INSERT INTO accounts (id, version, idp_user_id, email, firstname, lastname, document_number, document_type)
+                        VALUES (:id, 0, :userId, :email, 'John', 'Doe', '12312312312', 'cpf')
+                        """)
+                .param("id", accountId)
+                .param("userId", userId)
+                .param("email", userId + "@test.com")
+                .update();
+
+        this.jdbcClient.sql("""
+                        INSERT INTO subscriptions (id, version, account_id, plan_id, status, created_at, updated_at, due_date)
+                        VALUES (:id, 0, :accountId, 1, :status, :now, :now, :dueDate)
+                        """)
+                .param("id", IdUtils.uniqueId())
+                .param("accountId", accountId)
+                .param("status", status)
+                .param("now", now)
+                .param("dueDate", dueDate)
+                .update();
+    }
+}
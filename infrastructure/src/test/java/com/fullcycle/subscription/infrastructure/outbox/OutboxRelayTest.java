@@ -0,0 +1,68 @@
+package com.fullcycle.subscription.infrastructure.outbox;
+
+import com.fullcycle.subscription.AbstractRepositoryTest;
+import com.fullcycle.subscription.domain.Fixture;
+import com.fullcycle.subscription.domain.subscription.Subscription;
+import com.fullcycle.subscription.domain.subscription.SubscriptionCreated;
+import com.fullcycle.subscription.domain.subscription.SubscriptionId;
+import com.fullcycle.subscription.infrastructure.configuration.properties.OutboxProperties;
+import com.fullcycle.subscription.infrastructure.gateway.repository.EventJdbcRepository.StoredEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class OutboxRelayTest extends AbstractRepositoryTest {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void givenUnprocessedEvents_whenCallsDrain_shouldPublishInOrderAndMarkAsProcessed() {
+        // given
+        var publishedEvents = new ArrayList<StoredEvent>();
+        var meterRegistry = new SimpleMeterRegistry();
+        var relay = new OutboxRelay(eventRepository(), publishedEvents::addAll, outboxProperties(2), transactionManager, meterRegistry);
+
+        var expectedSubscriptionIds = List.of("SUB-1", "SUB-2", "SUB-3");
+        for (var id : expectedSubscriptionIds) {
+            subscriptionRepository().save(Subscription.newSubscription(new SubscriptionId(id), Fixture.Accounts.john().id(), Fixture.Plans.plus()));
+        }
+
+        // when
+        var actualRelayed = relay.drain();
+
+        // then
+        Assertions.assertEquals(3, actualRelayed);
+        Assertions.assertEquals(expectedSubscriptionIds, publishedEvents.stream().map(it -> ((SubscriptionCreated) it.domainEvent()).subscriptionId()).toList());
+        Assertions.assertTrue(eventRepository().claimUnprocessed(10).isEmpty());
+        Assertions.assertEquals(3.0, meterRegistry.counter("outbox.events.published").count());
+    }
+
+    @Test
+    public void givenPublisherFailure_whenCallsRelayBatch_shouldKeepEventsUnprocessed() {
+        // given
+        var relay = new OutboxRelay(eventRepository(), events -> {
+            throw new IllegalStateException("broker unavailable");
+        }, outboxProperties(10), transactionManager, new SimpleMeterRegistry());
+
+        subscriptionRepository().save(Fixture.Subscriptions.johns());
+
+        // when
+        Assertions.assertThrows(IllegalStateException.class, relay::relayBatch);
+
+        // then
+        Assertions.assertEquals(1, eventRepository().claimUnprocessed(10).size());
+    }
+
+    private static OutboxProperties outboxProperties(final int batchSize) {
+        var properties = new OutboxProperties();
+        properties.setBatchSize(batchSize);
+        properties.setMaxBatchesPerRun(10);
+        return properties;
+    }
+}
@@ -0,0 +1,186 @@
+package com.fullcycle.subscription.infrastructure.resilience;
+
+import com.fullcycle.subscription.MutableClock;
+import com.fullcycle.subscription.domain.exceptions.DomainException;
+import com.fullcycle.subscription.infrastructure.exceptions.ServiceUnavailableException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class ResilienceTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-05-01T10:00:00Z"));
+
+    @Test
+    public void givenFailuresAboveThreshold_whenWindowIsFull_shouldOpenAndRejectCalls() {
+        // given
+        var transitions = new ArrayList<String>();
+        var resilience = resilience(circuitBreaker(transitions), new Bulkhead("test", 4, Duration.ZERO));
+
+        // when
+        for (int i = 0; i < 2; i++) {
+            resilience.execute("op", () -> "ok");
+        }
+        for (int i = 0; i < 2; i++) {
+            Assertions.assertThrows(ResourceAccessException.class, () -> resilience.execute("op", this::fail));
+        }
+
+        // then
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, resilience.circuitBreaker().state());
+        Assertions.assertEquals(50, resilience.circuitBreaker().failureRate());
+
+        var actualError = Assertions.assertThrows(ServiceUnavailableException.class, () -> resilience.execute("op", () -> "never"));
+        Assertions.assertEquals("Circuit breaker of test is open [operation:op]", actualError.getMessage());
+        Assertions.assertEquals(Duration.ofSeconds(10), actualError.retryAfter());
+        Assertions.assertEquals(List.of("CLOSED->OPEN"), transitions);
+    }
+
+    @Test
+    public void givenOpenCircuit_whenOpenDurationElapses_shouldCloseAfterHalfOpenSuccesses() {
+        // given
+        var transitions = new ArrayList<String>();
+        var resilience = resilience(circuitBreaker(transitions), new Bulkhead("test", 4, Duration.ZERO));
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertThrows(ResourceAccessException.class, () -> resilience.execute("op", this::fail));
+        }
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, resilience.circuitBreaker().state());
+
+        // when
+        clock.advance(Duration.ofSeconds(10));
+        resilience.execute("op", () -> "probe-1");
+        Assertions.assertEquals(CircuitBreaker.State.HALF_OPEN, resilience.circuitBreaker().state());
+        resilience.execute("op", () -> "probe-2");
+
+        // then
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, resilience.circuitBreaker().state());
+        Assertions.assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), transitions);
+    }
+
+    @Test
+    public void givenHalfOpenCircuit_whenProbeFails_shouldReopen() {
+        // given
+        var resilience = resilience(circuitBreaker(new ArrayList<>()), new Bulkhead("test", 4, Duration.ZERO));
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertThrows(ResourceAccessException.class, () -> resilience.execute("op", this::fail));
+        }
+        clock.advance(Duration.ofSeconds(10));
+
+        // when
+        Assertions.assertThrows(ResourceAccessException.class, () -> resilience.execute("op", this::fail));
+
+        // then
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, resilience.circuitBreaker().state());
+        Assertions.assertThrows(ServiceUnavailableException.class, () -> resilience.execute("op", () -> "never"));
+    }
+
+    @Test
+    public void givenACallAdmittedBeforeTheCircuitOpened_whenItSucceedsWhileHalfOpen_shouldNotCountAsAProbe() throws Exception {
+        // given
+        var resilience = resilience(circuitBreaker(new ArrayList<>()), new Bulkhead("test", 4, Duration.ZERO));
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        try (var executor = Executors.newSingleThreadExecutor()) {
+            var lateCall = executor.submit(() -> resilience.execute("slow", () -> {
+                started.countDown();
+                await(release);
+                return "late";
+            }));
+            Assertions.assertTrue(started.await(1, TimeUnit.SECONDS));
+
+            for (int i = 0; i < 4; i++) {
+                Assertions.assertThrows(ResourceAccessException.class, () -> resilience.execute("op", this::fail));
+            }
+            clock.advance(Duration.ofSeconds(10));
+            resilience.execute("op", () -> "probe-1");
+
+            // when
+            release.countDown();
+            Assertions.assertEquals("late", lateCall.get(1, TimeUnit.SECONDS));
+
+            // then
+            Assertions.assertEquals(CircuitBreaker.State.HALF_OPEN, resilience.circuitBreaker().state());
+            resilience.execute("op", () -> "probe-2");
+            Assertions.assertEquals(CircuitBreaker.State.CLOSED, resilience.circuitBreaker().state());
+        }
+    }
+
+    @Test
+    public void givenCallerErrors_whenExecutes_shouldNotCountAsFailures() {
+        // given
+        var resilience = resilience(circuitBreaker(new ArrayList<>()), new Bulkhead("test", 4, Duration.ZERO));
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertThrows(DomainException.class, () -> resilience.execute("op", () -> {
+                throw DomainException.with("Invalid username or password");
+            }));
+        }
+
+        // then
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, resilience.circuitBreaker().state());
+        Assertions.assertEquals(0, resilience.circuitBreaker().failureRate());
+    }
+
+    @Test
+    public void givenBulkheadIsFull_whenExecutes_shouldRejectImmediately() throws Exception {
+        // given
+        var resilience = resilience(circuitBreaker(new ArrayList<>()), new Bulkhead("test", 1, Duration.ZERO));
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        try (var executor = Executors.newSingleThreadExecutor()) {
+            var inFlight = executor.submit(() -> resilience.execute("slow", () -> {
+                started.countDown();
+                await(release);
+                return "done";
+            }));
+            Assertions.assertTrue(started.await(1, TimeUnit.SECONDS));
+
+            // when
+            var actualError = Assertions.assertThrows(ServiceUnavailableException.class, () -> resilience.execute("op", () -> "never"));
+
+            // then
+            Assertions.assertEquals("Too many concurrent calls to test [operation:op]", actualError.getMessage());
+            Assertions.assertEquals(Duration.ofSeconds(1), actualError.retryAfter());
+            Assertions.assertEquals(0, resilience.bulkhead().availablePermits());
+
+            release.countDown();
+            Assertions.assertEquals("done", inFlight.get(1, TimeUnit.SECONDS));
+            Assertions.assertEquals(1, resilience.bulkhead().availablePermits());
+        }
+    }
+
+    private CircuitBreaker circuitBreaker(final ArrayList<String> transitions) {
+        return new CircuitBreaker("test", 4, 4, 50, Duration.ofSeconds(10), 2, clock, new CircuitBreaker.Listener() {
+            @Override
+            public void onStateChange(final String name, final CircuitBreaker.State from, final CircuitBreaker.State to) {
+                transitions.add(from + "->" + to);
+            }
+        });
+    }
+
+    private static Resilience resilience(final CircuitBreaker circuitBreaker, final Bulkhead bulkhead) {
+        return new Resilience("test", circuitBreaker, bulkhead, Resilience.HTTP_FAILURES, Resilience.Listener.NOOP);
+    }
+
+    private String fail() {
+        throw new ResourceAccessException("Connection reset");
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.fullcycle.subscription.infrastructure.rest;
 
 import com.fullcycle.subscription.ControllerTest;
+import com.fullcycle.subscription.application.Presenter;
+import com.fullcycle.subscription.application.account.SearchAccounts;
+import com.fullcycle.subscription.application.account.UpdateBillingInfo;
 import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.pagination.Pagination;
 import com.fullcycle.subscription.domain.person.Document;
 import com.fullcycle.subscription.infrastructure.mediator.SignUpMediator;
 import com.fullcycle.subscription.infrastructure.rest.controllers.AccountRestController;
 import com.fullcycle.subscription.infrastructure.rest.models.req.SignUpRequest;
+import com.fullcycle.subscription.infrastructure.rest.models.res.AccountListResponse;
 import com.fullcycle.subscription.infrastructure.rest.models.res.SignUpResponse;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -16,10 +21,14 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
+import static com.fullcycle.subscription.ApiTest.admin;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -32,9 +41,18 @@ public class AccountRestApiTest {
     @MockBean
     private SignUpMediator signUpMediator;
 
+    @MockBean
+    private UpdateBillingInfo updateBillingInfo;
+
+    @MockBean
+    private SearchAccounts searchAccounts;
+
     @Captor
     private ArgumentCaptor<SignUpRequest> signUpRequestCaptor;
 
+    @Captor
+    private ArgumentCaptor<SearchAccounts.Input> searchAccountsInputCaptor;
+
     @Test
     public void givenValidInput_whenCallsSignUpSuccessfully_shouldReturnAccountId() throws Exception {
         // given
@@ -125,4 +143,59 @@ public class AccountRestApiTest {
 
         verify(signUpMediator, times(0)).signUp(any());
     }
+
+    @Test
+    public void givenCursor_whenListsAccounts_shouldReturnPageWithNextCursor() throws Exception {
+        // given
+        var expectedCursor = "opaque-cursor";
+        var expectedNextCursor = "next-opaque-cursor";
+        var expectedItem = new SearchAccountsTestOutput(
+                new AccountId("ACC123"),
+                "USER123",
+                "john@doe.com",
+                "John",
+                "Doe"
+        );
+
+        when(searchAccounts.execute(any(), any())).thenAnswer(call -> {
+            Presenter<Pagination<SearchAccounts.Output>, Pagination<AccountListResponse>> p = call.getArgument(1);
+            return p.apply(new Pagination<>(2, 10, 11, expectedNextCursor, List.of(expectedItem)));
+        });
+
+        // when
+        var aRequest = get("/accounts")
+                .queryParam("per_page", "10")
+                .queryParam("cursor", expectedCursor)
+                .accept(MediaType.APPLICATION_JSON_VALUE)
+                .with(admin());
+
+        var aResponse = this.mvc.perform(aRequest);
+
+        // then
+        aResponse
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.meta.current_page").value(equalTo(2)))
+                .andExpect(jsonPath("$.meta.per_page").value(equalTo(10)))
+                .andExpect(jsonPath("$.meta.total").value(equalTo(11)))
+                .andExpect(jsonPath("$.meta.next_cursor").value(equalTo(expectedNextCursor)))
+                .andExpect(jsonPath("$.data[0].account_id").value(equalTo("ACC123")))
+                .andExpect(jsonPath("$.data[0].user_id").value(equalTo("USER123")))
+                .andExpect(jsonPath("$.data[0].email").value(equalTo("john@doe.com")));
+
+        verify(searchAccounts, times(1)).execute(searchAccountsInputCaptor.capture(), any());
+
+        var actualRequest = searchAccountsInputCaptor.getValue();
+
+        Assertions.assertEquals(10, actualRequest.perPage());
+        Assertions.assertEquals(expectedCursor, actualRequest.cursor());
+    }
+
+    record SearchAccountsTestOutput(
+            AccountId accountId,
+            String userId,
+            String email,
+            String firstname,
+            String lastname
+    ) implements SearchAccounts.Output {
+    }
 }
@@ -0,0 +1,179 @@
+package com.fullcycle.subscription.infrastructure.rest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fullcycle.subscription.ControllerTest;
+import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.plan.PlanId;
+import com.fullcycle.subscription.domain.subscription.Subscription;
+import com.fullcycle.subscription.domain.subscription.SubscriptionCreated;
+import com.fullcycle.subscription.domain.subscription.SubscriptionId;
+import com.fullcycle.subscription.domain.subscription.status.ActiveSubscriptionStatus;
+import com.fullcycle.subscription.infrastructure.configuration.properties.ExportProperties;
+import com.fullcycle.subscription.infrastructure.gateway.repository.EventJdbcRepository;
+import com.fullcycle.subscription.infrastructure.gateway.repository.EventJdbcRepository.ExportedEvent;
+import com.fullcycle.subscription.infrastructure.gateway.repository.SubscriptionJdbcRepository;
+import com.fullcycle.subscription.infrastructure.json.EventFormat;
+import com.fullcycle.subscription.infrastructure.json.Json;
+import com.fullcycle.subscription.infrastructure.rest.controllers.ExportRestController;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static com.fullcycle.subscription.ApiTest.admin;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ControllerTest(controllers = ExportRestController.class)
+@Import(ExportProperties.class)
+@TestPropertySource(properties = {"spring.mvc.async.request-timeout=100ms", "export.request-timeout=10s"})
+public class ExportRestApiTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private SubscriptionJdbcRepository subscriptionJdbcRepository;
+
+    @MockBean
+    private EventJdbcRepository eventJdbcRepository;
+
+    @Test
+    public void givenFilters_whenExportsSubscriptions_shouldStreamOneJsonPerLineAndCloseCursor() throws Exception {
+        // given
+        var expectedFrom = LocalDate.of(2024, 5, 1);
+        var expectedTo = LocalDate.of(2024, 6, 1);
+        var cursorClosed = new AtomicBoolean(false);
+
+        when(subscriptionJdbcRepository.streamSubscriptions(eq(expectedFrom), eq(expectedTo), eq(ActiveSubscriptionStatus.ACTIVE), anyInt()))
+                .thenReturn(Stream.of(subscription("SUB1", expectedFrom), subscription("SUB2", expectedFrom.plusDays(1)))
+                        .onClose(() -> cursorClosed.set(true)));
+
+        // when
+        var aRequest = get("/subscriptions/export")
+                .queryParam("due_from", expectedFrom.toString())
+                .queryParam("due_to", expectedTo.toString())
+                .queryParam("status", ActiveSubscriptionStatus.ACTIVE)
+                .with(admin());
+
+        var started = this.mvc.perform(aRequest)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var aResponse = this.mvc.perform(asyncDispatch(started));
+
+        // then
+        aResponse
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+
+        var lines = started.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(2, lines.length);
+        Assertions.assertEquals("SUB1", Json.readValue(lines[0], JsonNode.class).get("subscription_id").asText());
+        Assertions.assertEquals("2024-05-01", Json.readValue(lines[0], JsonNode.class).get("subscription_due_date").asText());
+        Assertions.assertEquals("SUB2", Json.readValue(lines[1], JsonNode.class).get("subscription_id").asText());
+        Assertions.assertTrue(cursorClosed.get());
+    }
+
+    @Test
+    public void givenGzipAccepted_whenExportsEvents_shouldCompressAndCopyJsonPayloads() throws Exception {
+        // given
+        var aSubscription = subscription("SUB1", LocalDate.of(2024, 5, 1));
+        var smileEvent = new SubscriptionCreated(aSubscription);
+        var jsonEvent = new ExportedEvent(1L, true, "SUB1", "Subscription", "subscription.created", Instant.parse("2024-04-28T10:57:11.111Z"), EventFormat.JSON, "{\"subscription_id\":\"SUB1\"}", () -> {
+            throw new AssertionError("JSON rows should not be decoded");
+        });
+        var binaryEvent = new ExportedEvent(2L, false, "SUB1", "Subscription", "subscription.created.v1", Instant.parse("2024-04-28T10:58:11.111Z"), EventFormat.SMILE, null, () -> smileEvent);
+
+        when(eventJdbcRepository.streamEvents(isNull(), isNull(), isNull(), anyInt()))
+                .thenReturn(Stream.of(jsonEvent, binaryEvent));
+
+        // when
+        var aRequest = get("/events/export")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+                .with(admin());
+
+        var started = this.mvc.perform(aRequest)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var aResponse = this.mvc.perform(asyncDispatch(started));
+
+        // then
+        aResponse
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+
+        var body = new GZIPInputStream(new ByteArrayInputStream(started.getResponse().getContentAsByteArray())).readAllBytes();
+        var lines = new String(body, StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(2, lines.length);
+
+        var first = Json.readValue(lines[0], JsonNode.class);
+        Assertions.assertEquals(1L, first.get("event_id").asLong());
+        Assertions.assertTrue(first.get("processed").asBoolean());
+        Assertions.assertEquals("SUB1", first.get("data").get("subscription_id").asText());
+
+        var second = Json.readValue(lines[1], JsonNode.class);
+        Assertions.assertEquals(2L, second.get("event_id").asLong());
+        Assertions.assertEquals(aSubscription.id().value(), second.get("data").get("subscription_id").asText());
+
+        verify(eventJdbcRepository, times(1)).streamEvents(isNull(), isNull(), isNull(), eq(1000));
+    }
+
+    @Test
+    public void givenAnExportSlowerThanTheDefaultAsyncTimeout_whenExportsSubscriptions_shouldStreamEveryRow() throws Exception {
+        // given
+        var expectedFrom = LocalDate.of(2024, 5, 1);
+        var slowRows = Stream.iterate(0, i -> i < 3, i -> i + 1).map(i -> {
+            LockSupport.parkNanos(Duration.ofMillis(150).toNanos());
+            return subscription("SUB" + i, expectedFrom.plusDays(i));
+        });
+
+        when(subscriptionJdbcRepository.streamSubscriptions(isNull(), isNull(), isNull(), anyInt()))
+                .thenReturn(slowRows);
+
+        // when
+        var aRequest = get("/subscriptions/export")
+                .with(admin());
+
+        var started = this.mvc.perform(aRequest)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var aResponse = this.mvc.perform(asyncDispatch(started));
+
+        // then
+        aResponse.andExpect(status().isOk());
+
+        var lines = started.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(3, lines.length);
+        Assertions.assertEquals("SUB2", Json.readValue(lines[2], JsonNode.class).get("subscription_id").asText());
+        Assertions.assertEquals(10_000L, started.getRequest().getAsyncContext().getTimeout());
+    }
+
+    private static Subscription subscription(final String id, final LocalDate dueDate) {
+        var now = Instant.parse("2024-04-28T10:57:11.111Z");
+        return Subscription.with(new SubscriptionId(id), 1, new AccountId("ACC123"), new PlanId(1L), dueDate, ActiveSubscriptionStatus.ACTIVE, now, "TX123", now, now);
+    }
+}
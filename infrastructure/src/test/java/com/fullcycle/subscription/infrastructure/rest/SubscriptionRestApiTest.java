@@ -5,13 +5,19 @@ import com.fullcycle.subscription.application.Presenter;
 import com.fullcycle.subscription.application.subscription.CancelSubscription;
 import com.fullcycle.subscription.application.subscription.ChargeSubscription;
 import com.fullcycle.subscription.application.subscription.CreateSubscription;
+import com.fullcycle.subscription.application.subscription.SearchSubscriptions;
+import com.fullcycle.subscription.domain.account.AccountId;
+import com.fullcycle.subscription.domain.pagination.Pagination;
 import com.fullcycle.subscription.domain.payment.Transaction;
+import com.fullcycle.subscription.domain.plan.PlanId;
 import com.fullcycle.subscription.domain.subscription.SubscriptionId;
+import com.fullcycle.subscription.domain.subscription.status.ActiveSubscriptionStatus;
 import com.fullcycle.subscription.domain.subscription.status.CanceledSubscriptionStatus;
 import com.fullcycle.subscription.infrastructure.rest.controllers.SubscriptionRestController;
 import com.fullcycle.subscription.infrastructure.rest.models.res.CancelSubscriptionResponse;
 import com.fullcycle.subscription.infrastructure.rest.models.res.ChargeSubscriptionResponse;
 import com.fullcycle.subscription.infrastructure.rest.models.res.CreateSubscriptionResponse;
+import com.fullcycle.subscription.infrastructure.rest.models.res.SubscriptionListResponse;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -21,12 +27,15 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
 
 import static com.fullcycle.subscription.ApiTest.admin;
 import static org.hamcrest.Matchers.equalTo;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -46,6 +55,9 @@ public class SubscriptionRestApiTest {
     @MockBean
     private ChargeSubscription chargeSubscription;
 
+    @MockBean
+    private SearchSubscriptions searchSubscriptions;
+
     @Captor
     private ArgumentCaptor<CreateSubscription.Input> createSubscriptionInputCaptor;
 
@@ -55,6 +67,9 @@ public class SubscriptionRestApiTest {
     @Captor
     private ArgumentCaptor<ChargeSubscription.Input> chargeSubscriptionInputCaptor;
 
+    @Captor
+    private ArgumentCaptor<SearchSubscriptions.Input> searchSubscriptionsInputCaptor;
+
     @Test
     public void givenValidInput_whenCreateSuccessfully_shouldReturnSubscriptionId() throws Exception {
         // given
@@ -184,6 +199,72 @@ public class SubscriptionRestApiTest {
         Assertions.assertEquals(expectedPaymentType, actualRequest.paymentType());
     }
 
+    @Test
+    public void givenFilters_whenListsSubscriptions_shouldReturnPageWithNextCursor() throws Exception {
+        // given
+        var expectedCursor = "opaque-cursor";
+        var expectedNextCursor = "next-opaque-cursor";
+        var expectedDueDate = LocalDate.of(2024, 5, 27);
+        var expectedItem = new SearchSubscriptionsTestOutput(
+                new SubscriptionId("SUB123"),
+                new AccountId("ACC123"),
+                new PlanId(1L),
+                ActiveSubscriptionStatus.ACTIVE,
+                expectedDueDate,
+                null,
+                Instant.parse("2024-04-28T10:58:11.111Z"),
+                Instant.parse("2024-04-28T10:59:11.111Z")
+        );
+
+        when(searchSubscriptions.execute(any(), any())).thenAnswer(call -> {
+            Presenter<Pagination<SearchSubscriptions.Output>, Pagination<SubscriptionListResponse>> p = call.getArgument(1);
+            return p.apply(new Pagination<>(2, 10, 11, expectedNextCursor, List.of(expectedItem)));
+        });
+
+        // when
+        var aRequest = get("/subscriptions")
+                .queryParam("status", ActiveSubscriptionStatus.ACTIVE)
+                .queryParam("plan_id", "1")
+                .queryParam("per_page", "10")
+                .queryParam("cursor", expectedCursor)
+                .accept(MediaType.APPLICATION_JSON_VALUE)
+                .with(admin());
+
+        var aResponse = this.mvc.perform(aRequest);
+
+        // then
+        aResponse
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.meta.current_page").value(equalTo(2)))
+                .andExpect(jsonPath("$.meta.per_page").value(equalTo(10)))
+                .andExpect(jsonPath("$.meta.total").value(equalTo(11)))
+                .andExpect(jsonPath("$.meta.next_cursor").value(equalTo(expectedNextCursor)))
+                .andExpect(jsonPath("$.data[0].subscription_id").value(equalTo("SUB123")))
+                .andExpect(jsonPath("$.data[0].account_id").value(equalTo("ACC123")))
+                .andExpect(jsonPath("$.data[0].subscription_due_date").value(equalTo(expectedDueDate.toString())));
+
+        verify(searchSubscriptions, times(1)).execute(searchSubscriptionsInputCaptor.capture(), any());
+
+        var actualRequest = searchSubscriptionsInputCaptor.getValue();
+
+        Assertions.assertEquals(10, actualRequest.perPage());
+        Assertions.assertEquals(expectedCursor, actualRequest.cursor());
+        Assertions.assertEquals(ActiveSubscriptionStatus.ACTIVE, actualRequest.status());
+        Assertions.assertEquals(1L, actualRequest.planId());
+    }
+
+    record SearchSubscriptionsTestOutput(
+            SubscriptionId subscriptionId,
+            AccountId accountId,
+            PlanId planId,
+            String status,
+            LocalDate dueDate,
+            Instant lastRenewDate,
+            Instant createdAt,
+            Instant updatedAt
+    ) implements SearchSubscriptions.Output {
+    }
+
     record CreateSubscriptionTestOutput(
             SubscriptionId subscriptionId
     ) implements CreateSubscription.Output {
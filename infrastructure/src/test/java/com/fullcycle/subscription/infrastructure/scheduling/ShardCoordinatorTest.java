@@ -0,0 +1,122 @@
+package com.fullcycle.subscription.infrastructure.scheduling;
+
+import com.fullcycle.subscription.AbstractRepositoryTest;
+import com.fullcycle.subscription.MutableClock;
+import com.fullcycle.subscription.infrastructure.configuration.properties.SchedulerProperties;
+import com.fullcycle.subscription.infrastructure.gateway.repository.JobLeaseJdbcRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+class ShardCoordinatorTest extends AbstractRepositoryTest {
+
+    private static final String JOB = "test-job";
+    private static final int SHARDS = 4;
+
+    private MutableClock clock;
+    private ShardCoordinator nodeA;
+    private ShardCoordinator nodeB;
+
+    @BeforeEach
+    void setUpCoordinators() {
+        this.clock = new MutableClock(Instant.parse("2024-06-10T03:00:00Z"));
+        final var repository = new JobLeaseJdbcRepository(databaseClient());
+        this.nodeA = new ShardCoordinator(repository, schedulerProperties("node-a"), clock);
+        this.nodeB = new ShardCoordinator(repository, schedulerProperties("node-b"), clock);
+    }
+
+    @Test
+    public void givenASingleMember_whenCallsAcquire_shouldOwnEveryShard() {
+        // when
+        final var actualLeases = nodeA.acquire(JOB, SHARDS);
+
+        // then
+        Assertions.assertEquals(List.of(0, 1, 2, 3), shardsOf(actualLeases));
+        Assertions.assertTrue(actualLeases.stream().allMatch(it -> it.fencingToken() == 1));
+    }
+
+    @Test
+    public void givenANewMember_whenBothAcquire_shouldRebalanceShardsFairly() {
+        // given
+        nodeA.acquire(JOB, SHARDS);
+
+        // when
+        final var firstTryOfB = nodeB.acquire(JOB, SHARDS);
+        final var actualLeasesOfA = nodeA.acquire(JOB, SHARDS);
+        final var actualLeasesOfB = nodeB.acquire(JOB, SHARDS);
+
+        // then
+        Assertions.assertTrue(firstTryOfB.isEmpty());
+        Assertions.assertEquals(List.of(0, 2), shardsOf(actualLeasesOfA));
+        Assertions.assertEquals(List.of(1, 3), shardsOf(actualLeasesOfB));
+    }
+
+    @Test
+    public void givenADeadMember_whenLeasesExpire_shouldTakeOverAndFenceTheOldOwner() {
+        // given
+        nodeA.acquire(JOB, SHARDS);
+        nodeB.acquire(JOB, SHARDS);
+        final var staleLeaseOfA = nodeA.acquire(JOB, SHARDS).getFirst();
+        nodeB.acquire(JOB, SHARDS);
+
+        // when
+        clock.advance(Duration.ofSeconds(31));
+        final var actualLeasesOfB = nodeB.acquire(JOB, SHARDS);
+
+        // then
+        Assertions.assertEquals(List.of(0, 1, 2, 3), shardsOf(actualLeasesOfB));
+        Assertions.assertFalse(nodeA.checkpoint(staleLeaseOfA, "2024-06-10"));
+        Assertions.assertFalse(nodeA.stillOwns(staleLeaseOfA));
+
+        final var takenOver = actualLeasesOfB.stream().filter(it -> it.shard() == staleLeaseOfA.shard()).findFirst().get();
+        Assertions.assertTrue(takenOver.fencingToken() > staleLeaseOfA.fencingToken());
+        Assertions.assertTrue(nodeB.stillOwns(takenOver));
+        Assertions.assertTrue(nodeB.checkpoint(takenOver, "2024-06-10"));
+        Assertions.assertEquals("2024-06-10", nodeB.progressOf(JOB).get(staleLeaseOfA.shard()).progress());
+    }
+
+    @Test
+    public void givenAnExpiredLeaseNobodyClaimed_whenCallsCheckpoint_shouldDiscardTheProgress() {
+        // given
+        final var expiredLease = nodeA.acquire(JOB, SHARDS).getFirst();
+
+        // when
+        clock.advance(Duration.ofSeconds(31));
+        final var actualCheckpoint = nodeA.checkpoint(expiredLease, "2024-06-10");
+
+        // then
+        Assertions.assertFalse(actualCheckpoint);
+        Assertions.assertFalse(nodeA.stillOwns(expiredLease));
+        Assertions.assertNull(nodeA.progressOf(JOB).get(expiredLease.shard()).progress());
+        Assertions.assertEquals(expiredLease.fencingToken(), nodeA.progressOf(JOB).get(expiredLease.shard()).fencingToken());
+    }
+
+    @Test
+    public void givenAShardLease_whenCallsOwns_shouldSplitKeysByHash() {
+        // given
+        final var leases = nodeA.acquire(JOB, SHARDS);
+        final var aKey = "033c7d9eb3cc4eb7840b942fa2194cab";
+
+        // when
+        final var actualOwners = leases.stream().filter(it -> it.owns(aKey)).toList();
+
+        // then
+        Assertions.assertEquals(1, actualOwners.size());
+    }
+
+    private static List<Integer> shardsOf(final List<ShardLease> leases) {
+        return leases.stream().map(ShardLease::shard).sorted().toList();
+    }
+
+    private static SchedulerProperties schedulerProperties(final String instanceId) {
+        final var properties = new SchedulerProperties();
+        properties.setInstanceId(instanceId);
+        properties.setLeaseDuration(Duration.ofSeconds(30));
+        properties.setMemberTimeout(Duration.ofSeconds(30));
+        return properties;
+    }
+}
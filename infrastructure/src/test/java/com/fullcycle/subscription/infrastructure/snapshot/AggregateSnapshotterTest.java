@@ -0,0 +1,118 @@
+package com.fullcycle.subscription.infrastructure.snapshot;
+
+import com.fullcycle.subscription.AbstractRepositoryTest;
+import com.fullcycle.subscription.domain.Fixture;
+import com.fullcycle.subscription.domain.subscription.SubscriptionCanceled;
+import com.fullcycle.subscription.domain.subscription.SubscriptionCommand;
+import com.fullcycle.subscription.domain.subscription.SubscriptionEvent;
+import com.fullcycle.subscription.infrastructure.configuration.properties.SnapshotProperties;
+import com.fullcycle.subscription.infrastructure.gateway.repository.EventJdbcRepository.StoredEvent;
+import com.fullcycle.subscription.infrastructure.gateway.repository.SnapshotJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.util.List;
+
+class AggregateSnapshotterTest extends AbstractRepositoryTest {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SnapshotJdbcRepository snapshotRepository;
+    private AggregateSnapshotter snapshotter;
+
+    @BeforeEach
+    void setUpSnapshotter() {
+        final var properties = new SnapshotProperties();
+        properties.setEveryEvents(3);
+        properties.setBatchSize(2);
+
+        this.snapshotRepository = new SnapshotJdbcRepository(databaseClient());
+        this.snapshotter = new AggregateSnapshotter(
+                eventRepository(),
+                snapshotRepository,
+                subscriptionRepository(),
+                accountRepository(),
+                properties,
+                transactionManager,
+                new SimpleMeterRegistry(),
+                Clock.systemUTC()
+        );
+    }
+
+    @Test
+    public void givenAnAggregateOverTheThreshold_whenScanning_shouldSnapshotItAtItsLastEvent() {
+        // given
+        final var aSubscription = Fixture.Subscriptions.johns();
+        aSubscription.execute(new SubscriptionCommand.IncompleteSubscription("No funds", "TRX-1"));
+        aSubscription.execute(new SubscriptionCommand.CancelSubscription());
+        subscriptionRepository().save(aSubscription);
+
+        final var expectedLastEventId = eventRepository().lastEventIdOfAggregate(aSubscription.id().value(), SubscriptionEvent.TYPE).get();
+
+        // when
+        final var firstPass = snapshotter.snapshotPending(0);
+        final var secondPass = snapshotter.snapshotPending(firstPass.watermark());
+        final var lastPass = snapshotter.snapshotPending(secondPass.watermark());
+
+        // then
+        Assertions.assertEquals(2, firstPass.scanned());
+        Assertions.assertEquals(1, firstPass.snapshots());
+        Assertions.assertEquals(1, secondPass.scanned());
+        Assertions.assertEquals(0, secondPass.snapshots());
+        Assertions.assertEquals(expectedLastEventId, secondPass.watermark());
+        Assertions.assertEquals(0, lastPass.scanned());
+
+        final var actualSnapshot = snapshotRepository.snapshotOf(SubscriptionEvent.TYPE, aSubscription.id().value()).get();
+        Assertions.assertEquals(expectedLastEventId, actualSnapshot.lastEventId());
+        Assertions.assertEquals(1, actualSnapshot.aggregateVersion());
+    }
+
+    @Test
+    public void givenASnapshot_whenQueriesHistory_shouldReturnSnapshotAndOnlyLaterEvents() {
+        // given
+        final var aSubscription = Fixture.Subscriptions.johns();
+        aSubscription.execute(new SubscriptionCommand.IncompleteSubscription("No funds", "TRX-1"));
+        aSubscription.execute(new SubscriptionCommand.CancelSubscription());
+        subscriptionRepository().save(aSubscription);
+
+        Assertions.assertTrue(snapshotter.snapshot(SubscriptionEvent.TYPE, aSubscription.id().value()));
+
+        final var aLaterEvent = new SubscriptionCanceled(subscriptionRepository().subscriptionOfId(aSubscription.id()).get());
+        eventRepository().saveAll(List.of(aLaterEvent));
+
+        // when
+        final var actualHistory = snapshotter.historyOfSubscription(aSubscription.id());
+
+        // then
+        final var actualSubscription = actualHistory.snapshot().get();
+        Assertions.assertEquals(aSubscription.id(), actualSubscription.id());
+        Assertions.assertEquals(1, actualSubscription.version());
+        Assertions.assertTrue(actualSubscription.isCanceled());
+        Assertions.assertEquals(aSubscription.dueDate(), actualSubscription.dueDate());
+        Assertions.assertEquals("TRX-1", actualSubscription.lastTransactionId());
+
+        Assertions.assertEquals(List.of(aLaterEvent), actualHistory.events().stream().map(StoredEvent::domainEvent).toList());
+        Assertions.assertTrue(actualHistory.events().getFirst().eventId() > actualHistory.snapshotEventId());
+    }
+
+    @Test
+    public void givenNoSnapshot_whenQueriesHistory_shouldReplayEveryEvent() {
+        // given
+        final var aSubscription = Fixture.Subscriptions.johns();
+        aSubscription.execute(new SubscriptionCommand.CancelSubscription());
+        subscriptionRepository().save(aSubscription);
+
+        // when
+        final var actualHistory = snapshotter.historyOfSubscription(aSubscription.id());
+
+        // then
+        Assertions.assertTrue(actualHistory.snapshot().isEmpty());
+        Assertions.assertEquals(aSubscription.domainEvents(), actualHistory.events().stream().map(StoredEvent::domainEvent).toList());
+    }
+}